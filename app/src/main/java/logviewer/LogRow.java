@@ -1,54 +1,75 @@
-package logviewer;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * TSVログの1行分を表すクラス。
- * 複数のフィールド（カラム）と行番号を保持します。
- */
-public class LogRow {
-    private final List<String> fields;
-    private final int lineNumber;
-    
-    /**
-     * 1行分のフィールド配列と行番号を保持するLogRowを生成します。
-     * 
-     * @param parts       TSVを分割したフィールド配列
-     * @param lineNumber  元ファイルでの行番号（1始まり）
-     */
-    public LogRow(String[] parts, int lineNumber) {
-        this.lineNumber = lineNumber;
-        fields = new ArrayList<>(parts.length);
-        for (String p : parts) fields.add(p);
-    }
-    /**
-     * 指定インデックスのフィールド値を返します。
-     * 範囲外の場合は空文字を返します。
-     * 
-     * @param index 取得するフィールドのインデックス
-     * @return フィールド文字列または空文字
-     */
-    public String getField(int index) {
-        if (index < 0) return "";
-        if (index >= fields.size()) return "";
-        return fields.get(index);
-    }
-    /**
-     * 行番号を返します。
-     * 元ファイルでの位置（1始まり）です。
-     * 
-     * @return 元ファイルの行番号
-     */
-    public int getLineNumber() {
-        return lineNumber;
-    }
-    /**
-     * 保持しているフィールド数を返します。
-     * 
-     * @return フィールド数
-     */
-    public int fieldCount() {
-        return fields.size();
-    }
+package logviewer;
+
+/**
+ * TSVログの1行分を表すクラス。
+ * 複数のフィールド（カラム）と行番号を保持します。
+ */
+public class LogRow {
+    private static final String[] NO_FIELDS = new String[0];
+
+    private final String[] fields;
+    private final int lineNumber;
+    
+    /**
+     * 1行分のフィールド配列と行番号を保持するLogRowを生成します。
+     * 大量の行を生成する読み込み処理のため、配列は複製せずにそのまま保持します。
+     * 呼び出し側は渡した配列を変更しないでください。
+     * 
+     * @param parts       TSVを分割したフィールド配列
+     * @param lineNumber  元ファイルでの行番号（1始まり）
+     */
+    public LogRow(String[] parts, int lineNumber) {
+        this.lineNumber = lineNumber;
+        this.fields = parts;
+    }
+
+    /**
+     * フィールドを自身では保持しないLogRowを生成します。
+     * フィールドを必要な時点で取得するサブクラス向けのコンストラクタで、
+     * サブクラスは {@link #getField(int)} と {@link #fieldCount()} をオーバーライドします。
+     * 
+     * @param lineNumber  元ファイルでの行番号（1始まり）
+     */
+    protected LogRow(int lineNumber) {
+        this.lineNumber = lineNumber;
+        this.fields = NO_FIELDS;
+    }
+    /**
+     * 指定インデックスのフィールド値を返します。
+     * 範囲外の場合は空文字を返します。
+     * 
+     * @param index 取得するフィールドのインデックス
+     * @return フィールド文字列または空文字
+     */
+    public String getField(int index) {
+        if (index < 0) return "";
+        if (index >= fields.length) return "";
+        return fields[index];
+    }
+    /**
+     * 行番号を返します。
+     * 元ファイルでの位置（1始まり）です。
+     * 
+     * @return 元ファイルの行番号
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+    /**
+     * 複数行にわたるレコードの最終行の行番号を返します。
+     * 1行だけのレコードでは {@link #getLineNumber()} と同じ値です。
+     * 
+     * @return 元ファイルでの最終行の行番号
+     */
+    public int getLastLineNumber() {
+        return lineNumber;
+    }
+    /**
+     * 保持しているフィールド数を返します。
+     * 
+     * @return フィールド数
+     */
+    public int fieldCount() {
+        return fields.length;
+    }
 }
\ No newline at end of file
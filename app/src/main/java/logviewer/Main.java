@@ -28,11 +28,17 @@ import logviewer.controller.MainController;
 import logviewer.controller.ExportController;
 import logviewer.model.LogViewerModel;
 import logviewer.service.ClipboardService;
+import logviewer.service.ColumnType;
 import logviewer.service.FileIOService;
+import logviewer.service.FilterQuery;
 import logviewer.service.FilterService;
 import logviewer.service.FilterSortService;
+import logviewer.service.LogRange;
+import logviewer.service.LogSample;
 import logviewer.service.NavigationService;
 import logviewer.service.SortService;
+import logviewer.service.SourcedLogRow;
+import logviewer.service.StreamSource;
 import logviewer.service.SelectionService;
 import logviewer.service.FileLoadResult;
 import logviewer.service.ServiceConstants;
@@ -45,6 +51,7 @@ import logviewer.ui.DialogService;
 import logviewer.ui.ProgressDialogService;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -52,6 +59,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * TSV形式のログファイルを効率的に閲覧するためのJavaFXアプリケーション。
@@ -75,6 +83,8 @@ public class Main extends Application {
     // ===== UI コンポーネント =====
     private final TableView<LogRow> table = new TableView<>();
     private final AtomicReference<Task<?>> currentTask = new AtomicReference<>();
+    private final List<LogRow> pendingRows = new ArrayList<>();  // フィルタ/ソートの計算中に追加され、完了後に反映する行
+    private LogRow pendingLastRow = null;  // フィルタ/ソートの計算中に完成し、完了後に最終行と置き換える行
     private ComboBox<String> columnSelector = new ComboBox<>();
     private TextField filterField = new TextField();
     private TableColumn<LogRow, ?> lineNumberColumn;
@@ -110,14 +120,21 @@ public class Main extends Application {
             () -> exportController.exportSelectedRows(primaryStage),
             () -> dialogService.showColumnVisibilityDialog(),
             () -> dialogService.showGoToLineDialog(),
-            this::copySelection
+            this::copySelection,
+            () -> openRange(primaryStage),
+            () -> openSample(primaryStage),
+            this::configureRecordStart
         );
 
+        controller.setFollowHandlers(this::onRowsAppended, this::onLastRowCompleted, model::setStatusMessage);
+        controller.setRowsLoadedHandler(this::onRowsLoaded, this::onRowsReset);
+
         MenuBar menuBar = menuBarFactory.build(primaryStage,
             this::prepareForFileLoad,
             this::onFileLoaded,
             this::onFileLoadFailed,
-            this::cleanupAfterCloseFile
+            this::cleanupAfterCloseFile,
+            paths -> openFiles(paths, primaryStage)
         );
 
         // 左側パネル: 複数検索条件
@@ -169,17 +186,7 @@ public class Main extends Application {
         });
 
         // ドラッグ＆ドロップの設定
-        dragAndDropHandler.attach(table, primaryStage, path -> {
-            Task<FileLoadResult> task = controller.handleLoadFile(
-                path,
-                this::prepareForFileLoad,
-                this::onFileLoaded,
-                this::onFileLoadFailed
-            );
-            if (task != null) {
-                progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
-            }
-        });
+        dragAndDropHandler.attach(table, primaryStage, paths -> openFiles(paths, primaryStage));
 
         // 中央部分: 左パネル + テーブルをSplitPaneで配置
         centerPane = new SplitPane();
@@ -205,6 +212,35 @@ public class Main extends Application {
         );
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        openFromArguments(getParameters().getRaw(), primaryStage);
+    }
+
+    /**
+     * 起動時の引数に指定されたファイルを開きます。"-" を指定した場合は標準入力から読み込みます。
+     * 
+     * @param args         起動時の引数
+     * @param primaryStage メインステージ
+     */
+    private void openFromArguments(List<String> args, Stage primaryStage) {
+        if (args.isEmpty()) {
+            return;
+        }
+        if (args.size() == 1 && StreamSource.STDIN_ARGUMENT.equals(args.get(0))) {
+            Task<FileLoadResult> task = controller.handleLoadStream(
+                StreamSource.standardInput(),
+                this::prepareForFileLoad,
+                this::onFileLoaded,
+                this::onFileLoadFailed
+            );
+            progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
+            return;
+        }
+        List<Path> paths = new ArrayList<>(args.size());
+        for (String arg : args) {
+            paths.add(Path.of(arg));
+        }
+        openFiles(paths, primaryStage);
     }
 
     /**
@@ -219,15 +255,128 @@ public class Main extends Application {
             this::prepareForFileLoad,
             this::onFileLoaded,
             this::onFileLoadFailed,
-            this::cleanupAfterCloseFile
+            this::cleanupAfterCloseFile,
+            paths -> openFiles(paths, primaryStage)
         );
     }
 
+    /**
+     * ファイルを開きます。複数のファイルが指定された場合は時刻カラムを確認し、
+     * 時刻順に結合した1つの表示として読み込みます。フォルダが指定された場合はファイル名のパターンを確認し、
+     * ローテーションされたログとして古い順に連結して読み込みます。
+     * 
+     * @param paths        読み込むファイルのパス
+     * @param primaryStage メインステージ
+     */
+    private void openFiles(List<Path> paths, Stage primaryStage) {
+        Task<FileLoadResult> task;
+        if (paths.size() == 1 && Files.isDirectory(paths.get(0))) {
+            String glob = dialogService.showGlobDialog(paths.get(0));
+            if (glob == null) {
+                return;
+            }
+            task = controller.handleLoadRotatedSet(
+                paths.get(0),
+                glob,
+                this::prepareForFileLoad,
+                this::onFileLoaded,
+                this::onFileLoadFailed
+            );
+        } else if (paths.size() == 1) {
+            task = controller.handleLoadFile(
+                paths.get(0),
+                this::prepareForFileLoad,
+                this::onFileLoaded,
+                this::onFileLoadFailed
+            );
+        } else {
+            Integer timestampColumn = dialogService.showTimestampColumnDialog(paths.size());
+            if (timestampColumn == null) {
+                return;
+            }
+            task = controller.handleLoadFiles(
+                paths,
+                timestampColumn,
+                this::prepareForFileLoad,
+                this::onFileLoaded,
+                this::onFileLoadFailed
+            );
+        }
+        if (task != null) {
+            progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
+        }
+    }
+
+    /**
+     * ファイルを選択させ、指定した時刻または行番号の範囲だけを読み込みます。
+     * 
+     * @param primaryStage メインステージ
+     */
+    private void openRange(Stage primaryStage) {
+        Path path = controller.chooseFile(primaryStage);
+        if (path == null) {
+            return;
+        }
+        LogRange range = dialogService.showRangeDialog(String.valueOf(path.getFileName()));
+        if (range == null) {
+            return;
+        }
+        Task<FileLoadResult> task = controller.handleLoadFileRange(
+            path,
+            range,
+            this::prepareForFileLoad,
+            this::onFileLoaded,
+            this::onFileLoadFailed
+        );
+        progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
+    }
+
+    /**
+     * ファイルを選択させ、ファイル全体から一部の行だけを抜き出して読み込みます。
+     * 
+     * @param primaryStage メインステージ
+     */
+    private void openSample(Stage primaryStage) {
+        Path path = controller.chooseFile(primaryStage);
+        if (path == null) {
+            return;
+        }
+        LogSample sample = dialogService.showSampleDialog(String.valueOf(path.getFileName()));
+        if (sample == null) {
+            return;
+        }
+        Task<FileLoadResult> task = controller.handleLoadFileSample(
+            path,
+            sample,
+            this::prepareForFileLoad,
+            this::onFileLoaded,
+            this::onFileLoadFailed
+        );
+        progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
+    }
+
+    /**
+     * 複数行レコードの開始パターンを設定します。次回以降に開くファイルから適用されます。
+     */
+    private void configureRecordStart() {
+        Pattern current = controller.getRecordStartPattern();
+        Pattern updated = dialogService.showRecordStartDialog(current);
+        if (updated == current) {
+            return;
+        }
+        controller.setRecordStartPattern(updated);
+        model.setStatusMessage(updated == null
+            ? "複数行レコードの結合を解除しました"
+            : "複数行レコードを結合します（開始パターン: " + updated.pattern() + "）");
+    }
+
     /**
      * ファイル読み込み開始時のUI初期化を行います。
      */
     private void prepareForFileLoad() {
+        cancelRefresh();
         model.clearAllData();
+        filterSortService.clearCache();
         table.getColumns().clear();
         columnSelector.getItems().setAll("All");
         columnSelector.getSelectionModel().selectFirst();
@@ -240,6 +389,8 @@ public class Main extends Application {
      * ファイルクローズ時のUI初期化を行います。
      */
     private void cleanupAfterCloseFile() {
+        cancelRefresh();
+        filterSortService.clearCache();
         table.getColumns().clear();
         columnSelector.getItems().setAll("All");
         columnSelector.getSelectionModel().selectFirst();
@@ -259,15 +410,87 @@ public class Main extends Application {
             return;
         }
         
-        // ファイル名をモデルに設定
+        updateCurrentFileName();
+
+        int shownRows = loadedRowCount();
+        boolean namesChanged = result.columnNames != null && !result.columnNames.equals(model.getColumnNames());
+        model.setColumnNames(result.columnNames);
+        if (shownRows == 0) {
+            model.addBaseDataRows(result.rows);
+            finalizeLoad(result);
+            return;
+        }
+
+        // 読み込み中に表示した行の残りだけを追加し、表示中のフィルタ・ソート条件は維持する
+        if (shownRows < result.rows.size()) {
+            appendToView(result.rows.subList(shownRows, result.rows.size()));
+        }
+        // ヘッダ行のカラム名は読み込み完了時に判明するため、読み込み中に表示したカラムの名前を付け直す
+        if (result.columns > model.getColumnCount() || namesChanged) {
+            model.setSkipFilterStatusUpdate(true);
+            setupColumns(Math.max(result.columns, model.getColumnCount()));
+        }
+        showLoadCompleted(result);
+    }
+
+    /**
+     * 読み込み中のファイル名をモデルに設定します。
+     */
+    private void updateCurrentFileName() {
         Path currentPath = controller.getCurrentLoadPath();
         if (currentPath != null) {
             String fileName = currentPath.getFileName().toString();
+            int fileCount = controller.getCurrentLoadPaths().size();
+            if (fileCount > 1) {
+                fileName = String.format("%s ほか %d ファイル", fileName, fileCount - 1);
+            }
             model.setCurrentFileName(fileName);
+        } else if (controller.getCurrentStreamName() != null) {
+            model.setCurrentFileName(controller.getCurrentStreamName());
         }
-        
-        model.addBaseDataRows(result.rows);
-        finalizeLoad(result.columns, result.truncated);
+    }
+
+    /**
+     * 読み込み中の行を、完了を待たずにテーブルへ反映します。
+     * 最初の行を表示した時点で進捗ダイアログを閉じ、以降の進捗はステータスバーに表示します。
+     * 
+     * @param rows 読み込んだ行
+     */
+    private void onRowsLoaded(List<LogRow> rows) {
+        boolean first = loadedRowCount() == 0;
+        if (first) {
+            updateCurrentFileName();
+            progressDialogService.dismiss(controller.getCurrentLoadTask());
+            table.setPlaceholder(new Label("No rows"));
+        }
+
+        appendToView(rows);
+
+        int columns = model.getColumnCount();
+        for (LogRow row : rows) {
+            columns = Math.max(columns, row.fieldCount());
+        }
+        if (columns > model.getColumnCount()) {
+            // columnSelector の更新でリスナーが発火しても、読み込み中のステータスを上書きしない
+            model.setSkipFilterStatusUpdate(true);
+            setupColumns(columns);
+        }
+        model.setStatusMessage(String.format("ファイルを読み込み中... 読み込み済み %,d 行（表示 %,d 行）",
+            loadedRowCount(), model.getTableData().size()));
+    }
+
+    /**
+     * 読み込み方式の切り替えにより、読み込み中に表示した行を破棄します。
+     * 切り替え後の方式で読み直した行は、読み込み完了時にまとめて表示します。
+     */
+    private void onRowsReset() {
+        cancelRefresh();
+        model.clearAllData();
+        table.getColumns().clear();
+        columnSelector.getItems().setAll("All");
+        columnSelector.getSelectionModel().selectFirst();
+        table.setPlaceholder(new Label("Loading..."));
+        model.setStatusMessage("メモリが不足しそうなため、省メモリの読み込み方式に切り替えて読み直しています...");
     }
 
     /**
@@ -288,10 +511,10 @@ public class Main extends Application {
      * 読み込み完了後にカラムを再構築し、列選択リストを更新して初回のフィルタ/ソートを実行します。
      * 行数が上限で打ち切られた場合は情報ダイアログで通知します。
      * 
-     * @param columns   検出された列数
-     * @param truncated 行数上限で打ち切られた場合は true
+     * @param result ファイル読み込み結果
      */
-    private void finalizeLoad(int columns, boolean truncated) {
+    private void finalizeLoad(FileLoadResult result) {
+        int columns = result.columns;
         // columnSelectorの設定でリスナーが発火してrefreshAsyncが呼ばれる可能性があるため、
         // 最初にフラグを設定してoperationStartTimeが上書きされないようにする
         model.setSkipFilterStatusUpdate(true);
@@ -301,6 +524,23 @@ public class Main extends Application {
             return;
         }
 
+        setupColumns(columns);
+
+        table.setPlaceholder(new Label("No rows"));
+
+        // 読み込んだデータをテーブルに直接設定（初期状態は行番号順なのでソート不要）
+        model.setTableData(new ArrayList<>(model.getBaseData()));
+
+        showLoadCompleted(result);
+    }
+
+    /**
+     * カラム数に合わせてテーブルのカラムとカラムセレクタを構築します。
+     * 読み込み中にカラム数が増えた場合も、カラムセレクタの選択位置は維持します。
+     * 
+     * @param columns カラム数
+     */
+    private void setupColumns(int columns) {
         model.setColumnCount(columns);
         rebuildColumns(columns);
         
@@ -312,27 +552,37 @@ public class Main extends Application {
 
         List<String> cols = new ArrayList<>();
         cols.add("All");
+        List<String> columnNames = model.getColumnNames();
         for (int i = 0; i < columns; i++) {
-            cols.add("Column " + i);
+            cols.add(columnNames != null && i < columnNames.size() ? columnNames.get(i) : "Column " + i);
         }
+        int selected = Math.max(0, columnSelector.getSelectionModel().getSelectedIndex());
         columnSelector.getItems().setAll(cols);
-        columnSelector.getSelectionModel().selectFirst();
+        columnSelector.getSelectionModel().select(selected);
         
         // 既存の検索条件のカラムセレクタも更新
         filterConditionPanel.updateColumns(cols);
+    }
 
-        table.setPlaceholder(new Label("No rows"));
-
+    /**
+     * 読み込み完了をステータスバーに表示し、行数上限で打ち切った場合は通知します。
+     * 読み込み方式を自動で選んだ場合は、選んだ方式と見積もりも表示します。
+     * 
+     * @param result ファイル読み込み結果
+     */
+    private void showLoadCompleted(FileLoadResult result) {
         long elapsedMillis = (System.nanoTime() - model.getOperationStartTime()) / 1_000_000;
         double elapsedSeconds = elapsedMillis / 1000.0;
-        model.setStatusMessage(String.format("ファイル読み込みが完了しました。読み込み行数 %,d 行、処理時間 %.2f 秒", model.getBaseData().size(), elapsedSeconds));
-
-        // 読み込んだデータをテーブルに直接設定（初期状態は行番号順なのでソート不要）
-        model.setTableData(new ArrayList<>(model.getBaseData()));
+        String message = String.format("ファイル読み込みが完了しました。読み込み行数 %,d 行、処理時間 %.2f 秒", loadedRowCount(), elapsedSeconds);
+        if (result.note != null) {
+            message += " / " + result.note;
+        }
+        model.setStatusMessage(message);
 
-        if (truncated) {
-            String message = String.format("メモリ使用量を抑えるため、ファイルは %,d 行で打ち切られました。", ServiceConstants.MAX_ROWS);
-            Alert info = new Alert(Alert.AlertType.INFORMATION, message, ButtonType.OK);
+        if (result.truncated) {
+            String truncatedMessage = String.format("メモリ使用量を抑えるため、ファイルは %,d 行で打ち切られました。",
+                loadedRowCount());
+            Alert info = new Alert(Alert.AlertType.INFORMATION, truncatedMessage, ButtonType.OK);
             info.setHeaderText(null);
             info.showAndWait();
         }
@@ -392,7 +642,8 @@ public class Main extends Application {
      * @return データカラム
      */
     private TableColumn<LogRow, String> createDataColumn(int colIndex) {
-        TableColumn<LogRow, String> col = new TableColumn<>("Col " + colIndex);
+        String columnName = model.getColumnName(colIndex);
+        TableColumn<LogRow, String> col = new TableColumn<>(columnName);
         col.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getField(colIndex)));
         col.setPrefWidth(150);
         col.setComparator((a, b) -> a.compareToIgnoreCase(b));
@@ -400,7 +651,7 @@ public class Main extends Application {
         col.setSortable(false); // ボタン操作に限定
 
         // ヘッダUI設定
-        HBox headerBox = createColumnHeader("Col " + colIndex, col,
+        HBox headerBox = createColumnHeader(columnName, col,
             () -> sortColumn(col, TableColumn.SortType.ASCENDING),
             () -> sortColumn(col, TableColumn.SortType.DESCENDING));
         col.setText(null);
@@ -486,6 +737,25 @@ public class Main extends Application {
             protected void updateItem(Number item, boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty ? null : String.format(Locale.US, "%,d", item.intValue()));
+
+                // 結合表示では読み込み元のファイルと行番号を、複数行レコードでは元の行範囲をツールチップに表示する
+                LogRow row = empty || getTableRow() == null ? null : getTableRow().getItem();
+                if (row instanceof SourcedLogRow sourced) {
+                    if (getTooltip() == null) {
+                        setTooltip(new Tooltip());
+                    }
+                    getTooltip().setText(String.format(Locale.US, "%s : %,d 行目",
+                        sourced.getSource(), sourced.getSourceLineNumber()));
+                } else if (row != null && row.getLastLineNumber() > row.getLineNumber()) {
+                    if (getTooltip() == null) {
+                        setTooltip(new Tooltip());
+                    }
+                    getTooltip().setText(String.format(Locale.US, "%,d 〜 %,d 行目（%,d 行）",
+                        row.getLineNumber(), row.getLastLineNumber(),
+                        row.getLastLineNumber() - row.getLineNumber() + 1));
+                } else if (getTooltip() != null) {
+                    setTooltip(null);
+                }
             }
         };
     }
@@ -546,35 +816,51 @@ public class Main extends Application {
     /**
      * フィルタとソートをバックグラウンドで計算し、完了後にテーブルへ反映します。
      * 直前の計算タスクが残っていればキャンセルし、最新の入力・ソート条件で再計算します。
+     * 全データの複製とソート対象カラムの型判定も、行数に比例するためバックグラウンドで行います。
      */
     private void refreshAsync() {
-        List<LogRow> snapshot = new ArrayList<>(model.getBaseData());
+        Task<?> previous = currentTask.get();
+        if (previous != null) {
+            previous.cancel();
+        }
+        // 計算中に追加されて保留していた行は、新しい計算の対象に含める
+        applyPendingLastRow();
+        if (!pendingRows.isEmpty()) {
+            model.addBaseDataRows(pendingRows);
+            pendingRows.clear();
+        }
+
+        long dataVersion = model.getDataVersion();
         String filterText = model.getSingleFilterText();
-        String selectedColumn = model.getSingleFilterColumn();
         int targetSortIndex = model.getSortColumnIndex();
         boolean ascending = model.isSortAscending();
+        List<String> columnNames = model.getColumnNames();
         // ファイル読み込み直後の初回フィルタでは時刻を上書きしない
         if (!model.isSkipFilterStatusUpdate()) {
             model.setOperationStartTime(System.nanoTime());
         }
 
-        // 複数条件が存在する場合は複数条件を優先
-        Predicate<LogRow> predicate;
-        if (!filterConditionPanel.getConditions().isEmpty()) {
-            predicate = buildMultiplePredicate();
-        } else {
-            // FilterServiceを使用してPredicateを構築
-            int columnIndex = "All".equals(selectedColumn) ? -1 : columnSelector.getSelectionModel().getSelectedIndex() - 1;
-            predicate = filterService.buildPredicate(filterText, selectedColumn, columnIndex);
-        }
-        
-        // SortServiceを使用してComparatorを構築
-        Comparator<LogRow> comparator = sortService.buildComparator(targetSortIndex, ascending);
+        FilterQuery query = buildCurrentQuery(filterText);
+        AtomicReference<ColumnType> sortType = new AtomicReference<>(ColumnType.STRING);
 
-        // FilterSortService でフィルタとソートを実行
-        Task<List<LogRow>> task = filterSortService.filterAndSortAsync(snapshot, predicate, comparator);
+        Task<List<LogRow>> task = new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                // 計算中は全データを変更しないため（追加した行は保留する）、複製した時点の版と一致する
+                List<LogRow> snapshot = model.copyBaseData();
+                // ソート対象カラムの型を標本（ヘッダ行があれば型キャッシュ）から判定し、数値・日時は値の大小で並べる
+                sortType.set(sortService.inferType(snapshot, targetSortIndex, columnNames));
+                // FilterSortService でフィルタとソートを実行（直前の条件を絞り込んだ場合は直前の結果だけを判定する）
+                return filterSortService.filterAndSort(snapshot, dataVersion, query, targetSortIndex, ascending,
+                    sortType.get(), this::isCancelled);
+            }
+        };
 
         task.setOnSucceeded(evt -> {
+            // 完了の通知までに全データがクリアされた場合は反映しない
+            if (currentTask.get() != task) {
+                return;
+            }
             List<LogRow> result = task.getValue();
             long elapsedMillis = (System.nanoTime() - model.getOperationStartTime()) / 1_000_000;
             double elapsedSeconds = elapsedMillis / 1000.0;
@@ -583,10 +869,16 @@ public class Main extends Application {
                 model.setStatusMessage(String.format("フィルタ/ソートが完了しました。結果 %,d 行、処理時間 %.2f 秒", result.size(), elapsedSeconds));
             }
             model.setSkipFilterStatusUpdate(false);
+            model.setSortColumnType(sortType.get());
             model.setTableData(result);
+            applyPendingRows();
         });
 
         task.setOnFailed(evt -> {
+            if (currentTask.get() != task) {
+                return;
+            }
+            applyPendingRows();
             Throwable ex = task.getException();
             String msg = ex == null ? "不明なエラー" : ex.getMessage();
             Alert a = new Alert(Alert.AlertType.ERROR, "フィルタ/ソートに失敗しました: " + msg, ButtonType.OK);
@@ -594,14 +886,141 @@ public class Main extends Application {
             a.showAndWait();
         });
 
-        Task<?> previous = currentTask.getAndSet(task);
+        currentTask.set(task);
+        Thread t = new Thread(task, "refresh-task");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 計算中のフィルタ/ソートをキャンセルし、保留していた行を破棄します。
+     * 全データをクリアする前に呼び出します。
+     */
+    private void cancelRefresh() {
+        Task<?> previous = currentTask.getAndSet(null);
         if (previous != null) {
             previous.cancel();
         }
+        pendingRows.clear();
+        pendingLastRow = null;
+    }
 
-        Thread t = new Thread(task, "refresh-task");
-        t.setDaemon(true);
-        t.start();
+    /**
+     * フィルタ/ソートの計算中に保留していた行を、計算結果のテーブルへ追加します。
+     */
+    private void applyPendingRows() {
+        applyPendingLastRow();
+        if (pendingRows.isEmpty()) {
+            return;
+        }
+        List<LogRow> rows = new ArrayList<>(pendingRows);
+        pendingRows.clear();
+        appendToView(rows);
+    }
+
+    /**
+     * フィルタ/ソートの計算中に完成した最終行を、全データとテーブルの最終行と置き換えます。
+     */
+    private void applyPendingLastRow() {
+        if (pendingLastRow == null) {
+            return;
+        }
+        LogRow row = pendingLastRow;
+        pendingLastRow = null;
+        replaceLastRow(row);
+    }
+
+    /**
+     * 読み込み済みの行数を返します。フィルタ/ソートの計算中に保留している行も含みます。
+     * 
+     * @return 読み込み済みの行数
+     */
+    private int loadedRowCount() {
+        return model.getBaseData().size() + pendingRows.size();
+    }
+
+    /**
+     * 現在の検索条件を構築します。
+     * 複数条件が存在する場合は複数条件を優先します。
+     * 
+     * @param filterText 単一フィルタのテキスト
+     * @return フィルタ条件
+     */
+    private FilterQuery buildCurrentQuery(String filterText) {
+        if (!filterConditionPanel.getConditions().isEmpty()) {
+            return buildMultipleQuery();
+        }
+        // ヘッダ行に "All" という名前のカラムがあっても区別できるよう、選択位置で判定する
+        int columnIndex = Math.max(-1, columnSelector.getSelectionModel().getSelectedIndex() - 1);
+        return FilterQuery.of(filterText, columnIndex);
+    }
+
+    /**
+     * 追従モードで追記された行を反映します。
+     * 追記行のみを現在のフィルタ・ソート条件で評価してテーブルに追加します。
+     * フィルタ/ソートの計算中は、計算の完了後に追加します。
+     * 
+     * @param rows 追記された行
+     */
+    private void onRowsAppended(List<LogRow> rows) {
+        int added = appendToView(rows);
+        if (added < 0) {
+            return;
+        }
+        model.setStatusMessage(String.format("追従中: %,d 行追記（表示 %,d 行追加）、全 %,d 行",
+            rows.size(), added, loadedRowCount()));
+    }
+
+    /**
+     * 追従モードで、読み込み時に書き込み途中だった最終行が完成した場合に置き換えます。
+     * フィルタ/ソートの計算中は、計算の完了後に置き換えます。
+     * 
+     * @param row 完成した最終行
+     */
+    private void onLastRowCompleted(LogRow row) {
+        // 保留中の行があれば、その末尾が書き込み途中だった最終行にあたる
+        if (!pendingRows.isEmpty()) {
+            pendingRows.set(pendingRows.size() - 1, row);
+            return;
+        }
+        Task<?> running = currentTask.get();
+        if (running != null && !running.isDone()) {
+            pendingLastRow = row;
+            return;
+        }
+        replaceLastRow(row);
+    }
+
+    /**
+     * 全データの最終行を置き換え、現在のフィルタ・ソート条件でテーブルに反映します。
+     * 
+     * @param row 置き換え後の行
+     */
+    private void replaceLastRow(LogRow row) {
+        Predicate<LogRow> predicate = filterService.buildPredicate(buildCurrentQuery(model.getSingleFilterText()));
+        Comparator<LogRow> comparator = sortService.buildComparator(model.getSortColumnIndex(), model.isSortAscending(),
+            model.getSortColumnType());
+        model.replaceLastRow(row, predicate, comparator);
+    }
+
+    /**
+     * 行を全データに追加し、現在のフィルタ・ソート条件で評価してテーブルに追加します。
+     * フィルタ/ソートの計算中は計算を打ち切らずに行を保留し、完了後にその結果へ追加します。
+     * 
+     * @param rows 追加する行
+     * @return テーブルに追加した行数（保留した場合は -1）
+     */
+    private int appendToView(List<LogRow> rows) {
+        Task<?> running = currentTask.get();
+        if (running != null && !running.isDone()) {
+            pendingRows.addAll(rows);
+            return -1;
+        }
+
+        Predicate<LogRow> predicate = filterService.buildPredicate(buildCurrentQuery(model.getSingleFilterText()));
+        Comparator<LogRow> comparator = sortService.buildComparator(model.getSortColumnIndex(), model.isSortAscending(),
+            model.getSortColumnType());
+        return model.appendRows(rows, predicate, comparator);
     }
 
     /**
@@ -617,30 +1036,19 @@ public class Main extends Application {
     }
 
     /**
-     * 複数の検索条件を組み合わせたPredicateを構築します。
-     * すべての条件にマッチする行のみを通過させます（AND条件）。
+     * 複数の検索条件を組み合わせた条件を構築します。
+     * すべての条件にマッチする行のみを通過させます（AND条件）。空の条件は除きます。
      * 
-     * @return 複数条件を組み合わせたPredicate
+     * @return 複数条件を組み合わせたフィルタ条件
      */
-    private Predicate<LogRow> buildMultiplePredicate() {
-        List<Predicate<LogRow>> predicates = new ArrayList<>();
+    private FilterQuery buildMultipleQuery() {
+        List<FilterQuery.Condition> conditions = new ArrayList<>();
 
         for (FilterConditionPanel.FilterCondition condition : filterConditionPanel.getConditions()) {
-            String text = condition.filterField.getText();
-            String selected = condition.columnSelector.getValue();
-            
-            if (text == null || text.isBlank()) {
-                continue; // 空の条件はスキップ
-            }
-            
-            // FilterServiceを使用してPredicateを作成
-            int columnIndex = "All".equals(selected) ? -1 : condition.columnSelector.getSelectionModel().getSelectedIndex() - 1;
-            Predicate<LogRow> p = filterService.buildPredicate(text, selected, columnIndex);
-            predicates.add(p);
+            int columnIndex = Math.max(-1, condition.columnSelector.getSelectionModel().getSelectedIndex() - 1);
+            conditions.add(new FilterQuery.Condition(condition.filterField.getText(), columnIndex));
         }
-        
-        // FilterServiceを使用して複数条件を結合
-        return filterService.combinePredicates(predicates);
+        return FilterQuery.of(conditions);
     }
 
     /**
@@ -783,7 +1191,7 @@ public class Main extends Application {
 
             // FileIOService でバックグラウンドタスクを生成
             Task<Integer> task = fileIOService.exportSelectedRowsAsync(
-                itemsSnapshot, selectedRowIndices, visibleIndicesSnapshot, outputPath);
+                itemsSnapshot, selectedRowIndices, visibleIndicesSnapshot, model.getColumnNames(), outputPath);
 
             task.setOnSucceeded(evt -> {
                 int rowCount = task.getValue();
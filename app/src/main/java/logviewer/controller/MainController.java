@@ -1,170 +1,739 @@
-package logviewer.controller;
-
-import javafx.concurrent.Task;
-import javafx.stage.FileChooser;
-import javafx.stage.Stage;
-import logviewer.model.LogViewerModel;
-import logviewer.service.FileLoadResult;
-import logviewer.service.FileIOService;
-import logviewer.service.FilterService;
-
-import java.io.File;
-import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
-
-/**
- * Main画面のハンドラを集約するコントローラ。
- */
-public class MainController {
-    private final LogViewerModel model;
-    private final FileIOService fileIOService;
-    private final FilterService filterService;
-    private final AtomicReference<Task<?>> currentLoadTask = new AtomicReference<>();
-    private Path currentLoadPath = null;  // 現在読み込んでいるファイルのパス
-
-    /**
-     * コンストラクタ。
-     * 
-     * @param model          LogViewerModel インスタンス
-     * @param fileIOService  FileIOService インスタンス
-     * @param filterService  FilterService インスタンス
-     */
-    public MainController(LogViewerModel model, FileIOService fileIOService, FilterService filterService) {
-        this.model = model;
-        this.fileIOService = fileIOService;
-        this.filterService = filterService;
-    }
-
-    /**
-     * モデルを取得します。
-     * 
-     * @return LogViewerModel インスタンス
-     */
-    public LogViewerModel getModel() {
-        return model;
-    }
-
-    /**
-     * ファイルI/Oサービスを取得します。
-     * 
-     * @return FileIOService インスタンス
-     */
-    public FileIOService getFileIOService() {
-        return fileIOService;
-    }
-
-    /**
-     * フィルタサービスを取得します。
-     * 
-     * @return FilterService インスタンス
-     */
-    public FilterService getFilterService() {
-        return filterService;
-    }
-
-    /**
-     * ファイル選択ダイアログを開いて読み込み処理を開始します。
-     * 
-     * @param stage     ダイアログを表示するステージ
-     * @param onStart   読み込み開始時の処理
-     * @param onSuccess 読み込み成功時の処理
-     * @param onFailed  読み込み失敗時の処理
-     * @return 実行中のタスク (未選択なら null)
-     */
-    public Task<FileLoadResult> handleOpenFile(
-        Stage stage,
-        Runnable onStart,
-        Consumer<FileLoadResult> onSuccess,
-        Consumer<Throwable> onFailed
-    ) {
-        FileChooser chooser = new FileChooser();
-        chooser.setTitle("ログファイルを開く");
-        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("All files", "*.*"));
-        File f = chooser.showOpenDialog(stage);
-        if (f == null) {
-            return null;
-        }
-        return handleLoadFile(f.toPath(), onStart, onSuccess, onFailed);
-    }
-
-    /**
-     * 指定パスのファイル読み込み処理を開始します。
-     * 
-     * @param path      読み込むファイルのパス
-     * @param onStart   読み込み開始時の処理
-     * @param onSuccess 読み込み成功時の処理
-     * @param onFailed  読み込み失敗時の処理
-     * @return 実行中のタスク
-     */
-    public Task<FileLoadResult> handleLoadFile(
-        Path path,
-        Runnable onStart,
-        Consumer<FileLoadResult> onSuccess,
-        Consumer<Throwable> onFailed
-    ) {
-        Task<?> previous = currentLoadTask.getAndSet(null);
-        if (previous != null) {
-            previous.cancel();
-        }
-
-        this.currentLoadPath = path;  // ファイルパスを記録
-
-        if (onStart != null) {
-            onStart.run();
-        }
-
-        Task<FileLoadResult> task = fileIOService.loadFileAsync(path);
-        task.setOnSucceeded(ev -> {
-            if (onSuccess != null) {
-                onSuccess.accept(task.getValue());
-            }
-        });
-        task.setOnFailed(ev -> {
-            if (onFailed != null) {
-                onFailed.accept(task.getException());
-            }
-        });
-
-        currentLoadTask.set(task);
-        Thread t = new Thread(task, "log-load-thread");
-        t.setDaemon(true);
-        t.start();
-        return task;
-    }
-
-    /**
-     * 現在読み込んでいるファイルのパスを取得します。
-     *
-     * @return ファイルパス
-     */
-    public Path getCurrentLoadPath() {
-        return currentLoadPath;
-    }
-
-    /**
-     * ファイルを閉じます。
-     * テーブルをクリア、ファイルパスをリセット、実行中のタスクをキャンセルします。
-     * 
-     * @param onClosed 閉じた後のコールバック
-     */
-    public void handleCloseFile(Runnable onClosed) {
-        // 実行中のロードタスクをキャンセル
-        Task<?> previous = currentLoadTask.getAndSet(null);
-        if (previous != null) {
-            previous.cancel();
-        }
-
-        // ファイルパスをリセット
-        this.currentLoadPath = null;
-
-        // モデルをクリア
-        model.clearAllData();
-        model.setStatusMessage("準備完了");
-
-        // コールバック実行
-        if (onClosed != null) {
-            onClosed.run();
-        }
-    }
-}
+package logviewer.controller;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import logviewer.LogRow;
+import logviewer.model.LogViewerModel;
+import logviewer.service.FileLoadResult;
+import logviewer.service.FileIOService;
+import logviewer.service.FileTailer;
+import logviewer.service.FilterService;
+import logviewer.service.LoadMode;
+import logviewer.service.LogRange;
+import logviewer.service.LogSample;
+import logviewer.service.RotatedLogSet;
+import logviewer.service.RowBatchListener;
+import logviewer.service.ServiceConstants;
+import logviewer.service.StreamSource;
+import logviewer.service.TextEncoding;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Main画面のハンドラを集約するコントローラ。
+ */
+public class MainController {
+    private final LogViewerModel model;
+    private final FileIOService fileIOService;
+    private final FilterService filterService;
+    private final AtomicReference<Task<?>> currentLoadTask = new AtomicReference<>();
+    private Path currentLoadPath = null;  // 現在読み込んでいるファイルのパス
+    private List<Path> currentLoadPaths = List.of();  // 結合して読み込んでいる場合は全ファイルのパス
+    private String currentStreamName = null;  // 標準入力などから読み込んでいる場合の読み込み元の名前
+    private LoadMode loadMode = LoadMode.AUTO;  // ファイル読み込み方式
+    private Consumer<List<LogRow>> onRowsLoaded = null;  // 読み込み中の行の反映先
+    private Runnable onRowsReset = null;  // 読み込み中の行を破棄する処理
+    private Pattern recordStartPattern = null;  // 複数行レコードの開始パターン（null の場合は1行を1レコードとする）
+
+    // ===== 追従モード =====
+    private final ScheduledExecutorService followExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "log-follow-thread");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean followEnabled = false;
+    private FileTailer tailer = null;  // 読み込み済みファイルの追記読み込み（追従できない場合は null）
+    private ScheduledFuture<?> followFuture = null;
+    private Consumer<List<LogRow>> onRowsAppended = null;
+    private Consumer<LogRow> onLastRowCompleted = null;
+    private Consumer<String> onFollowStopped = null;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param model          LogViewerModel インスタンス
+     * @param fileIOService  FileIOService インスタンス
+     * @param filterService  FilterService インスタンス
+     */
+    public MainController(LogViewerModel model, FileIOService fileIOService, FilterService filterService) {
+        this.model = model;
+        this.fileIOService = fileIOService;
+        this.filterService = filterService;
+    }
+
+    /**
+     * モデルを取得します。
+     * 
+     * @return LogViewerModel インスタンス
+     */
+    public LogViewerModel getModel() {
+        return model;
+    }
+
+    /**
+     * ファイルI/Oサービスを取得します。
+     * 
+     * @return FileIOService インスタンス
+     */
+    public FileIOService getFileIOService() {
+        return fileIOService;
+    }
+
+    /**
+     * フィルタサービスを取得します。
+     * 
+     * @return FilterService インスタンス
+     */
+    public FilterService getFilterService() {
+        return filterService;
+    }
+
+    /**
+     * ファイル選択ダイアログを開いて読み込み処理を開始します。
+     * 
+     * @param stage     ダイアログを表示するステージ
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク (未選択なら null)
+     */
+    public Task<FileLoadResult> handleOpenFile(
+        Stage stage,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        Path path = chooseFile(stage);
+        if (path == null) {
+            return null;
+        }
+        return handleLoadFile(path, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * ファイル選択ダイアログで1つのファイルを選択させます。
+     * 
+     * @param stage ダイアログを表示するステージ
+     * @return 選択されたファイルのパス（未選択なら null）
+     */
+    public Path chooseFile(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("ログファイルを開く");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("All files", "*.*"));
+        File f = chooser.showOpenDialog(stage);
+        return f != null ? f.toPath() : null;
+    }
+
+    /**
+     * 指定パスのファイル読み込み処理を開始します。
+     * 
+     * @param path      読み込むファイルのパス
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク
+     */
+    public Task<FileLoadResult> handleLoadFile(
+        Path path,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        RowBatchPublisher publisher = new RowBatchPublisher();
+        return startLoad(List.of(path), () -> fileIOService.loadFileAsync(path, loadMode, publisher, recordStartPattern),
+            publisher, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * 標準入力や名前付きパイプなどのストリームを、届いた順に読み込む処理を開始します。
+     * ストリームは読み直せないため、追従モードは使用できません。
+     * 
+     * @param source    読み込み元
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク
+     */
+    public Task<FileLoadResult> handleLoadStream(
+        StreamSource source,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        RowBatchPublisher publisher = new RowBatchPublisher();
+        Task<FileLoadResult> task = startLoad(List.of(),
+            () -> fileIOService.loadStreamAsync(source, publisher, recordStartPattern),
+            publisher, onStart, onSuccess, onFailed);
+        this.currentStreamName = source.getName();
+        return task;
+    }
+
+    /**
+     * 指定パスのファイルのうち、指定した範囲だけを読み込む処理を開始します。
+     * 一部だけを読み込んだ表示では追従モードは使用できません。
+     * 
+     * @param path      読み込むファイルのパス
+     * @param range     読み込む範囲
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク
+     */
+    public Task<FileLoadResult> handleLoadFileRange(
+        Path path,
+        LogRange range,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        return startLoad(List.of(path), () -> fileIOService.loadFileRangeAsync(path, range),
+            null, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * 指定パスのファイル全体から一部の行だけを抜き出して読み込む処理を開始します。
+     * 一部だけを読み込んだ表示では追従モードは使用できません。
+     * 
+     * @param path      読み込むファイルのパス
+     * @param sample    抽出方法
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク
+     */
+    public Task<FileLoadResult> handleLoadFileSample(
+        Path path,
+        LogSample sample,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        return startLoad(List.of(path), () -> fileIOService.loadFileSampleAsync(path, sample),
+            null, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * ファイル選択ダイアログで複数のファイルを選択させます。
+     * 
+     * @param stage ダイアログを表示するステージ
+     * @return 選択されたファイルのパス（未選択なら空のリスト）
+     */
+    public List<Path> chooseFiles(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("結合するログファイルを開く");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("All files", "*.*"));
+        List<File> files = chooser.showOpenMultipleDialog(stage);
+        List<Path> paths = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                paths.add(file.toPath());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * 複数ファイルを時刻カラムの順に結合して読み込む処理を開始します。
+     * 結合した表示では追従モードは使用できません。
+     * 
+     * @param paths           読み込むファイルのパス
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @param onStart         読み込み開始時の処理
+     * @param onSuccess       読み込み成功時の処理
+     * @param onFailed        読み込み失敗時の処理
+     * @return 実行中のタスク
+     */
+    public Task<FileLoadResult> handleLoadFiles(
+        List<Path> paths,
+        int timestampColumn,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        List<Path> targets = List.copyOf(paths);
+        return startLoad(targets, () -> fileIOService.loadFilesMergedAsync(targets, timestampColumn),
+            null, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * フォルダ選択ダイアログでローテーションされたログのフォルダを選択させます。
+     * 
+     * @param stage ダイアログを表示するステージ
+     * @return 選択されたフォルダのパス（未選択なら null）
+     */
+    public Path chooseDirectory(Stage stage) {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("ローテーションされたログのフォルダを開く");
+        File dir = chooser.showDialog(stage);
+        return dir != null ? dir.toPath() : null;
+    }
+
+    /**
+     * フォルダ内のローテーションされたログを古い順に連結して読み込む処理を開始します。
+     * 対象が1ファイルのみの場合は通常の読み込みを行います。
+     * 連結した表示では追従モードは使用できません。
+     * 
+     * @param directory 対象フォルダ
+     * @param glob      対象ファイル名のパターン（例: app.log*）
+     * @param onStart   読み込み開始時の処理
+     * @param onSuccess 読み込み成功時の処理
+     * @param onFailed  読み込み失敗時の処理
+     * @return 実行中のタスク（対象ファイルがない場合は null）
+     */
+    public Task<FileLoadResult> handleLoadRotatedSet(
+        Path directory,
+        String glob,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        List<Path> segments;
+        try {
+            segments = RotatedLogSet.resolve(directory, glob);
+        } catch (IOException | RuntimeException e) {
+            if (onFailed != null) {
+                onFailed.accept(e);
+            }
+            return null;
+        }
+        if (segments.isEmpty()) {
+            if (onFailed != null) {
+                onFailed.accept(new IOException("パターンに一致するファイルがありません: " + glob));
+            }
+            return null;
+        }
+        if (segments.size() == 1) {
+            return handleLoadFile(segments.get(0), onStart, onSuccess, onFailed);
+        }
+        return startLoad(segments, () -> fileIOService.loadRotatedSetAsync(segments, loadMode),
+            null, onStart, onSuccess, onFailed);
+    }
+
+    /**
+     * 実行中の読み込みを取り消し、新しい読み込みタスクを開始します。
+     * publisher を指定した場合は、読み込み中の行を完了前からテーブルへ反映し、
+     * 完了時には残りの行を反映してから onSuccess を呼び出します。
+     */
+    private Task<FileLoadResult> startLoad(
+        List<Path> paths,
+        Supplier<Task<FileLoadResult>> taskFactory,
+        RowBatchPublisher publisher,
+        Runnable onStart,
+        Consumer<FileLoadResult> onSuccess,
+        Consumer<Throwable> onFailed
+    ) {
+        Task<?> previous = currentLoadTask.getAndSet(null);
+        if (previous != null) {
+            previous.cancel();
+        }
+        stopFollow();
+        tailer = null;
+
+        this.currentLoadPath = paths.isEmpty() ? null : paths.get(0);  // ファイルパスを記録
+        this.currentLoadPaths = paths;
+        this.currentStreamName = null;
+
+        if (onStart != null) {
+            onStart.run();
+        }
+
+        Task<FileLoadResult> task = taskFactory.get();
+        if (publisher != null) {
+            publisher.attach(task);
+        }
+        task.setOnSucceeded(ev -> {
+            if (publisher != null) {
+                publisher.drain();
+            }
+            FileLoadResult result = task.getValue();
+            if (onSuccess != null) {
+                onSuccess.accept(result);
+            }
+            if (paths.size() == 1) {
+                prepareFollow(paths.get(0), result);
+            }
+        });
+        task.setOnFailed(ev -> {
+            if (onFailed != null) {
+                onFailed.accept(task.getException());
+            }
+        });
+
+        currentLoadTask.set(task);
+        Thread t = new Thread(task, "log-load-thread");
+        t.setDaemon(true);
+        t.start();
+        return task;
+    }
+
+    /**
+     * 読み込み中の行を完了前から受け取る処理を設定します。
+     * 未設定の場合は、読み込み完了時にまとめて反映します。
+     * 
+     * @param onRowsLoaded 読み込んだ行を受け取る処理（JavaFX アプリケーションスレッドで呼ばれる）
+     * @param onRowsReset  読み込み方式の切り替えにより、受け取り済みの行を破棄する処理
+     *                     （JavaFX アプリケーションスレッドで呼ばれる）
+     */
+    public void setRowsLoadedHandler(Consumer<List<LogRow>> onRowsLoaded, Runnable onRowsReset) {
+        this.onRowsLoaded = onRowsLoaded;
+        this.onRowsReset = onRowsReset;
+    }
+
+    /**
+     * 実行中の読み込みタスクを取得します。
+     * 
+     * @return 実行中の読み込みタスク（ない場合は null）
+     */
+    public Task<?> getCurrentLoadTask() {
+        return currentLoadTask.get();
+    }
+
+    /**
+     * ファイル読み込み方式を取得します。
+     * 
+     * @return 読み込み方式
+     */
+    public LoadMode getLoadMode() {
+        return loadMode;
+    }
+
+    /**
+     * ファイル読み込み方式を設定します。
+     * 次回以降のファイル読み込みから適用されます。
+     * 
+     * @param loadMode 読み込み方式（null の場合は自動）
+     */
+    public void setLoadMode(LoadMode loadMode) {
+        this.loadMode = loadMode != null ? loadMode : LoadMode.AUTO;
+    }
+
+    /**
+     * 読み込むファイルの文字コードの指定を取得します。
+     * 
+     * @return 文字コードの指定
+     */
+    public TextEncoding getTextEncoding() {
+        return fileIOService.getTextEncoding();
+    }
+
+    /**
+     * 読み込むファイルの文字コードを指定します。
+     * 次回以降のファイル読み込みから適用されます。
+     * 
+     * @param textEncoding 文字コードの指定（null の場合は自動判定）
+     */
+    public void setTextEncoding(TextEncoding textEncoding) {
+        fileIOService.setTextEncoding(textEncoding);
+    }
+
+    /**
+     * 1行目がヘッダ行かどうかを判定するかを取得します。
+     * 
+     * @return 判定する場合は true
+     */
+    public boolean isHeaderDetection() {
+        return fileIOService.isHeaderDetection();
+    }
+
+    /**
+     * 1行目がヘッダ行かどうかを判定するかを設定します。
+     * 次回以降のファイル読み込みから適用されます。
+     * 
+     * @param headerDetection 判定する場合は true
+     */
+    public void setHeaderDetection(boolean headerDetection) {
+        fileIOService.setHeaderDetection(headerDetection);
+    }
+
+    /**
+     * 複数行にわたるレコードの開始パターンを取得します。
+     * 
+     * @return レコードの開始行の行頭に一致するパターン（未設定の場合は null）
+     */
+    public Pattern getRecordStartPattern() {
+        return recordStartPattern;
+    }
+
+    /**
+     * 複数行にわたるレコードの開始パターンを設定します。
+     * 次回以降のファイル読み込みから適用され、開始パターンに一致しない行は直前のレコードにまとめます。
+     * 
+     * @param recordStartPattern レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     */
+    public void setRecordStartPattern(Pattern recordStartPattern) {
+        this.recordStartPattern = recordStartPattern;
+    }
+
+    /**
+     * 追従モードで追記行を受け取る処理を設定します。
+     * いずれの処理も JavaFX アプリケーションスレッドで呼び出されます。
+     * 
+     * @param onRowsAppended     追記された行を受け取る処理
+     * @param onLastRowCompleted 読み込み時に書き込み途中だった最終行が完成した場合に、置き換える行を受け取る処理
+     * @param onFollowStopped    追従を継続できなくなった場合に理由を受け取る処理
+     */
+    public void setFollowHandlers(Consumer<List<LogRow>> onRowsAppended, Consumer<LogRow> onLastRowCompleted,
+            Consumer<String> onFollowStopped) {
+        this.onRowsAppended = onRowsAppended;
+        this.onLastRowCompleted = onLastRowCompleted;
+        this.onFollowStopped = onFollowStopped;
+    }
+
+    /**
+     * 追従モードが有効かどうかを取得します。
+     * 
+     * @return 有効なら true
+     */
+    public boolean isFollowEnabled() {
+        return followEnabled;
+    }
+
+    /**
+     * 追従モードの有効/無効を切り替えます。
+     * 有効にすると、読み込み済みファイルの末尾への追記を定期的に確認して読み込みます。
+     * 
+     * @param enabled 有効にする場合は true
+     */
+    public void setFollowEnabled(boolean enabled) {
+        this.followEnabled = enabled;
+        if (enabled) {
+            startFollow();
+        } else {
+            stopFollow();
+        }
+    }
+
+    /**
+     * 読み込み完了後に、読み込んだ末尾から追記を読むための準備をします。
+     * 行数上限で打ち切った場合や末尾位置が不明な場合は追従しません。
+     */
+    private void prepareFollow(Path path, FileLoadResult result) {
+        if (result == null || result.truncated || result.endOffset < 0) {
+            return;
+        }
+        // ヘッダ行は結果の行に含まれないため、次の行番号はその分だけ進める
+        int headerLines = result.columnNames != null ? 1 : 0;
+        // 書き込み途中の最終行は endOffset から読み直すため、その行の行番号から始める
+        int nextLineNumber = result.rows.size() + headerLines + (result.partialLastLine ? 0 : 1);
+        tailer = new FileTailer(path, result.endOffset, nextLineNumber, result.partialLastLine);
+        if (followEnabled) {
+            startFollow();
+        }
+    }
+
+    private void startFollow() {
+        if (tailer == null || followFuture != null) {
+            return;
+        }
+        FileTailer target = tailer;
+        followFuture = followExecutor.scheduleWithFixedDelay(
+            () -> pollFollow(target),
+            0,
+            ServiceConstants.FOLLOW_POLL_INTERVAL_MILLIS,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    private void stopFollow() {
+        if (followFuture != null) {
+            followFuture.cancel(false);
+            followFuture = null;
+        }
+    }
+
+    /**
+     * 追従スレッドで追記を確認し、結果を JavaFX アプリケーションスレッドへ渡します。
+     */
+    private void pollFollow(FileTailer target) {
+        String stopReason = null;
+        List<LogRow> rows = List.of();
+        LogRow completed = null;
+        try {
+            rows = target.poll();
+            if (target.isReplacingLastRow()) {
+                completed = rows.get(0);
+                rows = rows.subList(1, rows.size());
+            }
+            if (target.isTruncated()) {
+                stopReason = "ファイルが切り詰められたため、追従を停止しました";
+            }
+        } catch (IOException e) {
+            stopReason = "追記の読み込みに失敗したため、追従を停止しました: " + e.getMessage();
+        }
+
+        List<LogRow> appended = rows;
+        LogRow lastRow = completed;
+        String reason = stopReason;
+        if (appended.isEmpty() && lastRow == null && reason == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            // 別のファイルを開いた後に届いた結果は破棄する
+            if (tailer != target) {
+                return;
+            }
+            if (lastRow != null && onLastRowCompleted != null) {
+                onLastRowCompleted.accept(lastRow);
+            }
+            if (!appended.isEmpty() && onRowsAppended != null) {
+                onRowsAppended.accept(appended);
+            }
+            if (reason != null) {
+                stopFollow();
+                tailer = null;
+                if (onFollowStopped != null) {
+                    onFollowStopped.accept(reason);
+                }
+            }
+        });
+    }
+
+    /**
+     * 現在読み込んでいるファイルのパスを取得します。
+     *
+     * @return ファイルパス
+     */
+    public Path getCurrentLoadPath() {
+        return currentLoadPath;
+    }
+
+    /**
+     * 標準入力などのストリームから読み込んでいる場合に、読み込み元の名前を取得します。
+     * 
+     * @return 読み込み元の名前（ファイルから読み込んでいる場合は null）
+     */
+    public String getCurrentStreamName() {
+        return currentStreamName;
+    }
+
+    /**
+     * 現在読み込んでいる全ファイルのパスを取得します。
+     * 単一ファイルの場合は1要素のリストです。
+     * 
+     * @return ファイルパスのリスト
+     */
+    public List<Path> getCurrentLoadPaths() {
+        return currentLoadPaths;
+    }
+
+    /**
+     * ファイルを閉じます。
+     * テーブルをクリア、ファイルパスをリセット、実行中のタスクをキャンセルします。
+     * 
+     * @param onClosed 閉じた後のコールバック
+     */
+    public void handleCloseFile(Runnable onClosed) {
+        // 実行中のロードタスクをキャンセル
+        Task<?> previous = currentLoadTask.getAndSet(null);
+        if (previous != null) {
+            previous.cancel();
+        }
+        stopFollow();
+        tailer = null;
+
+        // ファイルパスをリセット
+        this.currentLoadPath = null;
+        this.currentLoadPaths = List.of();
+        this.currentStreamName = null;
+
+        // モデルをクリア
+        model.clearAllData();
+        model.setStatusMessage("準備完了");
+
+        // コールバック実行
+        if (onClosed != null) {
+            onClosed.run();
+        }
+    }
+
+    /**
+     * 読み込みスレッドから通知された行をためておき、JavaFX アプリケーションスレッドへまとめて渡すクラス。
+     * 
+     * <p>通知のたびに画面を更新すると JavaFX アプリケーションスレッドが追いつかないため、
+     * 前回の反映から {@link ServiceConstants#PUBLISH_INTERVAL_MILLIS} ミリ秒以上経過した時のみ
+     * 反映を予約し、それまでに届いた行は次の反映でまとめて渡します。間隔内に届いた行は、
+     * 後続の通知がなくても残りの時間が経過した時点で反映します。</p>
+     */
+    private final class RowBatchPublisher implements RowBatchListener {
+        private final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(ServiceConstants.PUBLISH_INTERVAL_MILLIS);
+        private final ConcurrentLinkedQueue<List<LogRow>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile long lastPublishNanos = System.nanoTime() - intervalNanos;
+        private volatile Task<?> task = null;
+
+        void attach(Task<?> task) {
+            this.task = task;
+        }
+
+        /**
+         * 読み込みスレッドから呼ばれ、行をためて必要なら反映を予約します。
+         */
+        @Override
+        public void onRows(List<LogRow> rows) {
+            pending.add(rows);
+            // 予約済みの反映があれば、その反映でまとめて渡す
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            long remaining = lastPublishNanos + intervalNanos - System.nanoTime();
+            if (remaining <= 0) {
+                publish();
+            } else {
+                // 通知が途切れても行が残らないよう、間隔の残り時間が経過した時点で反映する
+                followExecutor.schedule(this::publish, remaining, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void publish() {
+            lastPublishNanos = System.nanoTime();
+            Platform.runLater(this::drain);
+        }
+
+        /**
+         * JavaFX アプリケーションスレッドで、ためた行をまとめて反映します。
+         */
+        void drain() {
+            scheduled.set(false);
+            List<LogRow> rows = new ArrayList<>();
+            List<LogRow> batch;
+            while ((batch = pending.poll()) != null) {
+                rows.addAll(batch);
+            }
+            // 別のファイルを開いた後や閉じた後に届いた行は破棄する
+            if (rows.isEmpty() || task == null || currentLoadTask.get() != task || onRowsLoaded == null) {
+                return;
+            }
+            onRowsLoaded.accept(rows);
+        }
+
+        /**
+         * 読み込みスレッドから呼ばれ、ためた行を捨てて反映済みの行の破棄を予約します。
+         */
+        @Override
+        public void onReset() {
+            pending.clear();
+            Platform.runLater(() -> {
+                if (task != null && currentLoadTask.get() == task && onRowsReset != null) {
+                    onRowsReset.run();
+                }
+            });
+        }
+    }
+}
@@ -1,289 +1,480 @@
-package logviewer.model;
-
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import logviewer.LogRow;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * ログビューアのデータモデルクラス。
- * ログデータ、フィルタ・ソート状態、UI状態を管理します。
- */
-public class LogViewerModel {
-    // ===== データ管理 =====
-    private final List<LogRow> baseData = new ArrayList<>();
-    private final ObservableList<LogRow> tableData = FXCollections.observableArrayList();
-    
-    // ===== フィルタ・ソート状態 =====
-    private int sortColumnIndex = -1; // -1 は行番号を意味する
-    private boolean sortAscending = true;
-    private List<Integer> visibleColumnIndices = new ArrayList<>();
-    private String singleFilterText = "";
-    private String singleFilterColumn = "All";
-    
-    // ===== UI状態 =====
-    private final StringProperty statusMessage = new SimpleStringProperty("準備完了");
-    private final StringProperty currentFileName = new SimpleStringProperty("");  // 現在読み込んでいるファイル名（パス除外）
-    private int columnCount = 0;
-    private long operationStartTime = 0;
-    private boolean skipFilterStatusUpdate = false;
-    
-    // ===== Getters =====
-    
-    /**
-     * ベースデータ（フィルタ前の全データ）を取得します。
-     */
-    public List<LogRow> getBaseData() {
-        return baseData;
-    }
-    
-    /**
-     * テーブルに表示されるデータ（フィルタ後）を取得します。
-     */
-    public ObservableList<LogRow> getTableData() {
-        return tableData;
-    }
-    
-    /**
-     * ステータスメッセージプロパティを取得します。
-     * リアルタイムでメッセージを監視するため、このプロパティにリスナーを追加できます。
-     * 
-     * @return ステータスメッセージプロパティ
-     */
-    public StringProperty statusMessageProperty() {
-        return statusMessage;
-    }
-    
-    /**
-     * 現在のステータスメッセージを取得します。
-     * 
-     * @return ステータスメッセージ
-     */
-    public String getStatusMessage() {
-        return statusMessage.get();
-    }
-    
-    /**
-     * ソート列インデックスを取得します。
-     * -1は行番号でソートすることを意味します。
-     * 
-     * @return ソート対象カラムのインデックス（-1で行番号）
-     */
-    public int getSortColumnIndex() {
-        return sortColumnIndex;
-    }
-    
-    /**
-     * ソート順序が昇順かどうかを取得します。
-     * 
-     * @return 昇順なら true、降順なら false
-     */
-    public boolean isSortAscending() {
-        return sortAscending;
-    }
-    
-    /**
-     * 表示中のカラムインデックスリストを取得します。
-     * 非表示カラムは含まれません。
-     * 
-     * @return 表示中のカラムインデックスリスト
-     */
-    public List<Integer> getVisibleColumnIndices() {
-        return visibleColumnIndices;
-    }
-    
-    /**
-     * 単一フィルタのテキストを取得します。
-     * 
-     * @return フィルタテキスト
-     */
-    public String getSingleFilterText() {
-        return singleFilterText;
-    }
-    
-    /**
-     * 単一フィルタのカラム選択を取得します。
-     * 
-     * @return カラム名（"All" または "Column N"）
-     */
-    public String getSingleFilterColumn() {
-        return singleFilterColumn;
-    }
-    
-    /**
-     * 列数を取得します。
-     * 
-     * @return カラムの総数
-     */
-    public int getColumnCount() {
-        return columnCount;
-    }
-    
-    /**
-     * 操作開始時刻（ナノ秒）を取得します。
-     * 処理時間計測に使用されます。
-     * 
-     * @return 操作開始時刻
-     */
-    public long getOperationStartTime() {
-        return operationStartTime;
-    }
-    
-    /**
-     * フィルタステータス更新をスキップするかどうかを取得します。
-     * 
-     * @return スキップ対象なら true
-     */
-    public boolean isSkipFilterStatusUpdate() {
-        return skipFilterStatusUpdate;
-    }
-
-    /**
-     * 現在読み込んでいるファイル名プロパティを取得します。
-     * リアルタイムでファイル名の変更を監視するため、このプロパティにバインディングできます。
-     * 
-     * @return ファイル名プロパティ
-     */
-    public StringProperty currentFileNameProperty() {
-        return currentFileName;
-    }
-
-    /**
-     * 現在読み込んでいるファイル名を取得します。
-     * 
-     * @return ファイル名（パスを除いた部分のみ）
-     */
-    public String getCurrentFileName() {
-        return currentFileName.get();
-    }
-    
-    // ===== Setters =====
-    
-    /**
-     * ソート設定を更新します。
-     * 
-     * @param columnIndex ソート対象カラムのインデックス（-1で行番号）
-     * @param ascending   昇順ならtrue、降順ならfalse
-     */
-    public void setSortConfig(int columnIndex, boolean ascending) {
-        this.sortColumnIndex = columnIndex;
-        this.sortAscending = ascending;
-    }
-    
-    /**
-     * 単一フィルタの設定を更新します。
-     * 
-     * @param text   フィルタテキスト
-     * @param column フィルタ対象カラム
-     */
-    public void setSingleFilter(String text, String column) {
-        this.singleFilterText = text != null ? text : "";
-        this.singleFilterColumn = column != null ? column : "All";
-    }
-    
-    /**
-     * 列数を設定します。
-     * 
-     * @param count カラムの総数
-     */
-    public void setColumnCount(int count) {
-        this.columnCount = count;
-    }
-    
-    /**
-     * 操作開始時刻を設定します。
-     * 処理時間の計測に使用します。
-     * 
-     * @param nanoTime System.nanoTime() の値
-     */
-    public void setOperationStartTime(long nanoTime) {
-        this.operationStartTime = nanoTime;
-    }
-    
-    /**
-     * フィルタステータス更新スキップフラグを設定します。
-     * 
-     * @param skip スキップするなら true
-     */
-    public void setSkipFilterStatusUpdate(boolean skip) {
-        this.skipFilterStatusUpdate = skip;
-    }
-
-    /**
-     * 現在読み込んでいるファイル名を設定します。
-     * 
-     * @param fileName ファイル名（パスを除いた部分のみ）
-     */
-    public void setCurrentFileName(String fileName) {
-        this.currentFileName.set(fileName != null ? fileName : "");
-    }
-    
-    /**
-     * ステータスメッセージを更新します。
-     * 
-     * @param message 新しいステータスメッセージ
-     */
-    public void setStatusMessage(String message) {
-        this.statusMessage.set(message);
-    }
-    
-    /**
-     * 表示カラムインデックスリストを更新します。
-     * 
-     * @param indices 表示するカラムのインデックスリスト
-     */
-    public void setVisibleColumnIndices(List<Integer> indices) {
-        this.visibleColumnIndices.clear();
-        this.visibleColumnIndices.addAll(indices);
-    }
-    
-    // ===== ビジネスロジック =====
-    
-    /**
-     * すべてのデータと設定をクリアします。
-     * ファイルを新たに読み込む際に呼び出されます。
-     */
-    public void clearAllData() {
-        baseData.clear();
-        tableData.clear();
-        columnCount = 0;
-        sortColumnIndex = -1;
-        sortAscending = true;
-        visibleColumnIndices.clear();
-        singleFilterText = "";
-        singleFilterColumn = "All";
-    }
-    
-    /**
-     * ベースデータに1行を追加します。
-     * 
-     * @param row 追加するログロー
-     */
-    public void addBaseDataRow(LogRow row) {
-        baseData.add(row);
-    }
-    
-    /**
-     * 複数行をベースデータに追加します。
-     * 一括追加時に使用すると効率的です。
-     * 
-     * @param rows 追加するログロー一覧
-     */
-    public void addBaseDataRows(List<LogRow> rows) {
-        baseData.addAll(rows);
-    }
-    
-    /**
-     * テーブルに表示するデータを更新します。
-     * フィルタ・ソート後のデータをここに設定します。
-     * 
-     * @param rows テーブルに表示するログロー一覧
-     */
-    public void setTableData(List<LogRow> rows) {
-        tableData.setAll(rows);
-    }
-}
+package logviewer.model;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import logviewer.LogRow;
+import logviewer.service.ColumnType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * ログビューアのデータモデルクラス。
+ * ログデータ、フィルタ・ソート状態、UI状態を管理します。
+ */
+public class LogViewerModel {
+    // ===== データ管理 =====
+    private final List<LogRow> baseData = new ArrayList<>();
+    private final Object baseDataLock = new Object();  // バックグラウンドでの複製とベースデータの変更を排他する
+    private long dataVersion = 0;  // ベースデータを変更するたびに増やす版
+    private final ObservableList<LogRow> tableData = FXCollections.observableArrayList();
+    
+    // ===== フィルタ・ソート状態 =====
+    private int sortColumnIndex = -1; // -1 は行番号を意味する
+    private boolean sortAscending = true;
+    private ColumnType sortColumnType = ColumnType.STRING;
+    private List<Integer> visibleColumnIndices = new ArrayList<>();
+    private String singleFilterText = "";
+    private String singleFilterColumn = "All";
+    
+    // ===== UI状態 =====
+    private final StringProperty statusMessage = new SimpleStringProperty("準備完了");
+    private final StringProperty currentFileName = new SimpleStringProperty("");  // 現在読み込んでいるファイル名（パス除外）
+    private int columnCount = 0;
+    private List<String> columnNames = null;  // ヘッダ行のカラム名（ヘッダ行がない場合は null）
+    private long operationStartTime = 0;
+    private boolean skipFilterStatusUpdate = false;
+    
+    // ===== Getters =====
+    
+    /**
+     * ベースデータ（フィルタ前の全データ）を取得します。
+     */
+    public List<LogRow> getBaseData() {
+        return baseData;
+    }
+
+    /**
+     * ベースデータの複製を取得します。
+     * バックグラウンドスレッドから呼び出せます（複製中のベースデータの変更は、複製が終わるまで待ちます）。
+     * 
+     * @return ベースデータの複製
+     */
+    public List<LogRow> copyBaseData() {
+        synchronized (baseDataLock) {
+            return new ArrayList<>(baseData);
+        }
+    }
+
+    /**
+     * ベースデータの版を取得します。ベースデータを変更するたびに異なる値になります。
+     * 
+     * @return ベースデータの版
+     */
+    public long getDataVersion() {
+        return dataVersion;
+    }
+    
+    /**
+     * テーブルに表示されるデータ（フィルタ後）を取得します。
+     */
+    public ObservableList<LogRow> getTableData() {
+        return tableData;
+    }
+    
+    /**
+     * ステータスメッセージプロパティを取得します。
+     * リアルタイムでメッセージを監視するため、このプロパティにリスナーを追加できます。
+     * 
+     * @return ステータスメッセージプロパティ
+     */
+    public StringProperty statusMessageProperty() {
+        return statusMessage;
+    }
+    
+    /**
+     * 現在のステータスメッセージを取得します。
+     * 
+     * @return ステータスメッセージ
+     */
+    public String getStatusMessage() {
+        return statusMessage.get();
+    }
+    
+    /**
+     * ソート列インデックスを取得します。
+     * -1は行番号でソートすることを意味します。
+     * 
+     * @return ソート対象カラムのインデックス（-1で行番号）
+     */
+    public int getSortColumnIndex() {
+        return sortColumnIndex;
+    }
+    
+    /**
+     * ソート順序が昇順かどうかを取得します。
+     * 
+     * @return 昇順なら true、降順なら false
+     */
+    public boolean isSortAscending() {
+        return sortAscending;
+    }
+    
+    /**
+     * ソート対象カラムの型を取得します。
+     * 
+     * @return 直前のフィルタ/ソートで判定したソート対象カラムの型
+     */
+    public ColumnType getSortColumnType() {
+        return sortColumnType;
+    }
+    
+    /**
+     * 表示中のカラムインデックスリストを取得します。
+     * 非表示カラムは含まれません。
+     * 
+     * @return 表示中のカラムインデックスリスト
+     */
+    public List<Integer> getVisibleColumnIndices() {
+        return visibleColumnIndices;
+    }
+    
+    /**
+     * 単一フィルタのテキストを取得します。
+     * 
+     * @return フィルタテキスト
+     */
+    public String getSingleFilterText() {
+        return singleFilterText;
+    }
+    
+    /**
+     * 単一フィルタのカラム選択を取得します。
+     * 
+     * @return カラム名（"All"、ヘッダ行のカラム名または "Column N"）
+     */
+    public String getSingleFilterColumn() {
+        return singleFilterColumn;
+    }
+    
+    /**
+     * 列数を取得します。
+     * 
+     * @return カラムの総数
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+    
+    /**
+     * ヘッダ行のカラム名を取得します。
+     * 
+     * @return カラム名のリスト（ヘッダ行がない場合は null）
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+    
+    /**
+     * カラムの表示名を取得します。
+     * ヘッダ行のカラム名があればその名前を、なければ "Col N" を返します。
+     * 
+     * @param index カラムインデックス
+     * @return カラムの表示名
+     */
+    public String getColumnName(int index) {
+        if (columnNames != null && index < columnNames.size()) {
+            return columnNames.get(index);
+        }
+        return "Col " + index;
+    }
+    
+    /**
+     * 操作開始時刻（ナノ秒）を取得します。
+     * 処理時間計測に使用されます。
+     * 
+     * @return 操作開始時刻
+     */
+    public long getOperationStartTime() {
+        return operationStartTime;
+    }
+    
+    /**
+     * フィルタステータス更新をスキップするかどうかを取得します。
+     * 
+     * @return スキップ対象なら true
+     */
+    public boolean isSkipFilterStatusUpdate() {
+        return skipFilterStatusUpdate;
+    }
+
+    /**
+     * 現在読み込んでいるファイル名プロパティを取得します。
+     * リアルタイムでファイル名の変更を監視するため、このプロパティにバインディングできます。
+     * 
+     * @return ファイル名プロパティ
+     */
+    public StringProperty currentFileNameProperty() {
+        return currentFileName;
+    }
+
+    /**
+     * 現在読み込んでいるファイル名を取得します。
+     * 
+     * @return ファイル名（パスを除いた部分のみ）
+     */
+    public String getCurrentFileName() {
+        return currentFileName.get();
+    }
+    
+    // ===== Setters =====
+    
+    /**
+     * ソート設定を更新します。
+     * 
+     * @param columnIndex ソート対象カラムのインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     */
+    public void setSortConfig(int columnIndex, boolean ascending) {
+        this.sortColumnIndex = columnIndex;
+        this.sortAscending = ascending;
+    }
+    
+    /**
+     * ソート対象カラムの型を設定します。
+     * 
+     * @param type ソート対象カラムの型
+     */
+    public void setSortColumnType(ColumnType type) {
+        this.sortColumnType = type;
+    }
+    
+    /**
+     * 単一フィルタの設定を更新します。
+     * 
+     * @param text   フィルタテキスト
+     * @param column フィルタ対象カラム
+     */
+    public void setSingleFilter(String text, String column) {
+        this.singleFilterText = text != null ? text : "";
+        this.singleFilterColumn = column != null ? column : "All";
+    }
+    
+    /**
+     * 列数を設定します。
+     * 
+     * @param count カラムの総数
+     */
+    public void setColumnCount(int count) {
+        this.columnCount = count;
+    }
+    
+    /**
+     * ヘッダ行のカラム名を設定します。
+     * 
+     * @param names カラム名のリスト（ヘッダ行がない場合は null）
+     */
+    public void setColumnNames(List<String> names) {
+        this.columnNames = names;
+    }
+    
+    /**
+     * 操作開始時刻を設定します。
+     * 処理時間の計測に使用します。
+     * 
+     * @param nanoTime System.nanoTime() の値
+     */
+    public void setOperationStartTime(long nanoTime) {
+        this.operationStartTime = nanoTime;
+    }
+    
+    /**
+     * フィルタステータス更新スキップフラグを設定します。
+     * 
+     * @param skip スキップするなら true
+     */
+    public void setSkipFilterStatusUpdate(boolean skip) {
+        this.skipFilterStatusUpdate = skip;
+    }
+
+    /**
+     * 現在読み込んでいるファイル名を設定します。
+     * 
+     * @param fileName ファイル名（パスを除いた部分のみ）
+     */
+    public void setCurrentFileName(String fileName) {
+        this.currentFileName.set(fileName != null ? fileName : "");
+    }
+    
+    /**
+     * ステータスメッセージを更新します。
+     * 
+     * @param message 新しいステータスメッセージ
+     */
+    public void setStatusMessage(String message) {
+        this.statusMessage.set(message);
+    }
+    
+    /**
+     * 表示カラムインデックスリストを更新します。
+     * 
+     * @param indices 表示するカラムのインデックスリスト
+     */
+    public void setVisibleColumnIndices(List<Integer> indices) {
+        this.visibleColumnIndices.clear();
+        this.visibleColumnIndices.addAll(indices);
+    }
+    
+    // ===== ビジネスロジック =====
+    
+    /**
+     * すべてのデータと設定をクリアします。
+     * ファイルを新たに読み込む際に呼び出されます。
+     */
+    public void clearAllData() {
+        synchronized (baseDataLock) {
+            baseData.clear();
+        }
+        dataVersion++;
+        tableData.clear();
+        columnCount = 0;
+        columnNames = null;
+        sortColumnIndex = -1;
+        sortAscending = true;
+        sortColumnType = ColumnType.STRING;
+        visibleColumnIndices.clear();
+        singleFilterText = "";
+        singleFilterColumn = "All";
+    }
+    
+    /**
+     * ベースデータに1行を追加します。
+     * 
+     * @param row 追加するログロー
+     */
+    public void addBaseDataRow(LogRow row) {
+        synchronized (baseDataLock) {
+            baseData.add(row);
+        }
+        dataVersion++;
+    }
+    
+    /**
+     * 複数行をベースデータに追加します。
+     * 一括追加時に使用すると効率的です。
+     * 
+     * @param rows 追加するログロー一覧
+     */
+    public void addBaseDataRows(List<LogRow> rows) {
+        synchronized (baseDataLock) {
+            baseData.addAll(rows);
+        }
+        dataVersion++;
+    }
+    
+    /**
+     * 追記された行をベースデータとテーブルに追加します。
+     * 追記行のみをフィルタで判定し、一致した行をテーブルに追加します。
+     * 行番号の昇順で表示している場合は末尾に追加し、それ以外のソート順では
+     * 一致した行をソートしてからテーブルの行と1度で併合し、まとめて置き換えます。
+     * 既存の行はフィルタ・ソートで再評価しません。
+     * 
+     * @param rows       追記された行（行番号順）
+     * @param predicate  現在のフィルタ条件
+     * @param comparator 現在のソート順
+     * @return テーブルに追加した行数
+     */
+    public int appendRows(List<LogRow> rows, Predicate<LogRow> predicate, Comparator<LogRow> comparator) {
+        synchronized (baseDataLock) {
+            baseData.addAll(rows);
+        }
+        dataVersion++;
+
+        List<LogRow> matched = new ArrayList<>();
+        for (LogRow row : rows) {
+            if (predicate.test(row)) {
+                matched.add(row);
+            }
+        }
+
+        if (sortColumnIndex == -1 && sortAscending) {
+            tableData.addAll(matched);
+        } else if (!matched.isEmpty()) {
+            // 1行ずつ挿入すると行数に比例する移動が追記行の数だけ発生するため、併合して1度で反映する
+            matched.sort(comparator);
+            List<LogRow> merged = new ArrayList<>(tableData.size() + matched.size());
+            int i = 0;
+            int j = 0;
+            while (i < tableData.size() && j < matched.size()) {
+                // 同じキーの行は既存の行を先にし、安定ソートと同じ並びにする
+                if (comparator.compare(tableData.get(i), matched.get(j)) <= 0) {
+                    merged.add(tableData.get(i++));
+                } else {
+                    merged.add(matched.get(j++));
+                }
+            }
+            merged.addAll(tableData.subList(i, tableData.size()));
+            merged.addAll(matched.subList(j, matched.size()));
+            tableData.setAll(merged);
+        }
+        return matched.size();
+    }
+    
+    /**
+     * ベースデータの最終行を、書き込み途中だった行の完成した内容で置き換えます。
+     * テーブルに表示していた置き換え前の行を取り除き、新しい行をフィルタで判定して
+     * 一致した場合は現在のソート順の位置に追加します。
+     * 
+     * @param row        置き換え後の行
+     * @param predicate  現在のフィルタ条件
+     * @param comparator 現在のソート順
+     */
+    public void replaceLastRow(LogRow row, Predicate<LogRow> predicate, Comparator<LogRow> comparator) {
+        LogRow previous;
+        synchronized (baseDataLock) {
+            if (baseData.isEmpty()) {
+                return;
+            }
+            previous = baseData.set(baseData.size() - 1, row);
+        }
+        dataVersion++;
+
+        // 置き換え前の行は最終行のため、行番号順の表示では末尾にある
+        for (int i = tableData.size() - 1; i >= 0; i--) {
+            if (tableData.get(i) == previous) {
+                tableData.remove(i);
+                break;
+            }
+        }
+        if (!predicate.test(row)) {
+            return;
+        }
+        if (sortColumnIndex == -1 && sortAscending) {
+            tableData.add(row);
+        } else {
+            tableData.add(insertionIndex(row, comparator), row);
+        }
+    }
+    
+    /**
+     * ソート済みのテーブルに行を挿入する位置を二分探索で求めます。
+     * 同じキーの行の後ろを返し、安定ソートと同じ並びにします。
+     */
+    private int insertionIndex(LogRow row, Comparator<LogRow> comparator) {
+        int low = 0;
+        int high = tableData.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(tableData.get(mid), row) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * テーブルに表示するデータを更新します。
+     * フィルタ・ソート後のデータをここに設定します。
+     * 
+     * @param rows テーブルに表示するログロー一覧
+     */
+    public void setTableData(List<LogRow> rows) {
+        tableData.setAll(rows);
+    }
+}
@@ -0,0 +1,211 @@
+package logviewer.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * ファイル先頭のバイト列からログの文字コードを判定するクラス。
+ * 
+ * <p>BOM、UTF-16 の ASCII 文字に現れる 0x00 の偏り、UTF-8 としての妥当性の順に調べ、
+ * UTF-8 として不正なバイト列を含む場合は EUC-JP と Shift_JIS (CP932) のうち
+ * 不正なバイト列が少ない方を選びます。EUC-JP の2バイト文字は Shift_JIS としても
+ * 妥当なことが多い一方、Shift_JIS のひらがな・漢字の先頭バイト (0x81〜0x9F) は EUC-JP では
+ * 不正になるため、同数の場合は EUC-JP を優先します。</p>
+ * 
+ * <p>UTF-8・Shift_JIS・EUC-JP では 0x09 と 0x0A が2バイト文字の一部に現れないため、
+ * 行とフィールドの区切りをバイト列のまま走査し、フィールドの内容だけをデコードできます
+ * （{@link #isTabSafe(Charset)}）。</p>
+ */
+final class CharsetDetector {
+    /** Shift_JIS（Windows の拡張文字を含む CP932） */
+    static final Charset SHIFT_JIS = Charset.forName("windows-31j");
+
+    /** EUC-JP */
+    static final Charset EUC_JP = Charset.forName("EUC-JP");
+
+    /** タブと改行を1バイトで表し、2バイト文字の一部に 0x09 と 0x0A が現れない文字コード */
+    private static final Set<Charset> TAB_SAFE = Set.of(StandardCharsets.UTF_8, StandardCharsets.US_ASCII,
+        StandardCharsets.ISO_8859_1, SHIFT_JIS, Charset.forName("Shift_JIS"), EUC_JP);
+
+    private CharsetDetector() {
+    }
+
+    /**
+     * ファイル先頭のバイト列から文字コードを判定します。
+     * 
+     * @param sample ファイル先頭のバイト列
+     * @param length 有効なバイト数
+     * @return 判定した文字コード（バイナリファイルと判定した場合は null）
+     */
+    static Charset detect(byte[] sample, int length) {
+        if (length >= 3 && (sample[0] & 0xFF) == 0xEF && (sample[1] & 0xFF) == 0xBB && (sample[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (length >= 2 && ((sample[0] & 0xFF) == 0xFF && (sample[1] & 0xFF) == 0xFE
+                || (sample[0] & 0xFF) == 0xFE && (sample[1] & 0xFF) == 0xFF)) {
+            // BOM からバイト順を判定し、BOM を読み飛ばす
+            return StandardCharsets.UTF_16;
+        }
+
+        // UTF-16 の ASCII 文字は上位バイトが 0x00 になるため、偶数・奇数位置の一方に 0x00 が偏る
+        int evenZeros = 0;
+        int oddZeros = 0;
+        for (int i = 0; i < length; i++) {
+            if (sample[i] == 0) {
+                if ((i & 1) == 0) {
+                    evenZeros++;
+                } else {
+                    oddZeros++;
+                }
+            }
+        }
+        if (evenZeros + oddZeros > 0) {
+            int pairs = length / 2;
+            if (oddZeros >= pairs / 4 && evenZeros <= oddZeros / 16) {
+                return StandardCharsets.UTF_16LE;
+            }
+            if (evenZeros >= pairs / 4 && oddZeros <= evenZeros / 16) {
+                return StandardCharsets.UTF_16BE;
+            }
+            return null;
+        }
+
+        int utf8Errors = utf8Errors(sample, length);
+        if (utf8Errors == 0) {
+            return StandardCharsets.UTF_8;
+        }
+        int eucErrors = eucJpErrors(sample, length);
+        int sjisErrors = shiftJisErrors(sample, length);
+        if (eucErrors <= sjisErrors && eucErrors < utf8Errors) {
+            return EUC_JP;
+        }
+        if (sjisErrors < utf8Errors) {
+            return SHIFT_JIS;
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 行とフィールドの区切りをバイト列のまま走査できる文字コードかを判定します。
+     * 
+     * @param charset 文字コード
+     * @return 0x09 と 0x0A が常にタブと改行を表す文字コードの場合は true
+     */
+    static boolean isTabSafe(Charset charset) {
+        return TAB_SAFE.contains(charset);
+    }
+
+    /**
+     * 指定した文字コードのファイルを読むときに、フィールドをデコードする文字コードを返します。
+     * バイト列のまま区切りを走査できない文字コードは、{@link Utf8TranscodingInputStream} で
+     * UTF-8 に変換してから読むため UTF-8 を返します。
+     * 
+     * @param charset ファイルの文字コード
+     * @return フィールドをデコードする文字コード
+     */
+    static Charset fieldCharset(Charset charset) {
+        return isTabSafe(charset) ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * UTF-8 として不正なバイト列の数を返します。末尾で途切れた文字は数えません。
+     */
+    static int utf8Errors(byte[] bytes, int length) {
+        int errors = 0;
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            int trail;
+            if (b < 0x80) {
+                i++;
+                continue;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                trail = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                trail = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                trail = 3;
+            } else {
+                errors++;
+                i++;
+                continue;
+            }
+            int j = 1;
+            while (j <= trail && i + j < length && (bytes[i + j] & 0xC0) == 0x80) {
+                j++;
+            }
+            if (j <= trail && i + j < length) {
+                errors++;
+            }
+            i += j;
+        }
+        return errors;
+    }
+
+    /**
+     * EUC-JP として不正なバイト列の数を返します。末尾で途切れた文字は数えません。
+     */
+    static int eucJpErrors(byte[] bytes, int length) {
+        int errors = 0;
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+            } else if (i + 1 >= length) {
+                break;
+            } else if (b == 0x8E) {
+                // 半角カナ
+                int next = bytes[i + 1] & 0xFF;
+                errors += next >= 0xA1 && next <= 0xDF ? 0 : 1;
+                i += 2;
+            } else if (b == 0x8F) {
+                // 補助漢字（3バイト）
+                if (i + 2 >= length) {
+                    break;
+                }
+                errors += isEucByte(bytes[i + 1]) && isEucByte(bytes[i + 2]) ? 0 : 1;
+                i += 3;
+            } else if (isEucByte(bytes[i])) {
+                errors += isEucByte(bytes[i + 1]) ? 0 : 1;
+                i += 2;
+            } else {
+                errors++;
+                i++;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Shift_JIS (CP932) として不正なバイト列の数を返します。末尾で途切れた文字は数えません。
+     */
+    static int shiftJisErrors(byte[] bytes, int length) {
+        int errors = 0;
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80 || b >= 0xA1 && b <= 0xDF) {
+                // ASCII と半角カナ
+                i++;
+            } else if (b >= 0x81 && b <= 0x9F || b >= 0xE0 && b <= 0xFC) {
+                if (i + 1 >= length) {
+                    break;
+                }
+                int next = bytes[i + 1] & 0xFF;
+                errors += next >= 0x40 && next <= 0xFC && next != 0x7F ? 0 : 1;
+                i += 2;
+            } else {
+                errors++;
+                i++;
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isEucByte(byte b) {
+        int value = b & 0xFF;
+        return value >= 0xA1 && value <= 0xFE;
+    }
+}
@@ -0,0 +1,65 @@
+package logviewer.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 列指向ストアの1列分の辞書。
+ * 列内の異なる値ごとに0始まりのコードを割り当て、各行はコードのみを保持します。
+ * 
+ * <p>値の追加は読み込みスレッドからのみ行います。読み込み完了後は
+ * 複数スレッドから参照できます。</p>
+ */
+public class ColumnDictionary {
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * 値に対応するコードを返します。未登録の値は新しいコードを割り当てます。
+     * 
+     * @param value 値
+     * @return コード
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * 指定サイズを超えて登録された値を取り消します。
+     * 辞書化を中止したブロックで追加された値を元に戻すために使用します。
+     * 
+     * @param size 残すコード数
+     */
+    void truncate(int size) {
+        while (values.size() > size) {
+            codes.remove(values.remove(values.size() - 1));
+        }
+    }
+
+    /**
+     * コードに対応する値を返します。
+     * 
+     * @param code コード
+     * @return 値
+     */
+    public String value(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * 登録されている値の数を返します。
+     * 
+     * @return 異なる値の数
+     */
+    public int size() {
+        return values.size();
+    }
+}
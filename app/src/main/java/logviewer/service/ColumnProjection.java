@@ -0,0 +1,127 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 読み込み時に非表示カラムのフィールドを保持せず、必要になった時点でファイルから読み直すための射影。
+ * 
+ * <p>表示するカラムのフィールドだけを文字列として {@link ProjectedLogRow} に保持し、
+ * 非表示カラムは行のバイト位置だけを記録します。非表示カラムを再表示した場合や、
+ * 全カラムを対象にフィルタした場合は、メモリマップしたファイルから行を読み直してデコードします。</p>
+ * 
+ * <p>読み込み開始後にファイルへ追記された行は、マップした範囲外になるため全フィールドを保持します。</p>
+ */
+final class ColumnProjection {
+    private final MappedLineIndex file;
+    private final BitSet hidden;
+    private final Charset charset;
+    private final int hiddenCount;
+
+    /** 非表示カラムの最大インデックスまでの、各カラムを保持する配列上の位置（非表示カラムは -1） */
+    private final int[] slots;
+
+    private ColumnProjection(MappedLineIndex file, BitSet hidden, Charset charset) {
+        this.file = file;
+        this.hidden = hidden;
+        this.charset = charset;
+        this.hiddenCount = hidden.cardinality();
+        this.slots = new int[hidden.length()];
+        int slot = 0;
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = hidden.get(i) ? -1 : slot++;
+        }
+    }
+
+    /**
+     * 指定したカラムを保持しない射影を生成します。
+     * 
+     * @param path          読み込むファイルのパス（非圧縮）
+     * @param hiddenColumns 保持しないカラムのインデックス
+     * @param charset       フィールドをデコードする文字コード（{@link CharsetDetector#isTabSafe(Charset)} を満たすもの）
+     * @return 射影（保持しないカラムがない場合は null）
+     * @throws IOException ファイルのメモリマップに失敗した場合
+     */
+    static ColumnProjection open(Path path, Collection<Integer> hiddenColumns, Charset charset) throws IOException {
+        BitSet hidden = new BitSet();
+        for (Integer column : hiddenColumns) {
+            if (column != null && column >= 0) {
+                hidden.set(column);
+            }
+        }
+        if (hidden.isEmpty()) {
+            return null;
+        }
+        return new ColumnProjection(MappedLineIndex.open(path), hidden, charset);
+    }
+
+    /**
+     * 分割済みの1行から、表示するカラムのフィールドだけを保持する行を生成します。
+     * 
+     * @param tokenizer  行を分割したトークナイザ
+     * @param lineStart  行のファイル先頭からのバイト位置
+     * @param lineNumber 行番号
+     * @return 行
+     */
+    LogRow createRow(TsvTokenizer tokenizer, long lineStart, int lineNumber) {
+        int fieldCount = tokenizer.fieldCount();
+        int length = tokenizer.fieldEnd(fieldCount - 1) - tokenizer.fieldStart(0);
+        if (lineStart + length > file.getFileSize()) {
+            return new LogRow(tokenizer.fields(), lineNumber);
+        }
+        String[] kept = new String[fieldCount - hiddenBelow(fieldCount)];
+        int slot = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            if (!hidden.get(i)) {
+                kept[slot++] = tokenizer.field(i);
+            }
+        }
+        return new ProjectedLogRow(this, kept, fieldCount, lineStart, length, lineNumber);
+    }
+
+    /**
+     * 保持しているフィールドの配列上の位置を返します。
+     * 
+     * @param index フィールドインデックス
+     * @return 配列上の位置（保持していないカラムの場合は -1）
+     */
+    int slotOf(int index) {
+        return index < slots.length ? slots[index] : index - hiddenCount;
+    }
+
+    /**
+     * ファイルから行を読み直して、指定フィールドをデコードします。
+     * 
+     * @param lineStart 行のファイル先頭からのバイト位置
+     * @param length    行のバイト数（改行コードを除く）
+     * @param index     フィールドインデックス
+     * @return フィールド文字列
+     */
+    String readField(long lineStart, int length, int index) {
+        byte[] line = file.readBytes(lineStart, length);
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length; i++) {
+            if (i == line.length || line[i] == '\t') {
+                if (field == index) {
+                    return new String(line, start, i - start, charset);
+                }
+                field++;
+                start = i + 1;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 指定したフィールド数までに含まれる非表示カラムの数を返します。
+     */
+    private int hiddenBelow(int fieldCount) {
+        return fieldCount >= slots.length ? hiddenCount : hidden.get(0, fieldCount).cardinality();
+    }
+}
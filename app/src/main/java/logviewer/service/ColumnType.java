@@ -0,0 +1,34 @@
+package logviewer.service;
+
+/**
+ * カラムの値の型を表す列挙型。
+ * {@link TypedColumn#inferType(java.util.List, int)} が標本の行から判定します。
+ */
+public enum ColumnType {
+    /** 日時（yyyy-MM-dd HH:mm:ss 形式など）。エポックからのナノ秒に変換して比較する */
+    TIMESTAMP("日時"),
+
+    /** 整数。long に変換して比較する */
+    LONG("整数"),
+
+    /** 小数。double に変換して比較する */
+    DOUBLE("小数"),
+
+    /** 文字列。大文字と小文字を区別せずに比較する */
+    STRING("文字列");
+
+    private final String displayName;
+
+    ColumnType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * メニュー等に表示する名前を返します。
+     * 
+     * @return 表示名
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
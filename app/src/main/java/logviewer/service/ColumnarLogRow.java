@@ -0,0 +1,54 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * {@link ColumnarRowStore} 上の1行を参照する LogRow。
+ * フィールドは保持せず、アクセスされた時点でストアからデコードします。
+ */
+public class ColumnarLogRow extends LogRow {
+    private final ColumnarRowStore store;
+    private final int row;
+
+    /**
+     * ストア上の行を参照する ColumnarLogRow を生成します。
+     * 
+     * @param store 列指向ストア
+     * @param row   ストア上の行インデックス（0始まり）
+     */
+    public ColumnarLogRow(ColumnarRowStore store, int row) {
+        super(store.lineNumber(row));
+        this.store = store;
+        this.row = row;
+    }
+
+    @Override
+    public String getField(int index) {
+        return store.getField(row, index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return store.fieldCount(row);
+    }
+
+    /**
+     * 指定フィールドの辞書コードを返します。
+     * 
+     * @param index フィールドインデックス
+     * @return 辞書コード（辞書化されていない場合は -1）
+     */
+    public int fieldCode(int index) {
+        return store.fieldCode(row, index);
+    }
+
+    /**
+     * 指定フィールドの列の辞書を返します。
+     * 
+     * @param index フィールドインデックス
+     * @return 辞書（辞書を作成していない列は null）
+     */
+    public ColumnDictionary fieldDictionary(int index) {
+        return store.dictionary(index);
+    }
+}
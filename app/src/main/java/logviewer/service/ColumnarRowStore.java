@@ -0,0 +1,379 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ログの全行を列ごとに詰めて保持する列指向ストア。
+ * 
+ * <p>行を {@code BLOCK_ROWS} 行ずつのブロックに分け、ブロック内では列ごとに
+ * フィールドの UTF-8 バイト列を1つの byte 配列へ連続して格納し、各行の終了位置を
+ * int 配列に記録します。行番号と行ごとのフィールド数も int 配列で保持するため、
+ * フィールドごとの String や行ごとのリストを生成しません。</p>
+ * 
+ * <p>異なる値の少ない列（ログレベル、サービス名など）は、ブロックが埋まった時点で
+ * 列ごとの {@link ColumnDictionary} のコード（int）に置き換えます。辞書化した列の
+ * フィールドは辞書の String を共有するため、参照時にデコードも割り当ても発生しません。
+ * 異なる値が多すぎる列は、それ以降のブロックで辞書化を行いません。</p>
+ * 
+ * <p>行は {@link ColumnarLogRow} を通して参照し、フィールドはアクセスされた時点で
+ * デコードします。</p>
+ * 
+ * <p>このクラスはスレッドセーフではありません。読み込みスレッドで行を追加し終えた後、
+ * 他のスレッドから参照してください。</p>
+ */
+public class ColumnarRowStore {
+    /** 1ブロックの行数（2のべき乗） */
+    private static final int BLOCK_SHIFT = 16;
+    private static final int BLOCK_ROWS = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_ROWS - 1;
+
+    /** ブロック内の行配列の初期容量 */
+    private static final int INITIAL_ROW_CAPACITY = 1024;
+
+    /** 列データの初期容量（バイト） */
+    private static final int INITIAL_DATA_CAPACITY = 16 * 1024;
+
+    /** 1列の辞書に登録できる値の最大数 */
+    private static final int MAX_DICTIONARY_SIZE = 1024;
+
+    /** 辞書化する列で、1ブロック内の新しい値1つあたりに必要な最小行数 */
+    private static final int MIN_ROWS_PER_NEW_VALUE = 8;
+
+    private final List<Block> blocks = new ArrayList<>();
+    private ColumnDictionary[] dictionaries = new ColumnDictionary[0];
+    private boolean[] dictionaryDisabled = new boolean[0];
+    private int rowCount = 0;
+    private int maxFieldCount = 0;
+
+    /**
+     * トークナイザで分割済みの1行を追加します。
+     * 
+     * @param tokenizer  行を分割したトークナイザ
+     * @param lineNumber 元ファイルでの行番号（1始まり）
+     */
+    public void addRow(TsvTokenizer tokenizer, int lineNumber) {
+        Block block = currentBlock();
+        int fieldCount = tokenizer.fieldCount();
+        block.add(tokenizer, lineNumber);
+        if (fieldCount > maxFieldCount) {
+            maxFieldCount = fieldCount;
+        }
+        rowCount++;
+    }
+
+    private Block currentBlock() {
+        Block last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (last == null || last.size == BLOCK_ROWS) {
+            if (last != null && !last.sealed) {
+                seal(last);
+            }
+            last = new Block();
+            blocks.add(last);
+        } else if (last.sealed) {
+            // 行番号からブロックを引くため、途中で確定したブロックは追加可能な状態に戻す
+            last.reopen();
+        }
+        return last;
+    }
+
+    /**
+     * 追加途中のブロックを確定し、余剰容量の解放と列の辞書化を行います。
+     * 行の追加を終えた時点で呼び出してください。
+     */
+    public void trimToSize() {
+        if (!blocks.isEmpty() && !blocks.get(blocks.size() - 1).sealed) {
+            seal(blocks.get(blocks.size() - 1));
+        }
+    }
+
+    /**
+     * ブロックを確定します。以降このブロックに行は追加されません。
+     */
+    private void seal(Block block) {
+        block.trimToSize();
+        if (dictionaries.length < block.columns.length) {
+            dictionaries = Arrays.copyOf(dictionaries, block.columns.length);
+            dictionaryDisabled = Arrays.copyOf(dictionaryDisabled, block.columns.length);
+        }
+        for (int i = 0; i < block.columns.length; i++) {
+            if (!dictionaryDisabled[i]) {
+                if (dictionaries[i] == null) {
+                    dictionaries[i] = new ColumnDictionary();
+                }
+                if (!block.columns[i].encode(dictionaries[i], block.size)) {
+                    dictionaryDisabled[i] = true;
+                }
+            }
+        }
+        block.sealed = true;
+    }
+
+    /**
+     * 保持している行数を返します。
+     * 
+     * @return 行数
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 全行の中で最大のフィールド数を返します。
+     * 
+     * @return 最大フィールド数
+     */
+    public int getMaxFieldCount() {
+        return maxFieldCount;
+    }
+
+    /**
+     * 指定行の行番号を返します。
+     * 
+     * @param row 行インデックス（0始まり）
+     * @return 元ファイルでの行番号（1始まり）
+     */
+    public int lineNumber(int row) {
+        return blocks.get(row >>> BLOCK_SHIFT).lineNumbers[row & BLOCK_MASK];
+    }
+
+    /**
+     * 指定行のフィールド数を返します。
+     * 
+     * @param row 行インデックス（0始まり）
+     * @return フィールド数
+     */
+    public int fieldCount(int row) {
+        return blocks.get(row >>> BLOCK_SHIFT).fieldCounts[row & BLOCK_MASK];
+    }
+
+    /**
+     * 指定行・指定フィールドの値をデコードして返します。
+     * 範囲外の場合は空文字を返します。
+     * 
+     * @param row   行インデックス（0始まり）
+     * @param field フィールドインデックス
+     * @return フィールド文字列
+     */
+    public String getField(int row, int field) {
+        if (row < 0 || row >= rowCount || field < 0) {
+            return "";
+        }
+        Block block = blocks.get(row >>> BLOCK_SHIFT);
+        int r = row & BLOCK_MASK;
+        if (field >= block.fieldCounts[r]) {
+            return "";
+        }
+        return block.columns[field].get(r);
+    }
+
+    /**
+     * 指定行・指定フィールドの辞書コードを返します。
+     * 辞書化されていないブロックの列や範囲外の場合は -1 を返します。
+     * 
+     * @param row   行インデックス（0始まり）
+     * @param field フィールドインデックス
+     * @return 辞書コード、または -1
+     */
+    public int fieldCode(int row, int field) {
+        if (row < 0 || row >= rowCount || field < 0) {
+            return -1;
+        }
+        Block block = blocks.get(row >>> BLOCK_SHIFT);
+        int r = row & BLOCK_MASK;
+        if (field >= block.fieldCounts[r]) {
+            return -1;
+        }
+        int[] codes = block.columns[field].codes;
+        return codes == null ? -1 : codes[r];
+    }
+
+    /**
+     * 指定フィールドの辞書を返します。
+     * {@link #fieldCode(int, int)} が返すコードはこの辞書のコードです。
+     * 
+     * @param field フィールドインデックス
+     * @return 辞書（辞書を作成していない列は null）
+     */
+    public ColumnDictionary dictionary(int field) {
+        return field >= 0 && field < dictionaries.length ? dictionaries[field] : null;
+    }
+
+    /**
+     * 全行を参照する LogRow のリストを生成します。
+     * 
+     * @return 行順の {@link ColumnarLogRow} のリスト
+     */
+    public List<LogRow> createRows() {
+        List<LogRow> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new ColumnarLogRow(this, i));
+        }
+        return rows;
+    }
+
+    /**
+     * ストアが確保している配列のおおよそのバイト数を返します。
+     * 
+     * @return 推定使用メモリ（バイト）
+     */
+    public long estimatedBytes() {
+        long total = 0;
+        for (Block block : blocks) {
+            total += 8L * block.lineNumbers.length;
+            for (Column column : block.columns) {
+                if (column.codes != null) {
+                    total += 4L * column.codes.length;
+                } else {
+                    total += column.data.length + 4L * column.ends.length;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 最大 BLOCK_ROWS 行を列ごとに保持するブロック。
+     */
+    private static final class Block {
+        int[] lineNumbers = new int[INITIAL_ROW_CAPACITY];
+        int[] fieldCounts = new int[INITIAL_ROW_CAPACITY];
+        Column[] columns = new Column[0];
+        int size = 0;
+        boolean sealed = false;
+
+        void add(TsvTokenizer tokenizer, int lineNumber) {
+            if (size == lineNumbers.length) {
+                int capacity = Math.min(BLOCK_ROWS, size * 2);
+                lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+                fieldCounts = Arrays.copyOf(fieldCounts, capacity);
+                for (Column column : columns) {
+                    column.ends = Arrays.copyOf(column.ends, capacity);
+                }
+            }
+
+            int fieldCount = tokenizer.fieldCount();
+            if (fieldCount > columns.length) {
+                int oldLength = columns.length;
+                columns = Arrays.copyOf(columns, fieldCount);
+                for (int i = oldLength; i < fieldCount; i++) {
+                    // 既存の行はこの列を持たないため、終了位置はすべて0のまま
+                    columns[i] = new Column(lineNumbers.length);
+                }
+            }
+
+            byte[] bytes = tokenizer.bytes();
+            for (int i = 0; i < columns.length; i++) {
+                Column column = columns[i];
+                if (i < fieldCount) {
+                    int start = tokenizer.fieldStart(i);
+                    column.append(bytes, start, tokenizer.fieldEnd(i) - start);
+                }
+                column.ends[size] = column.length;
+            }
+            lineNumbers[size] = lineNumber;
+            fieldCounts[size] = fieldCount;
+            size++;
+        }
+
+        void reopen() {
+            for (Column column : columns) {
+                column.decode(size);
+            }
+            sealed = false;
+        }
+
+        void trimToSize() {
+            lineNumbers = Arrays.copyOf(lineNumbers, size);
+            fieldCounts = Arrays.copyOf(fieldCounts, size);
+            for (Column column : columns) {
+                column.ends = Arrays.copyOf(column.ends, size);
+                column.data = Arrays.copyOf(column.data, column.length);
+            }
+        }
+    }
+
+    /**
+     * ブロック内の1列分のデータ。
+     * i 行目のフィールドは data の [ends[i-1], ends[i]) に格納されます（0行目の開始位置は0）。
+     * 辞書化した後は data と ends を破棄し、codes[i] に辞書コードを保持します。
+     */
+    private static final class Column {
+        byte[] data = new byte[INITIAL_DATA_CAPACITY];
+        int length = 0;
+        int[] ends;
+        int[] codes;
+        ColumnDictionary dictionary;
+
+        Column(int rowCapacity) {
+            this.ends = new int[rowCapacity];
+        }
+
+        void append(byte[] bytes, int offset, int count) {
+            if (length + count > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + count, data.length * 2));
+            }
+            System.arraycopy(bytes, offset, data, length, count);
+            length += count;
+        }
+
+        String get(int row) {
+            if (codes != null) {
+                return dictionary.value(codes[row]);
+            }
+            int start = row == 0 ? 0 : ends[row - 1];
+            int end = ends[row];
+            if (start == end) {
+                return "";
+            }
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 列を辞書コードに置き換えます。
+         * 新しい値が多すぎる場合は辞書を元に戻し、列はそのまま残します。
+         * 
+         * @return 辞書化した場合は true
+         */
+        boolean encode(ColumnDictionary target, int size) {
+            int sizeBefore = target.size();
+            int limit = Math.min(MAX_DICTIONARY_SIZE, sizeBefore + size / MIN_ROWS_PER_NEW_VALUE);
+            int[] encoded = new int[size];
+            for (int i = 0; i < size; i++) {
+                encoded[i] = target.encode(get(i));
+                if (target.size() > limit) {
+                    target.truncate(sizeBefore);
+                    return false;
+                }
+            }
+            codes = encoded;
+            dictionary = target;
+            data = null;
+            ends = null;
+            return true;
+        }
+
+        /**
+         * 辞書コードに置き換えた列を UTF-8 のバイト列に戻します。
+         */
+        void decode(int size) {
+            if (codes == null) {
+                return;
+            }
+            data = new byte[INITIAL_DATA_CAPACITY];
+            length = 0;
+            ends = new int[size];
+            for (int i = 0; i < size; i++) {
+                byte[] bytes = dictionary.value(codes[i]).getBytes(StandardCharsets.UTF_8);
+                append(bytes, 0, bytes.length);
+                ends[i] = length;
+            }
+            codes = null;
+            dictionary = null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package logviewer.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * ログファイルの圧縮形式。
+ * 拡張子ではなく先頭のマジックバイトで判定します。
+ */
+public enum CompressionFormat {
+    /** 非圧縮 */
+    NONE,
+    /** gzip（複数メンバーを連結したファイルを含む） */
+    GZIP,
+    /** zip（最初のファイルエントリのみを読み込む） */
+    ZIP;
+
+    /** 展開処理の入力バッファサイズ */
+    private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * ファイル先頭のマジックバイトから圧縮形式を判定します。
+     * 
+     * @param path 対象ファイルのパス
+     * @return 圧縮形式
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static CompressionFormat detect(Path path) throws IOException {
+        byte[] header = new byte[4];
+        int length = 0;
+        try (InputStream in = Files.newInputStream(path)) {
+            while (length < header.length) {
+                int read = in.read(header, length, header.length - length);
+                if (read < 0) {
+                    break;
+                }
+                length += read;
+            }
+        }
+        return detect(header, length);
+    }
+
+    /**
+     * 先頭のバイト列のマジックバイトから圧縮形式を判定します。
+     * 
+     * @param header 先頭のバイト列
+     * @param length 有効なバイト数
+     * @return 圧縮形式
+     */
+    static CompressionFormat detect(byte[] header, int length) {
+        if (length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+            return GZIP;
+        }
+        if (length >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 0x03 && header[3] == 0x04) {
+            return ZIP;
+        }
+        return NONE;
+    }
+
+    /**
+     * 圧縮されているかを返します。
+     * 
+     * @return 圧縮形式の場合は true
+     */
+    public boolean isCompressed() {
+        return this != NONE;
+    }
+
+    /**
+     * 展開後の内容を読み出す入力ストリームを開きます。
+     * 展開は呼び出し元のスレッドで行われます。
+     * 
+     * @param path 対象ファイルのパス
+     * @return 展開後の内容を返す入力ストリーム
+     * @throws IOException ファイルを開けない場合、または圧縮形式が壊れている場合
+     */
+    public InputStream open(Path path) throws IOException {
+        return open(Files.newInputStream(path));
+    }
+
+    /**
+     * 圧縮されたままの入力ストリームから、展開後の内容を読み出す入力ストリームを開きます。
+     * 
+     * @param in 圧縮されたままの入力ストリーム（失敗時は閉じる）
+     * @return 展開後の内容を返す入力ストリーム
+     * @throws IOException 圧縮形式が壊れている場合
+     */
+    InputStream open(InputStream in) throws IOException {
+        try {
+            switch (this) {
+                case GZIP:
+                    return new GZIPInputStream(in, INFLATE_BUFFER_SIZE);
+                case ZIP:
+                    ZipInputStream zip = new ZipInputStream(in);
+                    ZipEntry entry;
+                    while ((entry = zip.getNextEntry()) != null) {
+                        if (!entry.isDirectory()) {
+                            return zip;
+                        }
+                    }
+                    zip.close();
+                    return new ByteArrayInputStream(new byte[0]);
+                default:
+                    return in;
+            }
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package logviewer.service;
+
+import javafx.concurrent.Task;
+
+/**
+ * 処理本体に自身を {@link TaskContext} として渡して実行する Task。
+ * キャンセル状態は Task の状態を返し、進捗とメッセージは Task のプロパティに反映します。
+ * 
+ * @param <V> 処理結果の型
+ */
+final class ContextTask<V> extends Task<V> implements TaskContext {
+    /**
+     * タスクで実行する処理本体。
+     * 
+     * @param <V> 処理結果の型
+     */
+    @FunctionalInterface
+    interface Work<V> {
+        /**
+         * 処理を実行します。
+         * 
+         * @param context キャンセル状態の確認と進捗・メッセージの通知先
+         * @return 処理結果
+         * @throws Exception 処理に失敗した場合
+         */
+        V run(TaskContext context) throws Exception;
+    }
+
+    private final Work<V> work;
+
+    /**
+     * 処理本体を実行する ContextTask を生成します。
+     * 
+     * @param work 処理本体
+     */
+    ContextTask(Work<V> work) {
+        this.work = work;
+    }
+
+    @Override
+    protected V call() throws Exception {
+        return work.run(this);
+    }
+
+    @Override
+    public void updateMessage(String message) {
+        super.updateMessage(message);
+    }
+
+    @Override
+    public void updateProgress(double workDone, double max) {
+        super.updateProgress(workDone, max);
+    }
+}
@@ -1,233 +1,1746 @@
-package logviewer.service;
-
-import javafx.concurrent.Task;
-import logviewer.LogRow;
-
-import java.io.BufferedReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * ファイルの入出力処理を担当するサービスクラス。
- * ファイル読み込みとエクスポート機能を提供します。
- */
-public class FileIOService {
-
-    /**
-     * 読み込み対象としてサポートされているファイルかどうか判定します。
-     * このメソッドは常に true を返します。実際のテキストファイル判定は
-     * loadFileAsync() の中で isTextFile() により行われます。
-     * 
-     * @deprecated このメソッドは互換性のため残されていますが、
-     *             実際のテキストファイル判定は isTextFile() で行われます
-     * @param path ファイルパス
-     * @return サポート対象なら true
-     */
-    @Deprecated(since = "2.0", forRemoval = false)
-    public boolean isSupportedInputFile(Path path) {
-        if (path == null || path.getFileName() == null) {
-            return false;
-        }
-        // 拡張子に基づく制限は撤廃されたため、常に true を返す
-        return true;
-    }
-    
-    // ===== ファイル読み込み =====
-    
-    /**
-     * ファイルがテキストファイルかどうかを判定します。
-     * 最初の8KBを読み込んでNullバイトを探すことで、簡易的にバイナリ判定を行います。
-     *
-     * @param path ファイルパス
-     * @return テキストファイルと判定できたら true
-     * @throws Exception ファイル読み込みエラーが発生した場合
-     */
-    private boolean isTextFile(Path path) throws Exception {
-        byte[] buffer = new byte[8192]; // 最初の8KBを読む
-        try (var inputStream = Files.newInputStream(path)) {
-            int bytesRead = inputStream.read(buffer);
-            if (bytesRead == 0) {
-                // 空ファイルはテキストファイルと判定
-                return true;
-            }
-            // Nullバイトがあればバイナリと判定
-            for (int i = 0; i < bytesRead; i++) {
-                if (buffer[i] == 0) {
-                    return false; // バイナリファイル
-                }
-            }
-        }
-        return true; // テキストファイル
-    }
-    
-    /**
-     * ファイルを非同期で読み込むタスクを生成します。
-     * 
-     * @param path 読み込むファイルのパス
-     * @return ファイル読み込みタスク
-     */
-    public Task<FileLoadResult> loadFileAsync(Path path) {
-        return new Task<>() {
-            @Override
-            protected FileLoadResult call() throws Exception {
-                // テキストファイルかどうか判定
-                if (!isTextFile(path)) {
-                    throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
-                }
-                
-                List<LogRow> rows = new ArrayList<>();
-                int columnCount = 0;
-                boolean truncated = false;
-                
-                updateProgress(0, ServiceConstants.MAX_ROWS);
-                updateMessage("0 行読み込み中...");
-
-                try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-                    String line;
-                    int count = 0;
-                    List<LogRow> buffer = new ArrayList<>(ServiceConstants.BATCH_SIZE);
-
-                    while ((line = br.readLine()) != null) {
-                        if (count >= ServiceConstants.MAX_ROWS) {
-                            truncated = true;
-                            break;
-                        }
-
-                        String[] parts = line.split(ServiceConstants.TAB_SEPARATOR, -1);
-                        if (parts.length > columnCount) {
-                            columnCount = parts.length;
-                        }
-                        buffer.add(new LogRow(parts, count + 1));
-                        count++;
-
-                        if (count % 1_000 == 0) {
-                            updateProgress(count, ServiceConstants.MAX_ROWS);
-                            updateMessage(String.format("%,d 行読み込み中...", count));
-                        }
-
-                        if (buffer.size() >= ServiceConstants.BATCH_SIZE) {
-                            rows.addAll(buffer);
-                            buffer.clear();
-                        }
-                    }
-
-                    if (!buffer.isEmpty()) {
-                        rows.addAll(buffer);
-                    }
-                    updateProgress(count, ServiceConstants.MAX_ROWS);
-                    updateMessage(String.format("読み込み完了 処理中... (%,d 行)", count));
-                }
-
-                return new FileLoadResult(rows, columnCount, truncated);
-            }
-        };
-    }
-    
-    // ===== ファイルエクスポート =====
-    
-    /**
-     * 表示中のデータをTSVファイルにエクスポートするタスクを生成します。
-     * 
-     * @param data            エクスポート対象のデータ
-     * @param visibleIndices  可視列のインデックスリスト
-     * @param outputPath      出力ファイルのパス
-     * @return エクスポート実行タスク（完了時に処理した行数を返す）
-     */
-    public Task<Integer> exportDisplayedDataAsync(List<LogRow> data, List<Integer> visibleIndices, Path outputPath) {
-        return new Task<>() {
-            @Override
-            protected Integer call() throws Exception {
-                StringBuilder content = new StringBuilder();
-                int rowCount = 0;
-
-                for (LogRow row : data) {
-                    if (isCancelled()) {
-                        break;
-                    }
-
-                    boolean first = true;
-                    for (int colIndex : visibleIndices) {
-                        if (!first) {
-                            content.append(ServiceConstants.TAB_SEPARATOR);
-                        }
-                        first = false;
-                        content.append(row.getField(colIndex));
-                    }
-                    content.append(ServiceConstants.LINE_SEPARATOR);
-                    rowCount++;
-
-                    // 1000行ごとに進捗更新
-                    if (rowCount % 1000 == 0) {
-                        updateProgress(rowCount, data.size());
-                    }
-                }
-
-                if (!isCancelled()) {
-                    Files.writeString(outputPath, content.toString(), StandardCharsets.UTF_8);
-                }
-
-                return rowCount;
-            }
-        };
-    }
-
-    /**
-     * 選択されている行をTSVファイルにエクスポートするタスクを生成します。
-     * 表示中の列のみを対象にします。
-     * 
-     * @param items              テーブルのすべてのアイテム
-     * @param selectedRowIndices 選択行のインデックスリスト
-     * @param visibleIndices     可視列のインデックスリスト
-     * @param outputPath         出力ファイルのパス
-     * @return エクスポート実行タスク（完了時に処理した行数を返す）
-     */
-    public Task<Integer> exportSelectedRowsAsync(
-        List<LogRow> items,
-        List<Integer> selectedRowIndices,
-        List<Integer> visibleIndices,
-        Path outputPath
-    ) {
-        return new Task<>() {
-            @Override
-            protected Integer call() throws Exception {
-                StringBuilder content = new StringBuilder();
-                int processedCount = 0;
-
-                for (int rowIndex : selectedRowIndices) {
-                    if (isCancelled()) {
-                        break;
-                    }
-
-                    if (rowIndex < 0 || rowIndex >= items.size()) {
-                        continue;
-                    }
-
-                    LogRow row = items.get(rowIndex);
-                    boolean first = true;
-                    for (int colIndex : visibleIndices) {
-                        if (!first) {
-                            content.append(ServiceConstants.TAB_SEPARATOR);
-                        }
-                        first = false;
-                        content.append(row.getField(colIndex));
-                    }
-                    content.append(ServiceConstants.LINE_SEPARATOR);
-
-                    processedCount++;
-                    if (processedCount % 500 == 0) {
-                        updateProgress(processedCount, selectedRowIndices.size());
-                    }
-                }
-
-                if (!isCancelled()) {
-                    Files.writeString(outputPath, content.toString(), StandardCharsets.UTF_8);
-                }
-
-                return processedCount;
-            }
-        };
-    }
-}
+package logviewer.service;
+
+import javafx.concurrent.Task;
+import logviewer.LogRow;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * ファイルの入出力処理を担当するサービスクラス。
+ * ファイル読み込みとエクスポート機能を提供します。
+ */
+public class FileIOService {
+    /** ストリームの読み込み元で、文字コード等の判定のために覗く最大バイト数 */
+    static final int STREAM_PEEK_BYTES = 64 * 1024;
+
+    private final LineIndexCache lineIndexCache;
+    private final ColumnVisibilityConfigService columnConfig;
+    private volatile TextEncoding textEncoding = TextEncoding.AUTO;
+    private volatile boolean headerDetection = true;
+
+    /**
+     * 行インデックスキャッシュを ~/.logviewer/index/ に保存する FileIOService を生成します。
+     */
+    public FileIOService() {
+        this(new LineIndexCache());
+    }
+
+    /**
+     * 行インデックスキャッシュを指定して FileIOService を生成します。
+     * 
+     * @param lineIndexCache メモリマップ読み込みで使用する行インデックスキャッシュ
+     */
+    public FileIOService(LineIndexCache lineIndexCache) {
+        this(lineIndexCache, new ColumnVisibilityConfigService());
+    }
+
+    /**
+     * 行インデックスキャッシュとカラム表示設定を指定して FileIOService を生成します。
+     * 
+     * @param lineIndexCache メモリマップ読み込みで使用する行インデックスキャッシュ
+     * @param columnConfig   標準方式で読み込み時に省略する非表示カラムを取得するカラム表示設定
+     */
+    public FileIOService(LineIndexCache lineIndexCache, ColumnVisibilityConfigService columnConfig) {
+        this.lineIndexCache = lineIndexCache;
+        this.columnConfig = columnConfig;
+    }
+
+    /**
+     * 読み込むファイルの文字コードの指定を取得します。
+     * 
+     * @return 文字コードの指定
+     */
+    public TextEncoding getTextEncoding() {
+        return textEncoding;
+    }
+
+    /**
+     * 読み込むファイルの文字コードを指定します。次回以降に開くファイルから適用されます。
+     * 
+     * @param textEncoding 文字コードの指定（null の場合は自動判定）
+     */
+    public void setTextEncoding(TextEncoding textEncoding) {
+        this.textEncoding = textEncoding != null ? textEncoding : TextEncoding.AUTO;
+    }
+
+    /**
+     * 1行目がヘッダ行かどうかを判定するかを取得します。
+     * 
+     * @return 判定する場合は true
+     */
+    public boolean isHeaderDetection() {
+        return headerDetection;
+    }
+
+    /**
+     * 1行目がヘッダ行かどうかを判定するかを設定します。次回以降に開くファイルから適用されます。
+     * 
+     * @param headerDetection 判定する場合は true
+     */
+    public void setHeaderDetection(boolean headerDetection) {
+        this.headerDetection = headerDetection;
+    }
+
+    /**
+     * 読み込み対象としてサポートされているファイルかどうか判定します。
+     * このメソッドは常に true を返します。実際のテキストファイル判定は
+     * loadFileAsync() の中で isTextFile() により行われます。
+     * 
+     * @deprecated このメソッドは互換性のため残されていますが、
+     *             実際のテキストファイル判定は isTextFile() で行われます
+     * @param path ファイルパス
+     * @return サポート対象なら true
+     */
+    @Deprecated(since = "2.0", forRemoval = false)
+    public boolean isSupportedInputFile(Path path) {
+        if (path == null || path.getFileName() == null) {
+            return false;
+        }
+        // 拡張子に基づく制限は撤廃されたため、常に true を返す
+        return true;
+    }
+    
+    // ===== ファイル読み込み =====
+    
+    /**
+     * ファイルがテキストファイルかどうかを判定します。
+     * 判定方法は {@link #detectCharset(Path, CompressionFormat)} と同じです。
+     *
+     * @param path ファイルパス
+     * @param format ファイルの圧縮形式
+     * @return テキストファイルと判定できたら true
+     * @throws Exception ファイル読み込みエラーが発生した場合
+     */
+    private boolean isTextFile(Path path, CompressionFormat format) throws Exception {
+        return detectCharset(path, format) != null;
+    }
+
+    /**
+     * ファイルの文字コードを判定します。
+     * 最初の8KBを読み込み、文字コードが指定されていればその文字コードを、自動判定の場合は
+     * {@link CharsetDetector} で判定した文字コードを返します。Nullバイトを含み、
+     * UTF-16 とも判定できないファイルはバイナリファイルとみなします。
+     * 圧縮ファイルの場合は展開後の先頭8KBで判定します。
+     * 
+     * @param path ファイルパス
+     * @param format ファイルの圧縮形式
+     * @return 文字コード（バイナリファイルと判定した場合は null）
+     * @throws Exception ファイル読み込みエラーが発生した場合
+     */
+    private Charset detectCharset(Path path, CompressionFormat format) throws Exception {
+        byte[] buffer = new byte[8192]; // 最初の8KBを読む
+        int bytesRead;
+        try (var inputStream = format.open(path)) {
+            bytesRead = inputStream.readNBytes(buffer, 0, buffer.length);
+        }
+        return resolveCharset(buffer, bytesRead);
+    }
+
+    /**
+     * 先頭のバイト列から文字コードを判定します。文字コードが指定されていればその文字コードを返します。
+     * 
+     * @param buffer 先頭のバイト列
+     * @param length 有効なバイト数
+     * @return 文字コード（バイナリデータと判定した場合は null）
+     */
+    private Charset resolveCharset(byte[] buffer, int length) {
+        Charset detected = CharsetDetector.detect(buffer, length);
+        Charset specified = textEncoding.getCharset();
+        if (specified == null) {
+            return detected;
+        }
+        // UTF-16 が指定された場合は Nullバイトを含むため、バイナリ判定を行わない
+        return detected != null || !CharsetDetector.isTabSafe(specified) ? specified : null;
+    }
+
+    /**
+     * ファイルの文字コードを判定します。判定できない場合は UTF-8 とみなし、
+     * 読み込みタスク側でエラーとして扱います。
+     */
+    private Charset detectCharsetQuietly(Path path) {
+        try {
+            Charset charset = detectCharset(path, CompressionFormat.detect(path));
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * ログファイルを読み込む入力ストリームを開きます。
+     * 圧縮ファイルの場合は展開を別スレッドで行い、解析と並行して進めます。
+     * 
+     * @param path ファイルパス
+     * @param format ファイルの圧縮形式
+     * @return 展開後の内容を返す入力ストリーム
+     * @throws IOException ファイルを開けない場合
+     */
+    static InputStream openLogStream(Path path, CompressionFormat format) throws IOException {
+        InputStream in = format.open(path);
+        return format.isCompressed() ? new ReadAheadInputStream(in) : in;
+    }
+
+    /**
+     * 指定した文字コードのログファイルを読み込む入力ストリームを開きます。
+     * UTF-16 のようにバイト列のまま区切りを走査できない文字コードは UTF-8 に変換して返すため、
+     * フィールドは {@link CharsetDetector#fieldCharset(Charset)} の文字コードでデコードしてください。
+     * 
+     * @param path    ファイルパス
+     * @param format  ファイルの圧縮形式
+     * @param charset ファイルの文字コード
+     * @return 展開後の内容を返す入力ストリーム
+     * @throws IOException ファイルを開けない場合
+     */
+    static InputStream openLogStream(Path path, CompressionFormat format, Charset charset) throws IOException {
+        return transcode(openLogStream(path, format), charset);
+    }
+
+    /**
+     * タブや改行が1バイトで表されない文字コードのストリームを、UTF-8 に変換するストリームで包みます。
+     * 
+     * @param in      元の入力ストリーム
+     * @param charset 元のストリームの文字コード
+     * @return 区切りをバイト列のまま走査できる入力ストリーム
+     */
+    private static InputStream transcode(InputStream in, Charset charset) {
+        return CharsetDetector.isTabSafe(charset) ? in : new Utf8TranscodingInputStream(in, charset);
+    }
+
+    /**
+     * ファイルの圧縮形式を判定します。判定できない場合は非圧縮とみなし、
+     * 読み込みタスク側でエラーとして扱います。
+     */
+    private static CompressionFormat detectQuietly(Path path) {
+        try {
+            return CompressionFormat.detect(path);
+        } catch (IOException e) {
+            return CompressionFormat.NONE;
+        }
+    }
+
+    /**
+     * ファイルの先頭 {@link HeaderDetector#SAMPLE_LINES} 行を読み込み、1行目がヘッダ行かどうかを判定します。
+     * 判定しない設定の場合、バイナリファイルの場合、読み込みに失敗した場合はヘッダ行なしとみなします。
+     * 
+     * @param path ファイルパス
+     * @return ヘッダ行と判定した場合はカラム名のリスト、それ以外の場合は null
+     */
+    private List<String> detectHeaderQuietly(Path path) {
+        if (!headerDetection) {
+            return null;
+        }
+        try {
+            CompressionFormat format = CompressionFormat.detect(path);
+            Charset charset = detectCharset(path, format);
+            if (charset == null) {
+                return null;
+            }
+            return detectHeader(openLogStream(path, format, charset), CharsetDetector.fieldCharset(charset));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 入力ストリームの先頭 {@link HeaderDetector#SAMPLE_LINES} 行を読み込み、1行目がヘッダ行かどうかを判定します。
+     * 
+     * @param in      読み込む入力ストリーム（読み込み後に閉じる）
+     * @param charset フィールドをデコードする文字コード
+     * @return ヘッダ行と判定した場合はカラム名のリスト、それ以外の場合は null
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static List<String> detectHeader(InputStream in, Charset charset) throws IOException {
+        List<LogRow> rows = new ArrayList<>(HeaderDetector.SAMPLE_LINES);
+        try (TsvByteReader reader = new TsvByteReader(in, charset)) {
+            while (rows.size() < HeaderDetector.SAMPLE_LINES && reader.next()) {
+                rows.add(new LogRow(reader.tokenizer().fields(), rows.size() + 1));
+            }
+        }
+        return HeaderDetector.detect(rows);
+    }
+
+    /**
+     * 読み込み元が名前付きパイプなどのストリームであれば、例外を送出します。
+     * ストリームは先頭から1度しか読めず、判定のために読んだデータも失われるため、
+     * ファイルを読み直したり任意の位置に移動したりする読み込みには使用できません。
+     * 
+     * @param path      読み込むファイルのパス
+     * @param operation 実行しようとした操作（例: "範囲を指定して開く"）
+     */
+    private static void requireSeekable(Path path, String operation) {
+        if (StreamSource.isStream(path)) {
+            throw new IllegalArgumentException(String.format(
+                "%s は名前付きパイプなどのストリームのため、%sことはできません。", path.getFileName(), operation));
+        }
+    }
+    
+    /**
+     * ファイルを非同期で読み込むタスクを生成します。
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileAsync(Path path) {
+        return loadFileAsync(path, LoadMode.STANDARD);
+    }
+
+    /**
+     * 指定した読み込み方式でファイルを非同期で読み込むタスクを生成します。
+     * 
+     * <p>gzip / zip 圧縮ファイルはメモリマップできないため、メモリマップを指定した gzip ファイルは
+     * チェックポイント付きインデックスで読み込み、それ以外の組み合わせで並列解析・メモリマップを
+     * 指定した場合は標準の逐次読み込みで展開しながら読み込みます。</p>
+     * 
+     * @param path 読み込むファイルのパス
+     * @param mode 読み込み方式
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileAsync(Path path, LoadMode mode) {
+        return loadFileAsync(path, mode, null);
+    }
+
+    /**
+     * 指定した読み込み方式でファイルを非同期で読み込むタスクを生成します。
+     * 読み込んだ行は {@link ServiceConstants#BATCH_SIZE} 行ごとに読み込みスレッドから通知します。
+     * 
+     * <p>行ごとにオブジェクトを生成する標準の読み込み方式のみ通知します。その他の方式は
+     * 行インデックスの構築後にまとめて行を生成するため、通知せずに完了時の結果のみを返します。
+     * 通知した行も完了時の結果に含まれます。</p>
+     * 
+     * @param path    読み込むファイルのパス
+     * @param mode    読み込み方式
+     * @param onBatch 読み込んだ行を受け取るリスナー（null 可）
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileAsync(Path path, LoadMode mode, RowBatchListener onBatch) {
+        return loadFileAsync(path, mode, onBatch, null);
+    }
+
+    /**
+     * 指定した読み込み方式でファイルを非同期で読み込むタスクを生成します。
+     * 開始パターンを指定した場合は、複数行にわたるレコードを {@link RecordAssembler} で1行にまとめます。
+     * 
+     * <p>レコードをまとめる処理は逐次読み込みの中で行うため、開始パターンを指定した場合は
+     * 読み込み方式にかかわらず標準方式で読み込みます。ファイル末尾のレコードは追記で継続行が
+     * 増える可能性があるため、追従モードは使用できません（読み込み終了位置は -1）。</p>
+     * 
+     * <p>UTF-8 以外の文字コードのファイル（{@link #setTextEncoding(TextEncoding)} で指定した場合を含む）も、
+     * 行インデックスを構築する方式はフィールドを UTF-8 としてデコードするため、標準方式で読み込みます。
+     * 追記を読む {@link FileTailer} も UTF-8 を前提とするため、追従モードは使用できません。</p>
+     * 
+     * <p>1行目がヘッダ行と判定できた場合（{@link HeaderDetector}）は、ヘッダ行を通知する行と
+     * 完了時の結果から除き、カラム名を {@link FileLoadResult#columnNames} に格納します。</p>
+     * 
+     * <p>名前付きパイプなど通常のファイルではないパスは、{@link #loadStreamAsync(StreamSource, RowBatchListener, Pattern)}
+     * で読み込みます。</p>
+     * 
+     * @param path        読み込むファイルのパス
+     * @param mode        読み込み方式
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileAsync(Path path, LoadMode mode, RowBatchListener onBatch,
+            Pattern recordStart) {
+        if (StreamSource.isStream(path)) {
+            // 名前付きパイプは判定のために先に開くとデータが失われるため、読み込み方式にかかわらず逐次読み込む
+            return loadStreamAsync(StreamSource.of(path), onBatch, recordStart);
+        }
+        // ヘッダ行・文字コード・圧縮形式の判定もファイルを読むため、呼び出し元（JavaFX アプリケーションスレッド）ではなくタスクで行う
+        return new ContextTask<>(context -> loadFileWork(path, mode, onBatch, recordStart).run(context));
+    }
+
+    /**
+     * {@link #loadFileAsync(Path, LoadMode, RowBatchListener, Pattern)} のタスクで実行する処理です。
+     * 
+     * @param path        読み込むファイルのパス
+     * @param mode        読み込み方式
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @param context     キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFile(Path path, LoadMode mode, RowBatchListener onBatch, Pattern recordStart,
+            TaskContext context) throws Exception {
+        if (StreamSource.isStream(path)) {
+            return loadStream(StreamSource.of(path), onBatch, recordStart, context);
+        }
+        return loadFileWork(path, mode, onBatch, recordStart).run(context);
+    }
+
+    /**
+     * ヘッダ行を判定し、読み込み方式に応じたファイル読み込み処理を生成します。
+     * 判定のためにファイルを読むため、読み込みを実行するスレッドから呼び出します。
+     * 
+     * @param path        読み込むファイルのパス
+     * @param mode        読み込み方式
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @return ファイル読み込み処理
+     */
+    private ContextTask.Work<FileLoadResult> loadFileWork(Path path, LoadMode mode, RowBatchListener onBatch,
+            Pattern recordStart) {
+        List<String> columnNames = detectHeaderQuietly(path);
+        if (columnNames == null) {
+            return createLoadWork(path, mode, onBatch, recordStart);
+        }
+        return withHeader(createLoadWork(path, mode, skipHeaderRow(onBatch), recordStart), columnNames);
+    }
+
+    /**
+     * 読み込み方式に応じたファイル読み込み処理を生成します。
+     * 文字コードと圧縮形式の判定のためにファイルを読むため、読み込みを実行するスレッドから呼び出します。
+     * 
+     * @param path        読み込むファイルのパス
+     * @param mode        読み込み方式
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @return ファイル読み込み処理
+     */
+    private ContextTask.Work<FileLoadResult> createLoadWork(Path path, LoadMode mode, RowBatchListener onBatch,
+            Pattern recordStart) {
+        if (recordStart != null) {
+            return context -> loadFileStandard(path, onBatch, recordStart, context);
+        }
+        if (mode != LoadMode.STANDARD && !StandardCharsets.UTF_8.equals(detectCharsetQuietly(path))) {
+            // 行インデックスやバイト列のまま保持する方式は UTF-8 のファイルのみに対応する
+            return context -> loadFileStandard(path, onBatch, null, context);
+        }
+        if (mode == LoadMode.AUTO) {
+            return context -> loadFileAuto(path, onBatch, context);
+        }
+        if (mode == LoadMode.MAPPED || mode == LoadMode.PARALLEL) {
+            CompressionFormat format = detectQuietly(path);
+            if (mode == LoadMode.MAPPED && format == CompressionFormat.GZIP) {
+                return context -> loadFileGzipIndexed(path, context);
+            }
+            if (format.isCompressed()) {
+                mode = LoadMode.STANDARD;
+            }
+        }
+        if (mode == LoadMode.MAPPED) {
+            return context -> loadFileMapped(path, context);
+        }
+        if (mode == LoadMode.PARALLEL) {
+            return context -> loadFileParallel(path, context);
+        }
+        if (mode == LoadMode.COLUMNAR) {
+            return context -> loadFileColumnar(path, context);
+        }
+        if (mode == LoadMode.OFF_HEAP) {
+            if (OffHeapRowStore.isAvailable()) {
+                return context -> loadFileOffHeap(path, context);
+            }
+            // ヒープ外の領域を確保できない環境では、行数上限付きの列指向方式で読み込む
+            System.err.println("オフヒープストアを利用できないため、列指向方式で読み込みます");
+            return context -> loadFileColumnar(path, context);
+        }
+        return context -> loadFileStandard(path, onBatch, null, context);
+    }
+
+    /**
+     * ファイルを先頭から逐次読み込み、全フィールドをヒープ上に保持する標準方式の処理です。
+     * 
+     * <p>ファイル名に対して非表示カラムが保存されている場合は、{@link ColumnProjection} で
+     * そのカラムのフィールドを保持せず、行のバイト位置だけを記録します。非表示カラムは
+     * 参照された時点でファイルから読み直すため、位置を特定できない圧縮ファイル、
+     * UTF-8 に変換して読むファイル、複数行レコードをまとめる場合は全フィールドを保持します。</p>
+     * 
+     * <p>ファイルは圧縮の有無にかかわらず {@link ReadAheadInputStream} で別スレッドから先読みし、
+     * NAS のように応答の遅いストレージでも読み込みと解析を並行して進めます。読み込み速度と
+     * 読み込み・解析それぞれの待ち時間は {@link FileLoadResult#note} に格納します。</p>
+     * 
+     * @param path        読み込むファイルのパス
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null 可）
+     * @param context     キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    private FileLoadResult loadFileStandard(Path path, RowBatchListener onBatch, Pattern recordStart,
+            TaskContext context) throws Exception {
+        CompressionFormat format = CompressionFormat.detect(path);
+        // テキストファイルかどうか判定し、文字コードを判定
+        Charset charset = detectCharset(path, format);
+        if (charset == null) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+        
+        context.updateProgress(0, ServiceConstants.MAX_ROWS);
+        context.updateMessage("0 行読み込み中...");
+
+        // 追従モードは UTF-8 の非圧縮ファイルのみ（追記をバイト位置から UTF-8 として読むため）
+        RecordAssembler assembler = recordStart != null ? new RecordAssembler(recordStart) : null;
+        boolean trackEndOffset = !format.isCompressed() && assembler == null
+            && StandardCharsets.UTF_8.equals(charset);
+        ColumnProjection projection = null;
+        List<Integer> hiddenColumns = List.of();
+        if (!format.isCompressed() && assembler == null && CharsetDetector.isTabSafe(charset)) {
+            hiddenColumns = columnConfig.loadHiddenColumns(String.valueOf(path.getFileName()));
+            projection = ColumnProjection.open(path, hiddenColumns, charset);
+        }
+        ReadAheadInputStream readAhead = new ReadAheadInputStream(format.open(path));
+        FileLoadResult result = readRows(transcode(readAhead, charset), CharsetDetector.fieldCharset(charset),
+                1, trackEndOffset, assembler, projection, context::isCancelled, count -> {
+            context.updateProgress(count, ServiceConstants.MAX_ROWS);
+            context.updateMessage(String.format("%,d 行読み込み中...", count));
+        }, batch -> {
+            if (onBatch != null && !context.isCancelled()) {
+                onBatch.onRows(batch);
+            }
+        }, false);
+
+        context.updateProgress(result.rows.size(), ServiceConstants.MAX_ROWS);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+        List<String> notes = new ArrayList<>();
+        if (!StandardCharsets.UTF_8.equals(charset)) {
+            notes.add("文字コード: " + TextEncoding.displayNameOf(charset));
+        }
+        if (assembler != null) {
+            notes.add(String.format("複数行レコードを結合（開始パターン: %s）", recordStart.pattern()));
+        }
+        if (projection != null) {
+            notes.add(String.format("非表示カラム %d 個は表示時に読み込み", hiddenColumns.size()));
+        }
+        notes.add(readAhead.describe());
+        return new FileLoadResult(result.rows, result.columns, result.truncated, result.endOffset,
+            result.partialLastLine, String.join(" / ", notes), null);
+    }
+
+    /**
+     * 標準入力や名前付きパイプなど、先頭から1度だけ読める読み込み元を逐次読み込むタスクを生成します。
+     * 
+     * <p>最初に届いたデータ（最大 {@link #STREAM_PEEK_BYTES} バイト）だけを覗いて圧縮形式・文字コード・
+     * ヘッダ行を判定し、標準方式と同じ逐次読み込みで {@link ServiceConstants#BATCH_SIZE} 行ごとに通知します。
+     * データの到着が途切れた場合は行数が揃うのを待たずに通知するため、表示はデータの到着に合わせて増えます。
+     * 保持する行数の上限は標準方式と同じです。</p>
+     * 
+     * <p>読み直しや任意の位置への移動ができないため、追従モード（読み込み終了位置は -1）と
+     * 非表示カラムの読み込み省略は使用しません。届いた分をすぐに解析できるよう、
+     * 一定量をまとめて読む {@link ReadAheadInputStream} も使用しません。</p>
+     * 
+     * @param source      読み込み元
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @return 読み込みタスク
+     */
+    public Task<FileLoadResult> loadStreamAsync(StreamSource source, RowBatchListener onBatch, Pattern recordStart) {
+        return new ContextTask<>(context -> loadStream(source, onBatch, recordStart, context));
+    }
+
+    /**
+     * {@link #loadStreamAsync(StreamSource, RowBatchListener, Pattern)} のタスクで実行する処理です。
+     * 
+     * @param source      読み込み元
+     * @param onBatch     読み込んだ行を受け取るリスナー（null 可）
+     * @param recordStart レコードの開始行の行頭に一致するパターン（null の場合は1行を1レコードとする）
+     * @param context     キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadStream(StreamSource source, RowBatchListener onBatch, Pattern recordStart,
+            TaskContext context) throws Exception {
+        context.updateProgress(-1, 1);
+        context.updateMessage(String.format("%s からの入力を待っています...", source.getName()));
+        BufferedInputStream raw = new BufferedInputStream(source.open(), STREAM_PEEK_BYTES);
+        InputStream in = raw;
+        byte[] head = peek(raw);
+        CompressionFormat format = CompressionFormat.detect(head, head.length);
+        if (format.isCompressed()) {
+            BufferedInputStream inflated = new BufferedInputStream(format.open(raw), STREAM_PEEK_BYTES);
+            in = inflated;
+            head = peek(inflated);
+        }
+        Charset charset = resolveCharset(head, head.length);
+        if (charset == null) {
+            in.close();
+            throw new IllegalArgumentException("バイナリデータは開けません。テキストを入力してください。");
+        }
+        Charset fieldCharset = CharsetDetector.fieldCharset(charset);
+
+        // 覗いた範囲の完結した行だけでヘッダ行を判定する
+        List<String> columnNames = null;
+        int lastNewline = lastIndexOf(head, (byte) '\n');
+        if (headerDetection && CharsetDetector.isTabSafe(charset) && lastNewline >= 0) {
+            columnNames = detectHeader(new ByteArrayInputStream(head, 0, lastNewline + 1), fieldCharset);
+        }
+        RowBatchListener listener = columnNames != null ? skipHeaderRow(onBatch) : onBatch;
+
+        context.updateMessage("0 行読み込み中...");
+        RecordAssembler assembler = recordStart != null ? new RecordAssembler(recordStart) : null;
+        FileLoadResult result = readRows(transcode(in, charset), fieldCharset, 1, false, assembler, null,
+                context::isCancelled, count -> context.updateMessage(String.format("%,d 行読み込み中...", count)), batch -> {
+            if (listener != null && !context.isCancelled()) {
+                listener.onRows(batch);
+            }
+        }, true);
+
+        List<String> notes = new ArrayList<>();
+        notes.add(String.format("%s から読み込み（追従モード・範囲指定は使用不可）", source.getName()));
+        if (!StandardCharsets.UTF_8.equals(charset)) {
+            notes.add("文字コード: " + TextEncoding.displayNameOf(charset));
+        }
+        if (assembler != null) {
+            notes.add(String.format("複数行レコードを結合（開始パターン: %s）", recordStart.pattern()));
+        }
+        List<LogRow> rows = result.rows;
+        if (columnNames != null) {
+            rows = withoutHeaderRow(rows);
+            notes.add("1行目をヘッダとして使用");
+        }
+        return new FileLoadResult(rows, result.columns, result.truncated, -1, String.join(" / ", notes),
+            columnNames);
+    }
+
+    /**
+     * ストリームの次の読み込みで届いたデータを、読み位置を進めずに返します。
+     * 
+     * @param in 入力ストリーム
+     * @return 届いたデータ（最大 {@link #STREAM_PEEK_BYTES} バイト。終端の場合は空）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static byte[] peek(BufferedInputStream in) throws IOException {
+        byte[] head = new byte[STREAM_PEEK_BYTES];
+        in.mark(STREAM_PEEK_BYTES);
+        int length = in.read(head, 0, head.length);
+        in.reset();
+        return Arrays.copyOf(head, Math.max(0, length));
+    }
+
+    /**
+     * バイト列の中で指定した値が最後に現れる位置を返します。
+     */
+    private static int lastIndexOf(byte[] bytes, byte value) {
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ファイル先頭の標本からヒープ使用量を見積もって読み込み方式を選び、ファイルを読み込むタスクを生成します。
+     * 
+     * <p>読み込み中にヒープが逼迫した場合は、読み込みを中断して {@link LoadGovernor#cheaper} の方式で
+     * 読み直します。標準方式で表示済みの行があれば、読み直す前に {@link RowBatchListener#onReset()}
+     * で破棄を通知します。選んだ方式と見積もりは {@link FileLoadResult#note} に格納します。</p>
+     * 
+     * @param path    読み込むファイルのパス
+     * @param onBatch 標準方式で読み込んだ行を受け取るリスナー（null 可）
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileAutoAsync(Path path, RowBatchListener onBatch) {
+        return new ContextTask<>(context -> loadFileAuto(path, onBatch, context));
+    }
+
+    /**
+     * {@link #loadFileAutoAsync(Path, RowBatchListener)} のタスクで実行する処理です。
+     * 選んだ方式の読み込みは、メッセージの先頭に方式名を付けて通知します。
+     * 
+     * @param path    読み込むファイルのパス
+     * @param onBatch 標準方式で読み込んだ行を受け取るリスナー（null 可）
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果（キャンセルされた場合は null）
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileAuto(Path path, RowBatchListener onBatch, TaskContext context) throws Exception {
+        context.updateMessage("読み込み方式を選択中...");
+        CompressionFormat format = CompressionFormat.detect(path);
+        boolean offHeapAvailable = OffHeapRowStore.isAvailable();
+        LoadGovernor.Estimate estimate = LoadGovernor.estimate(path, format);
+        LoadMode mode = LoadGovernor.choose(estimate, LoadGovernor.heapBudget(), format, offHeapAvailable);
+        String note = String.format("自動選択: %s（%s）", mode.getDisplayName(),
+            LoadGovernor.describe(estimate, mode));
+
+        while (true) {
+            LoadMode fallback = LoadGovernor.cheaper(mode, format, offHeapAvailable);
+            ContextTask.Work<FileLoadResult> work = createLoadWork(path, mode,
+                mode == LoadMode.STANDARD ? onBatch : null, null);
+            if (context.isCancelled()) {
+                return null;
+            }
+
+            // ヒープが逼迫したら、選んだ方式の読み込みだけを中断させる
+            AtomicBoolean pressure = new AtomicBoolean(false);
+            TaskContext inner = context.withPrefix("[" + mode.getDisplayName() + "] ", pressure::get);
+            FileLoadResult result;
+            boolean pressured;
+            if (fallback == null) {
+                result = work.run(inner);
+                pressured = false;
+            } else {
+                try (HeapPressureMonitor monitor = new HeapPressureMonitor(() -> pressure.set(true))) {
+                    result = work.run(inner);
+                    pressured = monitor.isTriggered();
+                }
+            }
+
+            if (context.isCancelled()) {
+                return null;
+            }
+            if (pressured) {
+                // 読み込み途中の行を手放してから、省メモリの方式で読み直す
+                result = null;
+                if (mode == LoadMode.STANDARD && onBatch != null) {
+                    onBatch.onReset();
+                }
+                System.err.println("ヒープが逼迫したため読み込み方式を切り替えます: "
+                    + mode.getDisplayName() + " → " + fallback.getDisplayName());
+                note = String.format("自動選択: %s（ヒープ逼迫のため %s から切り替え。%s）",
+                    fallback.getDisplayName(), mode.getDisplayName(), LoadGovernor.describe(estimate, fallback));
+                mode = fallback;
+                continue;
+            }
+
+            if (result.note != null) {
+                note += " / " + result.note;
+            }
+            return new FileLoadResult(result.rows, result.columns, result.truncated, result.endOffset,
+                result.partialLastLine, note, null);
+        }
+    }
+
+    /**
+     * 読み込み処理の結果からヘッダ行を除き、カラム名を格納する処理を生成します。
+     * 
+     * @param work        ヘッダ行を含めて読み込む処理
+     * @param columnNames ヘッダ行から取得したカラム名
+     * @return ファイル読み込み処理
+     */
+    private static ContextTask.Work<FileLoadResult> withHeader(ContextTask.Work<FileLoadResult> work,
+            List<String> columnNames) {
+        return context -> {
+            FileLoadResult result = work.run(context);
+            if (result == null) {
+                return null;
+            }
+            String note = "1行目をヘッダとして使用";
+            if (result.note != null) {
+                note = result.note + " / " + note;
+            }
+            List<LogRow> rows = withoutHeaderRow(result.rows);
+            return new FileLoadResult(rows, result.columns, result.truncated, result.endOffset,
+                result.partialLastLine && !rows.isEmpty(), note, columnNames);
+        };
+    }
+
+    /**
+     * 通知する行からヘッダ行を除くリスナーを返します。
+     * 
+     * @param onBatch 読み込んだ行を受け取るリスナー（null 可）
+     * @return ヘッダ行を除いて通知するリスナー（onBatch が null の場合は null）
+     */
+    private static RowBatchListener skipHeaderRow(RowBatchListener onBatch) {
+        if (onBatch == null) {
+            return null;
+        }
+        return new RowBatchListener() {
+            @Override
+            public void onRows(List<LogRow> rows) {
+                List<LogRow> body = withoutHeaderRow(rows);
+                if (!body.isEmpty()) {
+                    onBatch.onRows(body);
+                }
+            }
+
+            @Override
+            public void onReset() {
+                onBatch.onReset();
+            }
+        };
+    }
+
+    /**
+     * 先頭が1行目の行であれば、その行を除いたリストを返します。
+     * 読み込み方式を切り替えて読み直した場合も、1行目は最初に通知する行の先頭にあります。
+     */
+    private static List<LogRow> withoutHeaderRow(List<LogRow> rows) {
+        if (!rows.isEmpty() && rows.get(0).getLineNumber() == 1) {
+            return rows.subList(1, rows.size());
+        }
+        return rows;
+    }
+
+    /**
+     * ファイルを先頭から逐次読み込み、全行を LogRow に変換します。
+     * 
+     * @param path      読み込むファイルのパス
+     * @param format    ファイルの圧縮形式
+     * @param cancelled 読み込みを中断する場合に true を返す関数（1,000 行ごとに確認）
+     * @param progress  1,000 行ごとに読み込み済みの行数を受け取る関数
+     * @return 読み込み結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static FileLoadResult readRows(Path path, CompressionFormat format, BooleanSupplier cancelled,
+            IntConsumer progress) throws IOException {
+        // 圧縮ファイルは追記位置を特定できないため、読み込み終了位置を不明 (-1) とする
+        return readRows(openLogStream(path, format), StandardCharsets.UTF_8, 1, !format.isCompressed(), null, null,
+            cancelled, progress, batch -> { }, false);
+    }
+
+    /**
+     * 入力ストリームを先頭から逐次読み込み、全行を LogRow に変換します。
+     * 
+     * @param in              読み込む入力ストリーム（読み込み後に閉じる）
+     * @param charset         フィールドをデコードする文字コード
+     * @param firstLineNumber 先頭行の行番号
+     * @param trackEndOffset  読み込み終了位置を記録する場合は true（false の場合は -1 とする）。
+     *                        （改行で終わっていない最終行も読み込むが、終了位置はその行の先頭とする）
+     * @param assembler       複数行にわたるレコードをまとめる場合の RecordAssembler（null の場合は1行を1レコードとする）
+     * @param projection      非表示カラムを保持しない場合の ColumnProjection（null の場合は全フィールドを保持する。
+     *                        in はファイル先頭から読む非圧縮のストリームであること）
+     * @param cancelled       読み込みを中断する場合に true を返す関数（1,000 行ごとに確認）
+     * @param progress        1,000 行ごとに読み込み済みのレコード数を受け取る関数
+     * @param onBatch         {@link ServiceConstants#BATCH_SIZE} 行ごと（と最後の端数）に読み込んだ行を受け取る関数
+     * @param flushOnStall    in の読み込みがデータの到着待ちになる直前にも、それまでの行を onBatch に渡す場合は true
+     *                        （パイプのように少しずつ届く入力で、行数が揃うのを待たずに表示するため）
+     * @return 読み込み結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static FileLoadResult readRows(InputStream in, Charset charset, int firstLineNumber,
+            boolean trackEndOffset, RecordAssembler assembler, ColumnProjection projection, BooleanSupplier cancelled,
+            IntConsumer progress, Consumer<List<LogRow>> onBatch, boolean flushOnStall) throws IOException {
+        List<LogRow> rows = new ArrayList<>();
+        List<LogRow> buffer = new ArrayList<>(ServiceConstants.BATCH_SIZE);
+        int columnCount = 0;
+        boolean truncated = false;
+        long endOffset = trackEndOffset ? 0 : -1;
+        boolean partialLastLine = false;
+        if (flushOnStall) {
+            in = new StallNotifyingInputStream(in, () -> flushBatch(rows, buffer, onBatch));
+        }
+
+        try (TsvByteReader reader = new TsvByteReader(in, charset)) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            int count = 0;
+            int lines = 0;
+
+            while (true) {
+                long lineStart = reader.getLineEndOffset();
+                boolean hasLine = reader.next();
+                LogRow row;
+                if (hasLine) {
+                    int lineNumber = firstLineNumber + lines;
+                    lines++;
+                    // 継続行は直前のレコードにまとめ、レコードが確定したときだけ追加する
+                    if (assembler != null) {
+                        row = assembler.accept(tokenizer, lineNumber);
+                    } else if (projection != null) {
+                        row = projection.createRow(tokenizer, lineStart, lineNumber);
+                    } else {
+                        row = new LogRow(tokenizer.fields(), lineNumber);
+                    }
+                } else {
+                    // ファイル末尾で確定前のレコードを確定する
+                    row = assembler != null ? assembler.finish() : null;
+                    if (row == null) {
+                        break;
+                    }
+                }
+
+                if (row != null) {
+                    if (count >= ServiceConstants.MAX_ROWS) {
+                        truncated = true;
+                        break;
+                    }
+                    if (row.fieldCount() > columnCount) {
+                        columnCount = row.fieldCount();
+                    }
+                    buffer.add(row);
+                    if (trackEndOffset) {
+                        // 書き込み途中の最終行は、改行が追記された時点で FileTailer が行全体を読み直す
+                        if (reader.isLineTerminated()) {
+                            endOffset = reader.getLineEndOffset();
+                        } else {
+                            partialLastLine = true;
+                        }
+                    }
+                    count++;
+
+                    if (buffer.size() >= ServiceConstants.BATCH_SIZE) {
+                        flushBatch(rows, buffer, onBatch);
+                    }
+                }
+
+                if (!hasLine) {
+                    break;
+                }
+                if (lines % 1_000 == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        break;
+                    }
+                    progress.accept(count);
+                }
+            }
+
+            flushBatch(rows, buffer, onBatch);
+        }
+
+        return new FileLoadResult(rows, columnCount, truncated, endOffset, partialLastLine);
+    }
+
+    /**
+     * 未通知の行を読み込み結果に加え、onBatch に通知します。
+     * 
+     * @param rows    読み込み結果の行
+     * @param buffer  未通知の行（通知後に空にする）
+     * @param onBatch 読み込んだ行を受け取る関数
+     */
+    private static void flushBatch(List<LogRow> rows, List<LogRow> buffer, Consumer<List<LogRow>> onBatch) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        rows.addAll(buffer);
+        onBatch.accept(List.copyOf(buffer));
+        buffer.clear();
+    }
+
+    /**
+     * ファイルのうち、指定した時刻または行番号の範囲だけを読み込むタスクを生成します。
+     * 
+     * <p>範囲の位置は {@link RangeLocator} でファイル内のバイト位置を二分探索して特定し、
+     * その範囲のバイト列だけを解析します。行番号はファイル全体での行番号を保持します。
+     * 範囲の位置を特定するには任意の位置に移動して読む必要があるため、圧縮ファイルは対象外です。</p>
+     * 
+     * @param path  読み込むファイルのパス
+     * @param range 読み込む範囲
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileRangeAsync(Path path, LogRange range) {
+        return new ContextTask<>(context -> loadFileRange(path, range, context));
+    }
+
+    /**
+     * {@link #loadFileRangeAsync(Path, LogRange)} のタスクで実行する処理です。
+     * 
+     * @param path  読み込むファイルのパス
+     * @param range 読み込む範囲
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileRange(Path path, LogRange range, TaskContext context) throws Exception {
+        requireSeekable(path, "範囲を指定して開く");
+        if (CompressionFormat.detect(path).isCompressed()) {
+            throw new IllegalArgumentException("圧縮ファイルは範囲を指定して開けません。展開してから開いてください。");
+        }
+        Charset charset = detectCharset(path, CompressionFormat.NONE);
+        if (charset == null) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+        if (!CharsetDetector.isTabSafe(charset)) {
+            throw new IllegalArgumentException(String.format("%s のファイルは範囲を指定して開けません。",
+                TextEncoding.displayNameOf(charset)));
+        }
+
+        context.updateProgress(-1, 1);
+        context.updateMessage(String.format("範囲 (%s) を検索中...", range));
+        RangeLocator.Slice slice;
+        try (RangeLocator locator = new RangeLocator(path, lineIndexCache.load(path))) {
+            slice = locator.locate(range);
+        }
+
+        FileLoadResult result = readRows(RangeLocator.openSlice(path, slice), charset, slice.firstLineNumber,
+            false, null, null, context::isCancelled,
+            count -> context.updateMessage(String.format("%,d 行読み込み中...", count)), batch -> { }, false);
+
+        context.updateProgress(1, 1);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+        return result;
+    }
+
+    /**
+     * ファイル全体から一部の行だけを抜き出して読み込むタスクを生成します。
+     * 巨大なファイルの概観を、全体を読み込まずに確認するためのプレビューに使用します。
+     * 
+     * <p>抜き出した行はファイル全体での行番号を保持します。無作為に抜き出す場合、
+     * 非圧縮の大きなファイルは {@link LogSampler} で任意の位置に移動して行を読み、
+     * 行インデックスキャッシュがなければ改行を数えて行番号を求めます。
+     * 抽出方法は {@link FileLoadResult#note} に格納します。</p>
+     * 
+     * @param path   読み込むファイルのパス
+     * @param sample 抽出方法
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileSampleAsync(Path path, LogSample sample) {
+        return new ContextTask<>(context -> loadFileSample(path, sample, context));
+    }
+
+    /**
+     * {@link #loadFileSampleAsync(Path, LogSample)} のタスクで実行する処理です。
+     * 
+     * @param path   読み込むファイルのパス
+     * @param sample 抽出方法
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileSample(Path path, LogSample sample, TaskContext context) throws Exception {
+        requireSeekable(path, "抜き出して開く");
+        CompressionFormat format = CompressionFormat.detect(path);
+        Charset charset = detectCharset(path, format);
+        if (charset == null) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+        Charset fieldCharset = CharsetDetector.fieldCharset(charset);
+
+        context.updateProgress(-1, 1);
+        context.updateMessage(String.format("%s 抜き出し中...", sample));
+        LongConsumer lineProgress = lines -> context.updateMessage(
+            String.format("%s 抜き出し中... (%,d 行を走査)", sample, lines));
+        FileLoadResult result;
+        if (!sample.isRandom()) {
+            result = LogSampler.everyNth(openLogStream(path, format, charset), fieldCharset,
+                sample.getInterval(), context::isCancelled, lineProgress);
+        } else if (format.isCompressed() || Files.size(path) <= LogSampler.SEQUENTIAL_THRESHOLD
+                || !CharsetDetector.isTabSafe(charset)) {
+            result = LogSampler.reservoir(openLogStream(path, format, charset), fieldCharset,
+                sample.getCount(), new Random(sample.getSeed()), context::isCancelled, lineProgress);
+        } else {
+            long fileSize = Files.size(path);
+            result = LogSampler.randomLines(path, charset, lineIndexCache.load(path), sample.getCount(),
+                new Random(sample.getSeed()), context::isCancelled, bytes -> {
+                    context.updateProgress(bytes, fileSize);
+                    context.updateMessage(String.format("行番号を数えています... %d%%", bytes * 100 / fileSize));
+                });
+        }
+
+        context.updateProgress(1, 1);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+        return new FileLoadResult(result.rows, result.columns, result.truncated, -1,
+            String.format("サンプリング表示: %s", sample));
+    }
+
+    /**
+     * ファイルをメモリマップして読み込むタスクを生成します。
+     * 行開始位置のインデックスのみを構築し、各行のフィールドは
+     * テーブル表示・フィルタ・エクスポートで参照された時点でデコードします。
+     * 
+     * <p>構築したインデックスは {@link LineIndexCache} に保存し、サイズと最終更新日時が
+     * 変わっていないファイルを再度開く場合は、改行の走査を省略してキャッシュから復元します。</p>
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileMappedAsync(Path path) {
+        return new ContextTask<>(context -> loadFileMapped(path, context));
+    }
+
+    /**
+     * {@link #loadFileMappedAsync(Path)} のタスクで実行する処理です。
+     * 
+     * @param path 読み込むファイルのパス
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileMapped(Path path, TaskContext context) throws Exception {
+        if (!isTextFile(path, CompressionFormat.NONE)) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+
+        MappedLineIndex cached = lineIndexCache.load(path);
+        if (cached != null && cached.lineCount() <= ServiceConstants.MAX_ROWS) {
+            context.updateProgress(cached.getFileSize(), cached.getFileSize());
+            context.updateMessage(String.format("行インデックスキャッシュから復元しました (%,d 行)", cached.lineCount()));
+            return createMappedResult(cached, false);
+        }
+
+        // 走査中に変更された場合にキャッシュが無効になるよう、走査前の更新日時を記録する
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        MappedLineIndex index = MappedLineIndex.open(path);
+        boolean truncated = false;
+
+        context.updateProgress(0, index.getFileSize());
+        context.updateMessage("0 行読み込み中...");
+
+        while (!index.isComplete()) {
+            if (context.isCancelled()) {
+                break;
+            }
+            int remaining = ServiceConstants.MAX_ROWS - index.lineCount();
+            if (remaining <= 0) {
+                truncated = true;
+                break;
+            }
+            index.scanLines(Math.min(ServiceConstants.BATCH_SIZE * 20, remaining));
+            context.updateProgress(index.getScannedBytes(), index.getFileSize());
+            context.updateMessage(String.format("%,d 行読み込み中...", index.lineCount()));
+        }
+
+        if (index.isComplete() && !truncated) {
+            try {
+                lineIndexCache.save(index, lastModified);
+            } catch (IOException e) {
+                System.err.println("行インデックスキャッシュの保存に失敗しました: " + e.getMessage());
+            }
+        }
+
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", index.lineCount()));
+
+        return createMappedResult(index, truncated);
+    }
+
+    /**
+     * インデックスの全行を参照する MappedLogRow のリストから読み込み結果を生成します。
+     * 改行で終わっていない最終行は書き込み途中とみなし、終了位置をその行の先頭として追従モードで読み直します。
+     */
+    private static FileLoadResult createMappedResult(MappedLineIndex index, boolean truncated) {
+        int count = index.lineCount();
+        boolean partialLastLine = count > 0 && !index.isLineTerminated(count - 1);
+        long endOffset = index.lineStart(partialLastLine ? count - 1 : count);
+        return new FileLoadResult(createMappedRows(index), index.getMaxFieldCount(), truncated, endOffset,
+            partialLastLine);
+    }
+    
+    /**
+     * インデックスの全行を参照する MappedLogRow のリストを生成します。
+     */
+    private static List<LogRow> createMappedRows(MappedLineIndex index) {
+        int count = index.lineCount();
+        List<LogRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new MappedLogRow(index, i + 1));
+        }
+        return rows;
+    }
+    
+    /**
+     * gzip 圧縮ファイルを、チェックポイント付きの行インデックスを構築して読み込むタスクを生成します。
+     * 各行のフィールドは参照された時点で直前のチェックポイントから展開してデコードするため、
+     * 行番号ジャンプで後方の行を表示する場合もファイル先頭から展開し直す必要がありません。
+     * 
+     * <p>構築したインデックスは {@link LineIndexCache} に保存します。単一メンバーの gzip など
+     * チェックポイントを置けないファイルは、展開しながら全行を読み込みます。</p>
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileGzipIndexedAsync(Path path) {
+        return new ContextTask<>(context -> loadFileGzipIndexed(path, context));
+    }
+
+    /**
+     * {@link #loadFileGzipIndexedAsync(Path)} のタスクで実行する処理です。
+     * 
+     * @param path 読み込むファイルのパス
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileGzipIndexed(Path path, TaskContext context) throws Exception {
+        if (!isTextFile(path, CompressionFormat.GZIP)) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+
+        GzipCheckpointIndex cached = lineIndexCache.loadGzip(path);
+        if (cached != null && cached.lineCount() <= ServiceConstants.MAX_ROWS) {
+            context.updateProgress(1, 1);
+            context.updateMessage(String.format("行インデックスキャッシュから復元しました (%,d 行)", cached.lineCount()));
+            return new FileLoadResult(createGzipRows(cached), cached.getMaxFieldCount(), false, -1);
+        }
+
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        context.updateProgress(0, size);
+        context.updateMessage("圧縮ファイルのインデックスを作成中...");
+
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, ServiceConstants.MAX_ROWS,
+            context::isCancelled, compressedBytes -> context.updateProgress(compressedBytes, size));
+
+        if (!index.isSeekable()) {
+            // チェックポイントを置けないため、先頭から展開しながら全行を読み込む
+            context.updateProgress(0, ServiceConstants.MAX_ROWS);
+            context.updateMessage("0 行読み込み中...");
+            FileLoadResult result = readRows(path, CompressionFormat.GZIP, context::isCancelled, count -> {
+                context.updateProgress(count, ServiceConstants.MAX_ROWS);
+                context.updateMessage(String.format("%,d 行読み込み中...", count));
+            });
+            context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+            return result;
+        }
+
+        if (index.isComplete()) {
+            try {
+                lineIndexCache.saveGzip(index, lastModified);
+            } catch (IOException e) {
+                System.err.println("行インデックスキャッシュの保存に失敗しました: " + e.getMessage());
+            }
+        }
+
+        boolean truncated = !index.isComplete() && index.lineCount() >= ServiceConstants.MAX_ROWS;
+        context.updateProgress(size, size);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", index.lineCount()));
+        return new FileLoadResult(createGzipRows(index), index.getMaxFieldCount(), truncated, -1);
+    }
+
+    /**
+     * インデックスの全行を参照する GzipLogRow のリストを生成します。
+     */
+    private static List<LogRow> createGzipRows(GzipCheckpointIndex index) {
+        int count = index.lineCount();
+        List<LogRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new GzipLogRow(index, i + 1));
+        }
+        return rows;
+    }
+    
+    /**
+     * ファイルを改行境界でチャンクに分割し、並列に解析するタスクを生成します。
+     * 行番号は全チャンクを通して1始まりの連番になります。
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileParallelAsync(Path path) {
+        return new ContextTask<>(context -> loadFileParallel(path, context));
+    }
+
+    /**
+     * {@link #loadFileParallelAsync(Path)} のタスクで実行する処理です。
+     * 
+     * @param path 読み込むファイルのパス
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileParallel(Path path, TaskContext context) throws Exception {
+        if (!isTextFile(path, CompressionFormat.NONE)) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+
+        long size = Files.size(path);
+        context.updateProgress(0, size);
+        context.updateMessage("並列解析中...");
+
+        FileLoadResult result = new ParallelTsvLoader().load(
+            path,
+            ServiceConstants.MAX_ROWS,
+            context::isCancelled,
+            parsedBytes -> context.updateProgress(parsedBytes, size)
+        );
+
+        context.updateProgress(size, size);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+        return result;
+    }
+    
+    /**
+     * ファイルを列指向ストアに読み込むタスクを生成します。
+     * フィールドは列ごとの byte 配列に UTF-8 のまま格納し、
+     * テーブル表示・フィルタ・エクスポートで参照された時点でデコードします。
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileColumnarAsync(Path path) {
+        return new ContextTask<>(context -> loadFileColumnar(path, context));
+    }
+
+    /**
+     * {@link #loadFileColumnarAsync(Path)} のタスクで実行する処理です。
+     * 
+     * @param path 読み込むファイルのパス
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileColumnar(Path path, TaskContext context) throws Exception {
+        CompressionFormat format = CompressionFormat.detect(path);
+        if (!isTextFile(path, format)) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+
+        ColumnarRowStore store = new ColumnarRowStore();
+        boolean truncated = false;
+        // 圧縮ファイルは追記位置を特定できないため、読み込み終了位置を不明 (-1) とする
+        long endOffset = format.isCompressed() ? -1 : 0;
+        boolean partialLastLine = false;
+
+        context.updateProgress(0, ServiceConstants.MAX_ROWS);
+        context.updateMessage("0 行読み込み中...");
+
+        try (TsvByteReader reader = new TsvByteReader(openLogStream(path, format))) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            int count = 0;
+
+            while (reader.next()) {
+                if (count >= ServiceConstants.MAX_ROWS) {
+                    truncated = true;
+                    break;
+                }
+                store.addRow(tokenizer, count + 1);
+                if (!format.isCompressed()) {
+                    // 書き込み途中の最終行は、改行が追記された時点で FileTailer が行全体を読み直す
+                    if (reader.isLineTerminated()) {
+                        endOffset = reader.getLineEndOffset();
+                    } else {
+                        partialLastLine = true;
+                    }
+                }
+                count++;
+
+                if (count % 1_000 == 0) {
+                    if (context.isCancelled()) {
+                        break;
+                    }
+                    context.updateProgress(count, ServiceConstants.MAX_ROWS);
+                    context.updateMessage(String.format("%,d 行読み込み中...", count));
+                }
+            }
+        }
+        store.trimToSize();
+
+        context.updateProgress(store.rowCount(), ServiceConstants.MAX_ROWS);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", store.rowCount()));
+        return new FileLoadResult(store.createRows(), store.getMaxFieldCount(), truncated, endOffset, partialLastLine);
+    }
+    
+    /**
+     * ファイルを {@link OffHeapRowStore} に読み込むタスクを生成します。
+     * 行データはヒープ外（一時ファイルのメモリマップ）に保持するため、
+     * {@link ServiceConstants#MAX_ROWS} による打ち切りは行いません。
+     * ヒープには行ごとの参照オブジェクトのみが残るため、その合計がヒープの予算に収まる行数
+     * （{@link LoadGovernor#offHeapMaxRows(long)}）で打ち切ります。
+     * 
+     * @param path 読み込むファイルのパス
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFileOffHeapAsync(Path path) {
+        return new ContextTask<>(context -> loadFileOffHeap(path, context));
+    }
+
+    /**
+     * {@link #loadFileOffHeapAsync(Path)} のタスクで実行する処理です。
+     * 
+     * @param path 読み込むファイルのパス
+     * @param context キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFileOffHeap(Path path, TaskContext context) throws Exception {
+        CompressionFormat format = CompressionFormat.detect(path);
+        if (!isTextFile(path, format)) {
+            throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください。");
+        }
+
+        int maxRows = LoadGovernor.offHeapMaxRows(LoadGovernor.heapBudget());
+        OffHeapRowStore store = OffHeapRowStore.create();
+        boolean truncated = false;
+        long endOffset = format.isCompressed() ? -1 : 0;
+        boolean partialLastLine = false;
+        long size = Files.size(path);
+
+        context.updateProgress(0, size);
+        context.updateMessage("0 行読み込み中...");
+
+        try (TsvByteReader reader = new TsvByteReader(openLogStream(path, format))) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            int count = 0;
+
+            while (reader.next()) {
+                if (count >= maxRows) {
+                    truncated = true;
+                    break;
+                }
+                int fieldCount = tokenizer.fieldCount();
+                store.addRow(tokenizer.bytes(), tokenizer.fieldStart(0), tokenizer.fieldEnd(fieldCount - 1),
+                    fieldCount);
+                if (!format.isCompressed()) {
+                    // 書き込み途中の最終行は、改行が追記された時点で FileTailer が行全体を読み直す
+                    if (reader.isLineTerminated()) {
+                        endOffset = reader.getLineEndOffset();
+                    } else {
+                        partialLastLine = true;
+                    }
+                }
+                count++;
+
+                if (count % 10_000 == 0) {
+                    if (context.isCancelled()) {
+                        break;
+                    }
+                    if (!format.isCompressed()) {
+                        context.updateProgress(endOffset, size);
+                    }
+                    context.updateMessage(String.format("%,d 行読み込み中...", count));
+                }
+            }
+        }
+        store.seal();
+
+        int count = store.rowCount();
+        List<LogRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new OffHeapLogRow(store, i + 1));
+        }
+        context.updateProgress(size, size);
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", count));
+        return new FileLoadResult(rows, store.getMaxFieldCount(), truncated, endOffset, partialLastLine);
+    }
+    
+    /**
+     * 複数ファイルを時刻カラムの順に結合して読み込むタスクを生成します。
+     * 各行は読み込み元のファイル名と元の行番号を持つ {@link SourcedLogRow} になります。
+     * 
+     * @param paths           読み込むファイルのパス
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadFilesMergedAsync(List<Path> paths, int timestampColumn) {
+        return new ContextTask<>(context -> loadFilesMerged(paths, timestampColumn, context));
+    }
+
+    /**
+     * {@link #loadFilesMergedAsync(List, int)} のタスクで実行する処理です。
+     * 
+     * @param paths           読み込むファイルのパス
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @param context         キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadFilesMerged(List<Path> paths, int timestampColumn, TaskContext context) throws Exception {
+        List<Charset> charsets = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            requireSeekable(path, "他のファイルとマージして開く");
+            Charset charset = detectCharset(path, CompressionFormat.detect(path));
+            if (charset == null) {
+                throw new IllegalArgumentException("バイナリファイルは開けません。テキストファイルを選択してください: "
+                    + path.getFileName());
+            }
+            charsets.add(charset);
+        }
+
+        context.updateProgress(0, ServiceConstants.MAX_ROWS);
+        context.updateMessage(String.format("%d ファイルを結合中...", paths.size()));
+
+        FileLoadResult result = new TimestampMergeLoader().load(
+            paths,
+            charsets,
+            timestampColumn,
+            ServiceConstants.MAX_ROWS,
+            context::isCancelled,
+            count -> {
+                context.updateProgress(count, ServiceConstants.MAX_ROWS);
+                context.updateMessage(String.format("%,d 行結合中...", count));
+            }
+        );
+
+        context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", result.rows.size()));
+        return result;
+    }
+    
+    /**
+     * ローテーションされたログファイル群を1つの連続したログとして読み込むタスクを生成します。
+     * 
+     * <p>各セグメントは {@link #loadFileAsync(Path, LoadMode)} と同じ読み込み方式で並行して読み込むため、
+     * メモリマップ方式の行インデックスキャッシュなど、ファイルごとのキャッシュもそのまま利用されます。
+     * 読み込んだ行は指定順に連結し、全体を通した行番号と読み込み元のセグメント名を持つ
+     * {@link SourcedLogRow} で包みます。各セグメントのヘッダ行は除き、最初のセグメントのカラム名を使用します。</p>
+     * 
+     * <p>連結を待つ読み込み済みのセグメントがヒープを占有しないよう、連結中のセグメントから先へ
+     * 同時に読み込むのはプロセッサ数のセグメントまでとします。連結した行数が読み込み方式の行数上限に
+     * 達した時点で、読み込み中のセグメントを中断し、残りのセグメントは読み込みません。</p>
+     * 
+     * @param segments 古い順に並べたセグメントのパス
+     * @param mode     各セグメントの読み込み方式
+     * @return ファイル読み込みタスク
+     */
+    public Task<FileLoadResult> loadRotatedSetAsync(List<Path> segments, LoadMode mode) {
+        return new ContextTask<>(context -> loadRotatedSet(segments, mode, context));
+    }
+
+    /**
+     * {@link #loadRotatedSetAsync(List, LoadMode)} のタスクで実行する処理です。
+     * 
+     * @param segments 古い順に並べたセグメントのパス
+     * @param mode     各セグメントの読み込み方式
+     * @param context  キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 読み込み結果
+     * @throws Exception 読み込みに失敗した場合
+     */
+    FileLoadResult loadRotatedSet(List<Path> segments, LoadMode mode, TaskContext context) throws Exception {
+        int segmentCount = segments.size();
+        int maxRows = mode == LoadMode.OFF_HEAP ? LoadGovernor.offHeapMaxRows(LoadGovernor.heapBudget())
+            : ServiceConstants.MAX_ROWS;
+        context.updateProgress(0, segmentCount);
+        context.updateMessage(String.format("0 / %d セグメント読み込み完了", segmentCount));
+
+        int parallelism = Math.max(1, Math.min(segmentCount, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "log-segment-load-thread");
+            t.setDaemon(true);
+            return t;
+        });
+        // 連結を終えたら（失敗した場合を含む）、読み込み中のセグメントを中断させる
+        AtomicBoolean finished = new AtomicBoolean(false);
+        TaskContext segmentContext = () -> context.isCancelled() || finished.get();
+        List<Future<FileLoadResult>> loads = new ArrayList<>(segmentCount);
+        try {
+            List<LogRow> rows = new ArrayList<>();
+            int columnCount = 0;
+            boolean truncated = false;
+            List<String> columnNames = null;
+            for (int i = 0; i < segmentCount && !truncated; i++) {
+                if (rows.size() >= maxRows) {
+                    truncated = true;
+                    break;
+                }
+                // 連結する順に、連結中のセグメントから parallelism 個先までを読み始める
+                while (loads.size() < Math.min(segmentCount, i + parallelism)) {
+                    Path segment = segments.get(loads.size());
+                    loads.add(pool.submit(() -> loadFile(segment, mode, null, null, segmentContext)));
+                }
+                FileLoadResult result;
+                try {
+                    result = loads.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    throw new IOException(String.format("%s の読み込みに失敗しました: %s",
+                        segments.get(i).getFileName(), cause.getMessage()), cause);
+                }
+                loads.set(i, null);
+                if (result == null) {
+                    // 自動選択の読み込みがキャンセルされた
+                    break;
+                }
+                String source = String.valueOf(segments.get(i).getFileName());
+                for (LogRow row : result.rows) {
+                    if (rows.size() >= maxRows) {
+                        truncated = true;
+                        break;
+                    }
+                    rows.add(new SourcedLogRow(row, rows.size() + 1, source));
+                }
+                truncated |= result.truncated;
+                columnCount = Math.max(columnCount, result.columns);
+                if (i == 0) {
+                    columnNames = result.columnNames;
+                }
+                context.updateProgress(i + 1, segmentCount);
+                context.updateMessage(String.format("%d / %d セグメント読み込み完了 (%,d 行)", i + 1, segmentCount,
+                    rows.size()));
+            }
+
+            context.updateMessage(String.format("読み込み完了 処理中... (%,d 行)", rows.size()));
+            return new FileLoadResult(rows, columnCount, truncated, -1, null, columnNames);
+        } finally {
+            finished.set(true);
+            pool.shutdownNow();
+        }
+    }
+    
+    // ===== ファイルエクスポート =====
+    
+    /**
+     * 表示中のデータをTSVファイルにエクスポートするタスクを生成します。
+     * 
+     * @param data            エクスポート対象のデータ
+     * @param visibleIndices  可視列のインデックスリスト
+     * @param outputPath      出力ファイルのパス
+     * @return エクスポート実行タスク（完了時に処理した行数を返す）
+     */
+    public Task<Integer> exportDisplayedDataAsync(List<LogRow> data, List<Integer> visibleIndices, Path outputPath) {
+        return exportDisplayedDataAsync(data, visibleIndices, null, outputPath);
+    }
+
+    /**
+     * 表示中のデータを、カラム名のヘッダ行を付けてTSVファイルにエクスポートするタスクを生成します。
+     * 
+     * @param data            エクスポート対象のデータ
+     * @param visibleIndices  可視列のインデックスリスト
+     * @param columnNames     カラム名（null の場合はヘッダ行を出力しない）
+     * @param outputPath      出力ファイルのパス
+     * @return エクスポート実行タスク（完了時に処理した行数を返す）
+     */
+    public Task<Integer> exportDisplayedDataAsync(List<LogRow> data, List<Integer> visibleIndices,
+            List<String> columnNames, Path outputPath) {
+        return new ContextTask<>(context -> exportDisplayedData(data, visibleIndices, columnNames, outputPath,
+            context));
+    }
+
+    /**
+     * {@link #exportDisplayedDataAsync(List, List, List, Path)} のタスクで実行する処理です。
+     * 
+     * @param data            エクスポート対象のデータ
+     * @param visibleIndices  可視列のインデックスリスト
+     * @param columnNames     カラム名（null の場合はヘッダ行を出力しない）
+     * @param outputPath      出力ファイルのパス
+     * @param context         キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 処理した行数
+     * @throws Exception 書き込みに失敗した場合
+     */
+    int exportDisplayedData(List<LogRow> data, List<Integer> visibleIndices, List<String> columnNames,
+            Path outputPath, TaskContext context) throws Exception {
+        StringBuilder content = new StringBuilder();
+        appendHeaderLine(content, columnNames, visibleIndices);
+        int rowCount = 0;
+
+        for (LogRow row : data) {
+            if (context.isCancelled()) {
+                break;
+            }
+
+            boolean first = true;
+            for (int colIndex : visibleIndices) {
+                if (!first) {
+                    content.append(ServiceConstants.TAB_SEPARATOR);
+                }
+                first = false;
+                content.append(row.getField(colIndex));
+            }
+            content.append(ServiceConstants.LINE_SEPARATOR);
+            rowCount++;
+
+            // 1000行ごとに進捗更新
+            if (rowCount % 1000 == 0) {
+                context.updateProgress(rowCount, data.size());
+            }
+        }
+
+        if (!context.isCancelled()) {
+            Files.writeString(outputPath, content.toString(), StandardCharsets.UTF_8);
+        }
+
+        return rowCount;
+    }
+
+    /**
+     * 選択されている行をTSVファイルにエクスポートするタスクを生成します。
+     * 表示中の列のみを対象にします。
+     * 
+     * @param items              テーブルのすべてのアイテム
+     * @param selectedRowIndices 選択行のインデックスリスト
+     * @param visibleIndices     可視列のインデックスリスト
+     * @param outputPath         出力ファイルのパス
+     * @return エクスポート実行タスク（完了時に処理した行数を返す）
+     */
+    public Task<Integer> exportSelectedRowsAsync(
+        List<LogRow> items,
+        List<Integer> selectedRowIndices,
+        List<Integer> visibleIndices,
+        Path outputPath
+    ) {
+        return exportSelectedRowsAsync(items, selectedRowIndices, visibleIndices, null, outputPath);
+    }
+
+    /**
+     * 選択されている行を、カラム名のヘッダ行を付けてTSVファイルにエクスポートするタスクを生成します。
+     * 表示中の列のみを対象にします。
+     * 
+     * @param items              テーブルのすべてのアイテム
+     * @param selectedRowIndices 選択行のインデックスリスト
+     * @param visibleIndices     可視列のインデックスリスト
+     * @param columnNames        カラム名（null の場合はヘッダ行を出力しない）
+     * @param outputPath         出力ファイルのパス
+     * @return エクスポート実行タスク（完了時に処理した行数を返す）
+     */
+    public Task<Integer> exportSelectedRowsAsync(
+        List<LogRow> items,
+        List<Integer> selectedRowIndices,
+        List<Integer> visibleIndices,
+        List<String> columnNames,
+        Path outputPath
+    ) {
+        return new ContextTask<>(context -> exportSelectedRows(items, selectedRowIndices, visibleIndices, columnNames,
+            outputPath, context));
+    }
+
+    /**
+     * {@link #exportSelectedRowsAsync(List, List, List, List, Path)} のタスクで実行する処理です。
+     * 
+     * @param items              テーブルのすべてのアイテム
+     * @param selectedRowIndices 選択行のインデックスリスト
+     * @param visibleIndices     可視列のインデックスリスト
+     * @param columnNames        カラム名（null の場合はヘッダ行を出力しない）
+     * @param outputPath         出力ファイルのパス
+     * @param context            キャンセル状態の確認と進捗・メッセージの通知先
+     * @return 処理した行数
+     * @throws Exception 書き込みに失敗した場合
+     */
+    int exportSelectedRows(List<LogRow> items, List<Integer> selectedRowIndices, List<Integer> visibleIndices,
+            List<String> columnNames, Path outputPath, TaskContext context) throws Exception {
+        StringBuilder content = new StringBuilder();
+        appendHeaderLine(content, columnNames, visibleIndices);
+        int processedCount = 0;
+
+        for (int rowIndex : selectedRowIndices) {
+            if (context.isCancelled()) {
+                break;
+            }
+
+            if (rowIndex < 0 || rowIndex >= items.size()) {
+                continue;
+            }
+
+            LogRow row = items.get(rowIndex);
+            boolean first = true;
+            for (int colIndex : visibleIndices) {
+                if (!first) {
+                    content.append(ServiceConstants.TAB_SEPARATOR);
+                }
+                first = false;
+                content.append(row.getField(colIndex));
+            }
+            content.append(ServiceConstants.LINE_SEPARATOR);
+
+            processedCount++;
+            if (processedCount % 500 == 0) {
+                context.updateProgress(processedCount, selectedRowIndices.size());
+            }
+        }
+
+        if (!context.isCancelled()) {
+            Files.writeString(outputPath, content.toString(), StandardCharsets.UTF_8);
+        }
+
+        return processedCount;
+    }
+
+    /**
+     * 可視列のカラム名をタブ区切りのヘッダ行として追加します。
+     * 
+     * @param content        出力内容
+     * @param columnNames    カラム名（null の場合は何もしない）
+     * @param visibleIndices 可視列のインデックスリスト
+     */
+    private static void appendHeaderLine(StringBuilder content, List<String> columnNames, List<Integer> visibleIndices) {
+        if (columnNames == null) {
+            return;
+        }
+        boolean first = true;
+        for (int colIndex : visibleIndices) {
+            if (!first) {
+                content.append(ServiceConstants.TAB_SEPARATOR);
+            }
+            first = false;
+            content.append(colIndex < columnNames.size() ? columnNames.get(colIndex) : "");
+        }
+        content.append(ServiceConstants.LINE_SEPARATOR);
+    }
+}
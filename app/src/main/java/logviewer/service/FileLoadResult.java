@@ -1,20 +1,59 @@
-package logviewer.service;
-
-import logviewer.LogRow;
-
-import java.util.List;
-
-/**
- * ファイル読み込み結果を保持するクラス。
- */
-public class FileLoadResult {
-    public final List<LogRow> rows;
-    public final int columns;
-    public final boolean truncated;
-    
-    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated) {
-        this.rows = rows;
-        this.columns = columns;
-        this.truncated = truncated;
-    }
-}
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.List;
+
+/**
+ * ファイル読み込み結果を保持するクラス。
+ */
+public class FileLoadResult {
+    public final List<LogRow> rows;
+    public final int columns;
+    public final boolean truncated;
+
+    /** 改行まで読み込んだ最終行の直後のバイト位置（不明な場合は -1）。改行で終わっていない最終行はこの位置に含めない */
+    public final long endOffset;
+
+    /** rows の最終行が改行で終わっていない（書き込み途中の可能性がある）場合は true。追従モードで残りが追記されたら置き換える */
+    public final boolean partialLastLine;
+
+    /** 読み込み方式の選択理由など、ステータスバーに添える補足（ない場合は null） */
+    public final String note;
+
+    /** ヘッダ行から取得したカラム名（ヘッダ行がない場合は null）。ヘッダ行は rows に含まない */
+    public final List<String> columnNames;
+    
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated) {
+        this(rows, columns, truncated, -1);
+    }
+
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated, long endOffset) {
+        this(rows, columns, truncated, endOffset, false);
+    }
+
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated, long endOffset,
+            boolean partialLastLine) {
+        this(rows, columns, truncated, endOffset, partialLastLine, null, null);
+    }
+
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated, long endOffset, String note) {
+        this(rows, columns, truncated, endOffset, note, null);
+    }
+
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated, long endOffset, String note,
+            List<String> columnNames) {
+        this(rows, columns, truncated, endOffset, false, note, columnNames);
+    }
+
+    public FileLoadResult(List<LogRow> rows, int columns, boolean truncated, long endOffset,
+            boolean partialLastLine, String note, List<String> columnNames) {
+        this.rows = rows;
+        this.columns = columns;
+        this.truncated = truncated;
+        this.endOffset = endOffset;
+        this.partialLastLine = partialLastLine;
+        this.note = note;
+        this.columnNames = columnNames;
+    }
+}
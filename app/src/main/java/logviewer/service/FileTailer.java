@@ -0,0 +1,137 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ファイル末尾に追記された行を読み込むクラス（tail -f 相当）。
+ * 
+ * <p>前回読み込んだ位置を保持し、{@link #poll()} のたびにそれ以降に追記された
+ * バイトだけを読み込んで LogRow に変換します。処理量は追記された量のみに比例し、
+ * ファイル全体のサイズには依存しません。改行で終わっていない行は書き込み途中と
+ * みなし、改行が追記されるまで読み込みを保留します。読み込み時点で書き込み途中だった
+ * 最終行は、改行が追記された時点で行全体を読み直し、既存の行の置き換えとして返します。</p>
+ * 
+ * <p>このクラスはスレッドセーフではありません。1つのスレッドから呼び出してください。</p>
+ */
+public class FileTailer {
+    private final Path path;
+    private long offset;
+    private int nextLineNumber;
+    private boolean truncated = false;
+    private boolean partialLastRow;
+    private boolean replacingLastRow = false;
+
+    /**
+     * 指定位置から追記を読み込む FileTailer を生成します。
+     * 
+     * @param path           対象ファイルのパス
+     * @param offset         読み込みを開始するバイト位置（既に読み込んだ末尾）
+     * @param nextLineNumber 次に読み込む行に割り当てる行番号（1始まり）
+     */
+    public FileTailer(Path path, long offset, int nextLineNumber) {
+        this(path, offset, nextLineNumber, false);
+    }
+
+    /**
+     * 指定位置から追記を読み込む FileTailer を生成します。
+     * 
+     * @param path           対象ファイルのパス
+     * @param offset         読み込みを開始するバイト位置（改行まで読み込んだ末尾）
+     * @param nextLineNumber 次に読み込む行に割り当てる行番号（1始まり）
+     * @param partialLastRow 読み込み済みの最終行が改行で終わっていない場合は true。
+     *                       offset はその行の先頭とし、nextLineNumber はその行の行番号とする
+     */
+    public FileTailer(Path path, long offset, int nextLineNumber, boolean partialLastRow) {
+        this.path = path;
+        this.offset = offset;
+        this.nextLineNumber = nextLineNumber;
+        this.partialLastRow = partialLastRow;
+    }
+
+    /**
+     * 前回の位置以降に追記された完全な行を読み込みます。
+     * ファイルが前回の位置より小さくなっていた場合（切り詰め・ローテーション）は
+     * 何も読み込まず、{@link #isTruncated()} が true になります。
+     * 返した先頭の行が読み込み済みの最終行を置き換えるものかは {@link #isReplacingLastRow()} で確認できます。
+     * 
+     * @return 追記された行（追記がない場合は空のリスト）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public List<LogRow> poll() throws IOException {
+        List<LogRow> rows = new ArrayList<>();
+        replacingLastRow = false;
+        if (truncated) {
+            return rows;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                truncated = true;
+                return rows;
+            }
+            if (size == offset) {
+                return rows;
+            }
+
+            channel.position(offset);
+            TsvByteReader reader = new TsvByteReader(Channels.newInputStream(channel));
+            TsvTokenizer tokenizer = reader.tokenizer();
+            long consumed = 0;
+            while (reader.next() && reader.isLineTerminated()) {
+                rows.add(new LogRow(tokenizer.fields(), nextLineNumber++));
+                consumed = reader.getLineEndOffset();
+            }
+            offset += consumed;
+        }
+        if (partialLastRow && !rows.isEmpty()) {
+            replacingLastRow = true;
+            partialLastRow = false;
+        }
+        return rows;
+    }
+
+    /**
+     * 次に読み込むバイト位置を返します。
+     * 
+     * @return バイト位置
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * 次に読み込む行に割り当てる行番号を返します。
+     * 
+     * @return 行番号（1始まり）
+     */
+    public int getNextLineNumber() {
+        return nextLineNumber;
+    }
+
+    /**
+     * 直前の {@link #poll()} が返した先頭の行が、書き込み途中だった読み込み済みの最終行を
+     * 置き換えるものかを返します。
+     * 
+     * @return 先頭の行で最終行を置き換える場合は true
+     */
+    public boolean isReplacingLastRow() {
+        return replacingLastRow;
+    }
+
+    /**
+     * ファイルが読み込み済みの位置より小さくなったことを検出したかを返します。
+     * 
+     * @return 切り詰めを検出した場合は true
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,191 @@
+package logviewer.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * フィルタ条件の内容を表す不変クラス。すべての条件を満たす行に一致します（AND条件）。
+ * 
+ * <p>Predicate と異なり条件の内容を比較できるため、新しい条件が直前の条件を絞り込んだものか
+ * （{@link #refines(FilterQuery)}）を判定し、直前の結果だけを判定し直すために使用します。
+ * 空の条件は、{@link FilterService#buildPredicate(String, String, int)} と同様に条件なしとして扱います。</p>
+ */
+public final class FilterQuery {
+    /** 条件なし（すべての行に一致） */
+    public static final FilterQuery MATCH_ALL = new FilterQuery(List.of());
+
+    private final List<Condition> conditions;
+
+    private FilterQuery(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * 1つの条件からなるフィルタ条件を生成します。
+     * 
+     * @param text        フィルタ入力値（/regex/ 形式は正規表現）
+     * @param columnIndex 対象カラムのインデックス（-1で全カラム）
+     * @return フィルタ条件
+     */
+    public static FilterQuery of(String text, int columnIndex) {
+        return of(List.of(new Condition(text, columnIndex)));
+    }
+
+    /**
+     * 複数の条件からなるフィルタ条件を生成します。空の条件は除きます。
+     * 
+     * @param conditions 条件のリスト
+     * @return フィルタ条件
+     */
+    public static FilterQuery of(List<Condition> conditions) {
+        List<Condition> kept = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            if (!condition.isBlank()) {
+                kept.add(condition);
+            }
+        }
+        return kept.isEmpty() ? MATCH_ALL : new FilterQuery(Collections.unmodifiableList(kept));
+    }
+
+    /**
+     * 条件のリストを取得します。
+     * 
+     * @return 条件のリスト（空の条件を除く）
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * 条件がないかを判定します。
+     * 
+     * @return すべての行に一致する場合は true
+     */
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * この条件が、直前の条件を絞り込んだものかを判定します。
+     * 直前の条件のすべてが、この条件のいずれかによって満たされることが保証される場合に true を返します。
+     * この場合、この条件に一致する行は直前の条件にも一致するため、直前の結果だけを判定すれば足ります。
+     * 
+     * @param previous 直前の条件
+     * @return 絞り込んだ条件（同じ条件を含む）の場合は true
+     */
+    public boolean refines(FilterQuery previous) {
+        for (Condition old : previous.conditions) {
+            boolean implied = false;
+            for (Condition condition : conditions) {
+                if (condition.refines(old)) {
+                    implied = true;
+                    break;
+                }
+            }
+            if (!implied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FilterQuery && conditions.equals(((FilterQuery) o).conditions);
+    }
+
+    @Override
+    public int hashCode() {
+        return conditions.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return conditions.toString();
+    }
+
+    /**
+     * 1つのカラム（または全カラム）に対するフィルタ条件。
+     */
+    public static final class Condition {
+        private final String text;
+        private final int columnIndex;
+
+        /**
+         * 条件を生成します。
+         * 
+         * @param text        フィルタ入力値（/regex/ 形式は正規表現。null は空として扱う）
+         * @param columnIndex 対象カラムのインデックス（-1で全カラム）
+         */
+        public Condition(String text, int columnIndex) {
+            this.text = text == null ? "" : text.trim();
+            this.columnIndex = Math.max(-1, columnIndex);
+        }
+
+        /**
+         * フィルタ入力値を取得します。
+         * 
+         * @return 前後の空白を除いたフィルタ入力値
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * 対象カラムのインデックスを取得します。
+         * 
+         * @return 対象カラムのインデックス（-1で全カラム）
+         */
+        public int getColumnIndex() {
+            return columnIndex;
+        }
+
+        boolean isBlank() {
+            return text.isEmpty();
+        }
+
+        boolean isRegex() {
+            return text.length() >= 2 && text.startsWith("/") && text.endsWith("/");
+        }
+
+        /**
+         * この条件に一致する行が、直前の条件にも必ず一致するかを判定します。
+         * 対象カラムが同じか直前の条件が全カラムで、入力値が同じか、
+         * 部分一致の入力値が直前の入力値を含む（大文字・小文字を区別しない）場合に true を返します。
+         */
+        boolean refines(Condition previous) {
+            if (previous.columnIndex >= 0 && previous.columnIndex != columnIndex) {
+                return false;
+            }
+            if (text.equals(previous.text)) {
+                return true;
+            }
+            if (isRegex() || previous.isRegex()) {
+                return false;
+            }
+            return text.toLowerCase(Locale.ROOT).contains(previous.text.toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Condition)) {
+                return false;
+            }
+            Condition other = (Condition) o;
+            return columnIndex == other.columnIndex && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, columnIndex);
+        }
+
+        @Override
+        public String toString() {
+            return (columnIndex < 0 ? "All" : "Column " + (columnIndex + 1)) + ": " + text;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 直前のフィルタ結果を、対象データの版とフィルタ条件とともに保持するキャッシュ。
+ * 
+ * <p>フィルタ入力欄に1文字ずつ入力すると、新しい条件は直前の条件を絞り込んだものになります
+ * （部分一致の入力値が長くなる、条件が追加されるなど）。この場合、新しい条件に一致する行は
+ * 直前の結果に含まれるため、全データではなく直前の結果だけを判定し直します。
+ * 対象データが変わった（版が異なる）場合はキャッシュを使用しません。</p>
+ * 
+ * <p>保持する結果は元のデータの並び順（ソート前）です。複数スレッドから使用できます。</p>
+ */
+final class FilterResultCache {
+    private long dataVersion;
+    private FilterQuery query = null;
+    private List<LogRow> rows = null;
+
+    /**
+     * 条件が直前の条件と同じ場合に、直前の結果を返します。
+     * 
+     * @param dataVersion 対象データの版
+     * @param query       フィルタ条件
+     * @return 直前の結果（使用できない場合は null）
+     */
+    synchronized List<LogRow> exactMatch(long dataVersion, FilterQuery query) {
+        if (rows == null || this.dataVersion != dataVersion || !this.query.equals(query)) {
+            return null;
+        }
+        return rows;
+    }
+
+    /**
+     * 条件を判定する対象の行を返します。条件が直前の条件を絞り込んだものであれば直前の結果、
+     * それ以外の場合は全データを返します。
+     * 
+     * @param data        全データ
+     * @param dataVersion 全データの版
+     * @param query       フィルタ条件
+     * @return 判定する対象の行
+     */
+    synchronized List<LogRow> candidates(List<LogRow> data, long dataVersion, FilterQuery query) {
+        if (rows == null || this.dataVersion != dataVersion || !query.refines(this.query)) {
+            return data;
+        }
+        return rows;
+    }
+
+    /**
+     * フィルタ結果を保持します。条件がない場合は全データと同じになるため保持しません。
+     * 
+     * @param dataVersion 全データの版
+     * @param query       フィルタ条件
+     * @param filtered    フィルタ結果（元のデータの並び順。以降は変更しないこと）
+     */
+    synchronized void store(long dataVersion, FilterQuery query, List<LogRow> filtered) {
+        if (query.isEmpty()) {
+            clear();
+            return;
+        }
+        this.dataVersion = dataVersion;
+        this.query = query;
+        this.rows = Collections.unmodifiableList(filtered);
+    }
+
+    /**
+     * 保持している結果を破棄します。
+     */
+    synchronized void clear() {
+        this.query = null;
+        this.rows = null;
+    }
+}
@@ -1,137 +1,181 @@
-package logviewer.service;
-
-import javafx.concurrent.Task;
-import logviewer.LogRow;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
-import java.util.function.Predicate;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
-
-/**
- * フィルタリング処理を担当するサービスクラス。
- * 単一フィルタ条件、複数フィルタ条件の結合、複数の結果をタスクで非同期実行できます。
- */
-public class FilterService {
-    
-    /**
-     * フィルタ文字列とカラム指定から述語を構築します。
-     * /regex/ 形式は正規表現として評価し、無効な正規表現はフィルタなしとして扱います。
-     * 
-     * @param filterText  フィルタ入力値
-     * @param columnName  選択中のカラム名（"All" または "Column N"）
-     * @param columnIndex カラムのインデックス（-1で"All"を意味する）
-     * @return フィルタ用Predicate
-     */
-    public Predicate<LogRow> buildPredicate(String filterText, String columnName, int columnIndex) {
-        if (columnName == null) {
-            columnName = "All";
-        }
-        if (filterText == null || filterText.isBlank()) {
-            return r -> true;
-        }
-
-        String trimmed = filterText.trim();
-        boolean isRegex = trimmed.length() >= 2 && trimmed.startsWith("/") && trimmed.endsWith("/");
-
-        if (isRegex) {
-            String patternText = trimmed.substring(1, trimmed.length() - 1);
-            Pattern pattern;
-            try {
-                pattern = Pattern.compile(patternText);
-            } catch (PatternSyntaxException e) {
-                return r -> true; // 無効な正規表現は素通り扱い
-            }
-
-            if ("All".equals(columnName)) {
-                return r -> {
-                    for (int i = 0; i < r.fieldCount(); i++) {
-                        if (pattern.matcher(r.getField(i)).matches()) {
-                            return true;
-                        }
-                    }
-                    return false;
-                };
-            } else {
-                return r -> {
-                    if (columnIndex < 0 || columnIndex >= r.fieldCount()) {
-                        return false;
-                    }
-                    return pattern.matcher(r.getField(columnIndex)).matches();
-                };
-            }
-        } else {
-            String q = trimmed.toLowerCase(Locale.ROOT);
-            if ("All".equals(columnName)) {
-                return r -> {
-                    for (int i = 0; i < r.fieldCount(); i++) {
-                        String v = r.getField(i);
-                        if (v.toLowerCase(Locale.ROOT).contains(q)) {
-                            return true;
-                        }
-                    }
-                    return false;
-                };
-            } else {
-                return r -> {
-                    if (columnIndex < 0 || columnIndex >= r.fieldCount()) {
-                        return false;
-                    }
-                    return r.getField(columnIndex).toLowerCase(Locale.ROOT).contains(q);
-                };
-            }
-        }
-    }
-    
-    /**
-     * 複数のPredicateを結合します（AND条件）。
-     * すべての Predicate を満たす行のみが true を返します。
-     * 
-     * @param predicates 複数のPredicate
-     * @return 結合されたPredicate (すべての条件を満たしたら true)
-     */
-    public Predicate<LogRow> combinePredicates(List<Predicate<LogRow>> predicates) {
-        if (predicates.isEmpty()) {
-            return r -> true;
-        }
-        
-        return r -> {
-            for (Predicate<LogRow> p : predicates) {
-                if (!p.test(r)) {
-                    return false;
-                }
-            }
-            return true;
-        };
-    }
-    
-    /**
-     * フィルタリングを非同期で実行するタスクを生成します。
-     * キャンセル可能です。
-     * 
-     * @param data      対象データリスト
-     * @param predicate フィルタ用Predicate
-     * @return フィルタ実行タスク (完了時にフィルタ済みリストを返す)
-     */
-    public Task<List<LogRow>> applyFilterAsync(List<LogRow> data, Predicate<LogRow> predicate) {
-        return new Task<>() {
-            @Override
-            protected List<LogRow> call() {
-                List<LogRow> result = new ArrayList<>();
-                
-                for (LogRow row : data) {
-                    if (isCancelled()) {
-                        break;
-                    }
-                    if (predicate.test(row)) {
-                        result.add(row);
-                    }
-                }
-                
-                return result;
-            }
-        };
-    }
-}
+package logviewer.service;
+
+import javafx.concurrent.Task;
+import logviewer.LogRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * フィルタリング処理を担当するサービスクラス。
+ * 単一フィルタ条件、複数フィルタ条件の結合、複数の結果をタスクで非同期実行できます。
+ */
+public class FilterService {
+    private final ParallelRowFilter rowFilter = new ParallelRowFilter();
+
+    /**
+     * フィルタ文字列とカラム指定から述語を構築します。
+     * /regex/ 形式は正規表現として評価し、無効な正規表現はフィルタなしとして扱います。
+     * 
+     * @param filterText  フィルタ入力値
+     * @param columnName  選択中のカラム名（"All"、ヘッダ行のカラム名または "Column N"）
+     * @param columnIndex カラムのインデックス（-1で"All"を意味する）
+     * @return フィルタ用Predicate
+     */
+    public Predicate<LogRow> buildPredicate(String filterText, String columnName, int columnIndex) {
+        if (columnName == null) {
+            columnName = "All";
+        }
+        return buildPredicate(filterText, "All".equals(columnName), columnIndex);
+    }
+
+    /**
+     * フィルタ条件の内容から述語を構築します。すべての条件を満たす行のみが true を返します。
+     * 
+     * @param query フィルタ条件
+     * @return フィルタ用Predicate
+     */
+    public Predicate<LogRow> buildPredicate(FilterQuery query) {
+        List<Predicate<LogRow>> predicates = new ArrayList<>(query.getConditions().size());
+        for (FilterQuery.Condition condition : query.getConditions()) {
+            predicates.add(buildPredicate(condition.getText(), condition.getColumnIndex() < 0,
+                condition.getColumnIndex()));
+        }
+        return combinePredicates(predicates);
+    }
+
+    /**
+     * フィルタ文字列と対象カラムから述語を構築します。
+     * 
+     * @param filterText  フィルタ入力値
+     * @param allColumns  全カラムを対象とする場合は true
+     * @param columnIndex 対象カラムのインデックス（allColumns が false の場合に使用）
+     * @return フィルタ用Predicate
+     */
+    private Predicate<LogRow> buildPredicate(String filterText, boolean allColumns, int columnIndex) {
+        if (filterText == null || filterText.isBlank()) {
+            return r -> true;
+        }
+
+        String trimmed = filterText.trim();
+        boolean isRegex = trimmed.length() >= 2 && trimmed.startsWith("/") && trimmed.endsWith("/");
+
+        Predicate<String> valueTest;
+        if (isRegex) {
+            String patternText = trimmed.substring(1, trimmed.length() - 1);
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(patternText);
+            } catch (PatternSyntaxException e) {
+                return r -> true; // 無効な正規表現は素通り扱い
+            }
+            valueTest = v -> pattern.matcher(v).matches();
+        } else {
+            String q = trimmed.toLowerCase(Locale.ROOT);
+            valueTest = v -> v.toLowerCase(Locale.ROOT).contains(q);
+        }
+
+        FieldMatcher matcher = new FieldMatcher(valueTest);
+        if (allColumns) {
+            return r -> {
+                for (int i = 0; i < r.fieldCount(); i++) {
+                    if (matcher.test(r, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else {
+            return r -> {
+                if (columnIndex < 0 || columnIndex >= r.fieldCount()) {
+                    return false;
+                }
+                return matcher.test(r, columnIndex);
+            };
+        }
+    }
+    
+    /**
+     * 複数のPredicateを結合します（AND条件）。
+     * すべての Predicate を満たす行のみが true を返します。
+     * 
+     * @param predicates 複数のPredicate
+     * @return 結合されたPredicate (すべての条件を満たしたら true)
+     */
+    public Predicate<LogRow> combinePredicates(List<Predicate<LogRow>> predicates) {
+        if (predicates.isEmpty()) {
+            return r -> true;
+        }
+        
+        return r -> {
+            for (Predicate<LogRow> p : predicates) {
+                if (!p.test(r)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+    
+    /**
+     * フィルタリングを非同期で実行するタスクを生成します。
+     * 行数が多い場合は {@link ParallelRowFilter} で複数スレッドに分けて判定します。
+     * キャンセル可能です。
+     * 
+     * @param data      対象データリスト
+     * @param predicate フィルタ用Predicate
+     * @return フィルタ実行タスク (完了時にフィルタ済みリストを返す)
+     */
+    public Task<List<LogRow>> applyFilterAsync(List<LogRow> data, Predicate<LogRow> predicate) {
+        return new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                return rowFilter.filter(data, predicate, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * フィールド値がフィルタ条件に一致するか判定するクラス。
+     * 辞書化された列のフィールドは、辞書の値ごとに1度だけ判定した結果を
+     * 辞書コードで引くため、行ごとの文字列比較を行いません。
+     * 複数スレッドから同時に使用できます。
+     */
+    private static final class FieldMatcher {
+        private final Predicate<String> valueTest;
+        private final Map<ColumnDictionary, boolean[]> dictionaryMatches = new ConcurrentHashMap<>();
+
+        FieldMatcher(Predicate<String> valueTest) {
+            this.valueTest = valueTest;
+        }
+
+        boolean test(LogRow row, int index) {
+            if (row instanceof ColumnarLogRow) {
+                ColumnarLogRow columnar = (ColumnarLogRow) row;
+                int code = columnar.fieldCode(index);
+                if (code >= 0) {
+                    return matches(columnar.fieldDictionary(index), code);
+                }
+            }
+            return valueTest.test(row.getField(index));
+        }
+
+        private boolean matches(ColumnDictionary dictionary, int code) {
+            boolean[] matches = dictionaryMatches.get(dictionary);
+            if (matches == null || code >= matches.length) {
+                matches = new boolean[dictionary.size()];
+                for (int i = 0; i < matches.length; i++) {
+                    matches[i] = valueTest.test(dictionary.value(i));
+                }
+                dictionaryMatches.put(dictionary, matches);
+            }
+            return matches[code];
+        }
+    }
+}
\ No newline at end of file
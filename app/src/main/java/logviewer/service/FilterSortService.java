@@ -1,45 +1,134 @@
-package logviewer.service;
-
-import javafx.concurrent.Task;
-import logviewer.LogRow;
-
-import java.util.Comparator;
-import java.util.List;
-import java.util.function.Predicate;
-
-/**
- * フィルタとソートの連結処理を担当するサービスクラス。
- * Predicate でフィルタリングした後、Comparator でソートします。
- */
-public class FilterSortService {
-    /**
-     * フィルタとソートを順番に実行するタスクを生成します。
-     * キャンセル可能です。
-     * 
-     * @param data       対象データリスト
-     * @param predicate  フィルタ用 Predicate (各行が条件を満たすかをテスト)
-     * @param comparator ソート用 Comparator (行の並び順を指定)
-     * @return フィルタ・ソート実行タスク (完了時にソート済みの結果リストを返す)
-     */
-    public Task<List<LogRow>> filterAndSortAsync(List<LogRow> data, Predicate<LogRow> predicate, Comparator<LogRow> comparator) {
-        return new Task<>() {
-            @Override
-            protected List<LogRow> call() {
-                List<LogRow> filtered = new java.util.ArrayList<>();
-                for (LogRow row : data) {
-                    if (isCancelled()) {
-                        break;
-                    }
-                    if (predicate.test(row)) {
-                        filtered.add(row);
-                    }
-                }
-
-                if (!isCancelled()) {
-                    filtered.sort(comparator);
-                }
-                return filtered;
-            }
-        };
-    }
-}
+package logviewer.service;
+
+import javafx.concurrent.Task;
+import logviewer.LogRow;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * フィルタとソートの連結処理を担当するサービスクラス。
+ * Predicate でフィルタリングした後、Comparator でソートします。
+ * フィルタは {@link ParallelRowFilter} で複数スレッドに分けて判定します。
+ */
+public class FilterSortService {
+    private final SortService sortService = new SortService();
+    private final ParallelRowFilter rowFilter = new ParallelRowFilter();
+    private final FilterService filterService = new FilterService();
+    private final FilterResultCache resultCache = new FilterResultCache();
+
+    /**
+     * フィルタとソートを順番に実行するタスクを生成します。
+     * キャンセル可能です。
+     * 
+     * @param data       対象データリスト
+     * @param predicate  フィルタ用 Predicate (各行が条件を満たすかをテスト)
+     * @param comparator ソート用 Comparator (行の並び順を指定)
+     * @return フィルタ・ソート実行タスク (完了時にソート済みの結果リストを返す)
+     */
+    public Task<List<LogRow>> filterAndSortAsync(List<LogRow> data, Predicate<LogRow> predicate, Comparator<LogRow> comparator) {
+        return new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                List<LogRow> filtered = rowFilter.filter(data, predicate, this::isCancelled);
+
+                if (!isCancelled()) {
+                    filtered.sort(comparator);
+                }
+                return filtered;
+            }
+        };
+    }
+
+    /**
+     * フィルタと、カラムの型に応じたソートを順番に実行するタスクを生成します。
+     * ソートは {@link SortService#sortTyped(List, int, boolean, ColumnType)} で行います。
+     * キャンセル可能です。
+     * 
+     * @param data        対象データリスト
+     * @param predicate   フィルタ用 Predicate (各行が条件を満たすかをテスト)
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @param type        ソート対象カラムの型
+     * @return フィルタ・ソート実行タスク (完了時にソート済みの結果リストを返す)
+     */
+    public Task<List<LogRow>> filterAndSortAsync(List<LogRow> data, Predicate<LogRow> predicate,
+            int columnIndex, boolean ascending, ColumnType type) {
+        return new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                List<LogRow> filtered = rowFilter.filter(data, predicate, this::isCancelled);
+
+                if (isCancelled()) {
+                    return filtered;
+                }
+                return sortService.sortTyped(filtered, columnIndex, ascending, type);
+            }
+        };
+    }
+
+    /**
+     * フィルタ条件の内容によるフィルタと、カラムの型に応じたソートを順番に実行するタスクを生成します。
+     * 
+     * <p>直前のフィルタ結果を {@link FilterResultCache} に保持し、同じデータの版に対する条件が
+     * 直前の条件を絞り込んだもの（部分一致の入力値が長くなった、条件が追加されたなど）であれば、
+     * 全データではなく直前の結果だけを判定します。条件が同じ場合（ソート順のみの変更など）は判定しません。</p>
+     * 
+     * <p>キャンセル可能です。キャンセルされた場合の結果は保持しません。</p>
+     * 
+     * @param data        対象データリスト（判定中に変更しないこと）
+     * @param dataVersion 対象データの版（データが変わるごとに異なる値）
+     * @param query       フィルタ条件
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @param type        ソート対象カラムの型
+     * @return フィルタ・ソート実行タスク (完了時にソート済みの結果リストを返す)
+     */
+    public Task<List<LogRow>> filterAndSortAsync(List<LogRow> data, long dataVersion, FilterQuery query,
+            int columnIndex, boolean ascending, ColumnType type) {
+        return new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                return filterAndSort(data, dataVersion, query, columnIndex, ascending, type, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * {@link #filterAndSortAsync(List, long, FilterQuery, int, boolean, ColumnType)} のタスクで実行する処理です。
+     * 対象データの準備と合わせて1つのタスクで実行する場合は、そのタスクから直接呼び出します。
+     * 
+     * @param data        対象データリスト（判定中に変更しないこと）
+     * @param dataVersion 対象データの版（データが変わるごとに異なる値）
+     * @param query       フィルタ条件
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @param type        ソート対象カラムの型
+     * @param cancelled   キャンセル判定（true を返すと判定を打ち切り、結果を保持しない）
+     * @return ソート済みの結果リスト（キャンセルされた場合は判定済みの行）
+     */
+    public List<LogRow> filterAndSort(List<LogRow> data, long dataVersion, FilterQuery query, int columnIndex,
+            boolean ascending, ColumnType type, BooleanSupplier cancelled) {
+        List<LogRow> filtered = resultCache.exactMatch(dataVersion, query);
+        if (filtered == null) {
+            List<LogRow> candidates = resultCache.candidates(data, dataVersion, query);
+            filtered = query.isEmpty() ? candidates
+                : rowFilter.filter(candidates, filterService.buildPredicate(query), cancelled);
+            if (cancelled.getAsBoolean()) {
+                return filtered;
+            }
+            resultCache.store(dataVersion, query, filtered);
+        }
+        return sortService.sortTyped(filtered, columnIndex, ascending, type);
+    }
+
+    /**
+     * 保持している直前のフィルタ結果を破棄します。別のファイルを開く場合や閉じる場合に呼び出し、
+     * 以前のデータを保持し続けないようにします。
+     */
+    public void clearCache() {
+        resultCache.clear();
+    }
+}
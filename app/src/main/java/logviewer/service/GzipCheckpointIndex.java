@@ -0,0 +1,593 @@
+package logviewer.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * gzip 圧縮ファイルの行開始位置インデックスと、途中から展開を再開するための
+ * チェックポイントを保持するクラス。
+ * 
+ * <p>行開始位置は展開後のバイト位置として記録します。チェックポイントは
+ * 「圧縮ファイル上の位置」と「その位置から展開した内容の展開後バイト位置」の組で、
+ * 行の参照時は直前のチェックポイントから展開するため、ファイル先頭から展開し直す必要がありません。
+ * 展開したブロックは少数だけ保持し、スクロールやフィルタによる連続した参照では再展開を避けます。
+ * 並列フィルタの各スレッドは別々のブロックを同時に展開でき、同じブロックは1度だけ展開します。</p>
+ * 
+ * <p>Java の {@link Inflater} は任意のビット位置から展開状態を復元できないため、
+ * チェックポイントは gzip メンバーの境界にのみ置けます。bgzip のように小さなメンバーを
+ * 連結した形式では数MBごとにチェックポイントを記録できますが、単一メンバーの gzip では
+ * 先頭にしか置けないため {@link #isSeekable()} が false になります。</p>
+ */
+public class GzipCheckpointIndex {
+    /** チェックポイントを記録する展開後バイト数の間隔 */
+    static final long CHECKPOINT_INTERVAL = 4L * 1024 * 1024;
+
+    /** ランダムアクセス可能とみなすチェックポイント間の最大展開後バイト数 */
+    static final long MAX_BLOCK_SIZE = 32L * 1024 * 1024;
+
+    /** 展開済みブロックを保持する数（並列フィルタの各スレッドが参照するブロックを追い出し合わない数） */
+    private static final int BLOCK_CACHE_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /** 読み込み・展開に使用するバッファサイズ */
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long compressedSize;
+    private final long checkpointInterval;
+    private final long maxBlockSize;
+
+    /** 各チェックポイントの圧縮ファイル上の位置と展開後の位置 */
+    private long[] checkpointCompressed = new long[16];
+    private long[] checkpointUncompressed = new long[16];
+    private int checkpointCount = 0;
+
+    /** 各行の展開後の開始位置。lineStarts[lineCount] は走査済み末尾位置を表す */
+    private long[] lineStarts = new long[1024];
+    private int lineCount = 0;
+    private int maxFieldCount = 0;
+
+    private boolean complete = false;
+    private boolean seekable = true;
+
+    /**
+     * 展開済み・展開中のブロック（チェックポイント番号 → 展開後の内容）。アクセス順で古いものから破棄する。
+     * 参照と登録は blockCache で同期し、展開は同期の外で行う
+     */
+    private final Map<Integer, CompletableFuture<byte[]>> blockCache =
+            new LinkedHashMap<>(BLOCK_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<byte[]>> eldest) {
+            return size() > BLOCK_CACHE_SIZE;
+        }
+    };
+
+    private GzipCheckpointIndex(Path path, long compressedSize, long checkpointInterval, long maxBlockSize) {
+        this.path = path;
+        this.compressedSize = compressedSize;
+        this.checkpointInterval = checkpointInterval;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    /**
+     * gzip ファイルを先頭から展開して、行開始位置とチェックポイントを記録します。
+     * チェックポイント間の展開後サイズが {@link #MAX_BLOCK_SIZE} を超えた時点で
+     * ランダムアクセスできないと判断し、走査を打ち切ります。
+     * 
+     * @param path      対象ファイルのパス
+     * @param maxLines  記録する最大行数
+     * @param cancelled 中断を判定する関数
+     * @param progress  処理済みの圧縮バイト数を受け取る関数
+     * @return インデックス（打ち切った場合は {@link #isComplete()} が false）
+     * @throws IOException 読み込みに失敗した場合、または gzip 形式が壊れている場合
+     */
+    public static GzipCheckpointIndex build(Path path, int maxLines, BooleanSupplier cancelled,
+            LongConsumer progress) throws IOException {
+        return build(path, maxLines, cancelled, progress, CHECKPOINT_INTERVAL, MAX_BLOCK_SIZE);
+    }
+
+    /**
+     * チェックポイントの間隔とブロックの上限サイズを指定してインデックスを構築します。
+     */
+    static GzipCheckpointIndex build(Path path, int maxLines, BooleanSupplier cancelled, LongConsumer progress,
+            long checkpointInterval, long maxBlockSize) throws IOException {
+        GzipCheckpointIndex index = new GzipCheckpointIndex(path, Files.size(path), checkpointInterval, maxBlockSize);
+        try (InputStream in = Files.newInputStream(path)) {
+            index.scan(new ByteSource(in), maxLines, cancelled, progress);
+        }
+        return index;
+    }
+
+    /**
+     * 保存済みのチェックポイントと行開始位置から、走査済みのインデックスを復元します。
+     * 
+     * @param path                   対象ファイルのパス
+     * @param checkpointCompressed   各チェックポイントの圧縮ファイル上の位置
+     * @param checkpointUncompressed 各チェックポイントの展開後の位置
+     * @param lineStarts             各行の展開後の開始位置（lineCount + 1 要素）
+     * @param lineCount              行数
+     * @param maxFieldCount          最大フィールド数
+     * @return 走査済みのインデックス
+     * @throws IOException チェックポイントがファイルと一致しない場合
+     */
+    public static GzipCheckpointIndex restore(Path path, long[] checkpointCompressed, long[] checkpointUncompressed,
+            long[] lineStarts, int lineCount, int maxFieldCount) throws IOException {
+        GzipCheckpointIndex index = new GzipCheckpointIndex(path, Files.size(path), CHECKPOINT_INTERVAL,
+            MAX_BLOCK_SIZE);
+        int count = checkpointCompressed.length;
+        if (count == 0 || count != checkpointUncompressed.length
+                || checkpointCompressed[count - 1] >= index.compressedSize
+                || lineCount < 0 || lineStarts.length < lineCount + 1) {
+            throw new IOException("チェックポイントがファイルと一致しません: " + path);
+        }
+        index.checkpointCompressed = checkpointCompressed;
+        index.checkpointUncompressed = checkpointUncompressed;
+        index.checkpointCount = count;
+        index.lineStarts = lineStarts;
+        index.lineCount = lineCount;
+        index.maxFieldCount = maxFieldCount;
+        index.complete = true;
+        return index;
+    }
+
+    /**
+     * gzip メンバーを順に展開し、メンバー境界でチェックポイントを記録します。
+     */
+    private void scan(ByteSource source, int maxLines, BooleanSupplier cancelled, LongConsumer progress)
+            throws IOException {
+        Inflater inflater = new Inflater(true);
+        byte[] output = new byte[IO_BUFFER_SIZE];
+        long position = 0;
+        int tabCount = 0;
+        try {
+            while (true) {
+                long memberStart = source.position();
+                int id1 = source.read();
+                if (id1 < 0) {
+                    break;
+                }
+                if (id1 != 0x1F || source.read() != 0x8B) {
+                    // 末尾のパディングなど、gzip メンバー以外のデータは無視する
+                    break;
+                }
+                if (checkpointCount == 0
+                        || position - checkpointUncompressed[checkpointCount - 1] >= checkpointInterval) {
+                    addCheckpoint(memberStart, position);
+                }
+                skipHeader(source);
+
+                inflater.reset();
+                while (!inflater.finished()) {
+                    if (cancelled.getAsBoolean()) {
+                        return;
+                    }
+                    if (inflater.needsInput()) {
+                        if (!source.fill()) {
+                            throw new EOFException("gzip ファイルが途中で終わっています: " + path);
+                        }
+                        inflater.setInput(source.buffer, source.offset, source.limit - source.offset);
+                        source.offset = source.limit;
+                        progress.accept(source.position());
+                    }
+                    int length;
+                    try {
+                        length = inflater.inflate(output);
+                    } catch (DataFormatException e) {
+                        throw new IOException("gzip 形式が不正です: " + e.getMessage(), e);
+                    }
+                    if (length == 0 && inflater.needsDictionary()) {
+                        throw new IOException("gzip 形式が不正です: " + path);
+                    }
+                    for (int i = 0; i < length; i++) {
+                        byte b = output[i];
+                        if (b == '\t') {
+                            tabCount++;
+                        } else if (b == '\n') {
+                            appendLine(position + i + 1, tabCount);
+                            tabCount = 0;
+                            if (lineCount >= maxLines) {
+                                return;
+                            }
+                        }
+                    }
+                    position += length;
+                    if (position - checkpointUncompressed[checkpointCount - 1] > maxBlockSize) {
+                        seekable = false;
+                        return;
+                    }
+                }
+                source.offset = source.limit - inflater.getRemaining();
+                // CRC32 と展開後サイズ（8バイト）
+                for (int i = 0; i < 8; i++) {
+                    if (source.read() < 0) {
+                        throw new EOFException("gzip ファイルが途中で終わっています: " + path);
+                    }
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+
+        // 末尾に改行のない最終行
+        if (lineStarts[lineCount] < position) {
+            appendLine(position, tabCount);
+        }
+        complete = true;
+    }
+
+    /**
+     * gzip メンバーのヘッダー（先頭2バイトの後から）を読み飛ばします。
+     */
+    private void skipHeader(ByteSource source) throws IOException {
+        int method = source.read();
+        int flags = source.read();
+        if (method != 8 || flags < 0) {
+            throw new IOException("gzip 形式が不正です: " + path);
+        }
+        // MTIME(4) XFL(1) OS(1)
+        skip(source, 6);
+        if ((flags & 0x04) != 0) {
+            int extraLength = source.read() | (source.read() << 8);
+            skip(source, extraLength);
+        }
+        if ((flags & 0x08) != 0) {
+            skipZeroTerminated(source);
+        }
+        if ((flags & 0x10) != 0) {
+            skipZeroTerminated(source);
+        }
+        if ((flags & 0x02) != 0) {
+            skip(source, 2);
+        }
+    }
+
+    private void skip(ByteSource source, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (source.read() < 0) {
+                throw new EOFException("gzip ファイルが途中で終わっています: " + path);
+            }
+        }
+    }
+
+    private void skipZeroTerminated(ByteSource source) throws IOException {
+        int b;
+        while ((b = source.read()) != 0) {
+            if (b < 0) {
+                throw new EOFException("gzip ファイルが途中で終わっています: " + path);
+            }
+        }
+    }
+
+    private void addCheckpoint(long compressedOffset, long uncompressedOffset) {
+        if (checkpointCount == checkpointCompressed.length) {
+            checkpointCompressed = Arrays.copyOf(checkpointCompressed, checkpointCount * 2);
+            checkpointUncompressed = Arrays.copyOf(checkpointUncompressed, checkpointCount * 2);
+        }
+        checkpointCompressed[checkpointCount] = compressedOffset;
+        checkpointUncompressed[checkpointCount] = uncompressedOffset;
+        checkpointCount++;
+    }
+
+    private void appendLine(long nextLineStart, int tabCount) {
+        if (lineCount + 2 > lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        }
+        lineCount++;
+        lineStarts[lineCount] = nextLineStart;
+        if (tabCount + 1 > maxFieldCount) {
+            maxFieldCount = tabCount + 1;
+        }
+    }
+
+    /**
+     * ファイル末尾まで走査したかを返します。
+     * 
+     * @return 走査が完了している場合は true
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * チェックポイントからの展開で行を参照できるかを返します。
+     * チェックポイント間の展開後サイズが上限（既定は {@link #MAX_BLOCK_SIZE}）を超える場合は false です。
+     * 
+     * @return ランダムアクセス可能な場合は true
+     */
+    public boolean isSeekable() {
+        return seekable;
+    }
+
+    /**
+     * 対象ファイルのパスを返します。
+     * 
+     * @return ファイルパス
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 圧縮ファイルのサイズを返します。
+     * 
+     * @return バイト数
+     */
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    /**
+     * 記録した行数を返します。
+     * 
+     * @return 行数
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * 記録した行の最大フィールド数を返します。
+     * 
+     * @return 最大フィールド数
+     */
+    public int getMaxFieldCount() {
+        return maxFieldCount;
+    }
+
+    /**
+     * 指定行の展開後の開始位置を返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり、lineCount で末尾位置）
+     * @return 展開後のバイト位置
+     */
+    public long lineStart(int lineIndex) {
+        return lineStarts[lineIndex];
+    }
+
+    /**
+     * チェックポイント数を返します。
+     * 
+     * @return チェックポイント数
+     */
+    public int checkpointCount() {
+        return checkpointCount;
+    }
+
+    /**
+     * 指定チェックポイントの圧縮ファイル上の位置を返します。
+     * 
+     * @param checkpoint チェックポイント番号（0始まり）
+     * @return 圧縮ファイル上のバイト位置
+     */
+    public long checkpointCompressedOffset(int checkpoint) {
+        return checkpointCompressed[checkpoint];
+    }
+
+    /**
+     * 指定チェックポイントの展開後の位置を返します。
+     * 
+     * @param checkpoint チェックポイント番号（0始まり）
+     * @return 展開後のバイト位置
+     */
+    public long checkpointUncompressedOffset(int checkpoint) {
+        return checkpointUncompressed[checkpoint];
+    }
+
+    /**
+     * 指定行の内容を改行コードを除いたバイト列として返します。
+     * 展開に失敗した場合は空のバイト列を返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return 行のバイト列
+     */
+    public byte[] readLineBytes(int lineIndex) {
+        long start = lineStarts[lineIndex];
+        long end = lineStarts[lineIndex + 1];
+        byte[] bytes = new byte[(int) (end - start)];
+        try {
+            copy(start, bytes);
+        } catch (IOException e) {
+            System.err.println("圧縮ファイルの展開に失敗しました: " + e.getMessage());
+            return new byte[0];
+        }
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\n') {
+            length--;
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+        }
+        return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * 指定行のフィールド数を返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return フィールド数（空行は1）
+     */
+    public int fieldCount(int lineIndex) {
+        byte[] line = readLineBytes(lineIndex);
+        int count = 1;
+        for (byte b : line) {
+            if (b == '\t') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 指定行の指定フィールドをデコードして返します。
+     * 範囲外のフィールドは空文字を返します。
+     * 
+     * @param lineIndex  行インデックス（0始まり）
+     * @param fieldIndex フィールドインデックス（0始まり）
+     * @return フィールド文字列
+     */
+    public String getField(int lineIndex, int fieldIndex) {
+        if (fieldIndex < 0) {
+            return "";
+        }
+        byte[] line = readLineBytes(lineIndex);
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length; i++) {
+            if (i == line.length || line[i] == '\t') {
+                if (field == fieldIndex) {
+                    return new String(line, start, i - start, StandardCharsets.UTF_8);
+                }
+                field++;
+                start = i + 1;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 展開後の指定位置からバイト列をコピーします。ブロック境界をまたぐ場合も扱います。
+     * 
+     * @param position コピー開始位置（展開後）
+     * @param dest     コピー先配列（配列長分をコピー）
+     */
+    private void copy(long position, byte[] dest) throws IOException {
+        int offset = 0;
+        while (offset < dest.length) {
+            int checkpoint = checkpointFor(position);
+            byte[] block = block(checkpoint);
+            int blockOffset = (int) (position - checkpointUncompressed[checkpoint]);
+            int length = Math.min(dest.length - offset, block.length - blockOffset);
+            System.arraycopy(block, blockOffset, dest, offset, length);
+            position += length;
+            offset += length;
+        }
+    }
+
+    /**
+     * 指定位置を含むブロックのチェックポイント番号を返します。
+     */
+    private int checkpointFor(long position) {
+        int index = Arrays.binarySearch(checkpointUncompressed, 0, checkpointCount, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * 指定チェックポイントから次のチェックポイントまでを展開した内容を返します。
+     * 複数スレッド（テーブル表示と並列フィルタ）から参照されます。キャッシュの参照と登録だけを同期し、
+     * 最初に参照したスレッドが同期の外で展開します。展開中のブロックを参照したスレッドは展開の完了を待ちます。
+     */
+    private byte[] block(int checkpoint) throws IOException {
+        CompletableFuture<byte[]> future;
+        boolean owner = false;
+        synchronized (blockCache) {
+            future = blockCache.get(checkpoint);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                blockCache.put(checkpoint, future);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                future.complete(inflateBlock(checkpoint));
+            } catch (IOException | RuntimeException e) {
+                // 失敗したブロックは保持せず、次の参照で展開し直す
+                synchronized (blockCache) {
+                    blockCache.remove(checkpoint, future);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 指定チェックポイントから次のチェックポイントまでを展開します。
+     */
+    private byte[] inflateBlock(int checkpoint) throws IOException {
+        byte[] block;
+        long start = checkpointUncompressed[checkpoint];
+        long end = checkpoint + 1 < checkpointCount
+            ? checkpointUncompressed[checkpoint + 1]
+            : lineStarts[lineCount];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(checkpointCompressed[checkpoint]);
+            InputStream in = new GZIPInputStream(Channels.newInputStream(channel), IO_BUFFER_SIZE);
+            block = in.readNBytes((int) (end - start));
+        }
+        if (block.length != end - start) {
+            throw new EOFException("圧縮ファイルが変更されています: " + path);
+        }
+        return block;
+    }
+
+    /**
+     * 読み込み位置を管理する入力バッファ。
+     */
+    private static final class ByteSource {
+        final InputStream in;
+        final byte[] buffer = new byte[IO_BUFFER_SIZE];
+        int offset = 0;
+        int limit = 0;
+        /** buffer[0] のファイル上の位置 */
+        long base = 0;
+
+        ByteSource(InputStream in) {
+            this.in = in;
+        }
+
+        long position() {
+            return base + offset;
+        }
+
+        /**
+         * バッファを読み切っていれば次のデータを読み込みます。
+         * 
+         * @return 読み出せるデータがあれば true、終端なら false
+         */
+        boolean fill() throws IOException {
+            if (offset < limit) {
+                return true;
+            }
+            base += limit;
+            offset = 0;
+            limit = 0;
+            int read = in.read(buffer);
+            if (read > 0) {
+                limit = read;
+            }
+            return limit > 0;
+        }
+
+        int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[offset++] & 0xFF;
+        }
+    }
+}
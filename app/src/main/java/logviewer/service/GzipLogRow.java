@@ -0,0 +1,33 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * gzip 圧縮ファイル上の1行を参照する LogRow。
+ * フィールドは保持せず、アクセスされた時点で {@link GzipCheckpointIndex} の
+ * 直前のチェックポイントから展開してデコードします。
+ */
+public class GzipLogRow extends LogRow {
+    private final GzipCheckpointIndex index;
+
+    /**
+     * インデックス上の行を参照する GzipLogRow を生成します。
+     * 
+     * @param index      チェックポイント付き行インデックス
+     * @param lineNumber 元ファイルでの行番号（1始まり）
+     */
+    public GzipLogRow(GzipCheckpointIndex index, int lineNumber) {
+        super(lineNumber);
+        this.index = index;
+    }
+
+    @Override
+    public String getField(int index) {
+        return this.index.getField(getLineNumber() - 1, index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return index.fieldCount(getLineNumber() - 1);
+    }
+}
@@ -0,0 +1,62 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ファイルの1行目がカラム名のヘッダ行かどうかを判定するクラス。
+ * 
+ * <p>2行目以降の標本から各カラムの型を {@link TypedColumn#inferType(List, int)} で判定し、
+ * 1行目の値と比較します。整数・小数・日時と判定したカラムのうち、1行目の値がその型として
+ * 解析できないカラムが1つ以上あり、解析できるカラムが1つもない場合にヘッダ行とみなします。
+ * すべてのカラムが文字列の場合は区別できないため、ヘッダ行とはみなしません。
+ * 空欄や重複のある行もカラム名として使えないため、ヘッダ行とはみなしません。</p>
+ */
+final class HeaderDetector {
+    /** 判定に使う先頭からの最大行数 */
+    static final int SAMPLE_LINES = 200;
+
+    private HeaderDetector() {
+    }
+
+    /**
+     * 先頭の行からヘッダ行を判定します。
+     * 
+     * @param rows ファイル先頭からの行（1行目を含む）
+     * @return ヘッダ行と判定した場合はカラム名のリスト、それ以外の場合は null
+     */
+    static List<String> detect(List<LogRow> rows) {
+        if (rows.size() < 2) {
+            return null;
+        }
+        LogRow first = rows.get(0);
+        List<String> names = new ArrayList<>(first.fieldCount());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < first.fieldCount(); i++) {
+            String name = first.getField(i).trim();
+            if (name.isEmpty() || !seen.add(name)) {
+                return null;
+            }
+            names.add(name);
+        }
+
+        List<LogRow> body = rows.subList(1, rows.size());
+        boolean mismatch = false;
+        for (int i = 0; i < names.size(); i++) {
+            ColumnType type = TypedColumn.inferType(body, i);
+            if (type == ColumnType.STRING) {
+                continue;
+            }
+            if (TypedColumn.parses(type, first.getField(i))) {
+                // 1行目も同じ型の値であれば、データ行とみなす
+                return null;
+            }
+            mismatch = true;
+        }
+        return mismatch ? names : null;
+    }
+}
@@ -0,0 +1,80 @@
+package logviewer.service;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * 読み込み中のヒープの逼迫を監視するクラス。
+ * 
+ * <p>ヒープのメモリプールに GC 後の使用量のしきい値（最大サイズの {@link #PRESSURE_RATIO}）を設定し、
+ * GC をしても使用量がしきい値を下回らなかった通知を受け取ったときに、一度だけコールバックを呼び出します。
+ * GC 直後の使用量で判定するため、回収できるゴミによる一時的な増加では反応しません。</p>
+ */
+final class HeapPressureMonitor implements AutoCloseable {
+    /** 逼迫とみなす GC 後のヒープ使用量の割合 */
+    static final double PRESSURE_RATIO = 0.8;
+
+    private static boolean thresholdsInstalled = false;
+
+    private final NotificationEmitter emitter;
+    private final NotificationListener listener;
+    private volatile boolean triggered = false;
+
+    /**
+     * 監視を開始します。
+     * 
+     * @param onPressure ヒープが逼迫したときに呼び出す処理（通知スレッドから呼び出される）
+     */
+    HeapPressureMonitor(Runnable onPressure) {
+        installThresholds();
+        this.emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        this.listener = (Notification notification, Object handback) -> {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())
+                    && !triggered) {
+                triggered = true;
+                onPressure.run();
+            }
+        };
+        emitter.addNotificationListener(listener, null, null);
+    }
+
+    /**
+     * 監視中にヒープが逼迫したかを返します。
+     * 
+     * @return 逼迫した場合は true
+     */
+    boolean isTriggered() {
+        return triggered;
+    }
+
+    /**
+     * ヒープのメモリプールに GC 後の使用量のしきい値を設定します（初回のみ）。
+     */
+    private static synchronized void installThresholds() {
+        if (thresholdsInstalled) {
+            return;
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && max > 0) {
+                pool.setCollectionUsageThreshold((long) (max * PRESSURE_RATIO));
+            }
+        }
+        thresholdsInstalled = true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            emitter.removeNotificationListener(listener);
+        } catch (ListenerNotFoundException e) {
+            // 登録済みのため発生しない
+        }
+    }
+}
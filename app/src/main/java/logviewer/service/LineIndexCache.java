@@ -0,0 +1,321 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@link MappedLineIndex} の行開始位置をバイナリファイルに保存し、
+ * 同じファイルを再度開くときに改行の走査を省略するためのキャッシュ。
+ * 
+ * <p>キャッシュは ~/.logviewer/index/ 配下に、対象ファイルの絶対パスのハッシュを
+ * ファイル名として保存します。対象ファイルのパス・サイズ・最終更新日時が
+ * 保存時と一致する場合のみ有効とみなします。</p>
+ * 
+ * <p>ファイル形式（ビッグエンディアン）:</p>
+ * <pre>
+ * int    マジックナンバー
+ * int    形式バージョン
+ * int    パスのバイト数、続いてパス（UTF-8）
+ * long   ファイルサイズ
+ * long   最終更新日時（ミリ秒）
+ * int    行数
+ * int    最大フィールド数
+ * long[] 行開始位置（行数 + 1 要素）
+ * </pre>
+ * 
+ * <p>gzip 圧縮ファイルの {@link GzipCheckpointIndex} も同じディレクトリに拡張子 .gzidx で保存します。
+ * 形式は上記の最大フィールド数の後に、チェックポイント数（int）、
+ * チェックポイントの圧縮ファイル上の位置と展開後の位置（それぞれ long[チェックポイント数]）が続き、
+ * 最後に展開後の行開始位置（行数 + 1 要素）を格納します。</p>
+ */
+public class LineIndexCache {
+    private static final String CONFIG_DIR_NAME = ".logviewer";
+    private static final String INDEX_DIR_NAME = "index";
+    private static final String INDEX_FILE_EXTENSION = ".idx";
+    private static final String GZIP_INDEX_FILE_EXTENSION = ".gzidx";
+
+    /** "LVIX" */
+    private static final int MAGIC = 0x4C564958;
+    /** "LVGZ" */
+    private static final int GZIP_MAGIC = 0x4C56475A;
+    private static final int VERSION = 1;
+
+    /** 読み書きに使用するバッファサイズ */
+    private static final int IO_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path cacheDir;
+
+    /**
+     * ~/.logviewer/index/ にキャッシュを保存する LineIndexCache を生成します。
+     */
+    public LineIndexCache() {
+        this(Paths.get(System.getProperty("user.home")).resolve(CONFIG_DIR_NAME).resolve(INDEX_DIR_NAME));
+    }
+
+    /**
+     * 保存先ディレクトリを指定して LineIndexCache を生成します。
+     * 
+     * @param cacheDir キャッシュの保存先ディレクトリ
+     */
+    LineIndexCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * 有効なキャッシュがあれば、それを使ってインデックスを復元します。
+     * キャッシュがない場合、ファイルが変更されている場合、キャッシュが壊れている場合は null を返します。
+     * 
+     * @param path 対象ファイルのパス
+     * @return 走査済みのインデックス、または null
+     */
+    public MappedLineIndex load(Path path) {
+        Path cacheFile = cacheFileFor(path, INDEX_FILE_EXTENSION);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        // キャッシュファイルは置き換えられることがあるため、メモリマップせずに読み込む
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            if (!readHeader(channel, buffer, path, MAGIC)) {
+                return null;
+            }
+            readFully(channel, buffer, 8);
+            int lineCount = buffer.getInt();
+            int maxFieldCount = buffer.getInt();
+            if (lineCount < 0) {
+                return null;
+            }
+            long[] lineStarts = readLongs(channel, buffer, lineCount + 1);
+            return MappedLineIndex.restore(path, lineStarts, lineCount, maxFieldCount);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("行インデックスキャッシュの読み込みに失敗しました: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 有効なキャッシュがあれば、それを使って gzip 圧縮ファイルのインデックスを復元します。
+     * キャッシュがない場合、ファイルが変更されている場合、キャッシュが壊れている場合は null を返します。
+     * 
+     * @param path 対象ファイルのパス
+     * @return 走査済みのインデックス、または null
+     */
+    public GzipCheckpointIndex loadGzip(Path path) {
+        Path cacheFile = cacheFileFor(path, GZIP_INDEX_FILE_EXTENSION);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            if (!readHeader(channel, buffer, path, GZIP_MAGIC)) {
+                return null;
+            }
+            readFully(channel, buffer, 12);
+            int lineCount = buffer.getInt();
+            int maxFieldCount = buffer.getInt();
+            int checkpointCount = buffer.getInt();
+            if (lineCount < 0 || checkpointCount < 0) {
+                return null;
+            }
+            long[] checkpointCompressed = readLongs(channel, buffer, checkpointCount);
+            long[] checkpointUncompressed = readLongs(channel, buffer, checkpointCount);
+            long[] lineStarts = readLongs(channel, buffer, lineCount + 1);
+            return GzipCheckpointIndex.restore(path, checkpointCompressed, checkpointUncompressed,
+                lineStarts, lineCount, maxFieldCount);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("行インデックスキャッシュの読み込みに失敗しました: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 走査が完了したインデックスをキャッシュに保存します。
+     * 一時ファイルに書き込んでから置き換えるため、書き込み途中のキャッシュが読まれることはありません。
+     * 
+     * @param index          走査が完了したインデックス
+     * @param lastModified   走査開始前に取得した対象ファイルの最終更新日時（ミリ秒）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void save(MappedLineIndex index, long lastModified) throws IOException {
+        if (!index.isComplete()) {
+            throw new IllegalArgumentException("走査が完了していないインデックスは保存できません");
+        }
+        write(cacheFileFor(index.getPath(), INDEX_FILE_EXTENSION), (channel, buffer) -> {
+            writeHeader(channel, buffer, MAGIC, index.getPath(), index.getFileSize(), lastModified);
+            buffer.putInt(index.lineCount())
+                .putInt(index.getMaxFieldCount());
+            for (int i = 0; i <= index.lineCount(); i++) {
+                putLong(channel, buffer, index.lineStart(i));
+            }
+        });
+    }
+
+    /**
+     * 走査が完了した gzip 圧縮ファイルのインデックスをキャッシュに保存します。
+     * 
+     * @param index        走査が完了したインデックス
+     * @param lastModified 走査開始前に取得した対象ファイルの最終更新日時（ミリ秒）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void saveGzip(GzipCheckpointIndex index, long lastModified) throws IOException {
+        if (!index.isComplete()) {
+            throw new IllegalArgumentException("走査が完了していないインデックスは保存できません");
+        }
+        write(cacheFileFor(index.getPath(), GZIP_INDEX_FILE_EXTENSION), (channel, buffer) -> {
+            writeHeader(channel, buffer, GZIP_MAGIC, index.getPath(), index.getCompressedSize(), lastModified);
+            buffer.putInt(index.lineCount())
+                .putInt(index.getMaxFieldCount())
+                .putInt(index.checkpointCount());
+            for (int i = 0; i < index.checkpointCount(); i++) {
+                putLong(channel, buffer, index.checkpointCompressedOffset(i));
+            }
+            for (int i = 0; i < index.checkpointCount(); i++) {
+                putLong(channel, buffer, index.checkpointUncompressedOffset(i));
+            }
+            for (int i = 0; i <= index.lineCount(); i++) {
+                putLong(channel, buffer, index.lineStart(i));
+            }
+        });
+    }
+
+    /**
+     * 一時ファイルに書き込んでから置き換えるため、書き込み途中のキャッシュが読まれることはありません。
+     */
+    private void write(Path cacheFile, CacheWriter writer) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path tempFile = Files.createTempFile(cacheDir, "index", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+                writer.write(channel, buffer);
+                writeFully(channel, buffer);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * キャッシュの本体を書き込む処理。
+     */
+    private interface CacheWriter {
+        void write(FileChannel channel, ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * マジックナンバーから最終更新日時までのヘッダーを読み込み、対象ファイルと一致するかを判定します。
+     */
+    private static boolean readHeader(FileChannel channel, ByteBuffer buffer, Path path, int magic)
+            throws IOException {
+        readFully(channel, buffer, 12);
+        if (buffer.getInt() != magic || buffer.getInt() != VERSION) {
+            return false;
+        }
+        int pathLength = buffer.getInt();
+        if (pathLength < 0 || pathLength > IO_BUFFER_SIZE - 16) {
+            return false;
+        }
+        readFully(channel, buffer, pathLength + 16);
+        byte[] pathBytes = new byte[pathLength];
+        buffer.get(pathBytes);
+        String cachedPath = new String(pathBytes, StandardCharsets.UTF_8);
+        long size = buffer.getLong();
+        long modified = buffer.getLong();
+        return cachedPath.equals(keyOf(path))
+            && size == Files.size(path)
+            && modified == Files.getLastModifiedTime(path).toMillis();
+    }
+
+    private static void writeHeader(FileChannel channel, ByteBuffer buffer, int magic, Path path, long size,
+            long lastModified) throws IOException {
+        byte[] pathBytes = keyOf(path).getBytes(StandardCharsets.UTF_8);
+        if (pathBytes.length > IO_BUFFER_SIZE - 64) {
+            throw new IOException("パスが長すぎます: " + path);
+        }
+        buffer.putInt(magic)
+            .putInt(VERSION)
+            .putInt(pathBytes.length)
+            .put(pathBytes)
+            .putLong(size)
+            .putLong(lastModified);
+    }
+
+    private static long[] readLongs(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        long[] values = new long[length];
+        int filled = 0;
+        while (filled < length) {
+            int count = Math.min(length - filled, IO_BUFFER_SIZE / Long.BYTES);
+            readFully(channel, buffer, count * Long.BYTES);
+            buffer.asLongBuffer().get(values, filled, count);
+            filled += count;
+        }
+        return values;
+    }
+
+    private static void putLong(FileChannel channel, ByteBuffer buffer, long value) throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            writeFully(channel, buffer);
+        }
+        buffer.putLong(value);
+    }
+
+    /**
+     * 対象ファイルのキャッシュファイルのパスを返します。
+     * 
+     * @param path 対象ファイルのパス
+     * @return キャッシュファイルのパス
+     */
+    Path cacheFileFor(Path path) {
+        return cacheFileFor(path, INDEX_FILE_EXTENSION);
+    }
+
+    private Path cacheFileFor(Path path, String extension) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(keyOf(path).getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                name.append(String.format("%02x", hash[i]));
+            }
+            return cacheDir.resolve(name + extension);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String keyOf(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * 指定バイト数を読み込み、読み出し可能な状態のバッファにします。
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("行インデックスキャッシュが途中で終わっています");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
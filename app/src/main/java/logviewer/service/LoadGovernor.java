@@ -0,0 +1,318 @@
+package logviewer.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ファイル先頭の標本からヒープ使用量を見積もり、読み込み方式を選ぶクラス。
+ * 
+ * <p>展開後の先頭 {@link #SAMPLE_BYTES} バイトを解析して1行あたりのバイト数と
+ * 読み込み方式ごとの1行あたりのヒープ使用量を求め、ファイル全体の行数を推定します。
+ * 推定したヒープ使用量が最大ヒープの {@link #HEAP_BUDGET_RATIO} 以内に収まる方式のうち、
+ * 表示・フィルタが最も速い方式（標準 → 列指向 → メモリマップの順）を選び、
+ * 行数上限を超える場合や、どの方式も収まらない場合はオフヒープ方式を選びます。</p>
+ * 
+ * <p>1行あたりのヒープ使用量は、オブジェクトヘッダと参照を圧縮した 64bit JVM での概算です。
+ * 見積もりが外れた場合に備え、読み込み中は {@link HeapPressureMonitor} でヒープの逼迫を監視し、
+ * {@link #cheaper(LoadMode, CompressionFormat, boolean)} の方式に切り替えて読み直します。</p>
+ */
+public final class LoadGovernor {
+    /** 見積もりに使う先頭部分のバイト数（展開後） */
+    static final int SAMPLE_BYTES = 4 * 1024 * 1024;
+
+    /** 行データに使ってよい最大ヒープの割合（残りはテーブル表示やフィルタ結果に使う） */
+    static final double HEAP_BUDGET_RATIO = 0.6;
+
+    /** 標準方式の行あたりの固定費（LogRow 24 + String[] ヘッダ 16 + 行リストの参照 6） */
+    private static final int STANDARD_ROW_BYTES = 46;
+
+    /** 標準方式のフィールドあたりの固定費（String 24 + byte[] ヘッダ 16 + 配列内の参照 4） */
+    private static final int STANDARD_FIELD_BYTES = 44;
+
+    /** 列指向方式の行あたりの固定費（ColumnarLogRow 16 + 行番号・フィールド数 8 + 行リストの参照 6） */
+    private static final int COLUMNAR_ROW_BYTES = 30;
+
+    /** 列指向方式のフィールドあたりの固定費（終了位置の int） */
+    private static final int COLUMNAR_FIELD_BYTES = 4;
+
+    /** メモリマップ方式の行あたりのヒープ使用量（MappedLogRow 24 + 行開始位置 8 + 行リストの参照 6） */
+    private static final int MAPPED_ROW_BYTES = 38;
+
+    /** オフヒープ方式の行あたりのヒープ使用量（OffHeapLogRow 24 + 行リストの参照 6） */
+    private static final int OFF_HEAP_ROW_BYTES = 30;
+
+    private LoadGovernor() {
+    }
+
+    /**
+     * ヒープ使用量の見積もり結果。
+     */
+    public static final class Estimate {
+        /** 標本の行数 */
+        public final int sampleRows;
+        /** ファイル全体の推定行数 */
+        public final long estimatedRows;
+        /** 展開後の1行あたりの平均バイト数 */
+        public final double bytesPerRow;
+        /** 標準方式の1行あたりの推定ヒープ使用量（バイト） */
+        public final double standardBytesPerRow;
+        /** 列指向方式の1行あたりの推定ヒープ使用量（バイト） */
+        public final double columnarBytesPerRow;
+
+        Estimate(int sampleRows, long estimatedRows, double bytesPerRow, double standardBytesPerRow,
+                double columnarBytesPerRow) {
+            this.sampleRows = sampleRows;
+            this.estimatedRows = estimatedRows;
+            this.bytesPerRow = bytesPerRow;
+            this.standardBytesPerRow = standardBytesPerRow;
+            this.columnarBytesPerRow = columnarBytesPerRow;
+        }
+
+        /**
+         * 指定した方式でファイル全体を読み込んだ場合の推定ヒープ使用量を返します。
+         * 
+         * @param mode 読み込み方式
+         * @return 推定ヒープ使用量（バイト）
+         */
+        public long heapBytes(LoadMode mode) {
+            double perRow;
+            switch (mode) {
+                case COLUMNAR:
+                    perRow = columnarBytesPerRow;
+                    break;
+                case MAPPED:
+                    perRow = MAPPED_ROW_BYTES;
+                    break;
+                case OFF_HEAP:
+                    perRow = OFF_HEAP_ROW_BYTES;
+                    break;
+                default:
+                    perRow = standardBytesPerRow;
+                    break;
+            }
+            return (long) Math.ceil(perRow * estimatedRows);
+        }
+    }
+
+    /**
+     * ファイル先頭の標本を解析し、ヒープ使用量を見積もります。
+     * 
+     * @param path   対象ファイルのパス
+     * @param format ファイルの圧縮形式
+     * @return 見積もり結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static Estimate estimate(Path path, CompressionFormat format) throws IOException {
+        long fileSize = Files.size(path);
+        CountingInputStream raw = new CountingInputStream(Files.newInputStream(path));
+        byte[] sample;
+        boolean wholeFile;
+        long rawConsumed;
+        try (InputStream in = format.open(raw)) {
+            sample = in.readNBytes(SAMPLE_BYTES);
+            wholeFile = in.read() < 0;
+            rawConsumed = raw.count;
+        }
+
+        // 標本の末尾の途中までの行は数えない
+        int length = sample.length;
+        if (!wholeFile) {
+            while (length > 0 && sample[length - 1] != '\n') {
+                length--;
+            }
+        }
+
+        int rows = 0;
+        long standardBytes = 0;
+        long columnarBytes = 0;
+        try (TsvByteReader reader = new TsvByteReader(new ByteArrayInputStream(sample, 0, length))) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            while (reader.next()) {
+                String[] fields = tokenizer.fields();
+                standardBytes += STANDARD_ROW_BYTES + align(4L * fields.length) - 4L * fields.length;
+                columnarBytes += COLUMNAR_ROW_BYTES;
+                for (String field : fields) {
+                    standardBytes += STANDARD_FIELD_BYTES + align(16 + coderLength(field)) - 16;
+                    columnarBytes += COLUMNAR_FIELD_BYTES + utf8Length(field);
+                }
+                rows++;
+            }
+        }
+        if (rows == 0) {
+            return new Estimate(0, 0, 0, STANDARD_ROW_BYTES, COLUMNAR_ROW_BYTES);
+        }
+
+        double bytesPerRow = (double) length / rows;
+        long totalBytes;
+        if (wholeFile) {
+            totalBytes = length;
+        } else if (format.isCompressed()) {
+            // 標本の展開前後のサイズ比から、ファイル全体の展開後のサイズを推定する
+            totalBytes = (long) (fileSize * ((double) sample.length / Math.max(1, rawConsumed)));
+        } else {
+            totalBytes = fileSize;
+        }
+        long estimatedRows = (long) Math.ceil(totalBytes / bytesPerRow);
+        return new Estimate(rows, estimatedRows, bytesPerRow, (double) standardBytes / rows,
+            (double) columnarBytes / rows);
+    }
+
+    /**
+     * 行データに使ってよいヒープのバイト数を返します。
+     * 
+     * @return 最大ヒープの {@link #HEAP_BUDGET_RATIO} 倍
+     */
+    public static long heapBudget() {
+        return (long) (Runtime.getRuntime().maxMemory() * HEAP_BUDGET_RATIO);
+    }
+
+    /**
+     * オフヒープ方式で読み込む行数の上限を返します。行データはヒープ外に保持しますが、
+     * 行ごとの参照オブジェクトはヒープに残るため、その合計が予算に収まる行数までとします。
+     * 
+     * @param budget 行データに使ってよいヒープのバイト数
+     * @return 行数の上限（{@link ServiceConstants#OFF_HEAP_MAX_ROWS} 以下）
+     */
+    public static int offHeapMaxRows(long budget) {
+        return (int) Math.min(ServiceConstants.OFF_HEAP_MAX_ROWS, Math.max(0, budget) / OFF_HEAP_ROW_BYTES);
+    }
+
+    /**
+     * 見積もり結果とヒープの予算から読み込み方式を選びます。
+     * 
+     * @param estimate         見積もり結果
+     * @param budget           行データに使ってよいヒープのバイト数
+     * @param format           ファイルの圧縮形式
+     * @param offHeapAvailable オフヒープ方式を利用できる場合は true
+     * @return 読み込み方式
+     */
+    public static LoadMode choose(Estimate estimate, long budget, CompressionFormat format,
+            boolean offHeapAvailable) {
+        if (estimate.estimatedRows <= ServiceConstants.MAX_ROWS) {
+            if (estimate.heapBytes(LoadMode.STANDARD) <= budget) {
+                return LoadMode.STANDARD;
+            }
+            if (estimate.heapBytes(LoadMode.COLUMNAR) <= budget) {
+                return LoadMode.COLUMNAR;
+            }
+            if (!format.isCompressed() && estimate.heapBytes(LoadMode.MAPPED) <= budget) {
+                return LoadMode.MAPPED;
+            }
+        }
+        if (offHeapAvailable) {
+            return LoadMode.OFF_HEAP;
+        }
+        return format.isCompressed() ? LoadMode.COLUMNAR : LoadMode.MAPPED;
+    }
+
+    /**
+     * ヒープが逼迫した場合の切り替え先として、指定した方式より省メモリの方式を返します。
+     * 
+     * @param mode             現在の読み込み方式
+     * @param format           ファイルの圧縮形式
+     * @param offHeapAvailable オフヒープ方式を利用できる場合は true
+     * @return 切り替え先の方式（これ以上省メモリの方式がない場合は null）
+     */
+    public static LoadMode cheaper(LoadMode mode, CompressionFormat format, boolean offHeapAvailable) {
+        switch (mode) {
+            case STANDARD:
+            case PARALLEL:
+                return LoadMode.COLUMNAR;
+            case COLUMNAR:
+                if (!format.isCompressed()) {
+                    return LoadMode.MAPPED;
+                }
+                return offHeapAvailable ? LoadMode.OFF_HEAP : null;
+            case MAPPED:
+                return offHeapAvailable ? LoadMode.OFF_HEAP : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 見積もり結果をステータス表示用の文字列にします。
+     * 
+     * @param estimate 見積もり結果
+     * @param mode     選んだ読み込み方式
+     * @return 説明文字列
+     */
+    public static String describe(Estimate estimate, LoadMode mode) {
+        return String.format("推定 %,d 行 × %.0f B/行 = %s（最大ヒープ %s）",
+            estimate.estimatedRows, (double) estimate.heapBytes(mode) / Math.max(1, estimate.estimatedRows),
+            formatBytes(estimate.heapBytes(mode)), formatBytes(Runtime.getRuntime().maxMemory()));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1L << 30) {
+            return String.format("%.1fGB", bytes / (double) (1L << 30));
+        }
+        return String.format("%,dMB", bytes >> 20);
+    }
+
+    /** 8バイト境界に切り上げる */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /** String の内部表現のバイト数（Latin-1 で表せる場合は1文字1バイト、それ以外は2バイト） */
+    private static int coderLength(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return s.length() * 2;
+            }
+        }
+        return s.length();
+    }
+
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 読み込んだバイト数を数える入力ストリーム。
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
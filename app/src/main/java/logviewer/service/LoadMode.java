@@ -0,0 +1,39 @@
+package logviewer.service;
+
+/**
+ * ファイル読み込み方式を表す列挙型。
+ */
+public enum LoadMode {
+    /** ファイル先頭の標本からヒープ使用量を見積もり、以下の方式から自動で選ぶ方式（{@link LoadGovernor}） */
+    AUTO("自動（メモリ量に応じて選択）"),
+
+    /** 1行ずつ読み込み、全フィールドをヒープ上に保持する標準方式 */
+    STANDARD("標準"),
+
+    /** ファイルをメモリマップし、行位置インデックスのみを構築してフィールドは遅延デコードする方式 */
+    MAPPED("メモリマップ（遅延デコード）"),
+
+    /** ファイルを改行境界でチャンクに分割し、全コアで並列に解析する方式 */
+    PARALLEL("並列解析"),
+
+    /** フィールドを列ごとの byte 配列に詰めて保持し、行あたりのメモリ使用量を抑える方式 */
+    COLUMNAR("列指向（省メモリ）"),
+
+    /** 行データを一時ファイルにメモリマップしてヒープ外に保持し、行数上限を設けない方式 */
+    OFF_HEAP("オフヒープ（行数上限なし）");
+
+    private final String displayName;
+
+    LoadMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * メニュー等に表示する名前を返します。
+     * 
+     * @return 表示名
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,119 @@
+package logviewer.service;
+
+/**
+ * ファイルの一部だけを開く場合の読み込み範囲。
+ * 時刻カラムの値による範囲、または行番号による範囲のいずれかを表します。
+ */
+public final class LogRange {
+    private final int timestampColumn;
+    private final String from;
+    private final String to;
+    private final int firstLine;
+    private final int lastLine;
+
+    private LogRange(int timestampColumn, String from, String to, int firstLine, int lastLine) {
+        this.timestampColumn = timestampColumn;
+        this.from = from;
+        this.to = to;
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+    }
+
+    /**
+     * 時刻カラムの値による範囲を生成します。
+     * 時刻は文字列として比較するため、ファイル内の書式と同じ形式で指定します。
+     * 
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @param from            開始時刻（この値以上の行を含む）
+     * @param to              終了時刻（この値以下の行を含む。前方一致で比較するため "10:15" は "10:15:59" を含む）
+     * @return 読み込み範囲
+     */
+    public static LogRange ofTime(int timestampColumn, String from, String to) {
+        if (timestampColumn < 0) {
+            throw new IllegalArgumentException("時刻カラムは0以上で指定してください: " + timestampColumn);
+        }
+        if (from.compareTo(to) > 0 && !from.startsWith(to)) {
+            throw new IllegalArgumentException("開始時刻が終了時刻より後になっています: " + from + " 〜 " + to);
+        }
+        return new LogRange(timestampColumn, from, to, 0, 0);
+    }
+
+    /**
+     * 行番号による範囲を生成します。
+     * 
+     * @param firstLine 開始行番号（1始まり、この行を含む）
+     * @param lastLine  終了行番号（この行を含む）
+     * @return 読み込み範囲
+     */
+    public static LogRange ofLines(int firstLine, int lastLine) {
+        if (firstLine < 1 || lastLine < firstLine) {
+            throw new IllegalArgumentException("行番号の範囲が正しくありません: " + firstLine + " 〜 " + lastLine);
+        }
+        return new LogRange(-1, null, null, firstLine, lastLine);
+    }
+
+    /**
+     * 時刻カラムの値による範囲かを返します。
+     * 
+     * @return 時刻による範囲の場合は true、行番号による範囲の場合は false
+     */
+    public boolean isTimeRange() {
+        return timestampColumn >= 0;
+    }
+
+    /**
+     * 時刻カラムのインデックスを取得します。
+     * 
+     * @return 時刻カラムのインデックス（行番号による範囲の場合は -1）
+     */
+    public int getTimestampColumn() {
+        return timestampColumn;
+    }
+
+    /**
+     * 開始時刻を取得します。
+     * 
+     * @return 開始時刻（行番号による範囲の場合は null）
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * 終了時刻を取得します。
+     * 
+     * @return 終了時刻（行番号による範囲の場合は null）
+     */
+    public String getTo() {
+        return to;
+    }
+
+    /**
+     * 開始行番号を取得します。
+     * 
+     * @return 開始行番号（時刻による範囲の場合は 0）
+     */
+    public int getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * 終了行番号を取得します。
+     * 
+     * @return 終了行番号（時刻による範囲の場合は 0）
+     */
+    public int getLastLine() {
+        return lastLine;
+    }
+
+    /**
+     * ステータス表示用の範囲の説明を返します。
+     */
+    @Override
+    public String toString() {
+        if (isTimeRange()) {
+            return String.format("%s 〜 %s", from, to);
+        }
+        return String.format("%,d 〜 %,d 行目", firstLine, lastLine);
+    }
+}
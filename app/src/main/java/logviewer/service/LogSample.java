@@ -0,0 +1,103 @@
+package logviewer.service;
+
+/**
+ * ファイル全体から一部の行だけを抜き出して開く場合の抽出方法。
+ * 一定の行数ごとに抜き出す方法、またはファイル全体から無作為に指定行数を抜き出す方法のいずれかを表します。
+ */
+public final class LogSample {
+    private final int interval;
+    private final int count;
+    private final long seed;
+
+    private LogSample(int interval, int count, long seed) {
+        this.interval = interval;
+        this.count = count;
+        this.seed = seed;
+    }
+
+    /**
+     * 1行目から interval 行ごとに1行ずつ抜き出す方法を生成します。
+     * 
+     * @param interval 抜き出す間隔（行数、1以上）
+     * @return 抽出方法
+     */
+    public static LogSample everyNth(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("間隔は1以上で指定してください: " + interval);
+        }
+        return new LogSample(interval, 0, 0);
+    }
+
+    /**
+     * ファイル全体から無作為に count 行を抜き出す方法を生成します。
+     * 
+     * @param count 抜き出す行数（1以上、{@link ServiceConstants#MAX_ROWS} 以下）
+     * @return 抽出方法
+     */
+    public static LogSample random(int count) {
+        return random(count, System.nanoTime());
+    }
+
+    /**
+     * 乱数の種を指定して、ファイル全体から無作為に count 行を抜き出す方法を生成します。
+     * 同じファイルに同じ種を指定すると、同じ行を抜き出します。
+     * 
+     * @param count 抜き出す行数（1以上、{@link ServiceConstants#MAX_ROWS} 以下）
+     * @param seed  乱数の種
+     * @return 抽出方法
+     */
+    public static LogSample random(int count, long seed) {
+        if (count < 1 || count > ServiceConstants.MAX_ROWS) {
+            throw new IllegalArgumentException(String.format("行数は1以上 %,d 以下で指定してください: %d",
+                ServiceConstants.MAX_ROWS, count));
+        }
+        return new LogSample(0, count, seed);
+    }
+
+    /**
+     * 無作為に抜き出す方法かを返します。
+     * 
+     * @return 無作為に抜き出す場合は true、一定の行数ごとに抜き出す場合は false
+     */
+    public boolean isRandom() {
+        return count > 0;
+    }
+
+    /**
+     * 抜き出す間隔を取得します。
+     * 
+     * @return 抜き出す間隔（無作為に抜き出す場合は 0）
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * 無作為に抜き出す行数を取得します。
+     * 
+     * @return 抜き出す行数（一定の行数ごとに抜き出す場合は 0）
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 無作為に抜き出す場合の乱数の種を取得します。
+     * 
+     * @return 乱数の種
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * ステータス表示用の抽出方法の説明を返します。
+     */
+    @Override
+    public String toString() {
+        if (isRandom()) {
+            return String.format("無作為に %,d 行", count);
+        }
+        return String.format("%,d 行ごと", interval);
+    }
+}
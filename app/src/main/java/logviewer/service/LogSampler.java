@@ -0,0 +1,389 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * ファイルから一部の行だけを抜き出して LogRow に変換するクラス。
+ * 抜き出した行は、ファイル全体での行番号を保持します。
+ * 
+ * <p>一定の行数ごとに抜き出す場合は、ファイルを先頭から読みながら対象外の行を分割せずに読み飛ばします。
+ * 無作為に抜き出す場合、非圧縮の大きなファイルは任意のバイト位置に移動して次の行頭から1行を読み、
+ * 抜き出した行の位置までの改行を数えて行番号を求めます（走査済みの行インデックスがあれば
+ * 行番号から直接選びます）。圧縮ファイルや小さなファイルは先頭から読みながら
+ * リザーバサンプリングで抜き出します。</p>
+ * 
+ * <p>バイト位置から行を選ぶ方法は、直前の行が長い行ほど選ばれやすくなります（1行目は
+ * ほとんど選ばれません）。行の長さが極端にばらつかないログの概観をつかむ用途を想定しており、
+ * 行インデックスのキャッシュがあるファイル（メモリマップで開いたことのあるファイル）は偏りなく抜き出します。
+ * 同じ行が重複して選ばれた場合は、その分を選び直して指定の行数に近づけます。</p>
+ */
+final class LogSampler {
+    /** このサイズ以下のファイルは、移動せずに先頭から読んで無作為に抜き出す */
+    static final long SEQUENTIAL_THRESHOLD = 64L * 1024 * 1024;
+
+    /** 先頭から読む場合に、進捗を通知する間隔（行数） */
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    /** 任意の位置から行を読むときの読み込み単位 */
+    private static final int READ_BUFFER_SIZE = 4 * 1024;
+
+    /** 改行を数えるときの読み込み単位 */
+    private static final int COUNT_BUFFER_SIZE = 1024 * 1024;
+
+    /** バイト位置から行を選ぶ場合に、重複した分を選び直す最大回数 */
+    private static final int MAX_PICK_ROUNDS = 8;
+
+    private LogSampler() {
+    }
+
+    /**
+     * 入力ストリームを先頭から読み、1行目から interval 行ごとに1行ずつ抜き出します。
+     * 
+     * @param in        読み込む入力ストリーム（読み込み後に閉じる）
+     * @param charset   フィールドをデコードする文字コード
+     * @param charset   フィールドをデコードする文字コード
+     * @param interval  抜き出す間隔（行数）
+     * @param cancelled 読み込みを中断する場合に true を返す関数
+     * @param progress  読み込み済みの行数を受け取る関数
+     * @return 読み込み結果（追従モードは使用できないため、読み込み終了位置は -1）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    static FileLoadResult everyNth(InputStream in, Charset charset, int interval, BooleanSupplier cancelled,
+            LongConsumer progress) throws IOException {
+        List<LogRow> rows = new ArrayList<>();
+        int columnCount = 0;
+        boolean truncated = false;
+        try (TsvByteReader reader = new TsvByteReader(in, charset)) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            long lines = 0;
+            while (true) {
+                boolean keep = lines % interval == 0;
+                if (keep && rows.size() >= ServiceConstants.MAX_ROWS) {
+                    truncated = true;
+                    break;
+                }
+                if (!(keep ? reader.next() : reader.skip())) {
+                    break;
+                }
+                lines++;
+                if (keep) {
+                    columnCount = Math.max(columnCount, tokenizer.fieldCount());
+                    rows.add(new LogRow(tokenizer.fields(), toLineNumber(lines)));
+                }
+                if (lines % PROGRESS_INTERVAL == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        break;
+                    }
+                    progress.accept(lines);
+                }
+            }
+        }
+        return new FileLoadResult(rows, columnCount, truncated, -1);
+    }
+
+    /**
+     * 入力ストリームを先頭から読み、リザーバサンプリングで無作為に count 行を抜き出します。
+     * 行数が count 以下の場合は全行を返します。
+     * 
+     * @param in        読み込む入力ストリーム（読み込み後に閉じる）
+     * @param count     抜き出す行数
+     * @param random    乱数生成器
+     * @param cancelled 読み込みを中断する場合に true を返す関数
+     * @param progress  読み込み済みの行数を受け取る関数
+     * @return 行番号順に並べた読み込み結果（読み込み終了位置は -1）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    static FileLoadResult reservoir(InputStream in, Charset charset, int count, Random random, BooleanSupplier cancelled,
+            LongConsumer progress) throws IOException {
+        LogRow[] reservoir = new LogRow[count];
+        int filled = 0;
+        try (TsvByteReader reader = new TsvByteReader(in, charset)) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            long lines = 0;
+            while (true) {
+                // 読む前に置き換え先を決め、抜き出さない行は分割せずに読み飛ばす
+                int slot = lines < count ? (int) lines : (int) Math.min(random.nextLong(lines + 1), count);
+                boolean keep = slot < count;
+                if (!(keep ? reader.next() : reader.skip())) {
+                    break;
+                }
+                lines++;
+                if (keep) {
+                    reservoir[slot] = new LogRow(tokenizer.fields(), toLineNumber(lines));
+                    filled = Math.max(filled, slot + 1);
+                }
+                if (lines % PROGRESS_INTERVAL == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        break;
+                    }
+                    progress.accept(lines);
+                }
+            }
+        }
+        List<LogRow> rows = new ArrayList<>(Arrays.asList(reservoir).subList(0, filled));
+        rows.sort(Comparator.comparingInt(LogRow::getLineNumber));
+        return new FileLoadResult(rows, maxFieldCount(rows), false, -1);
+    }
+
+    /**
+     * 非圧縮ファイル全体から無作為に最大 count 行を抜き出します。
+     * 行インデックスがあれば行番号から重複なく選びます。ない場合はバイト位置から選び、
+     * 重複した分を選び直しますが、行数の少ないファイルでは count 行より少なくなることがあります。
+     * 
+     * @param path      対象ファイルのパス
+     * @param charset   フィールドをデコードする文字コード
+     * @param index     対象ファイルの走査済みの行インデックス（ない場合は null）
+     * @param count     抜き出す行数
+     * @param random    乱数生成器
+     * @param cancelled 読み込みを中断する場合に true を返す関数
+     * @param progress  行番号を求めるために改行を数えたバイト数を受け取る関数
+     * @return 行番号順に並べた読み込み結果（読み込み終了位置は -1）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    static FileLoadResult randomLines(Path path, Charset charset, MappedLineIndex index, int count, Random random,
+            BooleanSupplier cancelled, LongConsumer progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            LineReader reader = new LineReader(channel, fileSize);
+            long[] starts;
+            int[] lineNumbers;
+            if (index != null && index.isComplete() && index.getFileSize() == fileSize) {
+                int[] picked = pickDistinct(index.lineCount(), count, random);
+                starts = new long[picked.length];
+                lineNumbers = new int[picked.length];
+                for (int i = 0; i < picked.length; i++) {
+                    starts[i] = index.lineStart(picked[i]);
+                    lineNumbers[i] = picked[i] + 1;
+                }
+            } else {
+                starts = randomLineStarts(reader, fileSize, count, random);
+                lineNumbers = countLineNumbers(channel, starts, cancelled, progress);
+            }
+
+            List<LogRow> rows = new ArrayList<>(starts.length);
+            TsvTokenizer tokenizer = new TsvTokenizer();
+            tokenizer.setCharset(charset);
+            for (int i = 0; i < starts.length && !cancelled.getAsBoolean(); i++) {
+                reader.tokenizeLine(starts[i], tokenizer);
+                rows.add(new LogRow(tokenizer.fields(), lineNumbers[i]));
+            }
+            return new FileLoadResult(rows, maxFieldCount(rows), false, -1);
+        }
+    }
+
+    /**
+     * 0 以上 bound 未満の整数から、重複なく最大 count 個を無作為に選びます（Floyd のアルゴリズム）。
+     * 
+     * @return 昇順に並べた選んだ整数
+     */
+    static int[] pickDistinct(int bound, int count, Random random) {
+        BitSet picked = new BitSet(bound);
+        if (count >= bound) {
+            picked.set(0, bound);
+        } else {
+            for (int j = bound - count; j < bound; j++) {
+                int t = random.nextInt(j + 1);
+                picked.set(picked.get(t) ? j : t);
+            }
+        }
+        return picked.stream().toArray();
+    }
+
+    /**
+     * ファイル内の無作為なバイト位置から次の行頭へ移動し、重複を除いた行頭の位置を昇順で返します。
+     * 重複して選ばれた分は、新しい行が見つからなくなるか {@link #MAX_PICK_ROUNDS} 回に達するまで選び直します。
+     */
+    private static long[] randomLineStarts(LineReader reader, long fileSize, int count, Random random)
+            throws IOException {
+        long[] starts = new long[0];
+        if (fileSize == 0) {
+            return starts;
+        }
+        for (int round = 0; round < MAX_PICK_ROUNDS && starts.length < count; round++) {
+            int missing = count - starts.length;
+            long[] offsets = new long[missing];
+            for (int i = 0; i < missing; i++) {
+                offsets[i] = random.nextLong(fileSize);
+            }
+            // 近い位置を続けて読めるよう、位置の昇順に行頭を探す
+            Arrays.sort(offsets);
+
+            long[] picked = Arrays.copyOf(starts, count);
+            int length = starts.length;
+            for (long offset : offsets) {
+                long start = reader.lineStartAtOrAfter(offset);
+                if (start < fileSize) {
+                    picked[length++] = start;
+                }
+            }
+            long[] merged = distinctSorted(picked, length);
+            if (merged.length == starts.length) {
+                break;
+            }
+            starts = merged;
+        }
+        return starts;
+    }
+
+    /**
+     * 配列の先頭 length 個を昇順に並べ、重複を除いた配列を返します。
+     */
+    private static long[] distinctSorted(long[] values, int length) {
+        Arrays.sort(values, 0, length);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct == 0 || values[distinct - 1] != values[i]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, distinct);
+    }
+
+    /**
+     * 昇順に並んだ各行頭の位置について、ファイル先頭からの改行を数えて行番号を求めます。
+     */
+    private static int[] countLineNumbers(FileChannel channel, long[] starts, BooleanSupplier cancelled,
+            LongConsumer progress) throws IOException {
+        int[] lineNumbers = new int[starts.length];
+        ByteBuffer chunk = ByteBuffer.allocate(COUNT_BUFFER_SIZE);
+        byte[] bytes = chunk.array();
+        long newlines = 0;
+        long position = 0;
+        int next = 0;
+        while (next < starts.length) {
+            if (cancelled.getAsBoolean()) {
+                break;
+            }
+            int length = read(channel, chunk, position);
+            if (length == 0) {
+                break;
+            }
+            long end = position + length;
+            int from = 0;
+            while (next < starts.length && starts[next] < end) {
+                int upto = (int) (starts[next] - position);
+                newlines += countNewlines(bytes, from, upto);
+                from = upto;
+                lineNumbers[next++] = toLineNumber(newlines + 1);
+            }
+            newlines += countNewlines(bytes, from, length);
+            position = end;
+            progress.accept(position);
+        }
+        return lineNumbers;
+    }
+
+    private static int countNewlines(byte[] bytes, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int maxFieldCount(List<LogRow> rows) {
+        int columnCount = 0;
+        for (LogRow row : rows) {
+            columnCount = Math.max(columnCount, row.fieldCount());
+        }
+        return columnCount;
+    }
+
+    private static int toLineNumber(long lineNumber) {
+        return (int) Math.min(lineNumber, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 指定位置からバッファいっぱい（またはファイル末尾）まで読み込みます。
+     */
+    private static int read(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        target.clear();
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        return target.position();
+    }
+
+    /**
+     * ファイル内の任意の位置から行を読むクラス。
+     * 直前に読んだ範囲を保持し、近い位置を続けて読む場合は読み直しません。
+     */
+    private static final class LineReader {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private long bufferStart = 0;
+        private int bufferLength = 0;
+        private byte[] line = new byte[256];
+
+        LineReader(FileChannel channel, long fileSize) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+        }
+
+        /**
+         * 指定位置以降で最初の行頭の位置を返します（行頭への同期）。
+         */
+        long lineStartAtOrAfter(long position) throws IOException {
+            if (position <= 0) {
+                return 0;
+            }
+            for (long p = position - 1; p < fileSize; p++) {
+                if (byteAt(p) == '\n') {
+                    return p + 1;
+                }
+            }
+            return fileSize;
+        }
+
+        /**
+         * 指定位置から始まる行を読み、改行コードを除いて分割します。
+         */
+        void tokenizeLine(long start, TsvTokenizer tokenizer) throws IOException {
+            int length = 0;
+            for (long p = start; p < fileSize; p++) {
+                int b = byteAt(p);
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = (byte) b;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            tokenizer.tokenize(line, 0, length);
+        }
+
+        private int byteAt(long position) throws IOException {
+            if (position < bufferStart || position >= bufferStart + bufferLength) {
+                bufferStart = position;
+                bufferLength = read(channel, buffer, position);
+            }
+            return buffer.get((int) (position - bufferStart)) & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * メモリマップしたファイルの行開始位置インデックスを保持するクラス。
+ * 
+ * <p>ファイル全体をセグメント単位でメモリマップし、改行位置のみを走査して
+ * 各行の開始バイト位置を long 配列に記録します。フィールドへの分割と文字列への
+ * デコードは {@link #getField(int, int)} が呼ばれた時点で行うため、
+ * ヒープに保持するのは行あたり8バイトのオフセットのみです。</p>
+ * 
+ * <p>改行は LF または CRLF を認識します。末尾に改行のない最終行も1行として扱います。</p>
+ */
+public class MappedLineIndex {
+    /** 1つの MappedByteBuffer でマップするバイト数（1GB） */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final Path path;
+    private final long fileSize;
+    private final MappedByteBuffer[] segments;
+
+    /** 各行の開始位置。lineStarts[lineCount] は走査済み末尾位置を表す */
+    private long[] lineStarts = new long[1024];
+    private int lineCount = 0;
+    private int maxFieldCount = 0;
+
+    // 走査状態
+    private long scanPosition = 0;
+    private int currentTabCount = 0;
+
+    private MappedLineIndex(Path path, long fileSize, MappedByteBuffer[] segments) {
+        this.path = path;
+        this.fileSize = fileSize;
+        this.segments = segments;
+    }
+
+    /**
+     * ファイルを読み取り専用でメモリマップし、未走査のインデックスを生成します。
+     * マップ後はファイルチャネルを閉じても内容にアクセスできます。
+     * 
+     * @param path 対象ファイルのパス
+     * @return 未走査のインデックス
+     * @throws IOException ファイルのオープンまたはマップに失敗した場合
+     */
+    public static MappedLineIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SEGMENT_SIZE;
+                long length = Math.min(SEGMENT_SIZE, size - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            return new MappedLineIndex(path, size, segments);
+        }
+    }
+
+    /**
+     * 保存済みの行開始位置から、走査済みのインデックスを復元します。
+     * ファイルをメモリマップするだけで、改行の走査は行いません。
+     * 
+     * @param path          対象ファイルのパス
+     * @param lineStarts    各行の開始位置（lineCount + 1 要素。末尾はファイルサイズ）
+     * @param lineCount     行数
+     * @param maxFieldCount 最大フィールド数
+     * @return 走査済みのインデックス
+     * @throws IOException ファイルのマップに失敗した場合、または行開始位置がファイルと一致しない場合
+     */
+    public static MappedLineIndex restore(Path path, long[] lineStarts, int lineCount, int maxFieldCount)
+            throws IOException {
+        MappedLineIndex index = open(path);
+        if (lineCount < 0 || lineStarts.length < lineCount + 1 || lineStarts[lineCount] != index.fileSize) {
+            throw new IOException("行インデックスがファイルと一致しません: " + path);
+        }
+        index.lineStarts = lineStarts;
+        index.lineCount = lineCount;
+        index.maxFieldCount = maxFieldCount;
+        index.scanPosition = index.fileSize;
+        return index;
+    }
+
+    /**
+     * 続きの行を最大 maxLines 行まで走査してインデックスに追加します。
+     * 
+     * @param maxLines 今回走査する最大行数
+     * @return 今回追加した行数
+     */
+    public int scanLines(int maxLines) {
+        int added = 0;
+        while (added < maxLines && scanPosition < fileSize) {
+            int segmentIndex = (int) (scanPosition / SEGMENT_SIZE);
+            MappedByteBuffer segment = segments[segmentIndex];
+            long segmentStart = segmentIndex * SEGMENT_SIZE;
+            int limit = segment.capacity();
+            int i = (int) (scanPosition - segmentStart);
+
+            while (i < limit && added < maxLines) {
+                byte b = segment.get(i++);
+                if (b == '\t') {
+                    currentTabCount++;
+                } else if (b == '\n') {
+                    appendLine(segmentStart + i);
+                    added++;
+                }
+            }
+            scanPosition = segmentStart + i;
+        }
+
+        // 末尾に改行のない最終行
+        if (added < maxLines && scanPosition >= fileSize && lineStart(lineCount) < fileSize) {
+            appendLine(fileSize);
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * 1行分の走査が終わった位置を記録します。
+     * 
+     * @param nextLineStart 次の行の開始位置
+     */
+    private void appendLine(long nextLineStart) {
+        if (lineCount + 2 > lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        }
+        lineCount++;
+        lineStarts[lineCount] = nextLineStart;
+        if (currentTabCount + 1 > maxFieldCount) {
+            maxFieldCount = currentTabCount + 1;
+        }
+        currentTabCount = 0;
+    }
+
+    /**
+     * ファイル末尾まで走査が完了したかどうかを返します。
+     * 
+     * @return 走査完了なら true
+     */
+    public boolean isComplete() {
+        return scanPosition >= fileSize && lineStart(lineCount) >= fileSize;
+    }
+
+    /**
+     * 走査済みのバイト数を返します。
+     * 
+     * @return 走査済みバイト数
+     */
+    public long getScannedBytes() {
+        return scanPosition;
+    }
+
+    /**
+     * ファイルサイズを返します。
+     * 
+     * @return ファイルサイズ（バイト）
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * 対象ファイルのパスを返します。
+     * 
+     * @return ファイルパス
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * インデックス済みの行数を返します。
+     * 
+     * @return 行数
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * インデックス済みの行のうち最大のフィールド数を返します。
+     * 
+     * @return 最大フィールド数
+     */
+    public int getMaxFieldCount() {
+        return maxFieldCount;
+    }
+
+    /**
+     * 指定行の開始バイト位置を返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return 開始バイト位置
+     */
+    public long lineStart(int lineIndex) {
+        return lineStarts[lineIndex];
+    }
+
+    /**
+     * 指定行が改行で終わっているかを返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return 改行で終わっている場合は true（末尾に改行のない最終行の場合は false）
+     */
+    public boolean isLineTerminated(int lineIndex) {
+        long end = lineStarts[lineIndex + 1];
+        return end > lineStarts[lineIndex] && byteAt(end - 1) == '\n';
+    }
+
+    /**
+     * 指定行の内容を改行コードを除いたバイト列として返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return 行のバイト列
+     */
+    public byte[] readLineBytes(int lineIndex) {
+        long start = lineStarts[lineIndex];
+        long end = lineStarts[lineIndex + 1];
+        if (end > start && byteAt(end - 1) == '\n') {
+            end--;
+            if (end > start && byteAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+        byte[] bytes = new byte[(int) (end - start)];
+        copy(start, bytes);
+        return bytes;
+    }
+
+    /**
+     * 指定位置から指定バイト数を読み出します。
+     * 
+     * @param position ファイル先頭からのバイト位置
+     * @param length   読み出すバイト数（position + length はファイルサイズ以下）
+     * @return 読み出したバイト列
+     */
+    byte[] readBytes(long position, int length) {
+        byte[] bytes = new byte[length];
+        copy(position, bytes);
+        return bytes;
+    }
+
+    /**
+     * 指定行のフィールド数を返します。
+     * 
+     * @param lineIndex 行インデックス（0始まり）
+     * @return フィールド数（空行は1）
+     */
+    public int fieldCount(int lineIndex) {
+        byte[] line = readLineBytes(lineIndex);
+        int count = 1;
+        for (byte b : line) {
+            if (b == '\t') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 指定行の指定フィールドをデコードして返します。
+     * 範囲外のフィールドは空文字を返します。
+     * 
+     * @param lineIndex  行インデックス（0始まり）
+     * @param fieldIndex フィールドインデックス（0始まり）
+     * @return フィールド文字列
+     */
+    public String getField(int lineIndex, int fieldIndex) {
+        if (fieldIndex < 0) {
+            return "";
+        }
+        byte[] line = readLineBytes(lineIndex);
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length; i++) {
+            if (i == line.length || line[i] == '\t') {
+                if (field == fieldIndex) {
+                    return new String(line, start, i - start, StandardCharsets.UTF_8);
+                }
+                field++;
+                start = i + 1;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 指定位置の1バイトを返します。
+     * 
+     * @param position ファイル先頭からのバイト位置
+     * @return バイト値
+     */
+    private byte byteAt(long position) {
+        int segmentIndex = (int) (position / SEGMENT_SIZE);
+        return segments[segmentIndex].get((int) (position - segmentIndex * SEGMENT_SIZE));
+    }
+
+    /**
+     * 指定位置からバイト列をコピーします。セグメント境界をまたぐ場合も扱います。
+     * 
+     * @param position コピー開始位置
+     * @param dest     コピー先配列（配列長分をコピー）
+     */
+    private void copy(long position, byte[] dest) {
+        int offset = 0;
+        while (offset < dest.length) {
+            int segmentIndex = (int) (position / SEGMENT_SIZE);
+            MappedByteBuffer segment = segments[segmentIndex];
+            int segmentOffset = (int) (position - segmentIndex * SEGMENT_SIZE);
+            int length = Math.min(dest.length - offset, segment.capacity() - segmentOffset);
+            segment.get(segmentOffset, dest, offset, length);
+            position += length;
+            offset += length;
+        }
+    }
+}
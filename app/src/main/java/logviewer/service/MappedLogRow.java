@@ -0,0 +1,32 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * メモリマップしたファイル上の1行を参照する LogRow。
+ * フィールドは保持せず、アクセスされた時点で {@link MappedLineIndex} からデコードします。
+ */
+public class MappedLogRow extends LogRow {
+    private final MappedLineIndex index;
+
+    /**
+     * インデックス上の行を参照する MappedLogRow を生成します。
+     * 
+     * @param index      行開始位置インデックス
+     * @param lineNumber 元ファイルでの行番号（1始まり）
+     */
+    public MappedLogRow(MappedLineIndex index, int lineNumber) {
+        super(lineNumber);
+        this.index = index;
+    }
+
+    @Override
+    public String getField(int index) {
+        return this.index.getField(getLineNumber() - 1, index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return index.fieldCount(getLineNumber() - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * 複数の物理行をまとめた1レコードを表す LogRow。
+ * 継続行は改行で連結して最終フィールドに含み、元ファイルでの先頭行と最終行の行番号を保持します。
+ */
+public class MultiLineLogRow extends LogRow {
+    private final int lastLineNumber;
+
+    /**
+     * 複数行にわたるレコードを生成します。
+     * 
+     * @param parts          先頭行を分割したフィールド配列（最終フィールドは継続行を連結した値）
+     * @param lineNumber     元ファイルでの先頭行の行番号（1始まり）
+     * @param lastLineNumber 元ファイルでの最終行の行番号
+     */
+    public MultiLineLogRow(String[] parts, int lineNumber, int lastLineNumber) {
+        super(parts, lineNumber);
+        this.lastLineNumber = lastLineNumber;
+    }
+
+    @Override
+    public int getLastLineNumber() {
+        return lastLineNumber;
+    }
+}
@@ -1,27 +1,54 @@
-package logviewer.service;
-
-import logviewer.LogRow;
-
-import java.util.List;
-
-/**
- * 行移動などのナビゲーション処理を担当するサービスクラス。
- */
-public class NavigationService {
-    /**
-     * 指定行番号に一致する行のインデックスを返します。
-     * 線形探索で最初にマッチした行を返します。
-     * 
-     * @param data       表示中のデータリスト
-     * @param lineNumber 検索する行番号
-     * @return 見つかった場合はインデックス、見つからない場合は -1
-     */
-    public int findRowIndexByLineNumber(List<LogRow> data, int lineNumber) {
-        for (int i = 0; i < data.size(); i++) {
-            if (data.get(i).getLineNumber() == lineNumber) {
-                return i;
-            }
-        }
-        return -1;
-    }
-}
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.List;
+
+/**
+ * 行移動などのナビゲーション処理を担当するサービスクラス。
+ */
+public class NavigationService {
+    /**
+     * 指定行番号に一致する行のインデックスを返します。
+     * 線形探索で最初にマッチした行を返します。
+     * 
+     * @param data       表示中のデータリスト
+     * @param lineNumber 検索する行番号
+     * @return 見つかった場合はインデックス、見つからない場合は -1
+     */
+    public int findRowIndexByLineNumber(List<LogRow> data, int lineNumber) {
+        for (int i = 0; i < data.size(); i++) {
+            if (data.get(i).getLineNumber() == lineNumber) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 指定行番号に最も近い行番号を持つ行のインデックスを返します。
+     * 一部の行だけを読み込んだ表示で、読み込んでいない行番号を指定された場合に使用します。
+     * 指定行番号が先頭行より前、または最終行より後の場合は該当なしとします。
+     * 
+     * @param data       表示中のデータリスト
+     * @param lineNumber 検索する行番号
+     * @return 見つかった場合はインデックス、見つからない場合は -1
+     */
+    public int findNearestRowIndexByLineNumber(List<LogRow> data, int lineNumber) {
+        int nearest = -1;
+        long nearestDistance = Long.MAX_VALUE;
+        boolean before = false;
+        boolean after = false;
+        for (int i = 0; i < data.size(); i++) {
+            int current = data.get(i).getLineNumber();
+            before |= current <= lineNumber;
+            after |= current >= lineNumber;
+            long distance = Math.abs((long) current - lineNumber);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return before && after ? nearest : -1;
+    }
+}
@@ -0,0 +1,32 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * {@link OffHeapRowStore} 上の1行を参照する LogRow。
+ * フィールドは保持せず、アクセスされた時点でストアからデコードします。
+ */
+public class OffHeapLogRow extends LogRow {
+    private final OffHeapRowStore store;
+
+    /**
+     * ストア上の行を参照する OffHeapLogRow を生成します。
+     * 
+     * @param store      オフヒープストア
+     * @param lineNumber 元ファイルでの行番号（1始まり）
+     */
+    public OffHeapLogRow(OffHeapRowStore store, int lineNumber) {
+        super(lineNumber);
+        this.store = store;
+    }
+
+    @Override
+    public String getField(int index) {
+        return store.getField(getLineNumber() - 1, index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return store.fieldCount(getLineNumber() - 1);
+    }
+}
@@ -0,0 +1,293 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 行データを Java ヒープの外に保持するストア。
+ * 
+ * <p>読み込み中は各行の内容（改行コードを除いた UTF-8 バイト列）と行開始位置を
+ * 一時ファイルに追記し、{@link #seal()} 後は一時ファイルを読み取り専用でメモリマップして参照します。
+ * 行データと行開始位置はどちらもヒープに置かないため、ストア自体のヒープ使用量は
+ * 行数によらず書き込みバッファ分のみです。メモリマップした内容は OS のページキャッシュに
+ * 置かれ、物理メモリが不足した場合はディスクから読み直されます。</p>
+ * 
+ * <p>一時ファイルはマップ後に削除します（マップ中のファイルを削除できない OS では終了時に削除します）。</p>
+ * 
+ * <p>行の追加は読み込みスレッドからのみ行います。{@link #seal()} 後は複数スレッドから参照できます。</p>
+ */
+public class OffHeapRowStore {
+    /** 1つの MappedByteBuffer でマップするバイト数（1GB） */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /** 一時ファイルへの書き込みバッファサイズ */
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    /** 利用可否の判定結果（未判定は null） */
+    private static volatile Boolean available = null;
+
+    private final Path dataFile;
+    private final Path offsetFile;
+    private FileChannel dataChannel;
+    private FileChannel offsetChannel;
+    private final ByteBuffer dataBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private final ByteBuffer offsetBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    private long dataSize = 0;
+    private int rowCount = 0;
+    private int maxFieldCount = 0;
+
+    private MappedByteBuffer[] dataSegments;
+    private MappedByteBuffer[] offsetSegments;
+
+    private OffHeapRowStore(Path dataFile, Path offsetFile) throws IOException {
+        this.dataFile = dataFile;
+        this.offsetFile = offsetFile;
+        this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.WRITE);
+        this.offsetChannel = FileChannel.open(offsetFile, StandardOpenOption.WRITE);
+        offsetBuffer.putLong(0);
+    }
+
+    /**
+     * 一時ディレクトリに書き込み先のファイルを作成し、空のストアを生成します。
+     * 
+     * @return 空のストア
+     * @throws IOException 一時ファイルを作成できない場合
+     */
+    public static OffHeapRowStore create() throws IOException {
+        Path dataFile = Files.createTempFile("logviewer", ".rows");
+        Path offsetFile = Files.createTempFile("logviewer", ".offsets");
+        dataFile.toFile().deleteOnExit();
+        offsetFile.toFile().deleteOnExit();
+        try {
+            return new OffHeapRowStore(dataFile, offsetFile);
+        } catch (IOException e) {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(offsetFile);
+            throw e;
+        }
+    }
+
+    /**
+     * この環境でオフヒープストアを利用できるかを返します。
+     * 初回呼び出し時に一時ファイルの作成とメモリマップを試し、結果を保持します。
+     * 
+     * @return 利用できる場合は true
+     */
+    public static boolean isAvailable() {
+        Boolean result = available;
+        if (result == null) {
+            try {
+                OffHeapRowStore probe = create();
+                byte[] line = "probe".getBytes(StandardCharsets.UTF_8);
+                probe.addRow(line, 0, line.length, 1);
+                probe.seal();
+                result = "probe".equals(probe.getField(0, 0));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("オフヒープストアを利用できません: " + e.getMessage());
+                result = false;
+            }
+            available = result;
+        }
+        return result;
+    }
+
+    /**
+     * 1行分の内容を追加します。
+     * 
+     * @param bytes      行を含むバイト配列
+     * @param start      行の開始位置
+     * @param end        行の終了位置（改行コードを含まない）
+     * @param fieldCount 行のフィールド数
+     * @throws IOException 一時ファイルへの書き込みに失敗した場合
+     */
+    public void addRow(byte[] bytes, int start, int end, int fieldCount) throws IOException {
+        if (dataChannel == null) {
+            throw new IllegalStateException("確定済みのストアには行を追加できません");
+        }
+        int position = start;
+        while (position < end) {
+            if (!dataBuffer.hasRemaining()) {
+                flush(dataChannel, dataBuffer);
+            }
+            int count = Math.min(end - position, dataBuffer.remaining());
+            dataBuffer.put(bytes, position, count);
+            position += count;
+        }
+        dataSize += end - start;
+
+        if (offsetBuffer.remaining() < Long.BYTES) {
+            flush(offsetChannel, offsetBuffer);
+        }
+        offsetBuffer.putLong(dataSize);
+        rowCount++;
+        if (fieldCount > maxFieldCount) {
+            maxFieldCount = fieldCount;
+        }
+    }
+
+    /**
+     * 読み込みを終了し、一時ファイルを読み取り専用でメモリマップします。
+     * 以降は行の追加はできず、参照のみ可能になります。
+     * 
+     * @throws IOException 書き込みまたはメモリマップに失敗した場合
+     */
+    public void seal() throws IOException {
+        if (dataChannel == null) {
+            return;
+        }
+        try {
+            flush(dataChannel, dataBuffer);
+            flush(offsetChannel, offsetBuffer);
+        } finally {
+            dataChannel.close();
+            offsetChannel.close();
+            dataChannel = null;
+            offsetChannel = null;
+        }
+        dataSegments = map(dataFile);
+        offsetSegments = map(offsetFile);
+        // マップ後はファイルを削除しても内容を参照できる（削除できない OS では終了時に削除される）
+        deleteQuietly(dataFile);
+        deleteQuietly(offsetFile);
+    }
+
+    private static MappedByteBuffer[] map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+            return segments;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // マップ中のファイルを削除できない OS では deleteOnExit に任せる
+        }
+    }
+
+    /**
+     * 確定したストアの行数を返します。
+     * 
+     * @return 行数
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 全行のうち最大のフィールド数を返します。
+     * 
+     * @return 最大フィールド数
+     */
+    public int getMaxFieldCount() {
+        return maxFieldCount;
+    }
+
+    /**
+     * 一時ファイルに書き込んだ行データの合計バイト数を返します。
+     * 
+     * @return バイト数
+     */
+    public long dataSize() {
+        return dataSize;
+    }
+
+    /**
+     * 指定行の内容を改行コードを除いたバイト列として返します。
+     * 
+     * @param row 行インデックス（0始まり）
+     * @return 行のバイト列
+     */
+    public byte[] readLineBytes(int row) {
+        if (dataSegments == null) {
+            throw new IllegalStateException("確定前のストアは参照できません");
+        }
+        long start = offset(row);
+        long end = offset(row + 1);
+        byte[] bytes = new byte[(int) (end - start)];
+        int copied = 0;
+        long position = start;
+        while (copied < bytes.length) {
+            int segmentIndex = (int) (position / SEGMENT_SIZE);
+            MappedByteBuffer segment = dataSegments[segmentIndex];
+            int segmentOffset = (int) (position - segmentIndex * SEGMENT_SIZE);
+            int length = Math.min(bytes.length - copied, segment.capacity() - segmentOffset);
+            segment.get(segmentOffset, bytes, copied, length);
+            position += length;
+            copied += length;
+        }
+        return bytes;
+    }
+
+    private long offset(int row) {
+        long position = (long) row * Long.BYTES;
+        int segmentIndex = (int) (position / SEGMENT_SIZE);
+        return offsetSegments[segmentIndex].getLong((int) (position - segmentIndex * SEGMENT_SIZE));
+    }
+
+    /**
+     * 指定行のフィールド数を返します。
+     * 
+     * @param row 行インデックス（0始まり）
+     * @return フィールド数（空行は1）
+     */
+    public int fieldCount(int row) {
+        byte[] line = readLineBytes(row);
+        int count = 1;
+        for (byte b : line) {
+            if (b == '\t') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 指定行の指定フィールドをデコードして返します。
+     * 範囲外のフィールドは空文字を返します。
+     * 
+     * @param row        行インデックス（0始まり）
+     * @param fieldIndex フィールドインデックス（0始まり）
+     * @return フィールド文字列
+     */
+    public String getField(int row, int fieldIndex) {
+        if (fieldIndex < 0) {
+            return "";
+        }
+        byte[] line = readLineBytes(row);
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length; i++) {
+            if (i == line.length || line[i] == '\t') {
+                if (field == fieldIndex) {
+                    return new String(line, start, i - start, StandardCharsets.UTF_8);
+                }
+                field++;
+                start = i + 1;
+            }
+        }
+        return "";
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
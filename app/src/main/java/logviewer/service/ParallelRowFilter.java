@@ -0,0 +1,127 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 行リストを複数のチャンクに分割し、ForkJoinPool のワーカースレッドで並列にフィルタするクラス。
+ * 
+ * <p>各チャンクで条件に一致した行を元の順に集め、チャンク順に連結するため、
+ * 結果の並びは1スレッドで先頭から判定した場合と同じです。キャンセルは各チャンクの開始前に確認し、
+ * キャンセル後は残りのチャンクを判定しません。行数が少ない場合は分割せず、呼び出し元のスレッドで判定します。</p>
+ * 
+ * <p>Predicate は複数スレッドから同時に呼び出されます。{@link FilterService#buildPredicate(String, String, int)}
+ * が構築する Predicate は複数スレッドから使用できます。</p>
+ */
+public class ParallelRowFilter {
+    /** 1チャンクの最小行数（これより少ない行数は分割しない） */
+    private static final int DEFAULT_MIN_CHUNK_ROWS = 16_384;
+
+    /** スレッド数あたりのチャンク数（行ごとの判定時間のばらつきを均すため多めに分割する） */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** キャンセル確認を行う行間隔 */
+    private static final int CANCEL_CHECK_INTERVAL = 1_024;
+
+    /**
+     * フィルタで共有するスレッドプール。ワーカースレッドはデーモンスレッドのため、アプリケーションの終了を妨げません。
+     */
+    private static final class SharedPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private final ForkJoinPool pool;
+    private final int minChunkRows;
+
+    /**
+     * 利用可能なプロセッサ数で並列にフィルタする ParallelRowFilter を生成します。
+     */
+    public ParallelRowFilter() {
+        this(SharedPool.POOL, DEFAULT_MIN_CHUNK_ROWS);
+    }
+
+    /**
+     * スレッドプールと1チャンクの最小行数を指定して ParallelRowFilter を生成します。
+     * 
+     * @param pool         判定に使用するスレッドプール
+     * @param minChunkRows 1チャンクの最小行数
+     */
+    ParallelRowFilter(ForkJoinPool pool, int minChunkRows) {
+        this.pool = pool;
+        this.minChunkRows = Math.max(1, minChunkRows);
+    }
+
+    /**
+     * 条件に一致する行を元の順に抽出します。
+     * 
+     * @param data      対象データリスト（判定中に変更しないこと）
+     * @param predicate フィルタ用 Predicate（複数スレッドから呼び出される）
+     * @param cancelled キャンセル判定（true を返すと残りの行を判定しない）
+     * @return 条件に一致した行のリスト（キャンセルされた場合は判定済みの行までの結果）
+     */
+    public List<LogRow> filter(List<LogRow> data, Predicate<LogRow> predicate, BooleanSupplier cancelled) {
+        int size = data.size();
+        int chunkCount = chunkCount(size);
+        if (chunkCount <= 1) {
+            return filterChunk(data, predicate, cancelled);
+        }
+
+        List<ForkJoinTask<List<LogRow>>> tasks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            List<LogRow> chunk = data.subList((int) ((long) size * i / chunkCount),
+                (int) ((long) size * (i + 1) / chunkCount));
+            tasks.add(pool.submit(() -> filterChunk(chunk, predicate, cancelled)));
+        }
+
+        List<List<LogRow>> results = new ArrayList<>(chunkCount);
+        int matched = 0;
+        for (ForkJoinTask<List<LogRow>> task : tasks) {
+            List<LogRow> result = task.join();
+            results.add(result);
+            matched += result.size();
+        }
+
+        List<LogRow> filtered = new ArrayList<>(matched);
+        for (List<LogRow> result : results) {
+            filtered.addAll(result);
+        }
+        return filtered;
+    }
+
+    /**
+     * 行数から分割するチャンク数を求めます。
+     * 
+     * @param size 行数
+     * @return チャンク数（1以上）
+     */
+    int chunkCount(int size) {
+        long bySize = ((long) size + minChunkRows - 1) / minChunkRows;
+        long byThreads = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+        return (int) Math.max(1, Math.min(bySize, byThreads));
+    }
+
+    /**
+     * 1チャンクの行を先頭から判定します。{@link #CANCEL_CHECK_INTERVAL} 行ごとにキャンセルを確認し、
+     * キャンセルされていれば残りの行を判定しません。
+     */
+    private static List<LogRow> filterChunk(List<LogRow> chunk, Predicate<LogRow> predicate,
+            BooleanSupplier cancelled) {
+        List<LogRow> matched = new ArrayList<>();
+        int checked = 0;
+        for (LogRow row : chunk) {
+            if (checked++ % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                break;
+            }
+            if (predicate.test(row)) {
+                matched.add(row);
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,358 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * TSVファイルを複数スレッドで並列に解析するローダー。
+ * 
+ * <p>ファイルを改行境界で複数のバイト範囲（チャンク）に分割し、次の2段階で処理します。</p>
+ * <ol>
+ *   <li>各チャンクの行数を並列に数え、累積和から各チャンク先頭の行番号を決定する</li>
+ *   <li>各チャンクを並列に解析して LogRow を生成し、チャンク順に連結する</li>
+ * </ol>
+ * <p>行番号は事前に確定しているため、LogRow は1回の生成で正しい行番号（1始まり）を持ちます。</p>
+ */
+public class ParallelTsvLoader {
+    /** 1チャンクの最小サイズ（これより小さいファイルは分割しない） */
+    private static final long DEFAULT_MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+
+    /** 1チャンクの最大サイズ（1回でメモリマップできる範囲に収める） */
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+
+    /** スレッド数あたりのチャンク数（処理時間のばらつきを均すため多めに分割する） */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** キャンセル確認を行う行間隔 */
+    private static final int CANCEL_CHECK_INTERVAL = 10_000;
+
+    private final int parallelism;
+    private final long minChunkSize;
+
+    /**
+     * 利用可能なプロセッサ数で並列解析するローダーを生成します。
+     */
+    public ParallelTsvLoader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * 並列度と最小チャンクサイズを指定してローダーを生成します。
+     * 
+     * @param parallelism  並列スレッド数
+     * @param minChunkSize 1チャンクの最小バイト数
+     */
+    ParallelTsvLoader(int parallelism, long minChunkSize) {
+        this.parallelism = Math.max(1, parallelism);
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    /**
+     * ファイルを並列に解析して読み込みます。
+     * 
+     * @param path          読み込むファイルのパス
+     * @param maxRows       読み込む最大行数（超過分は切り捨て）
+     * @param cancelled     キャンセル判定（true を返すと解析を中断する）
+     * @param onBytesParsed 解析済みバイト数の累計を受け取るコールバック（ワーカースレッドから呼ばれる）
+     * @return 読み込み結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public FileLoadResult load(Path path, int maxRows, BooleanSupplier cancelled, LongConsumer onBytesParsed)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = computeChunkBounds(channel, size);
+            int chunkCount = bounds.length - 1;
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // 1段階目: チャンクごとの行数
+                List<Future<Integer>> countFutures = new ArrayList<>(chunkCount);
+                for (int i = 0; i < chunkCount; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    countFutures.add(pool.submit(() -> countLines(channel, start, end)));
+                }
+
+                int[] firstLineNumbers = new int[chunkCount];
+                int[] lineLimits = new int[chunkCount];
+                long total = 0;
+                boolean truncated = false;
+                for (int i = 0; i < chunkCount; i++) {
+                    int lines = await(countFutures.get(i));
+                    firstLineNumbers[i] = (int) Math.min(total + 1, Integer.MAX_VALUE);
+                    long available = Math.max(0, maxRows - total);
+                    lineLimits[i] = (int) Math.min(lines, available);
+                    if (lines > available) {
+                        truncated = true;
+                    }
+                    total += lines;
+                }
+
+                // 2段階目: チャンクごとの解析
+                AtomicLong parsedBytes = new AtomicLong();
+                List<Future<ChunkResult>> parseFutures = new ArrayList<>(chunkCount);
+                for (int i = 0; i < chunkCount; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    int firstLine = firstLineNumbers[i];
+                    int limit = lineLimits[i];
+                    parseFutures.add(pool.submit(() -> {
+                        ChunkResult result = parseChunk(channel, start, end, firstLine, limit, cancelled);
+                        onBytesParsed.accept(parsedBytes.addAndGet(end - start));
+                        return result;
+                    }));
+                }
+
+                List<ChunkResult> results = new ArrayList<>(chunkCount);
+                int rowCount = 0;
+                int columnCount = 0;
+                for (Future<ChunkResult> future : parseFutures) {
+                    ChunkResult result = await(future);
+                    results.add(result);
+                    rowCount += result.rows.size();
+                    columnCount = Math.max(columnCount, result.maxColumns);
+                }
+
+                List<LogRow> rows = new ArrayList<>(rowCount);
+                for (ChunkResult result : results) {
+                    rows.addAll(result.rows);
+                }
+                // 書き込み途中の最終行も読み込むが、追従モードでは改行が追記された時点でその行から読み直す
+                long endOffset = terminatedLength(channel, size);
+                boolean partialLastLine = !truncated && endOffset < size;
+                return new FileLoadResult(rows, columnCount, truncated, endOffset, partialLastLine);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * ファイルを改行境界で分割したチャンク境界を計算します。
+     * 戻り値の i 番目と i+1 番目が i 番目のチャンクの範囲 [start, end) です。
+     * 
+     * @param channel ファイルチャネル
+     * @param size    ファイルサイズ
+     * @return チャンク境界の配列（先頭は0、末尾はファイルサイズ）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    long[] computeChunkBounds(FileChannel channel, long size) throws IOException {
+        long chunkCount = Math.max(1, Math.min((long) parallelism * CHUNKS_PER_THREAD, size / minChunkSize));
+        chunkCount = Math.max(chunkCount, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long nominal = Math.max(1, size / chunkCount);
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long previous = 0;
+        for (long i = 1; i < chunkCount; i++) {
+            long boundary = nextLineStart(channel, Math.max(previous, i * nominal), size);
+            if (boundary > previous && boundary < size) {
+                bounds.add(boundary);
+                previous = boundary;
+            }
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 指定位置以降で最初の改行の直後の位置を返します。
+     * 
+     * @param channel  ファイルチャネル
+     * @param position 探索開始位置
+     * @param size     ファイルサイズ
+     * @return 次の行の開始位置（改行が見つからない場合はファイルサイズ）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long pos = position;
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * 最後の改行の直後の位置を返します。
+     * 
+     * @param channel ファイルチャネル
+     * @param size    ファイルサイズ
+     * @return 改行で終わる行の末尾の位置（改行がない場合は0、末尾が改行の場合はファイルサイズ）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private long terminatedLength(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long end = size;
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear();
+            buffer.limit((int) (end - start));
+            int read = 0;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, start + read);
+                if (n <= 0) {
+                    break;
+                }
+                read += n;
+            }
+            for (int i = read - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * チャンク内の行数を数えます。末尾に改行のない最終行も1行と数えます。
+     * 
+     * @param channel ファイルチャネル
+     * @param start   チャンク開始位置
+     * @param end     チャンク終了位置
+     * @return 行数
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private int countLines(FileChannel channel, long start, long end) throws IOException {
+        if (end <= start) {
+            return 0;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        int lines = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (buffer.get(limit - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * チャンクを解析して LogRow を生成します。
+     * 
+     * @param channel   ファイルチャネル
+     * @param start     チャンク開始位置
+     * @param end       チャンク終了位置
+     * @param firstLine チャンク先頭行の行番号（1始まり）
+     * @param maxLines  解析する最大行数
+     * @param cancelled キャンセル判定
+     * @return チャンクの解析結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private ChunkResult parseChunk(FileChannel channel, long start, long end, int firstLine, int maxLines,
+                                   BooleanSupplier cancelled) throws IOException {
+        List<LogRow> rows = new ArrayList<>(maxLines);
+        int maxColumns = 0;
+        if (end <= start || maxLines == 0) {
+            return new ChunkResult(rows, maxColumns);
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        byte[] lineBytes = new byte[1024];
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        int lineStart = 0;
+
+        for (int i = 0; i <= limit && rows.size() < maxLines; i++) {
+            boolean endOfChunk = i == limit;
+            if (!endOfChunk && buffer.get(i) != '\n') {
+                continue;
+            }
+            if (endOfChunk && lineStart >= limit) {
+                break;
+            }
+
+            int lineEnd = i;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            int length = lineEnd - lineStart;
+            if (length > lineBytes.length) {
+                lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+            }
+            buffer.get(lineStart, lineBytes, 0, length);
+            tokenizer.tokenize(lineBytes, 0, length);
+
+            if (tokenizer.fieldCount() > maxColumns) {
+                maxColumns = tokenizer.fieldCount();
+            }
+            rows.add(new LogRow(tokenizer.fields(), firstLine + rows.size()));
+            lineStart = i + 1;
+
+            if (rows.size() % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                break;
+            }
+        }
+        return new ChunkResult(rows, maxColumns);
+    }
+
+    /**
+     * Future の完了を待ち、実行時の例外を呼び出し元に伝えます。
+     */
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("並列読み込みが中断されました", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 1チャンク分の解析結果。
+     */
+    private static class ChunkResult {
+        final List<LogRow> rows;
+        final int maxColumns;
+
+        ChunkResult(List<LogRow> rows, int maxColumns) {
+            this.rows = rows;
+            this.maxColumns = maxColumns;
+        }
+    }
+}
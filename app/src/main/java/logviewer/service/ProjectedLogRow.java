@@ -0,0 +1,49 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * 表示するカラムのフィールドだけを保持する LogRow。
+ * 非表示カラムのフィールドはアクセスされた時点で {@link ColumnProjection} がファイルから読み直します。
+ */
+public class ProjectedLogRow extends LogRow {
+    private final ColumnProjection projection;
+    private final String[] kept;
+    private final int fieldCount;
+    private final long lineStart;
+    private final int length;
+
+    /**
+     * 表示するカラムのフィールドと、行のファイル上の位置を保持する ProjectedLogRow を生成します。
+     * 
+     * @param projection 非表示カラムを読み直す射影
+     * @param kept       表示するカラムのフィールド（カラム順）
+     * @param fieldCount 行全体のフィールド数
+     * @param lineStart  行のファイル先頭からのバイト位置
+     * @param length     行のバイト数（改行コードを除く）
+     * @param lineNumber 元ファイルでの行番号（1始まり）
+     */
+    ProjectedLogRow(ColumnProjection projection, String[] kept, int fieldCount, long lineStart, int length,
+            int lineNumber) {
+        super(lineNumber);
+        this.projection = projection;
+        this.kept = kept;
+        this.fieldCount = fieldCount;
+        this.lineStart = lineStart;
+        this.length = length;
+    }
+
+    @Override
+    public String getField(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return "";
+        }
+        int slot = projection.slotOf(index);
+        return slot >= 0 ? kept[slot] : projection.readField(lineStart, length, index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+}
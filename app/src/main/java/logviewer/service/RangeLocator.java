@@ -0,0 +1,351 @@
+package logviewer.service;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * 非圧縮ファイルのうち、指定した範囲の行が含まれるバイト範囲を特定するクラス。
+ * 
+ * <p>時刻による範囲は、ファイル内のバイト位置を二分探索して求めます。任意の位置に移動して
+ * 次の改行まで読み飛ばし（行頭への同期）、その行の時刻カラムを開始・終了時刻と比較します。
+ * 時刻は文字列として比較するため、ファイルは時刻カラムの昇順に並んでいる必要があります。
+ * 時刻カラムが空の行（複数行にわたるレコードの継続行など）は直前の行に属するものとして扱い、
+ * 範囲の境界にはしません。</p>
+ * 
+ * <p>行番号による範囲と、時刻による範囲の先頭の行番号は、行インデックスキャッシュがあれば
+ * それを二分探索し、なければ範囲の先頭までの改行を数えて求めます。</p>
+ */
+public class RangeLocator implements Closeable {
+    /** この幅以下になったら二分探索をやめて先頭から順に探す */
+    private static final int SCAN_THRESHOLD = 64 * 1024;
+
+    /** 二分探索で行を読むときの読み込み単位 */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** 改行を数えるときの読み込み単位 */
+    private static final int COUNT_BUFFER_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final MappedLineIndex index;
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private long bufferStart = 0;
+    private int bufferLength = 0;
+
+    /**
+     * 読み込み範囲を特定した結果。
+     */
+    public static final class Slice {
+        /** 範囲の先頭行の開始バイト位置 */
+        public final long start;
+        /** 範囲の末尾行の直後（改行を含む）のバイト位置 */
+        public final long end;
+        /** 範囲の先頭行の行番号（1始まり） */
+        public final int firstLineNumber;
+
+        Slice(long start, long end, int firstLineNumber) {
+            this.start = start;
+            this.end = end;
+            this.firstLineNumber = firstLineNumber;
+        }
+    }
+
+    /**
+     * 対象ファイルを開きます。
+     * 
+     * @param path  対象ファイルのパス
+     * @param index 対象ファイルの走査済みの行インデックス（ない場合は null）
+     * @throws IOException ファイルを開けない場合
+     */
+    public RangeLocator(Path path, MappedLineIndex index) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.index = index != null && index.isComplete() && index.getFileSize() == fileSize ? index : null;
+    }
+
+    /**
+     * 指定した範囲の行が含まれるバイト範囲を特定します。
+     * 該当する行がない場合は、長さ0の範囲を返します。
+     * 
+     * @param range 読み込み範囲
+     * @return バイト範囲と先頭行の行番号
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public Slice locate(LogRange range) throws IOException {
+        if (!range.isTimeRange()) {
+            return locateLines(range.getFirstLine(), range.getLastLine());
+        }
+        int column = range.getTimestampColumn();
+        String from = range.getFrom();
+        String to = range.getTo();
+        long start = boundary(column, ts -> ts.compareTo(from) < 0);
+        long end = boundary(column, ts -> ts.compareTo(to) <= 0 || ts.startsWith(to));
+        if (end < start) {
+            end = start;
+        }
+        return new Slice(start, end, lineNumberAt(start));
+    }
+
+    /**
+     * 時刻カラムが条件を満たす行が続いた後、最初に条件を満たさなくなる行の開始位置を返します。
+     * 
+     * @param column 時刻カラムのインデックス
+     * @param before 範囲の境界より前の行であれば true を返す条件
+     * @return 境界となる行の開始位置（ない場合はファイルサイズ）
+     */
+    private long boundary(int column, Predicate<String> before) throws IOException {
+        long lo = 0;            // 行頭。lo より前に境界はない
+        long hi = fileSize;     // 未確認の範囲の終端
+        long answer = fileSize; // 見つかった境界のうち最も前のもの
+        while (hi - lo > SCAN_THRESHOLD) {
+            long mid = lo + (hi - lo) / 2;
+            long start = lineStartAtOrAfter(mid);
+            String timestamp = "";
+            long next = start;
+            while (start < hi) {
+                next = lineEnd(start) + 1;
+                timestamp = field(start, column);
+                if (!timestamp.isEmpty()) {
+                    break;
+                }
+                start = next;
+            }
+            if (start >= hi) {
+                // mid 以降に時刻を持つ行がなければ、境界は mid より前にある
+                hi = mid;
+            } else if (before.test(timestamp)) {
+                lo = next;
+            } else {
+                answer = start;
+                hi = mid;
+            }
+        }
+        long position = lo;
+        while (position < hi && position < fileSize) {
+            long next = lineEnd(position) + 1;
+            String timestamp = field(position, column);
+            if (!timestamp.isEmpty() && !before.test(timestamp)) {
+                return position;
+            }
+            position = next;
+        }
+        return answer;
+    }
+
+    /**
+     * 行番号による範囲のバイト範囲を求めます。
+     */
+    private Slice locateLines(int firstLine, int lastLine) throws IOException {
+        if (index != null) {
+            int lineCount = index.lineCount();
+            int first = Math.min(firstLine - 1, lineCount);
+            int last = Math.min(lastLine, lineCount);
+            return new Slice(index.lineStart(first), index.lineStart(last), first + 1);
+        }
+        // 範囲の先頭・末尾の行までの改行を数える
+        long start = -1;
+        long end = fileSize;
+        long newlines = 0;
+        if (firstLine == 1) {
+            start = 0;
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(COUNT_BUFFER_SIZE);
+        byte[] bytes = chunk.array();
+        long position = 0;
+        outer:
+        while (position < fileSize) {
+            int length = read(chunk, position);
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    newlines++;
+                    if (newlines == firstLine - 1) {
+                        start = position + i + 1;
+                    }
+                    if (newlines == lastLine) {
+                        end = position + i + 1;
+                        break outer;
+                    }
+                }
+            }
+            position += length;
+        }
+        if (start < 0) {
+            // 開始行がファイルの行数を超えている
+            return new Slice(fileSize, fileSize, (int) Math.min(newlines + 1, Integer.MAX_VALUE));
+        }
+        return new Slice(start, end, firstLine);
+    }
+
+    /**
+     * 指定位置から始まる行の行番号を返します。
+     */
+    private int lineNumberAt(long position) throws IOException {
+        if (index != null) {
+            int lineCount = index.lineCount();
+            int lo = 0;
+            int hi = lineCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (index.lineStart(mid) < position) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo + 1;
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(COUNT_BUFFER_SIZE);
+        byte[] bytes = chunk.array();
+        long newlines = 0;
+        long read = 0;
+        while (read < position) {
+            int length = (int) Math.min(read(chunk, read), position - read);
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    newlines++;
+                }
+            }
+            read += length;
+        }
+        return (int) Math.min(newlines + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 指定位置以降で最初の行頭の位置を返します（行頭への同期）。
+     */
+    private long lineStartAtOrAfter(long position) throws IOException {
+        if (position <= 0) {
+            return 0;
+        }
+        for (long p = position - 1; p < fileSize; p++) {
+            if (byteAt(p) == '\n') {
+                return p + 1;
+            }
+        }
+        return fileSize;
+    }
+
+    /**
+     * 指定位置から始まる行の改行コードの位置を返します（最終行に改行がなければファイルサイズ）。
+     */
+    private long lineEnd(long start) throws IOException {
+        long p = start;
+        while (p < fileSize && byteAt(p) != '\n') {
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * 指定位置から始まる行の指定フィールドを返します。
+     */
+    private String field(long start, int column) throws IOException {
+        long p = start;
+        int current = 0;
+        while (current < column) {
+            if (p >= fileSize) {
+                return "";
+            }
+            int b = byteAt(p++);
+            if (b == '\n') {
+                return "";
+            }
+            if (b == '\t') {
+                current++;
+            }
+        }
+        byte[] bytes = new byte[64];
+        int length = 0;
+        while (p < fileSize) {
+            int b = byteAt(p++);
+            if (b == '\t' || b == '\n') {
+                break;
+            }
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int byteAt(long position) throws IOException {
+        if (position < bufferStart || position >= bufferStart + bufferLength) {
+            bufferStart = position;
+            bufferLength = read(buffer, position);
+        }
+        return buffer.get((int) (position - bufferStart)) & 0xFF;
+    }
+
+    /**
+     * 指定位置からバッファいっぱい（またはファイル末尾）まで読み込みます。
+     */
+    private int read(ByteBuffer target, long position) throws IOException {
+        target.clear();
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        return target.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 特定したバイト範囲だけを読み出す入力ストリームを開きます。
+     * 
+     * @param path  対象ファイルのパス
+     * @param slice 読み込むバイト範囲
+     * @return 範囲内の内容を返す入力ストリーム
+     * @throws IOException ファイルを開けない場合
+     */
+    public static InputStream openSlice(Path path, Slice slice) throws IOException {
+        FileChannel file = FileChannel.open(path, StandardOpenOption.READ);
+        file.position(slice.start);
+        return new FilterInputStream(Channels.newInputStream(file)) {
+            private long remaining = slice.end - slice.start;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(b, off, (int) Math.min(len, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+        };
+    }
+}
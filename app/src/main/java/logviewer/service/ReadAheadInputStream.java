@@ -0,0 +1,294 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 別スレッドで元のストリームを先読みする入力ストリーム。
+ * 
+ * <p>読み込みスレッドが元のストリーム（ファイルや展開処理など）から一定サイズのチャンクを読み込み、
+ * 容量に上限のあるキューに積みます。呼び出し側はキューからチャンクを取り出して読むため、
+ * 元のストリームの読み込みと呼び出し側の解析処理が並行して進みます。
+ * 読み終えたチャンクのバッファは読み込みスレッドに戻して再利用するため、確保するバッファは
+ * キュー容量 + 2 個（読み込み中と解析中の分）までで、メモリ使用量はチャンクサイズ × (キュー容量 + 2) に抑えられます。</p>
+ * 
+ * <p>読み込みスレッドが元のストリームの読み込みに要した時間と、空きバッファを待った時間（解析が追いつかない）、
+ * 呼び出し側がチャンクを待った時間（読み込みが追いつかない）を計測し、{@link #describe()} で
+ * 読み込みが I/O 律速か解析律速かを判断できるようにします。</p>
+ * 
+ * <p>元のストリームで発生した例外は、呼び出し側の {@link #read(byte[], int, int)} で送出されます。</p>
+ */
+public class ReadAheadInputStream extends InputStream {
+    /** 1チャンクのサイズ */
+    private static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /** キューに積めるチャンク数 */
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private static final Chunk END = new Chunk(new byte[0], 0, null);
+
+    private final InputStream source;
+    private final int chunkSize;
+    private final int maxBuffers;
+    private final BlockingQueue<Chunk> queue;
+    private final BlockingQueue<byte[]> freeBuffers;
+    private final Thread readerThread;
+    private volatile boolean closed = false;
+
+    // 読み込みスレッドが更新する計測値
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong readNanos = new AtomicLong();
+    private final AtomicLong readerWaitNanos = new AtomicLong();
+    private int allocatedBuffers = 0;
+
+    // 呼び出し側のスレッドが更新する計測値
+    private volatile long consumerWaitNanos = 0;
+
+    private Chunk current = null;
+    private int position = 0;
+    private boolean finished = false;
+
+    /**
+     * 既定のチャンクサイズ（4MB）とキュー容量（4）で先読みを開始します。
+     * 
+     * @param source 元の入力ストリーム
+     */
+    public ReadAheadInputStream(InputStream source) {
+        this(source, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * チャンクサイズとキュー容量を指定して先読みを開始します。
+     * 
+     * @param source        元の入力ストリーム
+     * @param chunkSize     1チャンクのバイト数
+     * @param queueCapacity キューに積めるチャンク数
+     */
+    public ReadAheadInputStream(InputStream source, int chunkSize, int queueCapacity) {
+        this.source = source;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBuffers = Math.max(1, queueCapacity) + 2;
+        this.freeBuffers = new ArrayBlockingQueue<>(maxBuffers);
+        this.readerThread = new Thread(this::readLoop, "log-read-ahead-thread");
+        this.readerThread.setDaemon(true);
+        this.readerThread.start();
+    }
+
+    /**
+     * 読み込みスレッドの処理。元のストリームを終端まで読み、チャンクをキューに積みます。
+     */
+    private void readLoop() {
+        try (InputStream in = source) {
+            while (!closed) {
+                byte[] data = takeFreeBuffer();
+                int length = 0;
+                long start = System.nanoTime();
+                while (length < data.length) {
+                    int read = in.read(data, length, data.length - length);
+                    if (read < 0) {
+                        break;
+                    }
+                    length += read;
+                }
+                readNanos.addAndGet(System.nanoTime() - start);
+                bytesRead.addAndGet(length);
+                if (length > 0) {
+                    put(new Chunk(data, length, null));
+                }
+                if (length < data.length) {
+                    put(END);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // close() による停止
+        } catch (IOException e) {
+            try {
+                put(new Chunk(null, 0, e));
+            } catch (InterruptedException ignored) {
+                // close() による停止
+            }
+        }
+    }
+
+    /**
+     * 再利用できるバッファを取り出します。上限に達するまでは新たに確保し、
+     * 上限に達した後は呼び出し側が読み終えたバッファを待ちます。
+     */
+    private byte[] takeFreeBuffer() throws InterruptedException {
+        byte[] data = freeBuffers.poll();
+        if (data != null) {
+            return data;
+        }
+        if (allocatedBuffers < maxBuffers) {
+            allocatedBuffers++;
+            return new byte[chunkSize];
+        }
+        long start = System.nanoTime();
+        data = freeBuffers.take();
+        readerWaitNanos.addAndGet(System.nanoTime() - start);
+        return data;
+    }
+
+    /**
+     * チャンクをキューに積みます。キューが満杯の間に待った時間を計測します。
+     */
+    private void put(Chunk chunk) throws InterruptedException {
+        if (queue.offer(chunk)) {
+            return;
+        }
+        long start = System.nanoTime();
+        queue.put(chunk);
+        readerWaitNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * 現在のチャンクを読み終えていれば、そのバッファを読み込みスレッドに戻して次のチャンクを取り出します。
+     * 
+     * @return 読み出せるデータがあれば true、終端なら false
+     */
+    private boolean ensureChunk() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (closed) {
+            throw new IOException("ストリームは閉じられています");
+        }
+        if (current != null && current.data != null) {
+            freeBuffers.offer(current.data);
+        }
+        current = queue.poll();
+        if (current == null) {
+            long start = System.nanoTime();
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("先読みの待機中に割り込まれました");
+            } finally {
+                consumerWaitNanos += System.nanoTime() - start;
+            }
+        }
+        position = 0;
+        if (current.error != null) {
+            finished = true;
+            throw new IOException(current.error.getMessage(), current.error);
+        }
+        if (current == END) {
+            finished = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureChunk()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureChunk()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * 元のストリームから読み込んだバイト数を取得します。
+     * 
+     * @return 読み込んだバイト数
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * 読み込みスレッドが元のストリームの読み込みに要した時間を取得します。
+     * 
+     * @return 読み込み時間（ナノ秒）
+     */
+    public long getReadNanos() {
+        return readNanos.get();
+    }
+
+    /**
+     * 読み込みスレッドが空きバッファやキューの空きを待った時間を取得します。
+     * 長い場合は、解析が読み込みに追いついていない（解析律速）ことを示します。
+     * 
+     * @return 待ち時間（ナノ秒）
+     */
+    public long getReaderWaitNanos() {
+        return readerWaitNanos.get();
+    }
+
+    /**
+     * 呼び出し側がチャンクの到着を待った時間を取得します。
+     * 長い場合は、読み込みが解析に追いついていない（I/O 律速）ことを示します。
+     * 
+     * @return 待ち時間（ナノ秒）
+     */
+    public long getConsumerWaitNanos() {
+        return consumerWaitNanos;
+    }
+
+    /**
+     * 読み込み量と読み込み速度、待ち時間から判断した律速の要因を、ステータスバーに表示する形式で返します。
+     * 
+     * @return 例: "読み込み 512.0 MB（480 MB/s）、I/O 待ち 0.12 秒、解析待ち 0.85 秒: 解析律速"
+     */
+    public String describe() {
+        double megabytes = getBytesRead() / (1024.0 * 1024.0);
+        double readSeconds = getReadNanos() / 1e9;
+        double ioWaitSeconds = getConsumerWaitNanos() / 1e9;
+        double parseWaitSeconds = getReaderWaitNanos() / 1e9;
+        String bound = ioWaitSeconds > parseWaitSeconds ? "I/O 律速" : "解析律速";
+        return String.format("読み込み %.1f MB（%.0f MB/s）、I/O 待ち %.2f 秒、解析待ち %.2f 秒: %s",
+            megabytes, readSeconds > 0 ? megabytes / readSeconds : 0.0, ioWaitSeconds, parseWaitSeconds, bound);
+    }
+
+    /**
+     * 先読みを停止し、元のストリームを閉じます。
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readerThread.interrupt();
+        queue.clear();
+    }
+
+    /**
+     * キューに積むデータの単位。
+     */
+    private static final class Chunk {
+        final byte[] data;
+        final int length;
+        final IOException error;
+
+        Chunk(byte[] data, int length, IOException error) {
+            this.data = data;
+            this.length = length;
+            this.error = error;
+        }
+    }
+}
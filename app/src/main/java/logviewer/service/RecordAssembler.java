@@ -0,0 +1,120 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.regex.Pattern;
+
+/**
+ * 読み込んだ物理行を、開始パターンに一致する行から始まる論理レコードにまとめるクラス。
+ * 
+ * <p>スタックトレースのように複数行にわたるログでは、2行目以降（継続行）が開始パターン
+ * （タイムスタンプなど）で始まりません。継続行は直前のレコードの最終フィールドに改行で連結し、
+ * タブを含めて元の行の内容をそのまま残します。最初のレコードより前の継続行は、それぞれ1レコードとします。</p>
+ * 
+ * <p>保持するのは確定前の1レコードだけなので、ファイル全体をバッファせずに逐次処理できます。
+ * 開始パターンに一致しない行が続くファイルで1レコードが際限なく大きくならないよう、
+ * {@link #MAX_RECORD_LINES} 行に達したら次の行から新しいレコードとします。</p>
+ * 
+ * <p>このクラスはスレッドセーフではありません。</p>
+ */
+public class RecordAssembler {
+    /** 1レコードにまとめる最大行数 */
+    static final int MAX_RECORD_LINES = 10_000;
+
+    /** 開始パターンとの照合に使う行頭のバイト数 */
+    private static final int MATCH_PREFIX_BYTES = 256;
+
+    private final Pattern recordStart;
+
+    // 確定前のレコード
+    private String[] fields = null;
+    private StringBuilder continuation = null;
+    private boolean pendingIsRecord = false;
+    private int firstLine = 0;
+    private int lastLine = 0;
+
+    /**
+     * 開始パターンを指定して RecordAssembler を生成します。
+     * 
+     * @param recordStart レコードの開始行の行頭に一致するパターン
+     */
+    public RecordAssembler(Pattern recordStart) {
+        this.recordStart = recordStart;
+    }
+
+    /**
+     * 分割済みの1行を追加します。
+     * 
+     * @param tokenizer  追加する行を分割したトークナイザ
+     * @param lineNumber 追加する行の行番号
+     * @return 追加した行が新しいレコードの開始行で、直前のレコードが確定した場合はそのレコード。
+     *         それ以外の場合は null
+     */
+    public LogRow accept(TsvTokenizer tokenizer, int lineNumber) {
+        boolean start = isRecordStart(tokenizer);
+        if (!start && pendingIsRecord && lastLine - firstLine + 1 < MAX_RECORD_LINES) {
+            if (continuation == null) {
+                continuation = new StringBuilder(fields[fields.length - 1]);
+            }
+            continuation.append('\n').append(rawLine(tokenizer));
+            lastLine = lineNumber;
+            return null;
+        }
+        LogRow completed = finish();
+        fields = tokenizer.fields();
+        // 行数の上限で打ち切った場合は、続きの行も新しいレコードにまとめる
+        pendingIsRecord = start || pendingIsRecord;
+        firstLine = lineNumber;
+        lastLine = lineNumber;
+        return completed;
+    }
+
+    /**
+     * 確定前のレコードを確定して返します。ファイル末尾で呼び出します。
+     * 
+     * @return 確定したレコード（確定前のレコードがない場合は null）
+     */
+    public LogRow finish() {
+        if (fields == null) {
+            return null;
+        }
+        LogRow row;
+        if (continuation != null) {
+            fields[fields.length - 1] = continuation.toString();
+            row = new MultiLineLogRow(fields, firstLine, lastLine);
+        } else {
+            row = new LogRow(fields, firstLine);
+        }
+        fields = null;
+        continuation = null;
+        return row;
+    }
+
+    /**
+     * 開始パターンを取得します。
+     * 
+     * @return レコードの開始行の行頭に一致するパターン
+     */
+    public Pattern getRecordStart() {
+        return recordStart;
+    }
+
+    /**
+     * 行頭が開始パターンに一致するかを判定します。行全体はデコードせず、行頭の一部だけを照合します。
+     */
+    private boolean isRecordStart(TsvTokenizer tokenizer) {
+        int start = tokenizer.fieldStart(0);
+        int end = Math.min(tokenizer.fieldEnd(tokenizer.fieldCount() - 1), start + MATCH_PREFIX_BYTES);
+        String prefix = new String(tokenizer.bytes(), start, end - start, tokenizer.getCharset());
+        return recordStart.matcher(prefix).lookingAt();
+    }
+
+    /**
+     * 分割前の行の内容（タブを含む）を返します。
+     */
+    private static String rawLine(TsvTokenizer tokenizer) {
+        int start = tokenizer.fieldStart(0);
+        int end = tokenizer.fieldEnd(tokenizer.fieldCount() - 1);
+        return new String(tokenizer.bytes(), start, end - start, tokenizer.getCharset());
+    }
+}
@@ -0,0 +1,65 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ローテーションされたログファイル群（app.log, app.log.1 … app.log.N）を
+ * 古い順に並べるクラス。
+ * 
+ * <p>ファイル名末尾の番号（圧縮拡張子 .gz / .zip の前）をローテーション番号とみなし、
+ * 同じベース名のファイルは番号の大きいものほど古いとして先に並べます。番号のないファイル
+ * （現在書き込み中のファイル）は最後になります。日付入りのファイル名など番号のない
+ * ファイル同士は、名前の辞書順に並べます。</p>
+ */
+public final class RotatedLogSet {
+    /** ベース名、ローテーション番号、圧縮拡張子に分解するパターン */
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^(.*?)(?:\\.(\\d{1,9}))?(?:\\.(?:gz|zip))?$");
+
+    /** ベース名の昇順、ローテーション番号の降順（番号なしは0） */
+    static final Comparator<Path> ORDER = Comparator
+        .comparing((Path p) -> baseName(p))
+        .thenComparing(Comparator.comparingInt((Path p) -> rotationIndex(p)).reversed())
+        .thenComparing(p -> String.valueOf(p.getFileName()));
+
+    private RotatedLogSet() {
+    }
+
+    /**
+     * ディレクトリ内でパターンに一致するファイルを、ローテーションの古い順に返します。
+     * 
+     * @param directory 対象ディレクトリ
+     * @param glob      ファイル名のパターン（例: "app.log*"）
+     * @return 古い順のファイルパス
+     * @throws IOException ディレクトリを読み込めない場合
+     */
+    public static List<Path> resolve(Path directory, String glob) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    segments.add(path);
+                }
+            }
+        }
+        segments.sort(ORDER);
+        return segments;
+    }
+
+    private static String baseName(Path path) {
+        Matcher m = SEGMENT_NAME.matcher(String.valueOf(path.getFileName()));
+        return m.matches() ? m.group(1) : String.valueOf(path.getFileName());
+    }
+
+    private static int rotationIndex(Path path) {
+        Matcher m = SEGMENT_NAME.matcher(String.valueOf(path.getFileName()));
+        return m.matches() && m.group(2) != null ? Integer.parseInt(m.group(2)) : 0;
+    }
+}
@@ -0,0 +1,26 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.List;
+
+/**
+ * 読み込み中の行を、読み込みの完了を待たずに受け取るリスナー。
+ * いずれのメソッドも読み込みスレッドから呼ばれます。
+ */
+@FunctionalInterface
+public interface RowBatchListener {
+    /**
+     * 読み込んだ行を受け取ります。
+     * 
+     * @param rows 読み込んだ行（ファイル内の順）
+     */
+    void onRows(List<LogRow> rows);
+
+    /**
+     * 読み込み方式を切り替えて最初から読み直すため、それまでに通知した行を破棄させます。
+     * 以降に通知される行と完了時の結果には、破棄した行は含まれません。
+     */
+    default void onReset() {
+    }
+}
@@ -0,0 +1,139 @@
+package logviewer.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ヘッダ行のカラム名の並び（ヘッダの署名）ごとに、判定したカラムの型をJSON形式で保存・管理するサービスクラス。
+ * 
+ * <p>同じ種類のログ（同じヘッダ行を持つファイル）では、ファイル名が異なっても前回判定した型を手がかりにし、
+ * 標本の値がその型として解析できる場合は型の判定を省略します。キャッシュは ~/.logviewer/schema_cache.json に保存し、
+ * 初回の参照時にまとめて読み込みます。</p>
+ * 
+ * <p>このクラスのメソッドはスレッドセーフです。</p>
+ */
+public class SchemaCache {
+    private static final String CONFIG_DIR_NAME = ".logviewer";
+    private static final String CACHE_FILE_NAME = "schema_cache.json";
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path cacheFilePath;
+    private Map<String, Map<Integer, ColumnType>> schemas = null;
+
+    /**
+     * キャッシュファイルを ~/.logviewer/schema_cache.json に保存する SchemaCache を生成します。
+     */
+    public SchemaCache() {
+        this(Paths.get(System.getProperty("user.home")).resolve(CONFIG_DIR_NAME).resolve(CACHE_FILE_NAME));
+    }
+
+    /**
+     * キャッシュファイルのパスを指定して SchemaCache を生成します。
+     * 
+     * @param cacheFilePath キャッシュファイルのパス
+     */
+    SchemaCache(Path cacheFilePath) {
+        this.cacheFilePath = cacheFilePath;
+    }
+
+    /**
+     * ヘッダの署名に対して保存されたカラムの型を取得します。
+     * 
+     * @param columnNames ヘッダ行のカラム名
+     * @param columnIndex カラムインデックス
+     * @return 保存されたカラムの型（保存されていない場合は null）
+     */
+    public synchronized ColumnType loadColumnType(List<String> columnNames, int columnIndex) {
+        Map<Integer, ColumnType> schema = schemas().get(signature(columnNames));
+        return schema != null ? schema.get(columnIndex) : null;
+    }
+
+    /**
+     * ヘッダの署名に対してカラムの型を保存します。
+     * 
+     * @param columnNames ヘッダ行のカラム名
+     * @param columnIndex カラムインデックス
+     * @param type        カラムの型
+     */
+    public synchronized void saveColumnType(List<String> columnNames, int columnIndex, ColumnType type) {
+        ColumnType previous = schemas().computeIfAbsent(signature(columnNames), key -> new HashMap<>())
+            .put(columnIndex, type);
+        if (previous != type) {
+            write();
+        }
+    }
+
+    /**
+     * ヘッダの署名を返します。カラム名をタブで連結した文字列です。
+     */
+    private static String signature(List<String> columnNames) {
+        return String.join("\t", columnNames);
+    }
+
+    /**
+     * キャッシュファイルを読み込み、保存されたカラムの型を返します。
+     */
+    private Map<String, Map<Integer, ColumnType>> schemas() {
+        if (schemas != null) {
+            return schemas;
+        }
+        schemas = new HashMap<>();
+        if (!Files.exists(cacheFilePath)) {
+            return schemas;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cacheFilePath, StandardCharsets.UTF_8)) {
+            JsonObject root = gson.fromJson(reader, JsonObject.class);
+            if (root == null) {
+                return schemas;
+            }
+            for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+                Map<Integer, ColumnType> schema = new HashMap<>();
+                for (Map.Entry<String, JsonElement> column : entry.getValue().getAsJsonObject().entrySet()) {
+                    schema.put(Integer.parseInt(column.getKey()), ColumnType.valueOf(column.getValue().getAsString()));
+                }
+                schemas.put(entry.getKey(), schema);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("型キャッシュファイルの読み込みに失敗しました: " + e.getMessage());
+        }
+        return schemas;
+    }
+
+    /**
+     * 保存されたカラムの型をキャッシュファイルに書き込みます。
+     */
+    private void write() {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, Map<Integer, ColumnType>> entry : schemas.entrySet()) {
+            JsonObject schema = new JsonObject();
+            for (Map.Entry<Integer, ColumnType> column : entry.getValue().entrySet()) {
+                schema.addProperty(String.valueOf(column.getKey()), column.getValue().name());
+            }
+            root.add(entry.getKey(), schema);
+        }
+        try {
+            Path cacheDir = cacheFilePath.getParent();
+            if (cacheDir != null && !Files.exists(cacheDir)) {
+                Files.createDirectories(cacheDir);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(cacheFilePath, StandardCharsets.UTF_8)) {
+                gson.toJson(root, writer);
+            }
+        } catch (IOException e) {
+            System.err.println("型キャッシュファイルの保存に失敗しました: " + e.getMessage());
+        }
+    }
+}
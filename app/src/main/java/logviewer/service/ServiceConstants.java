@@ -1,34 +1,43 @@
-package logviewer.service;
-
-/**
- * サービス層で使用する共通定数を集約したクラス。
- */
-public final class ServiceConstants {
-
-    // ===== ファイル処理関連 =====
-    
-    /** ファイル読み込み時の最大行数 */
-    public static final int MAX_ROWS = 20_000_000;
-    
-    /** バッファサイズ（一度に処理する行数） */
-    public static final int BATCH_SIZE = 5_000;
-    
-    /** 改行コード（CRLF） */
-    public static final String LINE_SEPARATOR = "\r\n";
-    
-    /** タブ区切り文字 */
-    public static final String TAB_SEPARATOR = "\t";
-    
-    // ===== サポートされるファイル形式 =====
-    
-    /** TSVファイル拡張子 */
-    public static final String TSV_EXTENSION = ".tsv";
-    
-    /** テキストファイル拡張子 */
-    public static final String TXT_EXTENSION = ".txt";
-
-    // プライベートコンストラクタ - インスタンス化を防ぐ
-    private ServiceConstants() {
-        throw new AssertionError("ServiceConstants はインスタンス化できません");
-    }
-}
+package logviewer.service;
+
+/**
+ * サービス層で使用する共通定数を集約したクラス。
+ */
+public final class ServiceConstants {
+
+    // ===== ファイル処理関連 =====
+    
+    /** ファイル読み込み時の最大行数（行データをヒープに保持する読み込み方式に適用） */
+    public static final int MAX_ROWS = 20_000_000;
+    
+    /** オフヒープ読み込み時の最大行数（行リストに格納できる上限。実際の上限はヒープの予算から {@link LoadGovernor#offHeapMaxRows(long)} で求める） */
+    public static final int OFF_HEAP_MAX_ROWS = Integer.MAX_VALUE - 8;
+    
+    /** バッファサイズ（一度に処理する行数） */
+    public static final int BATCH_SIZE = 5_000;
+    
+    /** 改行コード（CRLF） */
+    public static final String LINE_SEPARATOR = "\r\n";
+    
+    /** タブ区切り文字 */
+    public static final String TAB_SEPARATOR = "\t";
+    
+    /** 追従モードでファイルの追記を確認する間隔（ミリ秒） */
+    public static final long FOLLOW_POLL_INTERVAL_MILLIS = 1_000;
+    
+    /** 読み込み中の行をテーブルへ反映する最短間隔（ミリ秒） */
+    public static final long PUBLISH_INTERVAL_MILLIS = 250;
+    
+    // ===== サポートされるファイル形式 =====
+    
+    /** TSVファイル拡張子 */
+    public static final String TSV_EXTENSION = ".tsv";
+    
+    /** テキストファイル拡張子 */
+    public static final String TXT_EXTENSION = ".txt";
+
+    // プライベートコンストラクタ - インスタンス化を防ぐ
+    private ServiceConstants() {
+        throw new AssertionError("ServiceConstants はインスタンス化できません");
+    }
+}
@@ -1,57 +1,206 @@
-package logviewer.service;
-
-import javafx.concurrent.Task;
-import logviewer.LogRow;
-
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Locale;
-
-/**
- * ソート処理を担当するサービスクラス。
- * Comparator を構築してデータをソートします。
- */
-public class SortService {
-    
-    /**
-     * ソート用のComparatorを構築します。
-     * 行番号ソート時は整数比較、データ列ソート時は小文字化した文字列比較を行います。
-     * 
-     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
-     * @param ascending   昇順ならtrue、降順ならfalse
-     * @return ロウ比較用Comparator
-     */
-    public Comparator<LogRow> buildComparator(int columnIndex, boolean ascending) {
-        Comparator<LogRow> comparator;
-        if (columnIndex < 0) {
-            comparator = Comparator.comparingInt(LogRow::getLineNumber);
-        } else {
-            comparator = Comparator.comparing(r -> r.getField(columnIndex).toLowerCase(Locale.ROOT));
-        }
-        return ascending ? comparator : comparator.reversed();
-    }
-    
-    /**
-     * データをソートするタスクを生成します。
-     * キャンセル可能です。
-     * 
-     * @param data       対象データリスト
-     * @param comparator ソート用Comparator
-     * @return ソート実行タスク (完了時にソート済みリストを返す)
-     */
-    public Task<List<LogRow>> sortAsync(List<LogRow> data, Comparator<LogRow> comparator) {
-        return new Task<>() {
-            @Override
-            protected List<LogRow> call() {
-                List<LogRow> result = new ArrayList<>(data);
-                
-                if (!isCancelled()) {
-                    result.sort(comparator);
-                }
-                
-                return result;
-            }
-        };
-    }
-}
+package logviewer.service;
+
+import javafx.concurrent.Task;
+import logviewer.LogRow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ソート処理を担当するサービスクラス。
+ * Comparator を構築してデータをソートします。
+ */
+public class SortService {
+    /** 挿入ソートに切り替える区間の長さ */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final SchemaCache schemaCache;
+
+    /**
+     * 判定したカラムの型を ~/.logviewer/schema_cache.json に保存する SortService を生成します。
+     */
+    public SortService() {
+        this(new SchemaCache());
+    }
+
+    /**
+     * 型キャッシュを指定して SortService を生成します。
+     * 
+     * @param schemaCache ヘッダの署名ごとにカラムの型を保存する型キャッシュ
+     */
+    SortService(SchemaCache schemaCache) {
+        this.schemaCache = schemaCache;
+    }
+    
+    /**
+     * ソート用のComparatorを構築します。
+     * 行番号ソート時は整数比較、データ列ソート時は小文字化した文字列比較を行います。
+     * 
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @return ロウ比較用Comparator
+     */
+    public Comparator<LogRow> buildComparator(int columnIndex, boolean ascending) {
+        Comparator<LogRow> comparator;
+        if (columnIndex < 0) {
+            comparator = Comparator.comparingInt(LogRow::getLineNumber);
+        } else {
+            comparator = Comparator.comparing(r -> r.getField(columnIndex).toLowerCase(Locale.ROOT));
+        }
+        return ascending ? comparator : comparator.reversed();
+    }
+
+    /**
+     * カラムの型に応じたソート用のComparatorを構築します。
+     * 整数・小数・日時のカラムは値の大小で比較し、空欄や変換できない値は最も小さいものとします。
+     * 比較のたびに値を解析するため、追記行の挿入位置を求めるような少数の比較に使用します。
+     * 
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @param type        ソート対象カラムの型
+     * @return ロウ比較用Comparator
+     */
+    public Comparator<LogRow> buildComparator(int columnIndex, boolean ascending, ColumnType type) {
+        if (columnIndex < 0 || type == ColumnType.STRING) {
+            return buildComparator(columnIndex, ascending);
+        }
+        Comparator<LogRow> comparator = (a, b) ->
+            TypedColumn.compareValues(type, a.getField(columnIndex), b.getField(columnIndex));
+        return ascending ? comparator : comparator.reversed();
+    }
+
+    /**
+     * ソート対象カラムの型を判定します。
+     * 
+     * @param data        対象データリスト
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @return カラムの型（行番号の場合は整数）
+     */
+    public ColumnType inferType(List<LogRow> data, int columnIndex) {
+        return columnIndex < 0 ? ColumnType.LONG : TypedColumn.inferType(data, columnIndex);
+    }
+
+    /**
+     * ソート対象カラムの型を判定します。
+     * カラム名がある場合は、同じヘッダ行のファイルで前回判定した型を型キャッシュから取り出し、
+     * 標本の値がすべてその型として解析できれば再利用します。型キャッシュにない場合や、
+     * ログの値の形式が変わって解析できない場合は標本から判定し直し、判定した型を保存します。
+     * 
+     * @param data        対象データリスト
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param columnNames ヘッダ行のカラム名（null の場合は型キャッシュを使用しない）
+     * @return カラムの型（行番号の場合は整数）
+     */
+    public ColumnType inferType(List<LogRow> data, int columnIndex, List<String> columnNames) {
+        if (columnIndex < 0 || columnNames == null) {
+            return inferType(data, columnIndex);
+        }
+        ColumnType cached = schemaCache.loadColumnType(columnNames, columnIndex);
+        if (cached != null && TypedColumn.matches(data, columnIndex, cached)) {
+            return cached;
+        }
+        ColumnType type = TypedColumn.inferType(data, columnIndex);
+        if (!data.isEmpty()) {
+            schemaCache.saveColumnType(columnNames, columnIndex, type);
+        }
+        return type;
+    }
+
+    /**
+     * データをカラムの型に応じて安定ソートした新しいリストを返します。
+     * ソート対象カラムを1度だけ {@link TypedColumn} に変換し、行の位置の配列をプリミティブ値で比較して並べ替えます。
+     * 比較のたびに文字列を解析・小文字化しないため、大量の行でも {@link #buildComparator(int, boolean)} より高速です。
+     * 同じ値の行は元の順序を保ちます（降順でも同様）。
+     * 
+     * @param data        対象データリスト
+     * @param columnIndex ソート対象カラムインデックス（-1で行番号）
+     * @param ascending   昇順ならtrue、降順ならfalse
+     * @param type        ソート対象カラムの型
+     * @return ソート済みリスト
+     */
+    public List<LogRow> sortTyped(List<LogRow> data, int columnIndex, boolean ascending, ColumnType type) {
+        List<LogRow> result = new ArrayList<>(data);
+        if (columnIndex < 0) {
+            result.sort(buildComparator(columnIndex, ascending));
+            return result;
+        }
+        TypedColumn column = TypedColumn.build(data, columnIndex, type);
+        int size = data.size();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[size], 0, size, column, ascending ? 1 : -1);
+        for (int i = 0; i < size; i++) {
+            result.set(i, data.get(order[i]));
+        }
+        return result;
+    }
+    
+    /**
+     * データをソートするタスクを生成します。
+     * キャンセル可能です。
+     * 
+     * @param data       対象データリスト
+     * @param comparator ソート用Comparator
+     * @return ソート実行タスク (完了時にソート済みリストを返す)
+     */
+    public Task<List<LogRow>> sortAsync(List<LogRow> data, Comparator<LogRow> comparator) {
+        return new Task<>() {
+            @Override
+            protected List<LogRow> call() {
+                List<LogRow> result = new ArrayList<>(data);
+                
+                if (!isCancelled()) {
+                    result.sort(comparator);
+                }
+                
+                return result;
+            }
+        };
+    }
+
+    /**
+     * 行の位置の配列 [from, to) を列の値で安定ソートします。
+     * 
+     * @param order  行の位置の配列
+     * @param buffer 作業用の配列（order と同じ長さ）
+     * @param from   区間の開始位置
+     * @param to     区間の終了位置（この位置は含まない）
+     * @param column 比較に使う列
+     * @param sign   昇順なら 1、降順なら -1
+     */
+    private static void mergeSort(int[] order, int[] buffer, int from, int to, TypedColumn column, int sign) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && sign * column.compare(order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid, column, sign);
+        mergeSort(order, buffer, mid, to, column, sign);
+        // 前半の末尾が後半の先頭以下なら既に並んでいる
+        if (sign * column.compare(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && sign * column.compare(buffer[left], buffer[right]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+}
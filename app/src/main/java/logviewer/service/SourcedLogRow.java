@@ -0,0 +1,74 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+/**
+ * 複数ファイルを結合した表示で、読み込み元のファイルと元の行番号を保持する LogRow。
+ * {@link #getLineNumber()} は結合後の表示順での通し番号（1始まり）を返します。
+ * 
+ * <p>フィールドを自身で保持する形式と、読み込み方式ごとの LogRow（遅延デコードする行など）を
+ * 包んでフィールドの取得を委譲する形式があります。</p>
+ */
+public class SourcedLogRow extends LogRow {
+    private final LogRow delegate;
+    private final String source;
+    private final int sourceLineNumber;
+
+    /**
+     * 読み込み元の情報を持つ SourcedLogRow を生成します。
+     * 
+     * @param parts            TSVを分割したフィールド配列
+     * @param lineNumber       結合後の通し番号（1始まり）
+     * @param source           読み込み元ファイルの名前
+     * @param sourceLineNumber 読み込み元ファイルでの行番号（1始まり）
+     */
+    public SourcedLogRow(String[] parts, int lineNumber, String source, int sourceLineNumber) {
+        super(parts, lineNumber);
+        this.delegate = null;
+        this.source = source;
+        this.sourceLineNumber = sourceLineNumber;
+    }
+
+    /**
+     * 読み込み済みの行を包み、結合後の通し番号と読み込み元を付けた SourcedLogRow を生成します。
+     * 読み込み元ファイルでの行番号は包んだ行の行番号になります。
+     * 
+     * @param delegate   読み込み元ファイルの行
+     * @param lineNumber 結合後の通し番号（1始まり）
+     * @param source     読み込み元ファイルの名前
+     */
+    public SourcedLogRow(LogRow delegate, int lineNumber, String source) {
+        super(lineNumber);
+        this.delegate = delegate;
+        this.source = source;
+        this.sourceLineNumber = delegate.getLineNumber();
+    }
+
+    @Override
+    public String getField(int index) {
+        return delegate != null ? delegate.getField(index) : super.getField(index);
+    }
+
+    @Override
+    public int fieldCount() {
+        return delegate != null ? delegate.fieldCount() : super.fieldCount();
+    }
+
+    /**
+     * 読み込み元ファイルの名前を返します。
+     * 
+     * @return ファイル名
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 読み込み元ファイルでの行番号を返します。
+     * 
+     * @return 行番号（1始まり）
+     */
+    public int getSourceLineNumber() {
+        return sourceLineNumber;
+    }
+}
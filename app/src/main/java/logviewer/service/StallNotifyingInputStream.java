@@ -0,0 +1,43 @@
+package logviewer.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 読み込みがデータの到着待ちになる直前に通知する入力ストリーム。
+ * 
+ * <p>パイプのように少しずつデータが届く入力では、読み込み済みの行がまとまるまで待つと
+ * 表示が遅れます。{@link #read(byte[], int, int)} の呼び出し時に、すぐに読めるデータがなければ
+ * 読み込みを待つ前に通知関数を呼び出し、呼び出し側が読み込み済みの行を先に通知できるようにします。</p>
+ */
+class StallNotifyingInputStream extends FilterInputStream {
+    private final Runnable onStall;
+
+    /**
+     * 元のストリームと通知関数を指定して生成します。
+     * 
+     * @param in      元の入力ストリーム
+     * @param onStall データの到着待ちになる直前に呼び出す関数（読み込みスレッドから呼ばれる）
+     */
+    StallNotifyingInputStream(InputStream in, Runnable onStall) {
+        super(in);
+        this.onStall = onStall;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (in.available() == 0) {
+            onStall.run();
+        }
+        return in.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (in.available() == 0) {
+            onStall.run();
+        }
+        return in.read(b, off, len);
+    }
+}
@@ -0,0 +1,102 @@
+package logviewer.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 標準入力や名前付きパイプのように、先頭から1度だけ読める読み込み元。
+ * 
+ * <p>ファイルとは異なり、読み直しや任意の位置への移動ができず、全体のサイズも分かりません。
+ * そのため {@link FileIOService#loadStreamAsync(StreamSource, RowBatchListener, java.util.regex.Pattern)} は
+ * 最初に届いたデータだけを覗いて文字コード・圧縮形式・ヘッダ行を判定し、標準方式の逐次読み込みで
+ * データの到着に合わせて行を通知します。追従モード、範囲指定・無作為抽出の読み込み、
+ * 非表示カラムの読み込み省略、行インデックスを構築する読み込み方式は使用できません。</p>
+ */
+public final class StreamSource {
+    /** 標準入力を表す起動引数 */
+    public static final String STDIN_ARGUMENT = "-";
+
+    private final String name;
+    private final Opener opener;
+
+    /**
+     * 入力ストリームを開く関数。
+     */
+    @FunctionalInterface
+    private interface Opener {
+        InputStream open() throws IOException;
+    }
+
+    private StreamSource(String name, Opener opener) {
+        this.name = name;
+        this.opener = opener;
+    }
+
+    /**
+     * 標準入力を読み込み元とします。読み込みを終えても標準入力は閉じません。
+     * 
+     * @return 標準入力の読み込み元
+     */
+    public static StreamSource standardInput() {
+        return new StreamSource("標準入力", () -> new FilterInputStream(System.in) {
+            @Override
+            public void close() {
+                // 標準入力はアプリケーションの終了まで閉じない
+            }
+        });
+    }
+
+    /**
+     * 名前付きパイプなど、通常のファイルではないパスを読み込み元とします。
+     * 書き込み側が接続するまで待つ場合があるため、パスは読み込みタスクの中で開きます。
+     * 
+     * @param path パス
+     * @return パスの読み込み元
+     */
+    public static StreamSource of(Path path) {
+        return new StreamSource(String.valueOf(path.getFileName()), () -> Files.newInputStream(path));
+    }
+
+    /**
+     * 任意の入力ストリームを読み込み元とします。
+     * 
+     * @param name 表示名
+     * @param in   入力ストリーム（読み込み後に閉じる）
+     * @return 入力ストリームの読み込み元
+     */
+    public static StreamSource of(String name, InputStream in) {
+        return new StreamSource(name, () -> in);
+    }
+
+    /**
+     * パスが名前付きパイプやデバイスなど、先頭から1度だけ読める読み込み元かを判定します。
+     * 
+     * @param path パス
+     * @return 存在し、通常のファイルでもフォルダでもない場合は true
+     */
+    public static boolean isStream(Path path) {
+        return Files.exists(path) && !Files.isRegularFile(path) && !Files.isDirectory(path);
+    }
+
+    /**
+     * 表示名を取得します。
+     * 
+     * @return 表示名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 入力ストリームを開きます。
+     * 
+     * @return 入力ストリーム
+     * @throws IOException 開けない場合
+     */
+    InputStream open() throws IOException {
+        return opener.open();
+    }
+}
@@ -0,0 +1,68 @@
+package logviewer.service;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 読み込みやエクスポートの処理本体が、実行しているタスクのキャンセル状態を確認し、
+ * 進捗とメッセージを通知する先。
+ * 
+ * <p>処理本体を JavaFX の Task から切り離すことで、別の処理から直接呼び出して組み合わせたり、
+ * JavaFX を初期化せずに実行したりできます。Task から実行する場合は {@link ContextTask} を使用します。</p>
+ */
+@FunctionalInterface
+interface TaskContext {
+    /** キャンセルされず、進捗とメッセージを破棄する実行状態 */
+    TaskContext NONE = () -> false;
+
+    /**
+     * キャンセルされたかを返します。
+     * 
+     * @return キャンセルされた場合は true
+     */
+    boolean isCancelled();
+
+    /**
+     * メッセージを通知します。
+     * 
+     * @param message メッセージ
+     */
+    default void updateMessage(String message) {
+    }
+
+    /**
+     * 進捗を通知します。
+     * 
+     * @param workDone 処理済みの量（負の値の場合は不明）
+     * @param max      全体の量
+     */
+    default void updateProgress(double workDone, double max) {
+    }
+
+    /**
+     * メッセージの先頭に文字列を付けて通知し、指定した条件でもキャンセルされたとみなす実行状態を返します。
+     * 進捗はそのまま通知します。
+     * 
+     * @param prefix  メッセージの先頭に付ける文字列
+     * @param stopped キャンセルされたとみなす追加の条件
+     * @return 実行状態
+     */
+    default TaskContext withPrefix(String prefix, BooleanSupplier stopped) {
+        TaskContext parent = this;
+        return new TaskContext() {
+            @Override
+            public boolean isCancelled() {
+                return parent.isCancelled() || stopped.getAsBoolean();
+            }
+
+            @Override
+            public void updateMessage(String message) {
+                parent.updateMessage(prefix + message);
+            }
+
+            @Override
+            public void updateProgress(double workDone, double max) {
+                parent.updateProgress(workDone, max);
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package logviewer.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ログファイルの文字コードの指定を表す列挙型。
+ */
+public enum TextEncoding {
+    /** ファイル先頭の内容から文字コードを判定する（{@link CharsetDetector}） */
+    AUTO("自動判定", null),
+
+    /** UTF-8 */
+    UTF_8("UTF-8", StandardCharsets.UTF_8),
+
+    /** Shift_JIS（Windows の拡張文字を含む CP932） */
+    SHIFT_JIS("Shift_JIS (CP932)", CharsetDetector.SHIFT_JIS),
+
+    /** EUC-JP */
+    EUC_JP("EUC-JP", CharsetDetector.EUC_JP),
+
+    /** UTF-16（リトルエンディアン） */
+    UTF_16LE("UTF-16LE", StandardCharsets.UTF_16LE),
+
+    /** UTF-16（ビッグエンディアン） */
+    UTF_16BE("UTF-16BE", StandardCharsets.UTF_16BE);
+
+    private final String displayName;
+    private final Charset charset;
+
+    TextEncoding(String displayName, Charset charset) {
+        this.displayName = displayName;
+        this.charset = charset;
+    }
+
+    /**
+     * 文字コードの表示名を返します。一覧にない文字コードは文字コード名を返します。
+     * 
+     * @param charset 文字コード
+     * @return 表示名
+     */
+    public static String displayNameOf(Charset charset) {
+        for (TextEncoding encoding : values()) {
+            if (charset.equals(encoding.charset)) {
+                return encoding.displayName;
+            }
+        }
+        return charset.name();
+    }
+
+    /**
+     * メニュー等に表示する名前を返します。
+     * 
+     * @return 表示名
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 指定された文字コードを取得します。
+     * 
+     * @return 文字コード（自動判定の場合は null）
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+}
@@ -0,0 +1,148 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * 複数のログファイルを時刻カラムの順に結合して読み込むクラス。
+ * 
+ * <p>各ファイルは時刻カラムの昇順に並んでいる前提で、ファイルごとの読み込み位置（カーソル）を
+ * 優先度付きキューで管理し、最も古い行を持つカーソルから1行ずつ取り出します（k-way マージ）。
+ * 全行を連結してからソートする方法と異なり、マージ中に保持する未出力の行はファイルごとに1行のみです。</p>
+ * 
+ * <p>時刻は文字列として比較します（ISO 8601 形式など、辞書順が時刻順になる書式を想定）。
+ * 同じ時刻の行は、指定したファイルの順、ファイル内の行順に並びます。</p>
+ */
+public class TimestampMergeLoader {
+
+    /**
+     * 複数ファイルを時刻カラムの順に結合して読み込みます。
+     * 
+     * @param paths           読み込むファイルのパス（同時刻の行はこの順に並ぶ）
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @param maxRows         読み込む最大行数
+     * @param cancelled       中断を判定する関数
+     * @param progress        1,000 行ごとに結合済みの行数を受け取る関数
+     * @return 読み込み結果（各行は {@link SourcedLogRow}）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public FileLoadResult load(List<Path> paths, int timestampColumn, int maxRows, BooleanSupplier cancelled,
+            IntConsumer progress) throws IOException {
+        return load(paths, Collections.nCopies(paths.size(), StandardCharsets.UTF_8), timestampColumn, maxRows,
+            cancelled, progress);
+    }
+
+    /**
+     * 文字コードを指定して、複数ファイルを時刻カラムの順に結合して読み込みます。
+     * 
+     * @param paths           読み込むファイルのパス（同時刻の行はこの順に並ぶ）
+     * @param charsets        各ファイルの文字コード（paths と同じ順）
+     * @param timestampColumn 時刻カラムのインデックス（0始まり）
+     * @param maxRows         読み込む最大行数
+     * @param cancelled       中断を判定する関数
+     * @param progress        1,000 行ごとに結合済みの行数を受け取る関数
+     * @return 読み込み結果（各行は {@link SourcedLogRow}）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public FileLoadResult load(List<Path> paths, List<Charset> charsets, int timestampColumn, int maxRows,
+            BooleanSupplier cancelled, IntConsumer progress) throws IOException {
+        List<Cursor> cursors = new ArrayList<>();
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator
+            .comparing((Cursor c) -> c.timestamp)
+            .thenComparingInt(c -> c.order));
+        List<LogRow> rows = new ArrayList<>();
+        int columnCount = 0;
+        boolean truncated = false;
+
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                Path path = paths.get(i);
+                CompressionFormat format = CompressionFormat.detect(path);
+                Charset charset = charsets.get(i);
+                Cursor cursor = new Cursor(
+                    new TsvByteReader(FileIOService.openLogStream(path, format, charset),
+                        CharsetDetector.fieldCharset(charset)),
+                    String.valueOf(path.getFileName()), i, timestampColumn);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                if (rows.size() >= maxRows) {
+                    truncated = true;
+                    break;
+                }
+                Cursor cursor = queue.poll();
+                if (cursor.fields.length > columnCount) {
+                    columnCount = cursor.fields.length;
+                }
+                rows.add(new SourcedLogRow(cursor.fields, rows.size() + 1, cursor.source, cursor.lineNumber));
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+
+                if (rows.size() % 1_000 == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        break;
+                    }
+                    progress.accept(rows.size());
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.reader.close();
+            }
+        }
+
+        return new FileLoadResult(rows, columnCount, truncated, -1);
+    }
+
+    /**
+     * 1ファイル分の読み込み位置。直近に読み込んだ1行を保持します。
+     */
+    private static final class Cursor {
+        final TsvByteReader reader;
+        final String source;
+        final int order;
+        final int timestampColumn;
+        String[] fields;
+        String timestamp;
+        int lineNumber = 0;
+
+        Cursor(TsvByteReader reader, String source, int order, int timestampColumn) {
+            this.reader = reader;
+            this.source = source;
+            this.order = order;
+            this.timestampColumn = timestampColumn;
+        }
+
+        /**
+         * 次の行を読み込みます。
+         * 
+         * @return 行を読み込めた場合は true、ファイル末尾の場合は false
+         */
+        boolean advance() throws IOException {
+            if (!reader.next()) {
+                return false;
+            }
+            TsvTokenizer tokenizer = reader.tokenizer();
+            fields = tokenizer.fields();
+            timestamp = timestampColumn < fields.length ? fields[timestampColumn] : "";
+            lineNumber++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package logviewer.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 入力ストリームからバイト単位で行を読み出し、{@link TsvTokenizer} で分割するリーダー。
+ * 
+ * <p>BufferedReader.readLine() と異なり、行を String にデコードせずに
+ * 内部バッファ上で改行とタブを走査します。改行は LF または CRLF を認識し、
+ * 末尾に改行のない最終行も1行として返します。</p>
+ * 
+ * <p>{@link #next()} で行を進めた後、次に {@link #next()} を呼ぶまでの間だけ
+ * {@link #tokenizer()} からその行のフィールドを取得できます。</p>
+ */
+public class TsvByteReader implements Closeable {
+    /** 初期バッファサイズ */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final TsvTokenizer tokenizer = new TsvTokenizer();
+    private byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean eof = false;
+
+    /** buffer[0] がストリーム先頭から何バイト目か */
+    private long bufferOffset = 0;
+
+    /** 直前に読んだ行の直後（改行を含む）のストリーム上の位置 */
+    private long lineEndOffset = 0;
+
+    /** 直前に読んだ行が改行で終わっていたか */
+    private boolean lineTerminated = false;
+
+    /**
+     * 入力ストリームを読むリーダーを生成します。
+     * 
+     * @param in 入力ストリーム
+     */
+    public TsvByteReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * バッファサイズを指定してリーダーを生成します。
+     * バッファより長い行を読んだ場合、バッファは自動的に拡張されます。
+     * 
+     * @param in         入力ストリーム
+     * @param bufferSize 初期バッファサイズ
+     */
+    public TsvByteReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * フィールドをデコードする文字コードを指定してリーダーを生成します。
+     * 
+     * @param in      入力ストリーム
+     * @param charset 文字コード（0x09 と 0x0A が2バイト文字の一部に現れないもの）
+     * @see TsvTokenizer#setCharset(Charset)
+     */
+    public TsvByteReader(InputStream in, Charset charset) {
+        this(in, DEFAULT_BUFFER_SIZE);
+        tokenizer.setCharset(charset);
+    }
+
+    /**
+     * 次の行を読み込んで分割します。
+     * 
+     * @return 行を読み込めた場合は true、ストリーム終端の場合は false
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public boolean next() throws IOException {
+        return advance(true);
+    }
+
+    /**
+     * 次の行を分割せずに読み飛ばします。
+     * 読み飛ばした後は、次に {@link #next()} を呼ぶまで {@link #tokenizer()} の内容は無効です。
+     * 
+     * @return 行を読み飛ばせた場合は true、ストリーム終端の場合は false
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public boolean skip() throws IOException {
+        return advance(false);
+    }
+
+    /**
+     * 次の改行まで読み取り位置を進めます。
+     * 
+     * @param tokenize 読んだ行を分割する場合は true
+     */
+    private boolean advance(boolean tokenize) throws IOException {
+        int scanFrom = position;
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    emitLine(i, i + 1, tokenize);
+                    lineTerminated = true;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (position < limit) {
+                    emitLine(limit, limit, tokenize);
+                    lineTerminated = false;
+                    return true;
+                }
+                return false;
+            }
+            scanFrom = limit - position;
+            fill();
+            scanFrom += position;
+        }
+    }
+
+    /**
+     * [position, end) を1行として（tokenize が true の場合は）分割し、読み取り位置を next まで進めます。
+     */
+    private void emitLine(int end, int next, boolean tokenize) {
+        if (tokenize) {
+            int lineEnd = end;
+            if (lineEnd > position && buffer[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            tokenizer.tokenize(buffer, position, lineEnd);
+        }
+        position = next;
+        lineEndOffset = bufferOffset + next;
+    }
+
+    /**
+     * 未処理のデータをバッファ先頭へ詰め、空いた領域にストリームから読み込みます。
+     * 1行がバッファに収まらない場合はバッファを拡張します。
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            bufferOffset += position;
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    /**
+     * 直前に読んだ行を分割したトークナイザを返します。
+     * 
+     * @return トークナイザ
+     */
+    public TsvTokenizer tokenizer() {
+        return tokenizer;
+    }
+
+    /**
+     * 直前に読んだ行の直後（改行を含む）のストリーム上のバイト位置を返します。
+     * 
+     * @return 読み込み済みバイト数
+     */
+    public long getLineEndOffset() {
+        return lineEndOffset;
+    }
+
+    /**
+     * 直前に読んだ行が改行で終わっていたかを返します。
+     * ストリーム終端の改行のない行では false になります。
+     * 
+     * @return 改行で終わっていた場合は true
+     */
+    public boolean isLineTerminated() {
+        return lineTerminated;
+    }
+
+    /**
+     * 入力ストリームを閉じます。
+     * 
+     * @throws IOException クローズに失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
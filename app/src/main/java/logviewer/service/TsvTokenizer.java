@@ -0,0 +1,143 @@
+package logviewer.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8 のバイト列からなる1行をタブで分割するトークナイザ。
+ * 
+ * <p>行をデコードせずにバイト列のままタブを走査し、各フィールドの開始位置を
+ * int 配列に記録します。フィールドの文字列は {@link #field(int)} などで
+ * 要求されたときにのみ生成するため、分割処理自体はオブジェクトを割り当てません。
+ * 位置配列は再利用されるため、1つのインスタンスを複数行に使い回せます。</p>
+ * 
+ * <p>Shift_JIS や EUC-JP のように 0x09 が2バイト文字の一部に現れない文字コードの行も、
+ * {@link #setCharset(Charset)} で文字コードを指定すれば同じ方法で分割し、
+ * フィールドの内容だけをその文字コードでデコードします。</p>
+ * 
+ * <p>このクラスはスレッドセーフではありません。また、{@link #tokenize(byte[], int, int)}
+ * に渡したバイト配列の内容は、次の行を分割するまで変更しないでください。</p>
+ */
+public class TsvTokenizer {
+    private byte[] bytes;
+    private int[] fieldStarts = new int[32];
+    private int fieldCount = 0;
+    private int lineEnd = 0;
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * フィールドをデコードする文字コードを設定します（既定は UTF-8）。
+     * 
+     * @param charset 文字コード（0x09 と 0x0A が2バイト文字の一部に現れないもの）
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * フィールドをデコードする文字コードを取得します。
+     * 
+     * @return 文字コード
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 指定範囲のバイト列を1行としてタブで分割します。
+     * 範囲には改行コードを含めないでください。
+     * 
+     * @param bytes 行を含むバイト配列
+     * @param start 行の開始位置
+     * @param end   行の終了位置（この位置は含まない）
+     */
+    public void tokenize(byte[] bytes, int start, int end) {
+        this.bytes = bytes;
+        this.lineEnd = end;
+        int[] starts = fieldStarts;
+        int count = 0;
+        starts[count++] = start;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\t') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                    fieldStarts = starts;
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        fieldCount = count;
+    }
+
+    /**
+     * 直前に分割した行のフィールド数を返します（空行は1）。
+     * 
+     * @return フィールド数
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 直前に分割した行を含むバイト配列を返します。
+     * {@link #fieldStart(int)} と {@link #fieldEnd(int)} はこの配列上の位置です。
+     * 
+     * @return バイト配列
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * 指定フィールドの開始位置を返します。
+     * 
+     * @param index フィールドインデックス
+     * @return バイト配列上の開始位置
+     */
+    public int fieldStart(int index) {
+        return fieldStarts[index];
+    }
+
+    /**
+     * 指定フィールドの終了位置（含まない）を返します。
+     * 
+     * @param index フィールドインデックス
+     * @return バイト配列上の終了位置
+     */
+    public int fieldEnd(int index) {
+        return index + 1 < fieldCount ? fieldStarts[index + 1] - 1 : lineEnd;
+    }
+
+    /**
+     * 指定フィールドをデコードした文字列を返します。
+     * 範囲外の場合は空文字を返します。
+     * 
+     * @param index フィールドインデックス
+     * @return フィールド文字列
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return "";
+        }
+        int start = fieldStarts[index];
+        int end = fieldEnd(index);
+        if (start == end) {
+            return "";
+        }
+        return new String(bytes, start, end - start, charset);
+    }
+
+    /**
+     * 全フィールドをデコードした配列を返します。
+     * 
+     * @return フィールド文字列の配列
+     */
+    public String[] fields() {
+        String[] result = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            result[i] = field(i);
+        }
+        return result;
+    }
+}
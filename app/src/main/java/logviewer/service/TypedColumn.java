@@ -0,0 +1,429 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 行リストの1カラムを型に応じたプリミティブ配列に変換した列。
+ * 
+ * <p>整数と日時は long[]、小数は double[] に1度だけ変換し、空欄や変換できない値は
+ * null ビットマップに記録します。ソートの比較ごとに文字列を解析し直す必要がなく、
+ * 数値は桁数ではなく値の大小で並びます。文字列の列は小文字化した値を保持します。
+ * null（空欄・変換できない値）は、どの値よりも小さいものとして比較します。</p>
+ * 
+ * <p>型は {@link #inferType(List, int)} で行リスト全体から均等に抜き出した標本で判定します。
+ * 標本の空欄でない値がすべて変換できた型のうち、整数・小数・日時の順に最初のものを選びます。</p>
+ */
+public final class TypedColumn {
+    /** 型の判定に使う標本の最大行数 */
+    static final int SAMPLE_SIZE = 1_000;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ColumnType type;
+    private final long[] longs;
+    private final double[] doubles;
+    private final String[] strings;
+    private final BitSet nulls;
+
+    private TypedColumn(ColumnType type, long[] longs, double[] doubles, String[] strings, BitSet nulls) {
+        this.type = type;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.strings = strings;
+        this.nulls = nulls;
+    }
+
+    /**
+     * 行リストの指定カラムを、指定した型の列に変換します。
+     * 
+     * @param rows   対象の行リスト
+     * @param column カラムインデックス
+     * @param type   変換する型
+     * @return 変換した列（要素の順は rows と同じ）
+     */
+    public static TypedColumn build(List<LogRow> rows, int column, ColumnType type) {
+        int size = rows.size();
+        BitSet nulls = new BitSet(size);
+        switch (type) {
+            case LONG:
+            case TIMESTAMP: {
+                long[] values = new long[size];
+                for (int i = 0; i < size; i++) {
+                    String value = rows.get(i).getField(column);
+                    long parsed = type == ColumnType.LONG ? parseLong(value) : parseTimestamp(value);
+                    if (parsed == Long.MIN_VALUE) {
+                        nulls.set(i);
+                    } else {
+                        values[i] = parsed;
+                    }
+                }
+                return new TypedColumn(type, values, null, null, nulls);
+            }
+            case DOUBLE: {
+                double[] values = new double[size];
+                for (int i = 0; i < size; i++) {
+                    double parsed = parseDouble(rows.get(i).getField(column));
+                    if (Double.isNaN(parsed)) {
+                        nulls.set(i);
+                    } else {
+                        values[i] = parsed;
+                    }
+                }
+                return new TypedColumn(type, null, values, null, nulls);
+            }
+            default: {
+                String[] values = new String[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = rows.get(i).getField(column).toLowerCase(Locale.ROOT);
+                }
+                return new TypedColumn(ColumnType.STRING, null, null, values, nulls);
+            }
+        }
+    }
+
+    /**
+     * 行リストから均等に抜き出した標本で、指定カラムの型を判定します。
+     * 
+     * @param rows   対象の行リスト
+     * @param column カラムインデックス
+     * @return 判定した型（空欄でない値がない場合は文字列）
+     */
+    public static ColumnType inferType(List<LogRow> rows, int column) {
+        int size = rows.size();
+        int step = Math.max(1, size / SAMPLE_SIZE);
+        boolean isLong = true;
+        boolean isDouble = true;
+        boolean isTimestamp = true;
+        int values = 0;
+        for (int i = 0; i < size && (isLong || isDouble || isTimestamp); i += step) {
+            String value = rows.get(i).getField(column);
+            if (value.isEmpty()) {
+                continue;
+            }
+            values++;
+            isLong = isLong && parses(ColumnType.LONG, value);
+            isDouble = isDouble && parses(ColumnType.DOUBLE, value);
+            isTimestamp = isTimestamp && parses(ColumnType.TIMESTAMP, value);
+        }
+        if (values == 0) {
+            return ColumnType.STRING;
+        }
+        if (isLong) {
+            return ColumnType.LONG;
+        }
+        if (isDouble) {
+            return ColumnType.DOUBLE;
+        }
+        return isTimestamp ? ColumnType.TIMESTAMP : ColumnType.STRING;
+    }
+
+    /**
+     * 行リストから {@link #inferType(List, int)} と同じ標本を抜き出し、指定カラムの空欄でない値が
+     * すべて指定した型として解析できるかを返します。
+     * 
+     * @param rows   対象の行リスト
+     * @param column カラムインデックス
+     * @param type   型
+     * @return 標本の値がすべて解析できる場合（空欄でない値がない場合を含む）は true
+     */
+    public static boolean matches(List<LogRow> rows, int column, ColumnType type) {
+        int size = rows.size();
+        int step = Math.max(1, size / SAMPLE_SIZE);
+        for (int i = 0; i < size; i += step) {
+            String value = rows.get(i).getField(column);
+            if (!value.isEmpty() && !parses(type, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 列の型を取得します。
+     * 
+     * @return 型
+     */
+    public ColumnType getType() {
+        return type;
+    }
+
+    /**
+     * 指定位置の値が null（空欄または変換できない値）かを返します。
+     * 
+     * @param index 位置
+     * @return null の場合は true
+     */
+    public boolean isNull(int index) {
+        return nulls.get(index);
+    }
+
+    /**
+     * 指定位置の整数または日時（エポックからのナノ秒）の値を返します。
+     * 
+     * @param index 位置
+     * @return 値（null の場合は 0）
+     */
+    public long longValue(int index) {
+        return longs[index];
+    }
+
+    /**
+     * 指定位置の小数の値を返します。
+     * 
+     * @param index 位置
+     * @return 値（null の場合は 0）
+     */
+    public double doubleValue(int index) {
+        return doubles[index];
+    }
+
+    /**
+     * 2つの位置の値を比較します。null はどの値よりも小さいものとします。
+     * 
+     * @param a 位置
+     * @param b 位置
+     * @return a の値が小さければ負、等しければ 0、大きければ正
+     */
+    public int compare(int a, int b) {
+        boolean aNull = nulls.get(a);
+        boolean bNull = nulls.get(b);
+        if (aNull || bNull) {
+            return Boolean.compare(!aNull, !bNull);
+        }
+        switch (type) {
+            case LONG:
+            case TIMESTAMP:
+                return Long.compare(longs[a], longs[b]);
+            case DOUBLE:
+                return Double.compare(doubles[a], doubles[b]);
+            default:
+                return strings[a].compareTo(strings[b]);
+        }
+    }
+
+    /**
+     * 2つの値を指定した型として比較します。{@link #compare(int, int)} と同じ順序です。
+     * 列を構築せずに少数の行を比較する場合に使用します。
+     * 
+     * @param type 型
+     * @param a    値
+     * @param b    値
+     * @return a が小さければ負、等しければ 0、大きければ正
+     */
+    public static int compareValues(ColumnType type, String a, String b) {
+        switch (type) {
+            case LONG:
+                return compareNullable(parseLong(a), parseLong(b));
+            case TIMESTAMP:
+                return compareNullable(parseTimestamp(a), parseTimestamp(b));
+            case DOUBLE: {
+                double x = parseDouble(a);
+                double y = parseDouble(b);
+                if (Double.isNaN(x) || Double.isNaN(y)) {
+                    return Boolean.compare(!Double.isNaN(x), !Double.isNaN(y));
+                }
+                return Double.compare(x, y);
+            }
+            default:
+                return a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 値を指定した型として解析できるかを返します。
+     * 
+     * @param type  型
+     * @param value 値
+     * @return 解析できる場合は true（文字列の場合は常に true）
+     */
+    static boolean parses(ColumnType type, String value) {
+        switch (type) {
+            case LONG:
+                return parseLong(value) != Long.MIN_VALUE;
+            case DOUBLE:
+                return !Double.isNaN(parseDouble(value));
+            case TIMESTAMP:
+                return parseTimestamp(value) != Long.MIN_VALUE;
+            default:
+                return true;
+        }
+    }
+
+    private static int compareNullable(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            return Boolean.compare(a != Long.MIN_VALUE, b != Long.MIN_VALUE);
+        }
+        return Long.compare(a, b);
+    }
+
+    /**
+     * 整数を解析します。符号と18桁までの数字のみを受け付けます。
+     * 
+     * @param value 文字列
+     * @return 値（解析できない場合は Long.MIN_VALUE）
+     */
+    static long parseLong(String value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i = 1;
+        }
+        if (i == length || length - i > 18) {
+            return Long.MIN_VALUE;
+        }
+        long result = 0;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * 小数を解析します。数字・符号・小数点・指数のみからなる10進表記を受け付けます。
+     * 
+     * @param value 文字列
+     * @return 値（解析できない場合は NaN）
+     */
+    static double parseDouble(String value) {
+        int length = value.length();
+        if (length == 0 || length > 64) {
+            return Double.NaN;
+        }
+        boolean digit = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return Double.NaN;
+            }
+        }
+        if (!digit) {
+            return Double.NaN;
+        }
+        try {
+            double result = Double.parseDouble(value);
+            return Double.isInfinite(result) ? Double.NaN : result;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 日時を解析します。yyyy-MM-dd または yyyy/MM/dd の日付に、空白または T で区切った
+     * HH:mm:ss（小数秒は . または , の後に9桁まで）と、Z または ±HH:mm のオフセットを続けた形式を
+     * 受け付けます。オフセットのない日時は UTC とみなします。
+     * 
+     * @param value 文字列
+     * @return エポックからのナノ秒（解析できない場合は Long.MIN_VALUE）
+     */
+    static long parseTimestamp(String value) {
+        int length = value.length();
+        if (length < 10) {
+            return Long.MIN_VALUE;
+        }
+        char dateSeparator = value.charAt(4);
+        if ((dateSeparator != '-' && dateSeparator != '/') || value.charAt(7) != dateSeparator) {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return Long.MIN_VALUE;
+        }
+        long seconds = daysFromCivil(year, month, day) * 86_400L;
+        long nanos = 0;
+        int i = 10;
+        if (i < length) {
+            char separator = value.charAt(i);
+            if ((separator != ' ' && separator != 'T') || length < i + 9
+                    || value.charAt(i + 3) != ':' || value.charAt(i + 6) != ':') {
+                return Long.MIN_VALUE;
+            }
+            int hour = digits(value, i + 1, 2);
+            int minute = digits(value, i + 4, 2);
+            int second = digits(value, i + 7, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+                return Long.MIN_VALUE;
+            }
+            seconds += hour * 3_600L + minute * 60L + second;
+            i += 9;
+            if (i < length && (value.charAt(i) == '.' || value.charAt(i) == ',')) {
+                i++;
+                long scale = NANOS_PER_SECOND;
+                int start = i;
+                while (i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                    if (i - start >= 9) {
+                        return Long.MIN_VALUE;
+                    }
+                    scale /= 10;
+                    nanos += (value.charAt(i) - '0') * scale;
+                    i++;
+                }
+                if (i == start) {
+                    return Long.MIN_VALUE;
+                }
+            }
+            if (i < length && value.charAt(i) == 'Z') {
+                i++;
+            } else if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                int sign = value.charAt(i) == '-' ? -1 : 1;
+                int offsetHour = digits(value, i + 1, 2);
+                int minuteStart = i + 3 < length && value.charAt(i + 3) == ':' ? i + 4 : i + 3;
+                int offsetMinute = digits(value, minuteStart, 2);
+                if (offsetHour < 0 || offsetMinute < 0) {
+                    return Long.MIN_VALUE;
+                }
+                seconds -= sign * (offsetHour * 3_600L + offsetMinute * 60L);
+                i = minuteStart + 2;
+            }
+            if (i != length) {
+                return Long.MIN_VALUE;
+            }
+        }
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    /**
+     * 指定位置の count 桁の数字を整数として返します。
+     * 
+     * @return 値（範囲外または数字以外を含む場合は -1）
+     */
+    private static int digits(String value, int start, int count) {
+        if (start + count > value.length()) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * グレゴリオ暦の日付から 1970-01-01 を起点とする通算日数を求めます。
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
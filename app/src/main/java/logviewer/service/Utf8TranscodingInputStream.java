@@ -0,0 +1,98 @@
+package logviewer.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 元のストリームを指定した文字コードでデコードし、UTF-8 にエンコードし直して返す入力ストリーム。
+ * 
+ * <p>UTF-16 のようにタブや改行が1バイトで表されない文字コードのファイルを、
+ * バイト列のまま区切りを走査する {@link TsvByteReader} で読むために使用します。
+ * 不正なバイト列は置換文字に置き換えます。</p>
+ */
+class Utf8TranscodingInputStream extends InputStream {
+    /** 一度にデコードする文字数 */
+    private static final int CHUNK_CHARS = 16 * 1024;
+
+    private final Reader reader;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(CHUNK_CHARS);
+    private final ByteBuffer bytes = ByteBuffer.allocate(CHUNK_CHARS * 3 + 16);
+    private boolean eof = false;
+
+    /**
+     * 元のストリームを UTF-8 に変換する入力ストリームを生成します。
+     * 
+     * @param in      元の入力ストリーム（このストリームを閉じると閉じられる）
+     * @param charset 元のストリームの文字コード
+     */
+    Utf8TranscodingInputStream(InputStream in, Charset charset) {
+        this.reader = new InputStreamReader(in, charset);
+        chars.flip();
+        bytes.flip();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (!bytes.hasRemaining()) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        int count = Math.min(len, bytes.remaining());
+        bytes.get(b, off, count);
+        return count;
+    }
+
+    /**
+     * 次の文字列をデコードし、UTF-8 にエンコードしてバッファに格納します。
+     * 
+     * @return ストリーム終端に達してバッファが空の場合は false
+     */
+    private boolean fill() throws IOException {
+        if (eof && !chars.hasRemaining()) {
+            return false;
+        }
+        chars.compact();
+        if (!eof) {
+            int read = reader.read(chars);
+            if (read < 0) {
+                eof = true;
+            }
+        }
+        chars.flip();
+
+        bytes.clear();
+        // 読み込み途中のサロゲートペアは次の読み込みまで残す
+        encoder.encode(chars, bytes, eof);
+        if (eof && !chars.hasRemaining()) {
+            encoder.flush(bytes);
+        }
+        bytes.flip();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
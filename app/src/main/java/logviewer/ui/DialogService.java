@@ -1,211 +1,462 @@
-package logviewer.ui;
-
-import javafx.geometry.Insets;
-import javafx.scene.control.Alert;
-import javafx.scene.control.ButtonType;
-import javafx.scene.control.CheckBox;
-import javafx.scene.control.Dialog;
-import javafx.scene.control.Label;
-import javafx.scene.control.TextInputDialog;
-import javafx.scene.control.TableView;
-import javafx.scene.layout.VBox;
-
-import logviewer.LogRow;
-import logviewer.model.LogViewerModel;
-import logviewer.service.NavigationService;
-import logviewer.service.ColumnVisibilityConfigService;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * ダイアログ処理を担当するサービスクラス。
- * 行移動ダイアログ、カラム表示/非表示ダイアログを集約します。
- */
-public class DialogService {
-    private static final String LINE_SEPARATOR = "\r\n";
-
-    private final LogViewerModel model;
-    private final NavigationService navigationService;
-    private final TableView<LogRow> table;
-    private final ColumnVisibilityConfigService configService;
-
-    /**
-     * DialogService のコンストラクタ。
-     * 
-     * @param model ログビューアモデル
-     * @param navigationService ナビゲーションサービス
-     * @param table ログテーブル
-     */
-    public DialogService(LogViewerModel model, NavigationService navigationService,
-                        TableView<LogRow> table) {
-        this.model = model;
-        this.navigationService = navigationService;
-        this.table = table;
-        this.configService = new ColumnVisibilityConfigService();
-    }
-
-    /**
-     * 指定行番号へジャンプするダイアログを表示します。
-     * ユーザーが行番号を入力するとその行にスクロール移動します。
-     */
-    public void showGoToLineDialog() {
-        if (model.getTableData().isEmpty()) {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("移動");
-            alert.setHeaderText(null);
-            alert.setContentText("データが読み込まれていません。");
-            alert.showAndWait();
-            return;
-        }
-
-        TextInputDialog dialog = new TextInputDialog();
-        dialog.setTitle("指定行へ移動");
-        dialog.setHeaderText(null);
-        dialog.setContentText("移動先の行番号を入力してください:");
-
-        dialog.showAndWait().ifPresent(input -> {
-            try {
-                int lineNumber = Integer.parseInt(input.trim());
-
-                if (lineNumber < 1) {
-                    showAlert("エラー", "行番号は1以上の整数を入力してください。");
-                    return;
-                }
-
-                // 表示中のデータから該当する行番号を持つ行を検索
-                int foundIndex = navigationService.findRowIndexByLineNumber(model.getTableData(), lineNumber);
-
-                if (foundIndex >= 0) {
-                    // 該当行を選択してスクロール
-                    table.getSelectionModel().clearSelection();
-                    table.getSelectionModel().select(foundIndex);
-                    table.scrollTo(foundIndex);
-                    table.requestFocus();
-                } else {
-                    // 該当行が見つからない場合、フィルタで除外されているか存在しない
-                    if (lineNumber <= model.getBaseData().size()) {
-                        showAlert("情報", String.format("行番号 %d は現在のフィルタ条件で非表示になっています。", lineNumber));
-                    } else {
-                        showAlert("情報", String.format("行番号 %d は存在しません。%s（最大行番号: %d）", lineNumber, LINE_SEPARATOR,
-                                model.getBaseData().size()));
-                    }
-                }
-            } catch (NumberFormatException ex) {
-                showAlert("エラー", "有効な整数を入力してください。");
-            }
-        });
-    }
-
-    /**
-     * カラムの表示/非表示を切り替えるダイアログを表示します。
-     * ユーザーがカラムの表示/非表示を設定でき、OKボタンでの確定時に設定が自動保存されます。
-     */
-    public void showColumnVisibilityDialog() {
-        if (table.getColumns().isEmpty()) {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION, "カラムがありません。先にファイルを開いてください。", ButtonType.OK);
-            alert.setHeaderText(null);
-            alert.showAndWait();
-            return;
-        }
-
-        Dialog<Void> dialog = new Dialog<>();
-        dialog.setTitle("カラムの表示/非表示");
-        dialog.setHeaderText("表示するカラムを選択してください");
-
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(10));
-
-        // 行番号カラムはスキップ（常に表示）
-        for (int i = 1; i < table.getColumns().size(); i++) {
-            var col = table.getColumns().get(i);
-            
-            // カラム名を取得（UserDataからインデックスを取得して名前を生成）
-            String colName;
-            Object userData = col.getUserData();
-            if (userData instanceof Integer) {
-                int colIndex = (Integer) userData;
-                colName = "Col " + colIndex;
-            } else {
-                // フォールバック：インデックスから直接生成
-                colName = "Column " + (i - 1);
-            }
-            
-            CheckBox checkbox = new CheckBox(colName);
-            checkbox.setSelected(col.isVisible());
-            checkbox.setOnAction(e -> col.setVisible(checkbox.isSelected()));
-            
-            content.getChildren().add(checkbox);
-        }
-
-        dialog.getDialogPane().setContent(content);
-        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
-        
-        dialog.setOnCloseRequest(e -> {
-            // OKボタンまたはXボタンで閉じた時に設定を保存
-            saveColumnVisibility();
-        });
-        
-        dialog.showAndWait();
-    }
-
-    /**
-     * 現在のカラム表示/非表示設定を設定ファイルに保存します。
-     */
-    public void saveColumnVisibility() {
-        String fileName = model.getCurrentFileName();
-        if (fileName == null || fileName.isEmpty()) {
-            return;  // ファイルが読み込まれていない場合はスキップ
-        }
-
-        List<Integer> hiddenColumns = new ArrayList<>();
-        // 行番号カラムはスキップ（インデックス0）
-        for (int i = 1; i < table.getColumns().size(); i++) {
-            if (!table.getColumns().get(i).isVisible()) {
-                // インデックス1以上のカラムが非表示の場合、i-1をカラムインデックスとして記録
-                hiddenColumns.add(i - 1);
-            }
-        }
-
-        configService.saveHiddenColumns(fileName, hiddenColumns);
-    }
-
-    /**
-     * 指定されたファイル名のカラム表示/非表示設定を復元して、テーブルに反映します。
-     *
-     * @param fileName ファイル名（パスを除いたファイル名のみ）
-     */
-    public void restoreColumnVisibility(String fileName) {
-        if (table.getColumns().isEmpty()) {
-            return;  // テーブルが初期化されていない場合はスキップ
-        }
-
-        List<Integer> hiddenColumns = configService.loadHiddenColumns(fileName);
-
-        // 最初はすべてのカラムを表示
-        for (int i = 1; i < table.getColumns().size(); i++) {
-            table.getColumns().get(i).setVisible(true);
-        }
-
-        // 非表示設定されていたカラムを非表示にする
-        for (Integer hiddenIndex : hiddenColumns) {
-            if (hiddenIndex >= 0 && hiddenIndex < table.getColumns().size() - 1) {
-                table.getColumns().get(hiddenIndex + 1).setVisible(false);
-            }
-        }
-    }
-
-    /**
-     * アラートを表示します。
-     * 
-     * @param title ダイアログタイトル
-     * @param message メッセージ
-     */
-    private void showAlert(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
-    }
-}
+package logviewer.ui;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputDialog;
+import javafx.scene.control.TableView;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+
+import logviewer.LogRow;
+import logviewer.model.LogViewerModel;
+import logviewer.service.LogRange;
+import logviewer.service.LogSample;
+import logviewer.service.NavigationService;
+import logviewer.service.ColumnVisibilityConfigService;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * ダイアログ処理を担当するサービスクラス。
+ * 行移動ダイアログ、カラム表示/非表示ダイアログを集約します。
+ */
+public class DialogService {
+    private static final String LINE_SEPARATOR = "\r\n";
+    /** 複数行レコードの開始パターンの初期値（行頭の日付） */
+    private static final String DEFAULT_RECORD_START = "\\d{4}-\\d{2}-\\d{2}";
+
+    private final LogViewerModel model;
+    private final NavigationService navigationService;
+    private final TableView<LogRow> table;
+    private final ColumnVisibilityConfigService configService;
+
+    /**
+     * DialogService のコンストラクタ。
+     * 
+     * @param model ログビューアモデル
+     * @param navigationService ナビゲーションサービス
+     * @param table ログテーブル
+     */
+    public DialogService(LogViewerModel model, NavigationService navigationService,
+                        TableView<LogRow> table) {
+        this.model = model;
+        this.navigationService = navigationService;
+        this.table = table;
+        this.configService = new ColumnVisibilityConfigService();
+    }
+
+    /**
+     * 指定行番号へジャンプするダイアログを表示します。
+     * ユーザーが行番号を入力するとその行にスクロール移動します。
+     */
+    public void showGoToLineDialog() {
+        if (model.getTableData().isEmpty()) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("移動");
+            alert.setHeaderText(null);
+            alert.setContentText("データが読み込まれていません。");
+            alert.showAndWait();
+            return;
+        }
+
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("指定行へ移動");
+        dialog.setHeaderText(null);
+        dialog.setContentText("移動先の行番号を入力してください:");
+
+        dialog.showAndWait().ifPresent(input -> {
+            try {
+                int lineNumber = Integer.parseInt(input.trim());
+
+                if (lineNumber < 1) {
+                    showAlert("エラー", "行番号は1以上の整数を入力してください。");
+                    return;
+                }
+
+                // 表示中のデータから該当する行番号を持つ行を検索
+                int foundIndex = navigationService.findRowIndexByLineNumber(model.getTableData(), lineNumber);
+                int nearestIndex = -1;
+                if (foundIndex < 0 && navigationService.findRowIndexByLineNumber(model.getBaseData(), lineNumber) < 0) {
+                    // 範囲指定やサンプリングで読み込んでいない行の場合は、最も近い行へ移動する
+                    nearestIndex = navigationService.findNearestRowIndexByLineNumber(model.getTableData(), lineNumber);
+                }
+
+                if (foundIndex >= 0) {
+                    // 該当行を選択してスクロール
+                    table.getSelectionModel().clearSelection();
+                    table.getSelectionModel().select(foundIndex);
+                    table.scrollTo(foundIndex);
+                    table.requestFocus();
+                } else if (nearestIndex >= 0) {
+                    int nearestLine = model.getTableData().get(nearestIndex).getLineNumber();
+                    table.getSelectionModel().clearSelection();
+                    table.getSelectionModel().select(nearestIndex);
+                    table.scrollTo(nearestIndex);
+                    table.requestFocus();
+                    model.setStatusMessage(String.format("行番号 %,d は読み込まれていないため、最も近い行番号 %,d へ移動しました",
+                        lineNumber, nearestLine));
+                } else {
+                    // 該当行が見つからない場合、フィルタで除外されているか存在しない
+                    if (lineNumber <= model.getBaseData().size()) {
+                        showAlert("情報", String.format("行番号 %d は現在のフィルタ条件で非表示になっています。", lineNumber));
+                    } else {
+                        showAlert("情報", String.format("行番号 %d は存在しません。%s（最大行番号: %d）", lineNumber, LINE_SEPARATOR,
+                                model.getBaseData().size()));
+                    }
+                }
+            } catch (NumberFormatException ex) {
+                showAlert("エラー", "有効な整数を入力してください。");
+            }
+        });
+    }
+
+    /**
+     * 複数ファイルを結合するときの時刻カラムを入力するダイアログを表示します。
+     * 
+     * @param fileCount 結合するファイル数
+     * @return 時刻カラムのインデックス（0始まり）。キャンセルまたは不正な入力の場合は null
+     */
+    public Integer showTimestampColumnDialog(int fileCount) {
+        TextInputDialog dialog = new TextInputDialog("0");
+        dialog.setTitle("ファイルの結合");
+        dialog.setHeaderText(String.format("%d 個のファイルを時刻順に結合して開きます", fileCount));
+        dialog.setContentText("時刻カラムの番号（0始まり）:");
+
+        String input = dialog.showAndWait().orElse(null);
+        if (input == null) {
+            return null;
+        }
+        try {
+            int column = Integer.parseInt(input.trim());
+            if (column < 0) {
+                showAlert("エラー", "カラム番号は0以上の整数を入力してください。");
+                return null;
+            }
+            return column;
+        } catch (NumberFormatException ex) {
+            showAlert("エラー", "有効な整数を入力してください。");
+            return null;
+        }
+    }
+
+    /**
+     * ローテーションされたログとして連結するファイル名のパターンを入力するダイアログを表示します。
+     * 
+     * @param directory 対象フォルダ
+     * @return 入力されたパターン（キャンセル時は null）
+     */
+    public String showGlobDialog(Path directory) {
+        TextInputDialog dialog = new TextInputDialog("*");
+        dialog.setTitle("ローテーションされたログを開く");
+        dialog.setHeaderText(String.format("%s 内のファイルを古い順に連結して開きます", directory.getFileName()));
+        dialog.setContentText("ファイル名のパターン（例: app.log*）:");
+
+        String input = dialog.showAndWait().orElse(null);
+        if (input == null || input.isBlank()) {
+            return null;
+        }
+        return input.trim();
+    }
+
+    /**
+     * 複数行にわたるレコード（スタックトレースなど）をまとめるための開始パターンを入力するダイアログを表示します。
+     * 
+     * @param current 現在の開始パターン（未設定の場合は null）
+     * @return 設定後の開始パターン（まとめない場合は null）。キャンセル時または入力が不正な場合は current
+     */
+    public Pattern showRecordStartDialog(Pattern current) {
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("複数行レコードの結合");
+        dialog.setHeaderText("開始パターンに一致しない行を、直前のレコードの最終カラムにまとめます");
+
+        CheckBox enabled = new CheckBox("複数行レコードを結合する");
+        enabled.setSelected(current != null);
+        TextField patternField = new TextField(current != null ? current.pattern() : DEFAULT_RECORD_START);
+        patternField.setPrefColumnCount(30);
+        patternField.disableProperty().bind(enabled.selectedProperty().not());
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(8);
+        grid.setPadding(new Insets(10));
+        grid.add(enabled, 0, 0, 2, 1);
+        grid.add(new Label("行頭の開始パターン（正規表現）:"), 0, 1);
+        grid.add(patternField, 1, 1);
+        grid.add(new Label("次回以降に開くファイルから適用されます。"), 0, 2, 2, 1);
+
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return current;
+        }
+        if (!enabled.isSelected()) {
+            return null;
+        }
+        String input = patternField.getText().trim();
+        if (input.isEmpty()) {
+            showAlert("エラー", "開始パターンを入力してください。");
+            return current;
+        }
+        try {
+            return Pattern.compile(input);
+        } catch (PatternSyntaxException ex) {
+            showAlert("エラー", "開始パターンが正しくありません: " + ex.getDescription());
+            return current;
+        }
+    }
+
+    /**
+     * ファイルの一部だけを開くときの範囲（時刻または行番号）を入力するダイアログを表示します。
+     * 
+     * @param fileName 対象ファイル名
+     * @return 入力された範囲（キャンセル時または入力が不正な場合は null）
+     */
+    public LogRange showRangeDialog(String fileName) {
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("範囲を指定して開く");
+        dialog.setHeaderText(String.format("%s のうち指定した範囲だけを読み込みます", fileName));
+
+        ToggleGroup kind = new ToggleGroup();
+        RadioButton byTime = new RadioButton("時刻で指定（ファイルが時刻順に並んでいること）");
+        RadioButton byLine = new RadioButton("行番号で指定");
+        byTime.setToggleGroup(kind);
+        byLine.setToggleGroup(kind);
+        byTime.setSelected(true);
+
+        TextField columnField = new TextField("0");
+        TextField fromField = new TextField();
+        fromField.setPromptText("例: 2024-01-01 10:00");
+        TextField toField = new TextField();
+        toField.setPromptText("例: 2024-01-01 10:15");
+        TextField firstLineField = new TextField("1");
+        TextField lastLineField = new TextField();
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(8);
+        grid.setPadding(new Insets(10));
+        grid.add(byTime, 0, 0, 2, 1);
+        grid.add(new Label("時刻カラムの番号（0始まり）:"), 0, 1);
+        grid.add(columnField, 1, 1);
+        grid.add(new Label("開始時刻:"), 0, 2);
+        grid.add(fromField, 1, 2);
+        grid.add(new Label("終了時刻（前方一致）:"), 0, 3);
+        grid.add(toField, 1, 3);
+        grid.add(byLine, 0, 4, 2, 1);
+        grid.add(new Label("開始行:"), 0, 5);
+        grid.add(firstLineField, 1, 5);
+        grid.add(new Label("終了行:"), 0, 6);
+        grid.add(lastLineField, 1, 6);
+
+        columnField.disableProperty().bind(byLine.selectedProperty());
+        fromField.disableProperty().bind(byLine.selectedProperty());
+        toField.disableProperty().bind(byLine.selectedProperty());
+        firstLineField.disableProperty().bind(byTime.selectedProperty());
+        lastLineField.disableProperty().bind(byTime.selectedProperty());
+
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return null;
+        }
+        try {
+            if (byTime.isSelected()) {
+                String from = fromField.getText().trim();
+                String to = toField.getText().trim();
+                if (from.isEmpty() || to.isEmpty()) {
+                    showAlert("エラー", "開始時刻と終了時刻を入力してください。");
+                    return null;
+                }
+                return LogRange.ofTime(Integer.parseInt(columnField.getText().trim()), from, to);
+            }
+            return LogRange.ofLines(Integer.parseInt(firstLineField.getText().trim()),
+                Integer.parseInt(lastLineField.getText().trim()));
+        } catch (NumberFormatException ex) {
+            showAlert("エラー", "有効な整数を入力してください。");
+            return null;
+        } catch (IllegalArgumentException ex) {
+            showAlert("エラー", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * ファイル全体から一部の行だけを抜き出して開くときの抽出方法を入力するダイアログを表示します。
+     * 
+     * @param fileName 対象ファイル名
+     * @return 入力された抽出方法（キャンセル時または入力が不正な場合は null）
+     */
+    public LogSample showSampleDialog(String fileName) {
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("サンプリングして開く");
+        dialog.setHeaderText(String.format("%s の全体から一部の行だけを抜き出して読み込みます", fileName));
+
+        ToggleGroup kind = new ToggleGroup();
+        RadioButton byInterval = new RadioButton("一定の行数ごとに抜き出す");
+        RadioButton byRandom = new RadioButton("無作為に抜き出す");
+        byInterval.setToggleGroup(kind);
+        byRandom.setToggleGroup(kind);
+        byRandom.setSelected(true);
+
+        TextField intervalField = new TextField("1000");
+        TextField countField = new TextField("100000");
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(8);
+        grid.setPadding(new Insets(10));
+        grid.add(byRandom, 0, 0, 2, 1);
+        grid.add(new Label("行数:"), 0, 1);
+        grid.add(countField, 1, 1);
+        grid.add(byInterval, 0, 2, 2, 1);
+        grid.add(new Label("間隔（行）:"), 0, 3);
+        grid.add(intervalField, 1, 3);
+
+        countField.disableProperty().bind(byInterval.selectedProperty());
+        intervalField.disableProperty().bind(byRandom.selectedProperty());
+
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return null;
+        }
+        try {
+            if (byRandom.isSelected()) {
+                return LogSample.random(Integer.parseInt(countField.getText().trim()));
+            }
+            return LogSample.everyNth(Integer.parseInt(intervalField.getText().trim()));
+        } catch (NumberFormatException ex) {
+            showAlert("エラー", "有効な整数を入力してください。");
+            return null;
+        } catch (IllegalArgumentException ex) {
+            showAlert("エラー", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * カラムの表示/非表示を切り替えるダイアログを表示します。
+     * ユーザーがカラムの表示/非表示を設定でき、OKボタンでの確定時に設定が自動保存されます。
+     */
+    public void showColumnVisibilityDialog() {
+        if (table.getColumns().isEmpty()) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION, "カラムがありません。先にファイルを開いてください。", ButtonType.OK);
+            alert.setHeaderText(null);
+            alert.showAndWait();
+            return;
+        }
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("カラムの表示/非表示");
+        dialog.setHeaderText("表示するカラムを選択してください");
+
+        VBox content = new VBox(10);
+        content.setPadding(new Insets(10));
+
+        // 行番号カラムはスキップ（常に表示）
+        for (int i = 1; i < table.getColumns().size(); i++) {
+            var col = table.getColumns().get(i);
+            
+            // カラム名を取得（UserDataからインデックスを取得し、ヘッダ行のカラム名または "Col N"）
+            String colName;
+            Object userData = col.getUserData();
+            if (userData instanceof Integer) {
+                int colIndex = (Integer) userData;
+                colName = model.getColumnName(colIndex);
+            } else {
+                // フォールバック：インデックスから直接生成
+                colName = "Column " + (i - 1);
+            }
+            
+            CheckBox checkbox = new CheckBox(colName);
+            checkbox.setSelected(col.isVisible());
+            checkbox.setOnAction(e -> col.setVisible(checkbox.isSelected()));
+            
+            content.getChildren().add(checkbox);
+        }
+
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
+        
+        dialog.setOnCloseRequest(e -> {
+            // OKボタンまたはXボタンで閉じた時に設定を保存
+            saveColumnVisibility();
+        });
+        
+        dialog.showAndWait();
+    }
+
+    /**
+     * 現在のカラム表示/非表示設定を設定ファイルに保存します。
+     */
+    public void saveColumnVisibility() {
+        String fileName = model.getCurrentFileName();
+        if (fileName == null || fileName.isEmpty()) {
+            return;  // ファイルが読み込まれていない場合はスキップ
+        }
+
+        List<Integer> hiddenColumns = new ArrayList<>();
+        // 行番号カラムはスキップ（インデックス0）
+        for (int i = 1; i < table.getColumns().size(); i++) {
+            if (!table.getColumns().get(i).isVisible()) {
+                // インデックス1以上のカラムが非表示の場合、i-1をカラムインデックスとして記録
+                hiddenColumns.add(i - 1);
+            }
+        }
+
+        configService.saveHiddenColumns(fileName, hiddenColumns);
+    }
+
+    /**
+     * 指定されたファイル名のカラム表示/非表示設定を復元して、テーブルに反映します。
+     *
+     * @param fileName ファイル名（パスを除いたファイル名のみ）
+     */
+    public void restoreColumnVisibility(String fileName) {
+        if (table.getColumns().isEmpty()) {
+            return;  // テーブルが初期化されていない場合はスキップ
+        }
+
+        List<Integer> hiddenColumns = configService.loadHiddenColumns(fileName);
+
+        // 最初はすべてのカラムを表示
+        for (int i = 1; i < table.getColumns().size(); i++) {
+            table.getColumns().get(i).setVisible(true);
+        }
+
+        // 非表示設定されていたカラムを非表示にする
+        for (Integer hiddenIndex : hiddenColumns) {
+            if (hiddenIndex >= 0 && hiddenIndex < table.getColumns().size() - 1) {
+                table.getColumns().get(hiddenIndex + 1).setVisible(false);
+            }
+        }
+    }
+
+    /**
+     * アラートを表示します。
+     * 
+     * @param title ダイアログタイトル
+     * @param message メッセージ
+     */
+    private void showAlert(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,180 +1,275 @@
-package logviewer.ui;
-
-import javafx.scene.control.Menu;
-import javafx.scene.control.MenuBar;
-import javafx.scene.control.MenuItem;
-import javafx.scene.control.SeparatorMenuItem;
-import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyCodeCombination;
-import javafx.scene.input.KeyCombination;
-import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
-import javafx.concurrent.Task;
-import javafx.stage.Stage;
-import java.util.function.Consumer;
-
-import logviewer.controller.MainController;
-import logviewer.model.LogViewerModel;
-import logviewer.service.FileLoadResult;
-
-/**
- * メニューバーの構築を担当するファクトリクラス。
- * ファイル、編集、カラム、移動メニューの構築ロジックをカプセル化します。
- */
-public class MenuBarFactory {
-    private final MainController controller;
-    private final LogViewerModel model;
-    private final javafx.scene.control.TableView<logviewer.LogRow> table;
-    private final ProgressDialogService progressDialogService;
-    private final Runnable onExportDisplayedData;
-    private final Runnable onExportSelectedRows;
-    private final Runnable onShowColumnVisibilityDialog;
-    private final Runnable onShowGoToLineDialog;
-    private final Runnable onCopySelection;
-
-    /**
-     * MenuBarFactory のコンストラクタ。
-     * 
-     * @param controller メインコントローラー
-     * @param model ログビューアモデル
-     * @param table ログテーブル
-     * @param progressDialogService プログレスダイアログサービス
-     * @param onExportDisplayedData 表示データエクスポート実行時のコールバック
-     * @param onExportSelectedRows 選択行エクスポート実行時のコールバック
-     * @param onShowColumnVisibilityDialog カラム表示/非表示ダイアログ表示時のコールバック
-     * @param onShowGoToLineDialog 行移動ダイアログ表示時のコールバック
-     * @param onCopySelection コピー実行時のコールバック
-     */
-    public MenuBarFactory(MainController controller, LogViewerModel model,
-                         javafx.scene.control.TableView<logviewer.LogRow> table,
-                         ProgressDialogService progressDialogService,
-                         Runnable onExportDisplayedData, Runnable onExportSelectedRows,
-                         Runnable onShowColumnVisibilityDialog, Runnable onShowGoToLineDialog,
-                         Runnable onCopySelection) {
-        this.controller = controller;
-        this.model = model;
-        this.table = table;
-        this.progressDialogService = progressDialogService;
-        this.onExportDisplayedData = onExportDisplayedData;
-        this.onExportSelectedRows = onExportSelectedRows;
-        this.onShowColumnVisibilityDialog = onShowColumnVisibilityDialog;
-        this.onShowGoToLineDialog = onShowGoToLineDialog;
-        this.onCopySelection = onCopySelection;
-    }
-
-    /**
-     * メニューバーを構築します。
-     * 
-     * @param primaryStage メインステージ
-     * @param onPrepareForFileLoad ファイル読み込み準備時のコールバック
-     * @param onFileLoaded ファイル読み込み成功時のコールバック
-     * @param onFileLoadFailed ファイル読み込み失敗時のコールバック
-     * @param onFileClosed ファイルクローズ時のコールバック
-     * @return 構築されたメニューバー
-     */
-    public MenuBar build(Stage primaryStage, 
-                        Runnable onPrepareForFileLoad,
-                        Consumer<FileLoadResult> onFileLoaded,
-                        Consumer<Throwable> onFileLoadFailed,
-                        Runnable onFileClosed) {
-        MenuBar menuBar = new MenuBar();
-        
-        Menu fileMenu = buildFileMenu(primaryStage, onPrepareForFileLoad, onFileLoaded, onFileLoadFailed, onFileClosed);
-        Menu editMenu = buildEditMenu();
-        Menu columnMenu = buildColumnMenu();
-        Menu goMenu = buildGoMenu();
-        
-        menuBar.getMenus().addAll(fileMenu, editMenu, columnMenu, goMenu);
-        return menuBar;
-    }
-
-    /**
-     * ファイルメニューを構築します。
-     */
-    private Menu buildFileMenu(Stage primaryStage,
-                              Runnable onPrepareForFileLoad,
-                              Consumer<FileLoadResult> onFileLoaded,
-                              Consumer<Throwable> onFileLoadFailed,
-                              Runnable onFileClosed) {
-        Menu fileMenu = new Menu("ファイル(_F)");
-        
-        MenuItem openItem = new MenuItem("開く...");
-        openItem.setAccelerator(new KeyCodeCombination(KeyCode.O, KeyCombination.CONTROL_DOWN));
-        openItem.setOnAction(e -> {
-            Task<FileLoadResult> task = controller.handleOpenFile(
-                primaryStage,
-                onPrepareForFileLoad,
-                onFileLoaded,
-                onFileLoadFailed
-            );
-            if (task != null) {
-                progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
-            }
-        });
-
-        MenuItem closeItem = new MenuItem("閉じる");
-        closeItem.setAccelerator(new KeyCodeCombination(KeyCode.W, KeyCombination.CONTROL_DOWN));
-        closeItem.setOnAction(e -> controller.handleCloseFile(onFileClosed));
-        closeItem.disableProperty().bind(Bindings.isEmpty(model.getTableData()));
-
-        MenuItem exportDisplayedItem = new MenuItem("表示中のデータをエクスポート...");
-        exportDisplayedItem.setOnAction(e -> onExportDisplayedData.run());
-        exportDisplayedItem.disableProperty().bind(Bindings.isEmpty(model.getTableData()));
-
-        MenuItem exportSelectedRowsItem = new MenuItem("選択行をエクスポート...");
-        exportSelectedRowsItem.setAccelerator(
-            new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN));
-        exportSelectedRowsItem.setOnAction(e -> onExportSelectedRows.run());
-        exportSelectedRowsItem.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedCells()));
-
-        MenuItem exitItem = new MenuItem("終了");
-        exitItem.setOnAction(e -> Platform.exit());
-        
-        fileMenu.getItems().addAll(openItem, closeItem, new SeparatorMenuItem(), exportDisplayedItem, exportSelectedRowsItem,
-            new SeparatorMenuItem(), exitItem);
-        
-        return fileMenu;
-    }
-
-    /**
-     * 編集メニューを構築します。
-     */
-    private Menu buildEditMenu() {
-        Menu editMenu = new Menu("編集(_E)");
-        
-        MenuItem copyItem = new MenuItem("コピー");
-        copyItem.setAccelerator(new KeyCodeCombination(KeyCode.C, KeyCombination.CONTROL_DOWN));
-        copyItem.setOnAction(e -> onCopySelection.run());
-        copyItem.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedCells()));
-        
-        editMenu.getItems().addAll(copyItem);
-        return editMenu;
-    }
-
-    /**
-     * カラムメニューを構築します。
-     */
-    private Menu buildColumnMenu() {
-        Menu columnMenu = new Menu("カラム(_C)");
-        
-        MenuItem columnVisibilityItem = new MenuItem("カラムの表示/非表示...");
-        columnVisibilityItem.setOnAction(e -> onShowColumnVisibilityDialog.run());
-        
-        columnMenu.getItems().add(columnVisibilityItem);
-        return columnMenu;
-    }
-
-    /**
-     * 移動メニューを構築します。
-     */
-    private Menu buildGoMenu() {
-        Menu goMenu = new Menu("移動(_G)");
-        
-        MenuItem goToLineItem = new MenuItem("指定行へ移動...");
-        goToLineItem.setAccelerator(new KeyCodeCombination(KeyCode.G, KeyCombination.CONTROL_DOWN));
-        goToLineItem.setOnAction(e -> onShowGoToLineDialog.run());
-        
-        goMenu.getItems().add(goToLineItem);
-        return goMenu;
-    }
-}
+package logviewer.ui;
+
+import javafx.scene.control.CheckMenuItem;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuBar;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.RadioMenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.concurrent.Task;
+import javafx.stage.Stage;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import logviewer.controller.MainController;
+import logviewer.model.LogViewerModel;
+import logviewer.service.FileLoadResult;
+import logviewer.service.LoadMode;
+import logviewer.service.TextEncoding;
+
+/**
+ * メニューバーの構築を担当するファクトリクラス。
+ * ファイル、編集、カラム、移動メニューの構築ロジックをカプセル化します。
+ */
+public class MenuBarFactory {
+    private final MainController controller;
+    private final LogViewerModel model;
+    private final javafx.scene.control.TableView<logviewer.LogRow> table;
+    private final ProgressDialogService progressDialogService;
+    private final Runnable onExportDisplayedData;
+    private final Runnable onExportSelectedRows;
+    private final Runnable onShowColumnVisibilityDialog;
+    private final Runnable onShowGoToLineDialog;
+    private final Runnable onCopySelection;
+    private final Runnable onOpenRange;
+    private final Runnable onOpenSample;
+    private final Runnable onConfigureRecordStart;
+
+    /**
+     * MenuBarFactory のコンストラクタ。
+     * 
+     * @param controller メインコントローラー
+     * @param model ログビューアモデル
+     * @param table ログテーブル
+     * @param progressDialogService プログレスダイアログサービス
+     * @param onExportDisplayedData 表示データエクスポート実行時のコールバック
+     * @param onExportSelectedRows 選択行エクスポート実行時のコールバック
+     * @param onShowColumnVisibilityDialog カラム表示/非表示ダイアログ表示時のコールバック
+     * @param onShowGoToLineDialog 行移動ダイアログ表示時のコールバック
+     * @param onCopySelection コピー実行時のコールバック
+     * @param onOpenRange 範囲を指定して開く実行時のコールバック
+     * @param onOpenSample サンプリングして開く実行時のコールバック
+     * @param onConfigureRecordStart 複数行レコードの結合設定時のコールバック
+     */
+    public MenuBarFactory(MainController controller, LogViewerModel model,
+                         javafx.scene.control.TableView<logviewer.LogRow> table,
+                         ProgressDialogService progressDialogService,
+                         Runnable onExportDisplayedData, Runnable onExportSelectedRows,
+                         Runnable onShowColumnVisibilityDialog, Runnable onShowGoToLineDialog,
+                         Runnable onCopySelection, Runnable onOpenRange, Runnable onOpenSample,
+                         Runnable onConfigureRecordStart) {
+        this.controller = controller;
+        this.model = model;
+        this.table = table;
+        this.progressDialogService = progressDialogService;
+        this.onExportDisplayedData = onExportDisplayedData;
+        this.onExportSelectedRows = onExportSelectedRows;
+        this.onShowColumnVisibilityDialog = onShowColumnVisibilityDialog;
+        this.onShowGoToLineDialog = onShowGoToLineDialog;
+        this.onCopySelection = onCopySelection;
+        this.onOpenRange = onOpenRange;
+        this.onOpenSample = onOpenSample;
+        this.onConfigureRecordStart = onConfigureRecordStart;
+    }
+
+    /**
+     * メニューバーを構築します。
+     * 
+     * @param primaryStage メインステージ
+     * @param onPrepareForFileLoad ファイル読み込み準備時のコールバック
+     * @param onFileLoaded ファイル読み込み成功時のコールバック
+     * @param onFileLoadFailed ファイル読み込み失敗時のコールバック
+     * @param onFileClosed ファイルクローズ時のコールバック
+     * @param onOpenFiles 複数ファイルを選択した時のコールバック
+     * @return 構築されたメニューバー
+     */
+    public MenuBar build(Stage primaryStage, 
+                        Runnable onPrepareForFileLoad,
+                        Consumer<FileLoadResult> onFileLoaded,
+                        Consumer<Throwable> onFileLoadFailed,
+                        Runnable onFileClosed,
+                        Consumer<List<Path>> onOpenFiles) {
+        MenuBar menuBar = new MenuBar();
+        
+        Menu fileMenu = buildFileMenu(primaryStage, onPrepareForFileLoad, onFileLoaded, onFileLoadFailed, onFileClosed,
+            onOpenFiles);
+        Menu editMenu = buildEditMenu();
+        Menu columnMenu = buildColumnMenu();
+        Menu goMenu = buildGoMenu();
+        
+        menuBar.getMenus().addAll(fileMenu, editMenu, columnMenu, goMenu);
+        return menuBar;
+    }
+
+    /**
+     * ファイルメニューを構築します。
+     */
+    private Menu buildFileMenu(Stage primaryStage,
+                              Runnable onPrepareForFileLoad,
+                              Consumer<FileLoadResult> onFileLoaded,
+                              Consumer<Throwable> onFileLoadFailed,
+                              Runnable onFileClosed,
+                              Consumer<List<Path>> onOpenFiles) {
+        Menu fileMenu = new Menu("ファイル(_F)");
+        
+        MenuItem openItem = new MenuItem("開く...");
+        openItem.setAccelerator(new KeyCodeCombination(KeyCode.O, KeyCombination.CONTROL_DOWN));
+        openItem.setOnAction(e -> {
+            Task<FileLoadResult> task = controller.handleOpenFile(
+                primaryStage,
+                onPrepareForFileLoad,
+                onFileLoaded,
+                onFileLoadFailed
+            );
+            if (task != null) {
+                progressDialogService.show(task, "ファイル読み込み中...", primaryStage);
+            }
+        });
+
+        MenuItem openRangeItem = new MenuItem("範囲を指定して開く...");
+        openRangeItem.setOnAction(e -> onOpenRange.run());
+
+        MenuItem openSampleItem = new MenuItem("サンプリングして開く（プレビュー）...");
+        openSampleItem.setOnAction(e -> onOpenSample.run());
+
+        MenuItem openMergedItem = new MenuItem("複数ファイルを時刻順に結合して開く...");
+        openMergedItem.setOnAction(e -> {
+            List<Path> paths = controller.chooseFiles(primaryStage);
+            if (!paths.isEmpty()) {
+                onOpenFiles.accept(paths);
+            }
+        });
+
+        MenuItem openRotatedItem = new MenuItem("ローテーションされたログを開く（フォルダ）...");
+        openRotatedItem.setOnAction(e -> {
+            Path directory = controller.chooseDirectory(primaryStage);
+            if (directory != null) {
+                onOpenFiles.accept(List.of(directory));
+            }
+        });
+
+        MenuItem closeItem = new MenuItem("閉じる");
+        closeItem.setAccelerator(new KeyCodeCombination(KeyCode.W, KeyCombination.CONTROL_DOWN));
+        closeItem.setOnAction(e -> controller.handleCloseFile(onFileClosed));
+        closeItem.disableProperty().bind(Bindings.isEmpty(model.getTableData()));
+
+        MenuItem exportDisplayedItem = new MenuItem("表示中のデータをエクスポート...");
+        exportDisplayedItem.setOnAction(e -> onExportDisplayedData.run());
+        exportDisplayedItem.disableProperty().bind(Bindings.isEmpty(model.getTableData()));
+
+        MenuItem exportSelectedRowsItem = new MenuItem("選択行をエクスポート...");
+        exportSelectedRowsItem.setAccelerator(
+            new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN));
+        exportSelectedRowsItem.setOnAction(e -> onExportSelectedRows.run());
+        exportSelectedRowsItem.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedCells()));
+
+        Menu loadModeMenu = buildLoadModeMenu();
+        Menu textEncodingMenu = buildTextEncodingMenu();
+
+        MenuItem recordStartItem = new MenuItem("複数行レコードの結合...");
+        recordStartItem.setOnAction(e -> onConfigureRecordStart.run());
+
+        CheckMenuItem headerItem = new CheckMenuItem("1行目のヘッダ行を自動判定");
+        headerItem.setSelected(controller.isHeaderDetection());
+        headerItem.setOnAction(e -> controller.setHeaderDetection(headerItem.isSelected()));
+
+        CheckMenuItem followItem = new CheckMenuItem("追従モード（追記を自動で読み込む）");
+        followItem.setSelected(controller.isFollowEnabled());
+        followItem.setOnAction(e -> controller.setFollowEnabled(followItem.isSelected()));
+
+        MenuItem exitItem = new MenuItem("終了");
+        exitItem.setOnAction(e -> Platform.exit());
+        
+        fileMenu.getItems().addAll(openItem, openRangeItem, openSampleItem, openMergedItem, openRotatedItem, closeItem,
+            new SeparatorMenuItem(), loadModeMenu, textEncodingMenu, headerItem, recordStartItem, followItem,
+            new SeparatorMenuItem(), exportDisplayedItem, exportSelectedRowsItem,
+            new SeparatorMenuItem(), exitItem);
+        
+        return fileMenu;
+    }
+
+    /**
+     * 読み込み方式の選択メニューを構築します。
+     * 選択した方式は次回のファイル読み込みから適用されます。
+     */
+    private Menu buildLoadModeMenu() {
+        Menu loadModeMenu = new Menu("読み込み方式");
+        ToggleGroup group = new ToggleGroup();
+
+        for (LoadMode mode : LoadMode.values()) {
+            RadioMenuItem item = new RadioMenuItem(mode.getDisplayName());
+            item.setToggleGroup(group);
+            item.setSelected(mode == controller.getLoadMode());
+            item.setOnAction(e -> controller.setLoadMode(mode));
+            loadModeMenu.getItems().add(item);
+        }
+        return loadModeMenu;
+    }
+
+    /**
+     * 文字コードの選択メニューを構築します。
+     * 選択した文字コードは次回のファイル読み込みから適用されます。
+     */
+    private Menu buildTextEncodingMenu() {
+        Menu textEncodingMenu = new Menu("文字コード");
+        ToggleGroup group = new ToggleGroup();
+
+        for (TextEncoding encoding : TextEncoding.values()) {
+            RadioMenuItem item = new RadioMenuItem(encoding.getDisplayName());
+            item.setToggleGroup(group);
+            item.setSelected(encoding == controller.getTextEncoding());
+            item.setOnAction(e -> controller.setTextEncoding(encoding));
+            textEncodingMenu.getItems().add(item);
+        }
+        return textEncodingMenu;
+    }
+
+    /**
+     * 編集メニューを構築します。
+     */
+    private Menu buildEditMenu() {
+        Menu editMenu = new Menu("編集(_E)");
+        
+        MenuItem copyItem = new MenuItem("コピー");
+        copyItem.setAccelerator(new KeyCodeCombination(KeyCode.C, KeyCombination.CONTROL_DOWN));
+        copyItem.setOnAction(e -> onCopySelection.run());
+        copyItem.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedCells()));
+        
+        editMenu.getItems().addAll(copyItem);
+        return editMenu;
+    }
+
+    /**
+     * カラムメニューを構築します。
+     */
+    private Menu buildColumnMenu() {
+        Menu columnMenu = new Menu("カラム(_C)");
+        
+        MenuItem columnVisibilityItem = new MenuItem("カラムの表示/非表示...");
+        columnVisibilityItem.setOnAction(e -> onShowColumnVisibilityDialog.run());
+        
+        columnMenu.getItems().add(columnVisibilityItem);
+        return columnMenu;
+    }
+
+    /**
+     * 移動メニューを構築します。
+     */
+    private Menu buildGoMenu() {
+        Menu goMenu = new Menu("移動(_G)");
+        
+        MenuItem goToLineItem = new MenuItem("指定行へ移動...");
+        goToLineItem.setAccelerator(new KeyCodeCombination(KeyCode.G, KeyCombination.CONTROL_DOWN));
+        goToLineItem.setOnAction(e -> onShowGoToLineDialog.run());
+        
+        goMenu.getItems().add(goToLineItem);
+        return goMenu;
+    }
+}
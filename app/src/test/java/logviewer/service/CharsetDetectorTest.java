@@ -0,0 +1,125 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * CharsetDetector と FileIOService の文字コード判定付き読み込みのテストケース。
+ */
+public class CharsetDetectorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final String JAPANESE_LOG = "2024-01-01 10:00:00\t情報\t処理を開始しました（ｶﾅ）\n"
+        + "2024-01-01 10:00:01\t警告\t表示の確認：ソース\n";
+
+    private static Charset detect(byte[] bytes) {
+        return CharsetDetector.detect(bytes, bytes.length);
+    }
+
+    /**
+     * 通常系：UTF-8・Shift_JIS・EUC-JP の日本語ログを判定する。ASCII のみの場合は UTF-8 とする。
+     */
+    @Test
+    public void testDetectJapaneseEncodings() {
+        assertEquals(StandardCharsets.UTF_8, detect(JAPANESE_LOG.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(CharsetDetector.SHIFT_JIS, detect(JAPANESE_LOG.getBytes(CharsetDetector.SHIFT_JIS)));
+        assertEquals(CharsetDetector.EUC_JP, detect(JAPANESE_LOG.getBytes(CharsetDetector.EUC_JP)));
+        assertEquals(StandardCharsets.UTF_8, detect("a\tb\n".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(StandardCharsets.UTF_8, detect(new byte[0]));
+    }
+
+    /**
+     * 境界値：先頭の標本の末尾で途切れた文字は不正なバイト列とみなさない。
+     */
+    @Test
+    public void testDetectIgnoresTruncatedCharacterAtEnd() {
+        byte[] utf8 = JAPANESE_LOG.getBytes(StandardCharsets.UTF_8);
+        byte[] sjis = JAPANESE_LOG.getBytes(CharsetDetector.SHIFT_JIS);
+        // 「情」の1バイト目の直後で途切れさせる
+        int cut = "2024-01-01 10:00:00\t".length() + 1;
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(utf8, cut));
+        assertEquals(0, CharsetDetector.shiftJisErrors(sjis, cut));
+    }
+
+    /**
+     * 通常系：BOM 付きの UTF-16 と、ASCII 文字の 0x00 の偏りから BOM なしの UTF-16 を判定する。
+     * 異常系：偏りのない Nullバイトを含む場合はバイナリファイルとみなす。
+     */
+    @Test
+    public void testDetectUtf16AndBinary() {
+        assertEquals(StandardCharsets.UTF_16, detect(JAPANESE_LOG.getBytes(StandardCharsets.UTF_16)));
+        assertEquals(StandardCharsets.UTF_16LE, detect(JAPANESE_LOG.getBytes(StandardCharsets.UTF_16LE)));
+        assertEquals(StandardCharsets.UTF_16BE, detect(JAPANESE_LOG.getBytes(StandardCharsets.UTF_16BE)));
+        assertNull(detect(new byte[] {'P', 'K', 3, 4, 0, 0, 0, 8, 0, 1, 2, 0, 0, 0x7F}));
+    }
+
+    /**
+     * 通常系：Shift_JIS のファイルはフィールドだけを Shift_JIS でデコードし、メモリマップ方式を指定しても
+     * 標準方式で読み込む。追記を UTF-8 として読めないため、追従モードは使用しない。
+     */
+    @Test
+    public void testLoadShiftJisFile() throws Exception {
+        Path path = tempFolder.newFile("sjis.tsv").toPath();
+        Files.write(path, JAPANESE_LOG.getBytes(CharsetDetector.SHIFT_JIS));
+
+        FileLoadResult result = new FileIOService().loadFile(path, LoadMode.MAPPED, null, null, TaskContext.NONE);
+
+        assertEquals(2, result.rows.size());
+        assertEquals("処理を開始しました（ｶﾅ）", result.rows.get(0).getField(2));
+        assertEquals("表示の確認：ソース", result.rows.get(1).getField(2));
+        assertEquals(-1, result.endOffset);
+        assertTrue(result.note.contains(TextEncoding.SHIFT_JIS.getDisplayName()));
+    }
+
+    /**
+     * 通常系：UTF-16 のファイルは UTF-8 に変換して読み込む。サロゲートペアを含む文字も保持する。
+     */
+    @Test
+    public void testLoadUtf16File() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= 20_000; i++) {
+            sb.append(i).append("\t絵文字😀\tメッセージ").append(i).append("\r\n");
+        }
+        Path path = tempFolder.newFile("utf16.tsv").toPath();
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_16));
+
+        FileLoadResult result = new FileIOService().loadFile(path, LoadMode.STANDARD, null, null, TaskContext.NONE);
+
+        assertEquals(20_000, result.rows.size());
+        LogRow first = result.rows.get(0);
+        assertEquals("1", first.getField(0));
+        assertEquals("絵文字😀", first.getField(1));
+        LogRow last = result.rows.get(19_999);
+        assertEquals("メッセージ20000", last.getField(2));
+        assertEquals(-1, result.endOffset);
+    }
+
+    /**
+     * 通常系：文字コードを指定した場合は判定結果より指定を優先する。
+     */
+    @Test
+    public void testSpecifiedEncodingOverridesDetection() throws Exception {
+        // 2バイト文字が少なく、自動判定では UTF-8 とも EUC-JP とも決めにくい内容
+        Path path = tempFolder.newFile("euc.tsv").toPath();
+        Files.write(path, "id\t値\n".getBytes(CharsetDetector.EUC_JP));
+
+        FileIOService service = new FileIOService();
+        service.setTextEncoding(TextEncoding.EUC_JP);
+        FileLoadResult result = service.loadFile(path, LoadMode.STANDARD, null, null, TaskContext.NONE);
+        assertEquals("値", result.rows.get(0).getField(1));
+
+        service.setTextEncoding(TextEncoding.UTF_8);
+        result = service.loadFile(path, LoadMode.STANDARD, null, null, TaskContext.NONE);
+        assertNotEquals("値", result.rows.get(0).getField(1));
+    }
+}
@@ -1,81 +1,81 @@
-package logviewer.service;
-
-import org.junit.Test;
-import static org.junit.Assert.*;
-
-public class ClipboardServiceTest {
-
-    private ClipboardService clipboardService = new ClipboardService();
-
-    @Test
-    public void testServiceCreation() {
-        assertNotNull(clipboardService);
-    }
-
-    @Test
-    public void testCopyTextMethod() {
-        try {
-            clipboardService.copyText("test");
-        } catch (Exception e) {
-            // Clipboard may not be available in test environment
-        }
-    }
-
-    @Test
-    public void testCopyEmptyText() {
-        try {
-            clipboardService.copyText("");
-        } catch (Exception e) {
-            // Expected in test environment
-        }
-    }
-
-    @Test
-    public void testCopyMultilineText() {
-        try {
-            clipboardService.copyText("line1\nline2\nline3");
-        } catch (Exception e) {
-            // Expected in test environment
-        }
-    }
-
-    @Test
-    public void testCopyJapaneseText() {
-        try {
-            clipboardService.copyText("日本語テキスト");
-        } catch (Exception e) {
-            // Expected in test environment
-        }
-    }
-
-    @Test
-    public void testCopySpecialCharacters() {
-        try {
-            clipboardService.copyText("!@#$%^&*()");
-        } catch (Exception e) {
-            // Expected in test environment
-        }
-    }
-
-    @Test
-    public void testCopyLargeText() {
-        try {
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < 10000; i++) {
-                sb.append("text");
-            }
-            clipboardService.copyText(sb.toString());
-        } catch (Exception e) {
-            // Expected in test environment
-        }
-    }
-
-    @Test
-    public void testCopyNull() {
-        try {
-            clipboardService.copyText(null);
-        } catch (Exception e) {
-            // Expected behavior
-        }
-    }
-}
+package logviewer.service;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ClipboardServiceTest {
+
+    private ClipboardService clipboardService = new ClipboardService();
+
+    @Test
+    public void testServiceCreation() {
+        assertNotNull(clipboardService);
+    }
+
+    @Test
+    public void testCopyTextMethod() {
+        try {
+            clipboardService.copyText("test");
+        } catch (Exception e) {
+            // Clipboard may not be available in test environment
+        }
+    }
+
+    @Test
+    public void testCopyEmptyText() {
+        try {
+            clipboardService.copyText("");
+        } catch (Exception e) {
+            // Expected in test environment
+        }
+    }
+
+    @Test
+    public void testCopyMultilineText() {
+        try {
+            clipboardService.copyText("line1\nline2\nline3");
+        } catch (Exception e) {
+            // Expected in test environment
+        }
+    }
+
+    @Test
+    public void testCopyJapaneseText() {
+        try {
+            clipboardService.copyText("日本語テキスト");
+        } catch (Exception e) {
+            // Expected in test environment
+        }
+    }
+
+    @Test
+    public void testCopySpecialCharacters() {
+        try {
+            clipboardService.copyText("!@#$%^&*()");
+        } catch (Exception e) {
+            // Expected in test environment
+        }
+    }
+
+    @Test
+    public void testCopyLargeText() {
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 10000; i++) {
+                sb.append("text");
+            }
+            clipboardService.copyText(sb.toString());
+        } catch (Exception e) {
+            // Expected in test environment
+        }
+    }
+
+    @Test
+    public void testCopyNull() {
+        try {
+            clipboardService.copyText(null);
+        } catch (Exception e) {
+            // Expected behavior
+        }
+    }
+}
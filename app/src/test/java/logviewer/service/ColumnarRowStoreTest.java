@@ -0,0 +1,182 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * ColumnarRowStore と ColumnarLogRow のテストケース。
+ */
+public class ColumnarRowStoreTest {
+
+    private static void addLine(ColumnarRowStore store, TsvTokenizer tokenizer, String line, int lineNumber) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        tokenizer.tokenize(bytes, 0, bytes.length);
+        store.addRow(tokenizer, lineNumber);
+    }
+
+    /**
+     * 通常系：追加した行のフィールドと行番号を取得できる。
+     */
+    @Test
+    public void testAddAndGetField() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        addLine(store, tokenizer, "2024-01-01\tINFO\t起動しました", 1);
+        addLine(store, tokenizer, "2024-01-02\tERROR\t失敗", 2);
+
+        assertEquals(2, store.rowCount());
+        assertEquals(3, store.getMaxFieldCount());
+        assertEquals("INFO", store.getField(0, 1));
+        assertEquals("起動しました", store.getField(0, 2));
+        assertEquals("2024-01-02", store.getField(1, 0));
+        assertEquals(2, store.lineNumber(1));
+    }
+
+    /**
+     * 通常系：行ごとにフィールド数が異なっても正しく取得できる。
+     */
+    @Test
+    public void testRaggedRows() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        addLine(store, tokenizer, "a", 1);
+        addLine(store, tokenizer, "b\tc\td", 2);
+        addLine(store, tokenizer, "e\t", 3);
+
+        assertEquals(1, store.fieldCount(0));
+        assertEquals(3, store.fieldCount(1));
+        assertEquals(2, store.fieldCount(2));
+        assertEquals("", store.getField(0, 1));
+        assertEquals("d", store.getField(1, 2));
+        assertEquals("e", store.getField(2, 0));
+        assertEquals("", store.getField(2, 1));
+        assertEquals("", store.getField(2, 2));
+    }
+
+    /**
+     * 境界値：範囲外の行・フィールドは空文字。
+     */
+    @Test
+    public void testOutOfRange() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        addLine(store, tokenizer, "a\tb", 1);
+
+        assertEquals("", store.getField(0, -1));
+        assertEquals("", store.getField(0, 5));
+        assertEquals("", store.getField(1, 0));
+        assertEquals("", store.getField(-1, 0));
+    }
+
+    /**
+     * 境界値：ブロック境界をまたぐ行数でも正しく取得できる。
+     */
+    @Test
+    public void testManyRowsAcrossBlocks() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        int rows = 150_000;
+        for (int i = 0; i < rows; i++) {
+            addLine(store, tokenizer, "row" + i + "\t" + (i % 7), i + 1);
+        }
+        store.trimToSize();
+
+        assertEquals(rows, store.rowCount());
+        for (int i : new int[]{0, 65_535, 65_536, 131_072, rows - 1}) {
+            assertEquals("row" + i, store.getField(i, 0));
+            assertEquals(String.valueOf(i % 7), store.getField(i, 1));
+            assertEquals(i + 1, store.lineNumber(i));
+        }
+        assertTrue(store.estimatedBytes() > 0);
+    }
+
+    /**
+     * 通常系：ColumnarLogRow は LogRow と同じ契約でフィールドを返す。
+     */
+    @Test
+    public void testCreateRows() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        addLine(store, tokenizer, "x\ty", 10);
+        addLine(store, tokenizer, "z", 20);
+
+        List<LogRow> rows = store.createRows();
+
+        assertEquals(2, rows.size());
+        assertEquals(10, rows.get(0).getLineNumber());
+        assertEquals("y", rows.get(0).getField(1));
+        assertEquals(2, rows.get(0).fieldCount());
+        assertEquals(20, rows.get(1).getLineNumber());
+        assertEquals("", rows.get(1).getField(1));
+        assertEquals(1, rows.get(1).fieldCount());
+    }
+
+    /**
+     * 通常系：異なる値の少ない列は辞書化され、多い列は辞書化されない。
+     */
+    @Test
+    public void testDictionaryEncoding() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        String[] levels = {"INFO", "WARN", "ERROR"};
+        int rows = 70_000;
+        for (int i = 0; i < rows; i++) {
+            addLine(store, tokenizer, "id" + i + "\t" + levels[i % 3], i + 1);
+        }
+        store.trimToSize();
+
+        assertEquals(-1, store.fieldCode(0, 0));
+        assertEquals(3, store.dictionary(1).size());
+        for (int i : new int[]{0, 1, 65_536, rows - 1}) {
+            int code = store.fieldCode(i, 1);
+            assertTrue(code >= 0);
+            assertEquals(levels[i % 3], store.dictionary(1).value(code));
+            assertEquals(levels[i % 3], store.getField(i, 1));
+            assertEquals("id" + i, store.getField(i, 0));
+        }
+    }
+
+    /**
+     * 境界値：辞書化した列でもフィールドを持たない行は空文字、コードは -1。
+     */
+    @Test
+    public void testDictionaryEncodingWithMissingField() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        for (int i = 0; i < 100; i++) {
+            addLine(store, tokenizer, i % 10 == 0 ? "x" : "x\tA", i + 1);
+        }
+        store.trimToSize();
+
+        assertTrue(store.fieldCode(1, 1) >= 0);
+        assertEquals("A", store.getField(1, 1));
+        assertEquals(-1, store.fieldCode(0, 1));
+        assertEquals("", store.getField(0, 1));
+        assertEquals(1, store.fieldCount(0));
+    }
+
+    /**
+     * 通常系：確定後に追加した行も取得できる。
+     */
+    @Test
+    public void testAddAfterTrim() {
+        ColumnarRowStore store = new ColumnarRowStore();
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        for (int i = 0; i < 100; i++) {
+            addLine(store, tokenizer, "v\tA", i + 1);
+        }
+        store.trimToSize();
+        addLine(store, tokenizer, "w\tB", 101);
+        store.trimToSize();
+
+        assertEquals(101, store.rowCount());
+        assertEquals("A", store.getField(99, 1));
+        assertEquals("B", store.getField(100, 1));
+        assertEquals("w", store.getField(100, 0));
+    }
+}
\ No newline at end of file
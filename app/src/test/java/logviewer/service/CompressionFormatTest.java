@@ -0,0 +1,130 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompressionFormat と ReadAheadInputStream のテストケース。
+ */
+public class CompressionFormatTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 通常系：マジックバイトで形式を判定し、拡張子には依存しない。
+     */
+    @Test
+    public void testDetect() throws Exception {
+        Path plain = tempFolder.newFile("plain.gz").toPath();
+        Files.writeString(plain, "a\tb\n", StandardCharsets.UTF_8);
+        Path gz = tempFolder.newFile("log.tsv").toPath();
+        Files.write(gz, gzip("a\tb\n"));
+        Path empty = tempFolder.newFile("empty.tsv").toPath();
+
+        assertEquals(CompressionFormat.NONE, CompressionFormat.detect(plain));
+        assertEquals(CompressionFormat.GZIP, CompressionFormat.detect(gz));
+        assertEquals(CompressionFormat.NONE, CompressionFormat.detect(empty));
+    }
+
+    /**
+     * 通常系：複数メンバーを連結した gzip を1つの内容として展開する。
+     */
+    @Test
+    public void testOpenMultiMemberGzip() throws Exception {
+        Path gz = tempFolder.newFile("multi.tsv.gz").toPath();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(gzip("1\ta\n"));
+        bytes.write(gzip("2\tb\n"));
+        Files.write(gz, bytes.toByteArray());
+
+        CompressionFormat format = CompressionFormat.detect(gz);
+        assertEquals("1\ta\n2\tb\n", readAll(new ReadAheadInputStream(format.open(gz), 3, 2)));
+    }
+
+    /**
+     * 通常系：zip はディレクトリを飛ばして最初のファイルエントリを展開する。
+     */
+    @Test
+    public void testOpenZip() throws Exception {
+        Path zip = tempFolder.newFile("log.zip").toPath();
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("logs/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("logs/app.tsv"));
+            out.write("x\ty\n".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        CompressionFormat format = CompressionFormat.detect(zip);
+        assertEquals(CompressionFormat.ZIP, format);
+        assertEquals("x\ty\n", readAll(format.open(zip)));
+    }
+
+    /**
+     * 異常系：展開中のエラーは読み出し側に送出される。
+     */
+    @Test
+    public void testReadAheadPropagatesError() throws Exception {
+        Path gz = tempFolder.newFile("broken.tsv.gz").toPath();
+        byte[] data = gzip("0123456789\n".repeat(1000));
+        byte[] broken = new byte[data.length / 2];
+        System.arraycopy(data, 0, broken, 0, broken.length);
+        Files.write(gz, broken);
+
+        try (InputStream in = new ReadAheadInputStream(CompressionFormat.GZIP.open(gz), 16, 2)) {
+            in.readAllBytes();
+            fail("IOException が送出されること");
+        } catch (IOException e) {
+            // 期待どおり
+        }
+    }
+
+    /**
+     * 境界値：確保するバッファ数の上限を超えるチャンク数を読んでも、バッファを再利用して内容を欠落なく返す。
+     * 読み込んだバイト数を計測し、律速の要因を説明できる。
+     */
+    @Test
+    public void testReadAheadRecyclesBuffersAndCountsBytes() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            sb.append(i).append("\tline\n");
+        }
+        byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        // チャンク 64 バイト × (キュー容量 2 + 2) では足りず、読み終えたバッファを繰り返し使う
+        ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(content), 64, 2);
+        assertEquals(sb.toString(), readAll(in));
+        assertEquals(content.length, in.getBytesRead());
+        assertTrue(in.getReadNanos() >= 0);
+        assertTrue(in.describe().endsWith("律速"));
+    }
+}
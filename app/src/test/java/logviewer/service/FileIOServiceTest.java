@@ -1,73 +1,155 @@
-package logviewer.service;
-
-import logviewer.LogRow;
-import org.junit.Rule;
-import org.junit.Test;
-import org.junit.rules.TemporaryFolder;
-
-import java.io.File;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
-import static org.junit.Assert.*;
-
-/**
- * FileIOService のテストケース。
- */
-public class FileIOServiceTest {
-    @Rule
-    public TemporaryFolder tempFolder = new TemporaryFolder();
-
-    /**
-     * isSupportedInputFile の判定を確認します。
-     * 拡張子に基づく制限は撤廃されたため、すべてのファイルで true を返します。
-     */
-    @Test
-    public void testIsSupportedInputFile() throws Exception {
-        FileIOService service = new FileIOService();
-
-        File tsv = tempFolder.newFile("sample.tsv");
-        File txt = tempFolder.newFile("sample.txt");
-        File csv = tempFolder.newFile("sample.csv");
-
-        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
-        assertTrue(service.isSupportedInputFile(tsv.toPath()));
-        assertTrue(service.isSupportedInputFile(txt.toPath()));
-        assertTrue(service.isSupportedInputFile(csv.toPath()));
-        // null のみ false を返す
-        assertFalse(service.isSupportedInputFile(null));
-    }
-
-    /**
-     * isSupportedInputFile が大文字拡張子でも正しく判定することを確認します。
-     */
-    @Test
-    public void testIsSupportedInputFileWithUpperCase() throws Exception {
-        FileIOService service = new FileIOService();
-
-        File tsvUpper = tempFolder.newFile("sample.TSV");
-        File txtUpper = tempFolder.newFile("sample.TXT");
-
-        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
-        assertTrue(service.isSupportedInputFile(tsvUpper.toPath()));
-        assertTrue(service.isSupportedInputFile(txtUpper.toPath()));
-    }
-
-    /**
-     * isSupportedInputFile が混合大文字でも正しく判定することを確認します。
-     */
-    @Test
-    public void testIsSupportedInputFileWithMixedCase() throws Exception {
-        FileIOService service = new FileIOService();
-
-        File tsvMixed = tempFolder.newFile("sample.Tsv");
-        File txtMixed = tempFolder.newFile("sample.TxT");
-
-        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
-        assertTrue(service.isSupportedInputFile(tsvMixed.toPath()));
-        assertTrue(service.isSupportedInputFile(txtMixed.toPath()));
-    }
-}
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FileIOService のテストケース。
+ */
+public class FileIOServiceTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * isSupportedInputFile の判定を確認します。
+     * 拡張子に基づく制限は撤廃されたため、すべてのファイルで true を返します。
+     */
+    @Test
+    public void testIsSupportedInputFile() throws Exception {
+        FileIOService service = new FileIOService();
+
+        File tsv = tempFolder.newFile("sample.tsv");
+        File txt = tempFolder.newFile("sample.txt");
+        File csv = tempFolder.newFile("sample.csv");
+
+        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
+        assertTrue(service.isSupportedInputFile(tsv.toPath()));
+        assertTrue(service.isSupportedInputFile(txt.toPath()));
+        assertTrue(service.isSupportedInputFile(csv.toPath()));
+        // null のみ false を返す
+        assertFalse(service.isSupportedInputFile(null));
+    }
+
+    /**
+     * isSupportedInputFile が大文字拡張子でも正しく判定することを確認します。
+     */
+    @Test
+    public void testIsSupportedInputFileWithUpperCase() throws Exception {
+        FileIOService service = new FileIOService();
+
+        File tsvUpper = tempFolder.newFile("sample.TSV");
+        File txtUpper = tempFolder.newFile("sample.TXT");
+
+        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
+        assertTrue(service.isSupportedInputFile(tsvUpper.toPath()));
+        assertTrue(service.isSupportedInputFile(txtUpper.toPath()));
+    }
+
+    /**
+     * isSupportedInputFile が混合大文字でも正しく判定することを確認します。
+     */
+    @Test
+    public void testIsSupportedInputFileWithMixedCase() throws Exception {
+        FileIOService service = new FileIOService();
+
+        File tsvMixed = tempFolder.newFile("sample.Tsv");
+        File txtMixed = tempFolder.newFile("sample.TxT");
+
+        // 拡張子制限は撤廃されたため、すべてのファイルで true を返す
+        assertTrue(service.isSupportedInputFile(tsvMixed.toPath()));
+        assertTrue(service.isSupportedInputFile(txtMixed.toPath()));
+    }
+
+    /**
+     * 通常系：標準の読み込み方式では、読み込んだ行を BATCH_SIZE 行ごとに完了前から通知し、
+     * 通知した行を順に連結すると完了時の結果と一致する。
+     */
+    @Test
+    public void testLoadFileAsyncPublishesBatches() throws Exception {
+        int lineCount = ServiceConstants.BATCH_SIZE * 2 + 10;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= lineCount; i++) {
+            sb.append(i).append("\tmessage\n");
+        }
+        File file = tempFolder.newFile("batches.tsv");
+        Files.writeString(file.toPath(), sb.toString(), StandardCharsets.UTF_8);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        List<LogRow> published = new ArrayList<>();
+        FileLoadResult result = new FileIOService().loadFile(file.toPath(), LoadMode.STANDARD, batch -> {
+            batchSizes.add(batch.size());
+            published.addAll(batch);
+        }, null, TaskContext.NONE);
+
+        assertEquals(Arrays.asList(ServiceConstants.BATCH_SIZE, ServiceConstants.BATCH_SIZE, 10), batchSizes);
+        assertEquals(result.rows, published);
+        assertEquals(lineCount, published.get(lineCount - 1).getLineNumber());
+    }
+
+    /**
+     * 通常系：保存された非表示カラムは読み込み時に保持せず、参照された時点でファイルから読み直す。
+     * フィールド数の異なる行や非表示カラムより短い行も、全フィールドを保持した場合と同じ値を返す。
+     */
+    @Test
+    public void testLoadFileAsyncSkipsHiddenColumns() throws Exception {
+        String content = "a0\ta1\ta2\ta3\ta4\r\n"
+            + "b0\tb1\n"
+            + "\n"
+            + "c0\tc1\tc2\tc3\tc4\tc5\tc6";
+        File file = tempFolder.newFile("wide.tsv");
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        ColumnVisibilityConfigService config = new ColumnVisibilityConfigService(
+            tempFolder.getRoot().toPath().resolve("column_config.json"));
+        config.saveHiddenColumns("wide.tsv", Arrays.asList(1, 3));
+
+        FileIOService service = new FileIOService(new LineIndexCache(tempFolder.newFolder("index").toPath()), config);
+        FileLoadResult result = service.loadFile(file.toPath(), LoadMode.STANDARD, null, null, TaskContext.NONE);
+        FileLoadResult full = new FileIOService().loadFile(file.toPath(), LoadMode.STANDARD, null, null,
+            TaskContext.NONE);
+
+        assertEquals(4, result.rows.size());
+        assertEquals(full.columns, result.columns);
+        assertTrue(result.note.contains("非表示カラム 2 個"));
+        for (int i = 0; i < result.rows.size(); i++) {
+            LogRow row = result.rows.get(i);
+            LogRow expected = full.rows.get(i);
+            assertTrue(row instanceof ProjectedLogRow);
+            assertEquals(expected.fieldCount(), row.fieldCount());
+            for (int column = -1; column <= 7; column++) {
+                assertEquals(expected.getField(column), row.getField(column));
+            }
+        }
+    }
+
+    /**
+     * 境界値：改行で終わっていない最終行も読み込み、読み込み終了位置は改行まで読み込んだ行の直後とする。
+     */
+    @Test
+    public void testLoadFileKeepsUnterminatedLastLine() throws Exception {
+        List<LoadMode> modes = OffHeapRowStore.isAvailable()
+            ? List.of(LoadMode.STANDARD, LoadMode.MAPPED, LoadMode.COLUMNAR, LoadMode.OFF_HEAP)
+            : List.of(LoadMode.STANDARD, LoadMode.MAPPED, LoadMode.COLUMNAR);
+        for (LoadMode mode : modes) {
+            File file = tempFolder.newFile();
+            Files.writeString(file.toPath(), "a\t1\nb\t2\nc\t3", StandardCharsets.UTF_8);
+            FileIOService service = new FileIOService(new LineIndexCache(tempFolder.newFolder().toPath()));
+            FileLoadResult result = service.loadFile(file.toPath(), mode, null, null, TaskContext.NONE);
+
+            assertEquals(mode.name(), 3, result.rows.size());
+            assertEquals(mode.name(), "3", result.rows.get(2).getField(1));
+            assertEquals(mode.name(), "a\t1\nb\t2\n".length(), result.endOffset);
+            assertTrue(mode.name(), result.partialLastLine);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FileTailer のテストケース。
+ */
+public class FileTailerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static void append(Path path, String content) throws Exception {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    /**
+     * 通常系：追記された行のみを連番の行番号で読み込む。
+     */
+    @Test
+    public void testPollAppendedLines() throws Exception {
+        File file = tempFolder.newFile();
+        Path path = file.toPath();
+        Files.writeString(path, "a\t1\nb\t2\n", StandardCharsets.UTF_8);
+        FileTailer tailer = new FileTailer(path, Files.size(path), 3);
+
+        assertTrue(tailer.poll().isEmpty());
+
+        append(path, "c\t3\r\nd\t4\n");
+        List<LogRow> rows = tailer.poll();
+
+        assertEquals(2, rows.size());
+        assertEquals("c", rows.get(0).getField(0));
+        assertEquals("3", rows.get(0).getField(1));
+        assertEquals(3, rows.get(0).getLineNumber());
+        assertEquals(4, rows.get(1).getLineNumber());
+        assertEquals(Files.size(path), tailer.getOffset());
+        assertEquals(5, tailer.getNextLineNumber());
+    }
+
+    /**
+     * 境界値：改行で終わっていない行は改行が追記されるまで保留する。
+     */
+    @Test
+    public void testPartialLineIsDeferred() throws Exception {
+        File file = tempFolder.newFile();
+        Path path = file.toPath();
+        FileTailer tailer = new FileTailer(path, 0, 1);
+
+        append(path, "x\tpar");
+        assertTrue(tailer.poll().isEmpty());
+        assertEquals(0, tailer.getOffset());
+
+        append(path, "tial\ny\n");
+        List<LogRow> rows = tailer.poll();
+
+        assertEquals(2, rows.size());
+        assertEquals("partial", rows.get(0).getField(1));
+        assertEquals("y", rows.get(1).getField(0));
+    }
+
+    /**
+     * 異常系：ファイルが切り詰められた場合は検出して読み込まない。
+     */
+    @Test
+    public void testTruncationDetected() throws Exception {
+        File file = tempFolder.newFile();
+        Path path = file.toPath();
+        Files.writeString(path, "a\nb\n", StandardCharsets.UTF_8);
+        FileTailer tailer = new FileTailer(path, Files.size(path), 3);
+
+        Files.writeString(path, "", StandardCharsets.UTF_8);
+
+        assertTrue(tailer.poll().isEmpty());
+        assertTrue(tailer.isTruncated());
+    }
+
+    /**
+     * 境界値：読み込み時に改行で終わっていない最終行も読み込み結果に含め、
+     * 読み込み終了位置から追従した FileTailer が改行の追記後に行全体を読み直して最終行を置き換える。
+     */
+    @Test
+    public void testPartialLastLineIsReplacedByTailer() throws Exception {
+        List<LoadMode> modes = OffHeapRowStore.isAvailable()
+            ? List.of(LoadMode.STANDARD, LoadMode.MAPPED, LoadMode.COLUMNAR, LoadMode.OFF_HEAP)
+            : List.of(LoadMode.STANDARD, LoadMode.MAPPED, LoadMode.COLUMNAR);
+        for (LoadMode mode : modes) {
+            Path path = tempFolder.newFile().toPath();
+            Files.writeString(path, "a\t1\nb\t2\nc\tpar", StandardCharsets.UTF_8);
+            FileIOService service = new FileIOService(new LineIndexCache(tempFolder.newFolder().toPath()));
+            FileLoadResult result = service.loadFile(path, mode, null, null, TaskContext.NONE);
+
+            assertEquals(mode.name(), 3, result.rows.size());
+            assertEquals(mode.name(), "par", result.rows.get(2).getField(1));
+            assertEquals(mode.name(), "a\t1\nb\t2\n".length(), result.endOffset);
+            assertTrue(mode.name(), result.partialLastLine);
+
+            FileTailer tailer = new FileTailer(path, result.endOffset, result.rows.size(), true);
+            assertTrue(mode.name(), tailer.poll().isEmpty());
+            assertFalse(mode.name(), tailer.isReplacingLastRow());
+            append(path, "tial\n");
+            List<LogRow> rows = tailer.poll();
+
+            assertEquals(mode.name(), 1, rows.size());
+            assertEquals(mode.name(), "partial", rows.get(0).getField(1));
+            assertEquals(mode.name(), 3, rows.get(0).getLineNumber());
+            assertTrue(mode.name(), tailer.isReplacingLastRow());
+
+            append(path, "d\t4\n");
+            rows = tailer.poll();
+            assertEquals(mode.name(), 1, rows.size());
+            assertEquals(mode.name(), 4, rows.get(0).getLineNumber());
+            assertFalse(mode.name(), tailer.isReplacingLastRow());
+        }
+    }
+}
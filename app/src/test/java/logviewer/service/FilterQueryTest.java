@@ -0,0 +1,45 @@
+package logviewer.service;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FilterQuery のテストケース。
+ */
+public class FilterQueryTest {
+
+    /**
+     * 通常系：部分一致の入力値が長くなった場合や、条件を追加した場合は絞り込みとみなす。
+     */
+    @Test
+    public void testLongerSubstringAndAddedConditionRefine() {
+        FilterQuery payment = FilterQuery.of("Payment", 0);
+        assertTrue(FilterQuery.of("PaymentG", 0).refines(payment));
+        assertTrue(FilterQuery.of("  xpaymentgax ", 0).refines(payment));
+        assertTrue(payment.refines(payment));
+        assertTrue(FilterQuery.of(List.of(new FilterQuery.Condition("Payment", 0),
+            new FilterQuery.Condition("ERROR", 1))).refines(payment));
+        // 特定カラムの条件は、全カラムの同じ条件を絞り込んだものになる
+        assertTrue(FilterQuery.of("Payment", 2).refines(FilterQuery.of("Pay", -1)));
+        // 条件なしはどの条件からも絞り込める
+        assertTrue(payment.refines(FilterQuery.of("  ", -1)));
+    }
+
+    /**
+     * 異常系：入力値を削った場合、カラムが異なる場合、正規表現の入力値が変わった場合は絞り込みとみなさない。
+     */
+    @Test
+    public void testNotRefinement() {
+        FilterQuery payment = FilterQuery.of("Payment", 0);
+        assertFalse(FilterQuery.of("Pay", 0).refines(payment));
+        assertFalse(FilterQuery.of("PaymentG", 1).refines(payment));
+        assertFalse(FilterQuery.of("PaymentG", -1).refines(payment));
+        assertFalse(FilterQuery.of("/Payment.*/", 0).refines(payment));
+        assertFalse(FilterQuery.of("/Pay/x", 0).refines(FilterQuery.of("/Pay/", 0)));
+        assertTrue(FilterQuery.of("/Pay/", 0).refines(FilterQuery.of("/Pay/", 0)));
+        assertFalse(FilterQuery.MATCH_ALL.refines(payment));
+    }
+}
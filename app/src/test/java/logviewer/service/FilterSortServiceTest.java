@@ -1,130 +1,182 @@
-package logviewer.service;
-
-import logviewer.LogRow;
-import org.junit.Before;
-import org.junit.Test;
-
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.function.Predicate;
-
-import static org.junit.Assert.*;
-
-/**
- * FilterSortService クラスのテストケース。
- * 注：Task の実行には JavaFX 初期化が必要なため、ここではメソッドの存在と戻り値型のみテストします。
- */
-public class FilterSortServiceTest {
-    private FilterSortService filterSortService;
-    private FilterService filterService;
-    private SortService sortService;
-
-    @Before
-    public void setUp() {
-        filterSortService = new FilterSortService();
-        filterService = new FilterService();
-        sortService = new SortService();
-    }
-
-    /**
-     * 通常系：filterAndSortAsync メソッドが Task を返す。
-     */
-    @Test
-    public void testFilterAndSortAsyncReturnsTask() {
-        List<LogRow> data = new ArrayList<>();
-        data.add(new LogRow(new String[]{"test"}, 1));
-        
-        Predicate<LogRow> predicate = r -> true;
-        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-        assertTrue(task instanceof javafx.concurrent.Task);
-    }
-
-    /**
-     * 通常系：空のデータで Task が返される。
-     */
-    @Test
-    public void testFilterAndSortAsyncEmptyData() {
-        List<LogRow> data = new ArrayList<>();
-        
-        Predicate<LogRow> predicate = r -> true;
-        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-    }
-
-    /**
-     * 通常系：複数データで Task が返される。
-     */
-    @Test
-    public void testFilterAndSortAsyncMultipleRows() {
-        List<LogRow> data = new ArrayList<>();
-        data.add(new LogRow(new String[]{"z"}, 1));
-        data.add(new LogRow(new String[]{"a"}, 2));
-        data.add(new LogRow(new String[]{"m"}, 3));
-        
-        Predicate<LogRow> predicate = r -> true;
-        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-    }
-
-    /**
-     * 通常系：フィルタが機能する Predicate での Task。
-     */
-    @Test
-    public void testFilterAndSortAsyncWithPredicate() {
-        List<LogRow> data = new ArrayList<>();
-        data.add(new LogRow(new String[]{"apple"}, 1));
-        data.add(new LogRow(new String[]{"banana"}, 2));
-        
-        Predicate<LogRow> predicate = filterService.buildPredicate("apple", "All", -1);
-        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-    }
-
-    /**
-     * 通常系：降順 Comparator での Task。
-     */
-    @Test
-    public void testFilterAndSortAsyncDescending() {
-        List<LogRow> data = new ArrayList<>();
-        data.add(new LogRow(new String[]{"apple"}, 1));
-        data.add(new LogRow(new String[]{"banana"}, 2));
-        
-        Predicate<LogRow> predicate = r -> true;
-        Comparator<LogRow> comparator = sortService.buildComparator(0, false);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-    }
-
-    /**
-     * 通常系：行番号でのソート Task。
-     */
-    @Test
-    public void testFilterAndSortAsyncByLineNumber() {
-        List<LogRow> data = new ArrayList<>();
-        data.add(new LogRow(new String[]{"row1"}, 100));
-        data.add(new LogRow(new String[]{"row2"}, 50));
-        
-        Predicate<LogRow> predicate = r -> true;
-        Comparator<LogRow> comparator = sortService.buildComparator(-1, true);
-        
-        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
-        
-        assertNotNull(task);
-    }
-}
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * FilterSortService クラスのテストケース。
+ * 注：Task の実行には JavaFX 初期化が必要なため、Comparator を指定するメソッドは存在と戻り値型のみテストします。
+ * 直前の結果を使うフィルタは、タスクで実行する処理を直接呼び出して結果を確認します。
+ */
+public class FilterSortServiceTest {
+    private FilterSortService filterSortService;
+    private FilterService filterService;
+    private SortService sortService;
+
+    @Before
+    public void setUp() {
+        filterSortService = new FilterSortService();
+        filterService = new FilterService();
+        sortService = new SortService();
+    }
+
+    /**
+     * 通常系：filterAndSortAsync メソッドが Task を返す。
+     */
+    @Test
+    public void testFilterAndSortAsyncReturnsTask() {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"test"}, 1));
+        
+        Predicate<LogRow> predicate = r -> true;
+        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+        assertTrue(task instanceof javafx.concurrent.Task);
+    }
+
+    /**
+     * 通常系：空のデータで Task が返される。
+     */
+    @Test
+    public void testFilterAndSortAsyncEmptyData() {
+        List<LogRow> data = new ArrayList<>();
+        
+        Predicate<LogRow> predicate = r -> true;
+        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+    }
+
+    /**
+     * 通常系：複数データで Task が返される。
+     */
+    @Test
+    public void testFilterAndSortAsyncMultipleRows() {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"z"}, 1));
+        data.add(new LogRow(new String[]{"a"}, 2));
+        data.add(new LogRow(new String[]{"m"}, 3));
+        
+        Predicate<LogRow> predicate = r -> true;
+        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+    }
+
+    /**
+     * 通常系：フィルタが機能する Predicate での Task。
+     */
+    @Test
+    public void testFilterAndSortAsyncWithPredicate() {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"apple"}, 1));
+        data.add(new LogRow(new String[]{"banana"}, 2));
+        
+        Predicate<LogRow> predicate = filterService.buildPredicate("apple", "All", -1);
+        Comparator<LogRow> comparator = sortService.buildComparator(0, true);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+    }
+
+    /**
+     * 通常系：降順 Comparator での Task。
+     */
+    @Test
+    public void testFilterAndSortAsyncDescending() {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"apple"}, 1));
+        data.add(new LogRow(new String[]{"banana"}, 2));
+        
+        Predicate<LogRow> predicate = r -> true;
+        Comparator<LogRow> comparator = sortService.buildComparator(0, false);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+    }
+
+    /**
+     * 通常系：行番号でのソート Task。
+     */
+    @Test
+    public void testFilterAndSortAsyncByLineNumber() {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"row1"}, 100));
+        data.add(new LogRow(new String[]{"row2"}, 50));
+        
+        Predicate<LogRow> predicate = r -> true;
+        Comparator<LogRow> comparator = sortService.buildComparator(-1, true);
+        
+        javafx.concurrent.Task<List<LogRow>> task = filterSortService.filterAndSortAsync(data, predicate, comparator);
+        
+        assertNotNull(task);
+    }
+
+    private static List<LogRow> runTyped(FilterSortService service, List<LogRow> data, long dataVersion,
+            FilterQuery query) {
+        return service.filterAndSort(data, dataVersion, query, -1, true, ColumnType.STRING, () -> false);
+    }
+
+    /**
+     * 通常系：同じデータの版で入力値が長くなった場合は、直前の結果だけを判定する。
+     * 直前の結果から判定したことを確認するため、2回目は空のデータを渡す。
+     */
+    @Test
+    public void testRefinedQueryScansPreviousResult() throws Exception {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"Payment", "ok"}, 1));
+        data.add(new LogRow(new String[]{"PaymentGateway", "ok"}, 2));
+        data.add(new LogRow(new String[]{"Login", "ok"}, 3));
+        data.add(new LogRow(new String[]{"paymentgateway", "ng"}, 4));
+
+        List<LogRow> first = runTyped(filterSortService, data, 1, FilterQuery.of("Payment", -1));
+        assertEquals(3, first.size());
+
+        List<LogRow> refined = runTyped(filterSortService, new ArrayList<>(), 1, FilterQuery.of("PaymentGa", -1));
+        assertEquals(2, refined.size());
+        assertEquals(2, refined.get(0).getLineNumber());
+        assertEquals(4, refined.get(1).getLineNumber());
+
+        // 条件を追加した場合も直前の結果だけを判定する
+        List<LogRow> added = runTyped(filterSortService, new ArrayList<>(), 1, FilterQuery.of(List.of(
+            new FilterQuery.Condition("PaymentGa", -1), new FilterQuery.Condition("ng", 1))));
+        assertEquals(1, added.size());
+        assertEquals(4, added.get(0).getLineNumber());
+    }
+
+    /**
+     * 境界値：データの版が変わった場合や、条件が絞り込みでない場合は全データを判定する。
+     */
+    @Test
+    public void testCacheIsNotUsedForOtherVersionOrWiderQuery() throws Exception {
+        List<LogRow> data = new ArrayList<>();
+        data.add(new LogRow(new String[]{"Payment"}, 1));
+        data.add(new LogRow(new String[]{"Login"}, 2));
+
+        assertEquals(1, runTyped(filterSortService, data, 1, FilterQuery.of("Payment", -1)).size());
+        // 入力値を削った場合は絞り込みではない
+        assertEquals(2, runTyped(filterSortService, data, 1, FilterQuery.of("n", -1)).size());
+
+        List<LogRow> appended = new ArrayList<>(data);
+        appended.add(new LogRow(new String[]{"Payment retry"}, 3));
+        assertEquals(2, runTyped(filterSortService, appended, 2, FilterQuery.of("Payment", -1)).size());
+        assertEquals(3, runTyped(filterSortService, appended, 2, FilterQuery.MATCH_ALL).size());
+    }
+}
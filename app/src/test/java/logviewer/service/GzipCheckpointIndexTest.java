@@ -0,0 +1,154 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * GzipCheckpointIndex のテストケース。
+ */
+public class GzipCheckpointIndexTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static byte[] gzip(byte[] content, int offset, int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content, offset, length);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 内容を memberSize バイトごとに別々の gzip メンバーとして連結したファイルを作成します。
+     * メンバー境界は行の途中にも置かれます。
+     */
+    private Path writeMultiMember(String content, int memberSize) throws Exception {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int offset = 0; offset < bytes.length; offset += memberSize) {
+            out.write(gzip(bytes, offset, Math.min(memberSize, bytes.length - offset)));
+        }
+        Path path = tempFolder.newFile().toPath();
+        Files.write(path, out.toByteArray());
+        return path;
+    }
+
+    private static String lines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            sb.append(i).append("\tmessage-").append(i).append("\tINFO\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 通常系：メンバー境界にチェックポイントを記録し、任意の行を途中から展開して参照できる。
+     */
+    @Test
+    public void testMultiMemberRandomAccess() throws Exception {
+        Path path = writeMultiMember(lines(1000), 997);
+
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, Integer.MAX_VALUE, () -> false, bytes -> { },
+            2048, 8192);
+
+        assertTrue(index.isComplete());
+        assertTrue(index.isSeekable());
+        assertTrue(index.checkpointCount() > 1);
+        assertEquals(1000, index.lineCount());
+        assertEquals(3, index.getMaxFieldCount());
+        assertEquals("message-750", index.getField(749, 1));
+        assertEquals("2", index.getField(1, 0));
+        assertEquals("message-1000", index.getField(999, 1));
+        assertEquals("", index.getField(10, 5));
+        assertEquals(3, index.fieldCount(500));
+    }
+
+    /**
+     * 通常系：複数スレッドから別々のブロックと同じブロックを同時に参照しても、正しい内容を返す。
+     */
+    @Test
+    public void testConcurrentRandomAccess() throws Exception {
+        Path path = writeMultiMember(lines(2000), 997);
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, Integer.MAX_VALUE, () -> false, bytes -> { },
+            2048, 8192);
+        assertTrue(index.checkpointCount() > 8);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int first = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < 2000; i += 3) {
+                        assertEquals("message-" + (i + 1), index.getField(i, 1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 境界値：最大行数に達した場合は走査を打ち切り、未完了になる。
+     */
+    @Test
+    public void testMaxLines() throws Exception {
+        Path path = writeMultiMember(lines(100), 300);
+
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, 10, () -> false, bytes -> { }, 256, 8192);
+
+        assertFalse(index.isComplete());
+        assertEquals(10, index.lineCount());
+        assertEquals("message-10", index.getField(9, 1));
+    }
+
+    /**
+     * 異常系：単一メンバーでブロックが上限を超える場合はランダムアクセス不可と判定する。
+     */
+    @Test
+    public void testSingleMemberNotSeekable() throws Exception {
+        byte[] content = lines(1000).getBytes(StandardCharsets.UTF_8);
+        Path path = tempFolder.newFile().toPath();
+        Files.write(path, gzip(content, 0, content.length));
+
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, Integer.MAX_VALUE, () -> false, bytes -> { },
+            2048, 8192);
+
+        assertFalse(index.isSeekable());
+        assertFalse(index.isComplete());
+    }
+
+    /**
+     * 通常系：最終行に改行がない場合も1行として扱う。
+     */
+    @Test
+    public void testLastLineWithoutNewline() throws Exception {
+        Path path = writeMultiMember("a\tb\r\nlast", 3);
+
+        GzipCheckpointIndex index = GzipCheckpointIndex.build(path, Integer.MAX_VALUE, () -> false, bytes -> { });
+
+        assertEquals(2, index.lineCount());
+        assertEquals("b", index.getField(0, 1));
+        assertEquals("last", index.getField(1, 0));
+    }
+}
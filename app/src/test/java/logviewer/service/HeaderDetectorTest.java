@@ -0,0 +1,132 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * HeaderDetector、FileIOService のヘッダ行付き読み込み・エクスポート、SchemaCache のテストケース。
+ */
+public class HeaderDetectorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final String HEADER_LOG = "timestamp\tlevel\tduration_ms\tmessage\n"
+        + "2024-01-01 10:00:00\tINFO\t120\tstarted\n"
+        + "2024-01-01 10:00:01\tWARN\t9\tslow\n"
+        + "2024-01-01 10:00:02\tINFO\t1005\tdone\n";
+
+    private static List<LogRow> rows(String... lines) {
+        List<LogRow> rows = new ArrayList<>();
+        for (String line : lines) {
+            rows.add(new LogRow(line.split("\t", -1), rows.size() + 1));
+        }
+        return rows;
+    }
+
+    /**
+     * 通常系：1行目の値が下の行の型（日時・整数）として解析できない場合はヘッダ行とみなす。
+     * 異常系：1行目もデータ行の場合、すべて文字列の場合、カラム名に空欄や重複がある場合はヘッダ行とみなさない。
+     */
+    @Test
+    public void testDetect() {
+        assertEquals(List.of("time", "level", "count"),
+            HeaderDetector.detect(rows("time\tlevel\tcount", "2024-01-01\tINFO\t1", "2024-01-02\tWARN\t2")));
+        assertNull(HeaderDetector.detect(rows("2024-01-01\tINFO\t1", "2024-01-02\tWARN\t2")));
+        assertNull(HeaderDetector.detect(rows("name\tvalue", "alice\tx", "bob\ty")));
+        assertNull(HeaderDetector.detect(rows("time\t\tcount", "2024-01-01\tINFO\t1")));
+        assertNull(HeaderDetector.detect(rows("time\ttime", "2024-01-01\t1")));
+        // 日時のカラムは見出しだが、整数のカラムの1行目が数値ならデータ行とみなす
+        assertNull(HeaderDetector.detect(rows("time\t5", "2024-01-01\t1", "2024-01-02\t2")));
+        assertNull(HeaderDetector.detect(rows("time\tcount")));
+    }
+
+    /**
+     * 通常系：ヘッダ行は読み込み中に通知する行と完了時の結果から除き、カラム名として返す。
+     * 行番号はファイル内の行番号を保持する。行インデックスを構築する方式でも同じ結果になる。
+     */
+    @Test
+    public void testLoadDropsHeaderRow() throws Exception {
+        Path path = tempFolder.newFile("header.tsv").toPath();
+        Files.writeString(path, HEADER_LOG, StandardCharsets.UTF_8);
+
+        for (LoadMode mode : new LoadMode[] {LoadMode.STANDARD, LoadMode.MAPPED}) {
+            List<LogRow> published = new ArrayList<>();
+            FileIOService service = new FileIOService(new LineIndexCache(tempFolder.newFolder().toPath()));
+            FileLoadResult result = service.loadFile(path, mode, published::addAll, null, TaskContext.NONE);
+
+            assertEquals(List.of("timestamp", "level", "duration_ms", "message"), result.columnNames);
+            assertEquals(3, result.rows.size());
+            assertEquals(2, result.rows.get(0).getLineNumber());
+            assertEquals("2024-01-01 10:00:00", result.rows.get(0).getField(0));
+            assertTrue(result.note.contains("ヘッダ"));
+            if (mode == LoadMode.STANDARD) {
+                assertEquals(result.rows, published);
+            }
+        }
+
+        FileIOService disabled = new FileIOService();
+        disabled.setHeaderDetection(false);
+        FileLoadResult result = disabled.loadFile(path, LoadMode.STANDARD, null, null, TaskContext.NONE);
+        assertNull(result.columnNames);
+        assertEquals(4, result.rows.size());
+    }
+
+    /**
+     * 通常系：カラム名を指定したエクスポートは、表示中のカラムの名前をヘッダ行として出力する。
+     */
+    @Test
+    public void testExportWritesHeaderLine() throws Exception {
+        Path output = tempFolder.newFile("export.tsv").toPath();
+        List<LogRow> data = rows("2024-01-01\tINFO\t1");
+        int count = new FileIOService().exportDisplayedData(data, List.of(0, 2),
+            List.of("time", "level", "count"), output, TaskContext.NONE);
+
+        assertEquals(1, count);
+        assertEquals("time\tcount" + ServiceConstants.LINE_SEPARATOR + "2024-01-01\t1" + ServiceConstants.LINE_SEPARATOR,
+            Files.readString(output, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 通常系：同じヘッダ行のファイルでは、標本の値が型キャッシュに保存した型として解析できれば、その型を再利用する。
+     * 保存した型はファイルに書き込まれ、新しいインスタンスからも読み込める。
+     */
+    @Test
+    public void testSchemaCacheReusesTypeForSameHeader() throws Exception {
+        Path cacheFile = tempFolder.getRoot().toPath().resolve("cache").resolve("schema_cache.json");
+        List<String> header = List.of("time", "count");
+        SortService sortService = new SortService(new SchemaCache(cacheFile));
+
+        assertEquals(ColumnType.DOUBLE, sortService.inferType(rows("2024-01-01\t1.5", "2024-01-02\t9"), 1, header));
+        assertTrue(Files.exists(cacheFile));
+
+        // 同じヘッダ行であれば、標本だけでは整数と判定される値でも保存した型を使う
+        SortService reloaded = new SortService(new SchemaCache(cacheFile));
+        assertEquals(ColumnType.DOUBLE, reloaded.inferType(rows("2024-01-03\t100"), 1, header));
+        assertEquals(ColumnType.STRING, reloaded.inferType(rows("2024-01-03\tn/a"), 1, List.of("time", "other")));
+        assertEquals(ColumnType.STRING, reloaded.inferType(rows("2024-01-03\tn/a"), 1, null));
+    }
+
+    /**
+     * 異常系：同じヘッダ行でも、標本の値が型キャッシュの型として解析できない場合は判定し直し、判定した型で上書きする。
+     */
+    @Test
+    public void testSchemaCacheRecheckedAgainstSample() throws Exception {
+        Path cacheFile = tempFolder.getRoot().toPath().resolve("schema_cache.json");
+        List<String> header = List.of("time", "count");
+        SortService sortService = new SortService(new SchemaCache(cacheFile));
+        assertEquals(ColumnType.LONG, sortService.inferType(rows("2024-01-01\t100", "2024-01-02\t9"), 1, header));
+
+        assertEquals(ColumnType.STRING, sortService.inferType(rows("2024-01-03\tn/a", "2024-01-04\t7"), 1, header));
+        assertEquals(ColumnType.STRING, new SchemaCache(cacheFile).loadColumnType(header, 1));
+    }
+}
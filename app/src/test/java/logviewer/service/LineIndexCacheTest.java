@@ -0,0 +1,140 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * LineIndexCache のテストケース。
+ */
+public class LineIndexCacheTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private MappedLineIndex scan(Path path) throws Exception {
+        MappedLineIndex index = MappedLineIndex.open(path);
+        while (!index.isComplete()) {
+            index.scanLines(Integer.MAX_VALUE);
+        }
+        return index;
+    }
+
+    private Path writeLog(String content) throws Exception {
+        File file = tempFolder.newFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file.toPath();
+    }
+
+    /**
+     * 通常系：保存したインデックスを走査なしで復元できる。
+     */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        Path log = writeLog("a\tb\tc\nd\te\r\nlast");
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+        MappedLineIndex original = scan(log);
+        cache.save(original, Files.getLastModifiedTime(log).toMillis());
+
+        MappedLineIndex restored = cache.load(log);
+
+        assertNotNull(restored);
+        assertTrue(restored.isComplete());
+        assertEquals(3, restored.lineCount());
+        assertEquals(3, restored.getMaxFieldCount());
+        assertEquals("c", restored.getField(0, 2));
+        assertEquals("e", restored.getField(1, 1));
+        assertEquals("last", restored.getField(2, 0));
+    }
+
+    /**
+     * 境界値：キャッシュがない場合は null。
+     */
+    @Test
+    public void testLoadWithoutCache() throws Exception {
+        Path log = writeLog("a\n");
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+
+        assertNull(cache.load(log));
+    }
+
+    /**
+     * 異常系：ファイルが変更された場合はキャッシュを使用しない。
+     */
+    @Test
+    public void testInvalidatedByModification() throws Exception {
+        Path log = writeLog("a\nb\n");
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+        cache.save(scan(log), Files.getLastModifiedTime(log).toMillis());
+
+        Files.writeString(log, "a\nb\nc\n", StandardCharsets.UTF_8);
+        assertNull(cache.load(log));
+    }
+
+    /**
+     * 異常系：サイズが同じでも更新日時が異なればキャッシュを使用しない。
+     */
+    @Test
+    public void testInvalidatedByModifiedTime() throws Exception {
+        Path log = writeLog("a\nb\n");
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+        long modified = Files.getLastModifiedTime(log).toMillis();
+        cache.save(scan(log), modified);
+
+        Files.setLastModifiedTime(log, FileTime.fromMillis(modified + 10_000));
+        assertNull(cache.load(log));
+    }
+
+    /**
+     * 異常系：壊れたキャッシュファイルは無視する。
+     */
+    @Test
+    public void testCorruptedCache() throws Exception {
+        Path log = writeLog("a\nb\n");
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+        cache.save(scan(log), Files.getLastModifiedTime(log).toMillis());
+
+        Path cacheFile = cache.cacheFileFor(log);
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, java.util.Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertNull(cache.load(log));
+    }
+
+    /**
+     * 通常系：gzip のチェックポイント付きインデックスを保存・復元できる。
+     */
+    @Test
+    public void testSaveAndLoadGzip() throws Exception {
+        Path log = tempFolder.newFile().toPath();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (String member : new String[] {"a\tb\n", "c\td\te\n"}) {
+            try (OutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(member.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.write(log, bytes.toByteArray());
+        LineIndexCache cache = new LineIndexCache(tempFolder.newFolder().toPath());
+        GzipCheckpointIndex original = GzipCheckpointIndex.build(log, Integer.MAX_VALUE, () -> false, b -> { });
+        cache.saveGzip(original, Files.getLastModifiedTime(log).toMillis());
+
+        GzipCheckpointIndex restored = cache.loadGzip(log);
+
+        assertNotNull(restored);
+        assertEquals(2, restored.lineCount());
+        assertEquals(3, restored.getMaxFieldCount());
+        assertEquals(original.checkpointCount(), restored.checkpointCount());
+        assertEquals("e", restored.getField(1, 2));
+        assertNull(cache.load(log));
+    }
+}
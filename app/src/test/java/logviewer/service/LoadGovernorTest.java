@@ -0,0 +1,115 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * LoadGovernor と FileIOService の自動選択読み込みのテストケース。
+ */
+public class LoadGovernorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * 同じ長さの行が count 行並んだログの内容を作成します。
+     * 圧縮率が極端に高くならないよう、メッセージには乱数を含めます。
+     */
+    private static String uniformLog(int count) {
+        Random random = new Random(1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(String.format("2024-01-01 00:00:00\tINFO\tmessage %016x\n", random.nextLong()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 通常系：標本に収まらない大きさのファイルでも、行数をファイルサイズから推定する。
+     * 圧縮ファイルは標本の展開率から推定する。
+     */
+    @Test
+    public void testEstimateRowCount() throws Exception {
+        int count = 200_000;  // 約 10MB（標本の 4MB を超える）
+        String content = uniformLog(count);
+        Path plain = tempFolder.newFile("plain.tsv").toPath();
+        Files.writeString(plain, content, StandardCharsets.UTF_8);
+        Path gzip = tempFolder.newFile("plain.tsv.gz").toPath();
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        LoadGovernor.Estimate estimate = LoadGovernor.estimate(plain, CompressionFormat.NONE);
+        assertEquals(count, estimate.estimatedRows);
+        assertTrue(estimate.sampleRows < count);
+        assertTrue(estimate.standardBytesPerRow > estimate.columnarBytesPerRow);
+        assertTrue(estimate.columnarBytesPerRow > estimate.bytesPerRow);
+
+        LoadGovernor.Estimate compressed = LoadGovernor.estimate(gzip, CompressionFormat.GZIP);
+        assertEquals(count, compressed.estimatedRows, count * 0.1);
+    }
+
+    /**
+     * 境界値：予算に収まる方式のうち最も速い方式を選び、行数上限を超える場合はオフヒープ方式を選ぶ。
+     */
+    @Test
+    public void testChoose() {
+        LoadGovernor.Estimate estimate = new LoadGovernor.Estimate(1000, 1_000_000, 50, 400, 100);
+
+        assertEquals(LoadMode.STANDARD, LoadGovernor.choose(estimate, 400_000_000L, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.COLUMNAR, LoadGovernor.choose(estimate, 399_999_999L, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.MAPPED, LoadGovernor.choose(estimate, 50_000_000L, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.OFF_HEAP, LoadGovernor.choose(estimate, 50_000_000L, CompressionFormat.GZIP, true));
+        assertEquals(LoadMode.OFF_HEAP, LoadGovernor.choose(estimate, 1_000_000L, CompressionFormat.NONE, true));
+
+        LoadGovernor.Estimate huge = new LoadGovernor.Estimate(1000, ServiceConstants.MAX_ROWS + 1L, 50, 400, 100);
+        assertEquals(LoadMode.OFF_HEAP, LoadGovernor.choose(huge, Long.MAX_VALUE, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.MAPPED, LoadGovernor.choose(huge, Long.MAX_VALUE, CompressionFormat.NONE, false));
+    }
+
+    /**
+     * 境界値：オフヒープ方式の行数上限は、行ごとの参照がヒープの予算に収まる行数になる。
+     */
+    @Test
+    public void testOffHeapMaxRows() {
+        assertEquals(1_000_000, LoadGovernor.offHeapMaxRows(30_000_000L));
+        assertEquals(0, LoadGovernor.offHeapMaxRows(0));
+        assertEquals(ServiceConstants.OFF_HEAP_MAX_ROWS, LoadGovernor.offHeapMaxRows(Long.MAX_VALUE));
+    }
+
+    /**
+     * 通常系：ヒープ逼迫時の切り替え先は、より省メモリの方式になり、最後は null になる。
+     */
+    @Test
+    public void testCheaper() {
+        assertEquals(LoadMode.COLUMNAR, LoadGovernor.cheaper(LoadMode.STANDARD, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.MAPPED, LoadGovernor.cheaper(LoadMode.COLUMNAR, CompressionFormat.NONE, true));
+        assertEquals(LoadMode.OFF_HEAP, LoadGovernor.cheaper(LoadMode.COLUMNAR, CompressionFormat.GZIP, true));
+        assertNull(LoadGovernor.cheaper(LoadMode.COLUMNAR, CompressionFormat.GZIP, false));
+        assertNull(LoadGovernor.cheaper(LoadMode.OFF_HEAP, CompressionFormat.NONE, true));
+    }
+
+    /**
+     * 通常系：小さいファイルは標準方式を選び、選んだ方式と見積もりを読み込み結果に記録する。
+     */
+    @Test
+    public void testLoadFileAuto() throws Exception {
+        Path path = tempFolder.newFile("small.tsv").toPath();
+        Files.writeString(path, uniformLog(100), StandardCharsets.UTF_8);
+
+        FileLoadResult result = new FileIOService().loadFile(path, LoadMode.AUTO, null, null, TaskContext.NONE);
+
+        assertEquals(100, result.rows.size());
+        assertEquals(3, result.columns);
+        assertTrue(result.note.startsWith("自動選択: " + LoadMode.STANDARD.getDisplayName()));
+    }
+}
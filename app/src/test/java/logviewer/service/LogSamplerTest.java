@@ -0,0 +1,150 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * LogSampler と FileIOService のサンプリング読み込みのテストケース。
+ */
+public class LogSamplerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * 2カラム目に自身の行番号を持つ行が count 行並んだログの内容を作成します。
+     * 行の長さはばらつかせます。
+     */
+    private static String numberedLog(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            sb.append("row\t").append(i).append('\t').append("x".repeat(i % 7)).append("\r\n");
+        }
+        return sb.toString();
+    }
+
+    private Path writeLog(String name, String content) throws Exception {
+        Path path = tempFolder.newFile(name).toPath();
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    /**
+     * 各行の行番号が、ファイル上の行番号（2カラム目）と一致し、昇順で重複がないことを確認します。
+     */
+    private static void assertTrueLineNumbers(List<LogRow> rows) {
+        int previous = 0;
+        for (LogRow row : rows) {
+            assertEquals(String.valueOf(row.getLineNumber()), row.getField(1));
+            assertTrue(row.getLineNumber() > previous);
+            previous = row.getLineNumber();
+        }
+    }
+
+    /**
+     * 通常系：1行目から N 行ごとに抜き出し、ファイル上の行番号を保持する。圧縮ファイルも同じ結果になる。
+     */
+    @Test
+    public void testEveryNth() throws Exception {
+        String content = numberedLog(10_000);
+        Path plain = writeLog("plain.tsv", content);
+        Path gzip = tempFolder.newFile("plain.tsv.gz").toPath();
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (Path path : List.of(plain, gzip)) {
+            FileLoadResult result = new FileIOService().loadFileSample(path, LogSample.everyNth(1000),
+                TaskContext.NONE);
+
+            assertEquals(10, result.rows.size());
+            assertEquals(1, result.rows.get(0).getLineNumber());
+            assertEquals(9001, result.rows.get(9).getLineNumber());
+            assertEquals(-1, result.endOffset);
+            assertTrueLineNumbers(result.rows);
+        }
+    }
+
+    /**
+     * 通常系：リザーバサンプリングで指定行数を抜き出し、行番号順に並べる。
+     * 行数が指定行数以下の場合は全行を返す。
+     */
+    @Test
+    public void testReservoir() throws Exception {
+        String content = numberedLog(5_000);
+
+        FileLoadResult result = LogSampler.reservoir(new ByteArrayInputStream(
+            content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, 300, new Random(1),
+            () -> false, lines -> { });
+        assertEquals(300, result.rows.size());
+        assertEquals(3, result.columns);
+        assertTrueLineNumbers(result.rows);
+        // 先頭の300行に偏らず、ファイル全体から抜き出す
+        assertTrue(result.rows.get(result.rows.size() - 1).getLineNumber() > 4_000);
+
+        FileLoadResult all = LogSampler.reservoir(new ByteArrayInputStream(
+            content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, 10_000, new Random(1),
+            () -> false, lines -> { });
+        assertEquals(5_000, all.rows.size());
+    }
+
+    /**
+     * 通常系：任意の位置に移動して抜き出した行の行番号は、行インデックスの有無にかかわらず
+     * ファイル上の行番号と一致する。重複して選ばれた行は選び直し、指定行数を抜き出す。
+     */
+    @Test
+    public void testRandomLines() throws Exception {
+        Path path = writeLog("random.tsv", numberedLog(50_000));
+        MappedLineIndex index = MappedLineIndex.open(path);
+        index.scanLines(Integer.MAX_VALUE);
+
+        FileLoadResult scanned = LogSampler.randomLines(path, StandardCharsets.UTF_8, null, 500,
+            new Random(7), () -> false, bytes -> { });
+        assertEquals(500, scanned.rows.size());
+        assertTrueLineNumbers(scanned.rows);
+
+        FileLoadResult indexed = LogSampler.randomLines(path, StandardCharsets.UTF_8, index, 500,
+            new Random(7), () -> false, bytes -> { });
+        assertEquals(500, indexed.rows.size());
+        assertTrueLineNumbers(indexed.rows);
+    }
+
+    /**
+     * 境界値：重複なく選ぶ個数が範囲の大きさ以上の場合は、範囲内のすべての整数を返す。
+     */
+    @Test
+    public void testPickDistinct() {
+        int[] picked = LogSampler.pickDistinct(1000, 100, new Random(3));
+        assertEquals(100, picked.length);
+        for (int i = 1; i < picked.length; i++) {
+            assertTrue(picked[i] > picked[i - 1]);
+        }
+        assertArrayEquals(new int[]{0, 1, 2}, LogSampler.pickDistinct(3, 5, new Random(3)));
+    }
+
+    /**
+     * 境界値：行数が指定行数より少ないファイルでは、選び直しを打ち切って見つかった行を返す。
+     */
+    @Test
+    public void testRandomLinesFewerLinesThanCount() throws Exception {
+        Path path = writeLog("few.tsv", numberedLog(20));
+
+        FileLoadResult result = LogSampler.randomLines(path, StandardCharsets.UTF_8, null, 100,
+            new Random(5), () -> false, bytes -> { });
+        assertTrue(result.rows.size() <= 20);
+        assertTrue(result.rows.size() > 10);
+        assertTrueLineNumbers(result.rows);
+    }
+}
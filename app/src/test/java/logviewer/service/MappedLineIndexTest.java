@@ -0,0 +1,142 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * MappedLineIndex と MappedLogRow のテストケース。
+ */
+public class MappedLineIndexTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private MappedLineIndex buildIndex(String content) throws Exception {
+        File file = tempFolder.newFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        MappedLineIndex index = MappedLineIndex.open(file.toPath());
+        while (!index.isComplete()) {
+            index.scanLines(Integer.MAX_VALUE);
+        }
+        return index;
+    }
+
+    /**
+     * 通常系：LF 区切りの各行とフィールドが取得できる。
+     */
+    @Test
+    public void testScanAndDecodeFields() throws Exception {
+        MappedLineIndex index = buildIndex("a\tb\tc\nd\te\n");
+
+        assertEquals(2, index.lineCount());
+        assertEquals(3, index.getMaxFieldCount());
+        assertEquals("a", index.getField(0, 0));
+        assertEquals("c", index.getField(0, 2));
+        assertEquals("e", index.getField(1, 1));
+        assertEquals(3, index.fieldCount(0));
+        assertEquals(2, index.fieldCount(1));
+    }
+
+    /**
+     * 通常系：CRLF の改行コードはフィールドに含まれない。
+     */
+    @Test
+    public void testCrLfLineEndings() throws Exception {
+        MappedLineIndex index = buildIndex("x\ty\r\nz\r\n");
+
+        assertEquals(2, index.lineCount());
+        assertEquals("y", index.getField(0, 1));
+        assertEquals("z", index.getField(1, 0));
+    }
+
+    /**
+     * 境界値：末尾に改行のない最終行も1行として扱う。
+     */
+    @Test
+    public void testLastLineWithoutNewline() throws Exception {
+        MappedLineIndex index = buildIndex("first\nsecond");
+
+        assertEquals(2, index.lineCount());
+        assertTrue(index.isComplete());
+        assertEquals("second", index.getField(1, 0));
+    }
+
+    /**
+     * 境界値：空ファイルは0行。
+     */
+    @Test
+    public void testEmptyFile() throws Exception {
+        MappedLineIndex index = buildIndex("");
+
+        assertEquals(0, index.lineCount());
+        assertEquals(0, index.getMaxFieldCount());
+        assertTrue(index.isComplete());
+    }
+
+    /**
+     * 境界値：空行と範囲外フィールドは空文字。
+     */
+    @Test
+    public void testEmptyLineAndOutOfRange() throws Exception {
+        MappedLineIndex index = buildIndex("\na\t\n");
+
+        assertEquals(2, index.lineCount());
+        assertEquals(1, index.fieldCount(0));
+        assertEquals("", index.getField(0, 0));
+        assertEquals("", index.getField(1, 1));
+        assertEquals("", index.getField(1, 5));
+        assertEquals("", index.getField(1, -1));
+    }
+
+    /**
+     * 通常系：マルチバイト文字を UTF-8 としてデコードする。
+     */
+    @Test
+    public void testMultiByteCharacters() throws Exception {
+        MappedLineIndex index = buildIndex("日本語\tログ\n");
+
+        assertEquals("日本語", index.getField(0, 0));
+        assertEquals("ログ", index.getField(0, 1));
+    }
+
+    /**
+     * 通常系：scanLines は指定行数ずつ走査を進める。
+     */
+    @Test
+    public void testIncrementalScan() throws Exception {
+        File file = tempFolder.newFile();
+        Files.writeString(file.toPath(), "1\n2\n3\n4\n5\n", StandardCharsets.UTF_8);
+        MappedLineIndex index = MappedLineIndex.open(file.toPath());
+
+        assertEquals(2, index.scanLines(2));
+        assertFalse(index.isComplete());
+        assertEquals(2, index.lineCount());
+
+        assertEquals(3, index.scanLines(10));
+        assertTrue(index.isComplete());
+        assertEquals("5", index.getField(4, 0));
+    }
+
+    /**
+     * 通常系：MappedLogRow は LogRow と同じ契約でフィールドを返す。
+     */
+    @Test
+    public void testMappedLogRow() throws Exception {
+        MappedLineIndex index = buildIndex("a\tb\nc\n");
+        LogRow row = new MappedLogRow(index, 1);
+
+        assertEquals(1, row.getLineNumber());
+        assertEquals(2, row.fieldCount());
+        assertEquals("b", row.getField(1));
+        assertEquals("", row.getField(2));
+        assertEquals("", row.getField(-1));
+        assertEquals("c", new MappedLogRow(index, 2).getField(0));
+    }
+}
@@ -0,0 +1,69 @@
+package logviewer.service;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * OffHeapRowStore のテストケース。
+ */
+public class OffHeapRowStoreTest {
+
+    private static void add(OffHeapRowStore store, String line) throws Exception {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int fieldCount = line.split("\t", -1).length;
+        store.addRow(bytes, 0, bytes.length, fieldCount);
+    }
+
+    /**
+     * 通常系：確定後にフィールドをデコードして参照できる。
+     */
+    @Test
+    public void testAddAndGetField() throws Exception {
+        OffHeapRowStore store = OffHeapRowStore.create();
+        add(store, "2024-01-01\tINFO\tメッセージ");
+        add(store, "");
+        add(store, "a\t\tc\td");
+        store.seal();
+
+        assertEquals(3, store.rowCount());
+        assertEquals(4, store.getMaxFieldCount());
+        assertEquals("メッセージ", store.getField(0, 2));
+        assertEquals("", store.getField(1, 0));
+        assertEquals(1, store.fieldCount(1));
+        assertEquals("", store.getField(2, 1));
+        assertEquals("d", store.getField(2, 3));
+        assertEquals("", store.getField(2, 4));
+        assertEquals("", store.getField(2, -1));
+    }
+
+    /**
+     * 境界値：書き込みバッファを超える量の行を格納できる。
+     */
+    @Test
+    public void testLargerThanWriteBuffer() throws Exception {
+        OffHeapRowStore store = OffHeapRowStore.create();
+        String filler = "x".repeat(1000);
+        for (int i = 0; i < 3000; i++) {
+            add(store, i + "\t" + filler);
+        }
+        store.seal();
+
+        assertEquals(3000, store.rowCount());
+        assertEquals("2999", store.getField(2999, 0));
+        assertEquals(filler, store.getField(1500, 1));
+        assertTrue(store.dataSize() > 3_000_000);
+    }
+
+    /**
+     * 異常系：確定後は行を追加できない。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterSeal() throws Exception {
+        OffHeapRowStore store = OffHeapRowStore.create();
+        store.seal();
+        add(store, "a");
+    }
+}
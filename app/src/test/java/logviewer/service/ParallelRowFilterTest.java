@@ -0,0 +1,110 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelRowFilter のテストケース。
+ * 小さな最小チャンク行数を指定して、複数チャンクへの分割と連結を確認します。
+ */
+public class ParallelRowFilterTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdownNow();
+    }
+
+    private static List<LogRow> rows(int count) {
+        List<LogRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new LogRow(new String[] {String.valueOf(i), i % 3 == 0 ? "ERROR" : "INFO"}, i));
+        }
+        return rows;
+    }
+
+    /**
+     * 通常系：複数チャンクに分けて判定しても、一致した行を元の順に返す。
+     */
+    @Test
+    public void testMatchesKeepOriginalOrder() {
+        List<LogRow> data = rows(10_000);
+        Predicate<LogRow> predicate = r -> r.getField(1).equals("ERROR");
+        ParallelRowFilter filter = new ParallelRowFilter(POOL, 100);
+        assertEquals(16, filter.chunkCount(data.size()));
+
+        List<LogRow> result = filter.filter(data, predicate, () -> false);
+
+        List<LogRow> expected = new ArrayList<>();
+        for (LogRow row : data) {
+            if (predicate.test(row)) {
+                expected.add(row);
+            }
+        }
+        assertEquals(expected, result);
+    }
+
+    /**
+     * 境界値：最小チャンク行数に満たない行数は分割しない。空のリストは空の結果を返す。
+     */
+    @Test
+    public void testSmallDataIsNotSplit() {
+        ParallelRowFilter filter = new ParallelRowFilter(POOL, 100);
+        assertEquals(1, filter.chunkCount(100));
+        assertEquals(2, filter.chunkCount(101));
+        assertEquals(1, filter.chunkCount(0));
+        assertTrue(filter.filter(new ArrayList<>(), r -> true, () -> false).isEmpty());
+    }
+
+    /**
+     * 異常系：キャンセルされた後は、残りのチャンクを判定しない。
+     */
+    @Test
+    public void testCancelledSkipsRemainingChunks() {
+        List<LogRow> data = rows(10_000);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        AtomicInteger tested = new AtomicInteger();
+        ParallelRowFilter filter = new ParallelRowFilter(POOL, 100);
+
+        List<LogRow> result = filter.filter(data, r -> {
+            tested.incrementAndGet();
+            cancelled.set(true);
+            return true;
+        }, cancelled::get);
+
+        // 判定を始めていたチャンクだけが判定される
+        assertTrue(tested.get() < data.size());
+        assertEquals(tested.get(), result.size());
+    }
+
+    /**
+     * 異常系：チャンクの判定中にキャンセルされた場合も、チャンクの残りの行を判定しない。
+     */
+    @Test
+    public void testCancelledStopsWithinChunk() {
+        List<LogRow> data = rows(10_000);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        AtomicInteger tested = new AtomicInteger();
+        ParallelRowFilter filter = new ParallelRowFilter(POOL, 100_000);
+        assertEquals(1, filter.chunkCount(data.size()));
+
+        List<LogRow> result = filter.filter(data, r -> {
+            tested.incrementAndGet();
+            cancelled.set(true);
+            return true;
+        }, cancelled::get);
+
+        assertEquals(1_024, tested.get());
+        assertEquals(tested.get(), result.size());
+    }
+}
@@ -0,0 +1,122 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelTsvLoader のテストケース。
+ * 小さな最小チャンクサイズを指定して、複数チャンクへの分割と連結を確認します。
+ */
+public class ParallelTsvLoaderTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File writeFile(String content) throws Exception {
+        File file = tempFolder.newFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private FileLoadResult load(File file, int maxRows) throws Exception {
+        return new ParallelTsvLoader(4, 16).load(file.toPath(), maxRows, () -> false, bytes -> {});
+    }
+
+    /**
+     * 通常系：複数チャンクに分割しても行番号が1始まりの連番になる。
+     */
+    @Test
+    public void testLineNumbersAcrossChunks() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= 500; i++) {
+            sb.append("line").append(i).append("\tvalue").append(i).append('\n');
+        }
+        FileLoadResult result = load(writeFile(sb.toString()), Integer.MAX_VALUE);
+
+        assertEquals(500, result.rows.size());
+        assertEquals(2, result.columns);
+        assertFalse(result.truncated);
+        assertEquals(sb.length(), result.endOffset);
+        assertFalse(result.partialLastLine);
+        for (int i = 0; i < 500; i++) {
+            LogRow row = result.rows.get(i);
+            assertEquals(i + 1, row.getLineNumber());
+            assertEquals("line" + (i + 1), row.getField(0));
+            assertEquals("value" + (i + 1), row.getField(1));
+        }
+    }
+
+    /**
+     * 通常系：CRLF と末尾改行なしの最終行を扱える。
+     */
+    @Test
+    public void testCrLfAndLastLineWithoutNewline() throws Exception {
+        FileLoadResult result = load(writeFile("a\tb\r\nc\td\te\r\nlast"), Integer.MAX_VALUE);
+
+        assertEquals(3, result.rows.size());
+        assertEquals(3, result.columns);
+        assertEquals("b", result.rows.get(0).getField(1));
+        assertEquals("e", result.rows.get(1).getField(2));
+        assertEquals("last", result.rows.get(2).getField(0));
+        assertEquals(3, result.rows.get(2).getLineNumber());
+        assertEquals("a\tb\r\nc\td\te\r\n".length(), result.endOffset);
+        assertTrue(result.partialLastLine);
+    }
+
+    /**
+     * 境界値：最大行数を超える場合は切り捨てられる。
+     */
+    @Test
+    public void testTruncation() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            sb.append(i).append('\n');
+        }
+        FileLoadResult result = load(writeFile(sb.toString()), 30);
+
+        assertEquals(30, result.rows.size());
+        assertTrue(result.truncated);
+        assertEquals("30", result.rows.get(29).getField(0));
+    }
+
+    /**
+     * 境界値：空ファイルは0行。
+     */
+    @Test
+    public void testEmptyFile() throws Exception {
+        FileLoadResult result = load(writeFile(""), Integer.MAX_VALUE);
+
+        assertEquals(0, result.rows.size());
+        assertEquals(0, result.columns);
+    }
+
+    /**
+     * 通常系：チャンク境界は常に行の先頭になる。
+     */
+    @Test
+    public void testChunkBoundsAreLineStarts() throws Exception {
+        String content = "aaaa\nbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\ncc\ndddddddddddddddd\ne\n";
+        File file = writeFile(content);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] bounds = new ParallelTsvLoader(4, 8).computeChunkBounds(channel, bytes.length);
+
+            assertEquals(0, bounds[0]);
+            assertEquals(bytes.length, bounds[bounds.length - 1]);
+            for (int i = 1; i < bounds.length - 1; i++) {
+                assertEquals('\n', bytes[(int) bounds[i] - 1]);
+                assertTrue(bounds[i] > bounds[i - 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * RangeLocator と FileIOService の範囲指定読み込みのテストケース。
+ */
+public class RangeLocatorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * 1秒ごとの行が count 行並んだログを作成します。
+     * 10行ごとに時刻カラムが空の継続行を挟みます。
+     */
+    private Path writeTimedLog(int count) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(String.format("%02d:%02d:%02d\tmessage %d\r\n", i / 3600, i / 60 % 60, i % 60, i));
+            if (i % 10 == 9) {
+                sb.append("\tcontinued ").append(i).append("\r\n");
+            }
+        }
+        Path path = tempFolder.newFile("timed.tsv").toPath();
+        Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+        return path;
+    }
+
+    /**
+     * 時刻 (秒) の行がファイル全体で何行目かを返します（継続行を含めて数える）。
+     */
+    private static int lineNumberOf(int second) {
+        return second + second / 10 + 1;
+    }
+
+    /**
+     * 通常系：二分探索で時刻範囲の先頭・末尾を特定し、末尾の継続行も範囲に含める。
+     * 終了時刻は前方一致で比較する。
+     */
+    @Test
+    public void testLocateTimeRange() throws Exception {
+        Path path = writeTimedLog(20_000);
+
+        try (RangeLocator locator = new RangeLocator(path, null)) {
+            RangeLocator.Slice slice = locator.locate(LogRange.ofTime(0, "01:00:00", "01:15"));
+            String content = readSlice(path, slice);
+
+            assertEquals(lineNumberOf(3600), slice.firstLineNumber);
+            assertTrue(content.startsWith("01:00:00\tmessage 3600\r\n"));
+            assertTrue(content.endsWith("01:15:59\tmessage 4559\r\n\tcontinued 4559\r\n"));
+        }
+    }
+
+    /**
+     * 境界値：範囲がファイルの外側にある場合は長さ0、ファイル全体を含む場合は全体を返す。
+     */
+    @Test
+    public void testLocateTimeRangeOutside() throws Exception {
+        Path path = writeTimedLog(5_000);
+        long size = Files.size(path);
+
+        try (RangeLocator locator = new RangeLocator(path, null)) {
+            RangeLocator.Slice after = locator.locate(LogRange.ofTime(0, "09:00:00", "10:00:00"));
+            assertEquals(size, after.start);
+            assertEquals(size, after.end);
+
+            RangeLocator.Slice all = locator.locate(LogRange.ofTime(0, "00", "99"));
+            assertEquals(0, all.start);
+            assertEquals(size, all.end);
+            assertEquals(1, all.firstLineNumber);
+        }
+    }
+
+    /**
+     * 通常系：行番号による範囲は、行インデックスがあってもなくても同じ範囲になる。
+     */
+    @Test
+    public void testLocateLineRange() throws Exception {
+        Path path = writeTimedLog(3_000);
+        MappedLineIndex index = MappedLineIndex.open(path);
+        index.scanLines(Integer.MAX_VALUE);
+
+        try (RangeLocator scanned = new RangeLocator(path, null);
+             RangeLocator indexed = new RangeLocator(path, index)) {
+            LogRange range = LogRange.ofLines(101, 150);
+            RangeLocator.Slice a = scanned.locate(range);
+            RangeLocator.Slice b = indexed.locate(range);
+
+            assertEquals(a.start, b.start);
+            assertEquals(a.end, b.end);
+            assertEquals(101, a.firstLineNumber);
+            assertEquals(101, b.firstLineNumber);
+            assertEquals(50, readSlice(path, a).split("\r\n").length);
+        }
+    }
+
+    /**
+     * 通常系：範囲だけを読み込み、行番号はファイル全体での行番号を保持する。
+     */
+    @Test
+    public void testLoadFileRange() throws Exception {
+        Path path = writeTimedLog(20_000);
+
+        FileLoadResult result = new FileIOService()
+            .loadFileRange(path, LogRange.ofTime(0, "02:00:00", "02:00:09"), TaskContext.NONE);
+
+        assertEquals(11, result.rows.size());
+        assertEquals(-1, result.endOffset);
+        assertEquals("02:00:00", result.rows.get(0).getField(0));
+        assertEquals(lineNumberOf(7200), result.rows.get(0).getLineNumber());
+        assertEquals("continued 7209", result.rows.get(10).getField(1));
+    }
+
+    private static String readSlice(Path path, RangeLocator.Slice slice) throws Exception {
+        try (var in = RangeLocator.openSlice(path, slice)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
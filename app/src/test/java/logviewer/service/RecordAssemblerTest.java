@@ -0,0 +1,105 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * RecordAssembler と FileIOService の複数行レコード読み込みのテストケース。
+ */
+public class RecordAssemblerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private FileLoadResult load(String content, List<LogRow> published) throws Exception {
+        Path path = tempFolder.newFile().toPath();
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return new FileIOService().loadFile(path, LoadMode.STANDARD, published::addAll, DATE, TaskContext.NONE);
+    }
+
+    /**
+     * 通常系：開始パターンに一致しない行（スタックトレース）は、タブを含めて直前のレコードの最終カラムにまとめ、
+     * 元の行範囲を保持する。完了前に通知した行も完了時の結果と一致する。
+     */
+    @Test
+    public void testStackTraceIsFoldedIntoPreviousRecord() throws Exception {
+        String content = "2024-01-01 10:00:00\tINFO\tstarted\n"
+            + "2024-01-01 10:00:01\tERROR\tjava.lang.IllegalStateException: boom\r\n"
+            + "\tat com.example.Foo.bar(Foo.java:10)\n"
+            + "\tat com.example.Foo.main(Foo.java:5)\n"
+            + "2024-01-01 10:00:02\tINFO\tdone\n";
+        List<LogRow> published = new ArrayList<>();
+        FileLoadResult result = load(content, published);
+
+        assertEquals(3, result.rows.size());
+        assertEquals(result.rows, published);
+
+        LogRow error = result.rows.get(1);
+        assertEquals(3, error.fieldCount());
+        assertEquals("java.lang.IllegalStateException: boom\n"
+            + "\tat com.example.Foo.bar(Foo.java:10)\n"
+            + "\tat com.example.Foo.main(Foo.java:5)", error.getField(2));
+        assertEquals(2, error.getLineNumber());
+        assertEquals(4, error.getLastLineNumber());
+
+        LogRow last = result.rows.get(2);
+        assertEquals(5, last.getLineNumber());
+        assertEquals(5, last.getLastLineNumber());
+        assertEquals("done", last.getField(2));
+
+        // まとめた読み込みでは追従モードを使わず、ステータスに開始パターンを表示する
+        assertEquals(-1, result.endOffset);
+        assertTrue(result.note.contains(DATE.pattern()));
+    }
+
+    /**
+     * 境界値：最初のレコードより前の継続行は、それぞれ1レコードとして残す。
+     */
+    @Test
+    public void testLinesBeforeFirstRecordAreKept() throws Exception {
+        String content = "header line\n"
+            + "another\tline\n"
+            + "2024-01-01\tfirst\n";
+        FileLoadResult result = load(content, new ArrayList<>());
+
+        assertEquals(3, result.rows.size());
+        assertEquals("header line", result.rows.get(0).getField(0));
+        assertEquals(1, result.rows.get(0).getLastLineNumber());
+        assertEquals("another", result.rows.get(1).getField(0));
+        assertEquals(2, result.rows.get(1).getLastLineNumber());
+        assertEquals(3, result.rows.get(2).getLineNumber());
+    }
+
+    /**
+     * 境界値：開始パターンに一致しない行が続いても、1レコードは MAX_RECORD_LINES 行で打ち切る。
+     */
+    @Test
+    public void testRecordIsCappedAtMaxLines() throws Exception {
+        int continuationLines = RecordAssembler.MAX_RECORD_LINES + 5;
+        StringBuilder sb = new StringBuilder("2024-01-01\tstart\n");
+        for (int i = 0; i < continuationLines; i++) {
+            sb.append("\tat frame").append(i).append('\n');
+        }
+        FileLoadResult result = load(sb.toString(), new ArrayList<>());
+
+        assertEquals(2, result.rows.size());
+        LogRow first = result.rows.get(0);
+        assertEquals(1, first.getLineNumber());
+        assertEquals(RecordAssembler.MAX_RECORD_LINES, first.getLastLineNumber());
+        LogRow rest = result.rows.get(1);
+        assertEquals(RecordAssembler.MAX_RECORD_LINES + 1, rest.getLineNumber());
+        assertEquals(continuationLines + 1, rest.getLastLineNumber());
+    }
+}
@@ -0,0 +1,113 @@
+package logviewer.service;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * RotatedLogSet と FileIOService のローテーションされたログの読み込みのテストケース。
+ */
+public class RotatedLogSetTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path writeLog(String name, String content) throws Exception {
+        Path path = tempFolder.getRoot().toPath().resolve(name);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private Path writeGzipLog(String name, String content) throws Exception {
+        Path path = tempFolder.getRoot().toPath().resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    private static List<String> fileNames(List<Path> paths) {
+        List<String> names = new ArrayList<>();
+        for (Path path : paths) {
+            names.add(path.getFileName().toString());
+        }
+        return names;
+    }
+
+    /**
+     * 通常系：番号の大きいファイルほど古いとして先に並べ、番号なしのファイルを最後にする。
+     * パターンに一致しないファイルとフォルダは対象外。
+     */
+    @Test
+    public void testResolveOrder() throws Exception {
+        writeLog("app.log", "");
+        writeLog("app.log.1", "");
+        writeLog("app.log.2", "");
+        writeLog("app.log.10", "");
+        writeGzipLog("app.log.3.gz", "");
+        writeLog("other.log", "");
+        tempFolder.newFolder("app.log.old");
+
+        List<Path> segments = RotatedLogSet.resolve(tempFolder.getRoot().toPath(), "app.log*");
+
+        assertEquals(List.of("app.log.10", "app.log.3.gz", "app.log.2", "app.log.1", "app.log"),
+            fileNames(segments));
+    }
+
+    /**
+     * 通常系：各セグメントを連結し、通し番号と読み込み元のファイル名・元の行番号を保持する。
+     */
+    @Test
+    public void testLoadRotatedSet() throws Exception {
+        Path oldest = writeGzipLog("app.log.2.gz", "a\t1\nb\t2\n");
+        Path older = writeLog("app.log.1", "c\t3\textra\n");
+        Path current = writeLog("app.log", "d\t4\n");
+
+        FileLoadResult result = new FileIOService()
+            .loadRotatedSet(List.of(oldest, older, current), LoadMode.STANDARD, TaskContext.NONE);
+
+        assertEquals(4, result.rows.size());
+        assertEquals(3, result.columns);
+        assertFalse(result.truncated);
+        assertEquals(-1, result.endOffset);
+        String[] expected = {"a", "b", "c", "d"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], result.rows.get(i).getField(0));
+            assertEquals(i + 1, result.rows.get(i).getLineNumber());
+        }
+        SourcedLogRow row = (SourcedLogRow) result.rows.get(2);
+        assertEquals("app.log.1", row.getSource());
+        assertEquals(1, row.getSourceLineNumber());
+        assertEquals("extra", row.getField(2));
+        assertEquals(3, row.fieldCount());
+    }
+
+    /**
+     * 境界値：同時に読み込むセグメント数より多いセグメントも、指定順に漏れなく連結する。
+     */
+    @Test
+    public void testLoadMoreSegmentsThanParallelism() throws Exception {
+        int count = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        List<Path> segments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            segments.add(writeLog("app.log." + (count - i), "line" + i + "\t" + i + "\n"));
+        }
+
+        FileLoadResult result = new FileIOService().loadRotatedSet(segments, LoadMode.STANDARD, TaskContext.NONE);
+
+        assertEquals(count, result.rows.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("line" + i, result.rows.get(i).getField(0));
+            assertEquals("app.log." + (count - i), ((SourcedLogRow) result.rows.get(i)).getSource());
+        }
+    }
+}
@@ -1,58 +1,58 @@
-package logviewer.service;
-
-import org.junit.Test;
-import static org.junit.Assert.*;
-
-public class SelectionServiceTest {
-
-    @Test
-    public void testSelectionServiceCreation() {
-        SelectionService service = new SelectionService();
-        assertNotNull(service);
-    }
-
-    @Test
-    public void testServiceExists() {
-        assertNotNull(SelectionService.class);
-    }
-
-    @Test
-    public void testBasicInstantiation() {
-        try {
-            SelectionService service = new SelectionService();
-            assertTrue(true);
-        } catch (Exception e) {
-            fail("Service instantiation should not throw exception");
-        }
-    }
-
-    @Test
-    public void testClassIsPublic() {
-        assertEquals("public", java.lang.reflect.Modifier.toString(
-            SelectionService.class.getModifiers() & java.lang.reflect.Modifier.PUBLIC));
-    }
-
-    @Test
-    public void testEmptyTableHandling() {
-        SelectionService service = new SelectionService();
-        assertNotNull(service);
-    }
-
-    @Test
-    public void testMultipleColumnsSupport() {
-        SelectionService service = new SelectionService();
-        assertNotNull(service);
-    }
-
-    @Test
-    public void testTableRowsSetup() {
-        SelectionService service = new SelectionService();
-        assertNotNull(service);
-    }
-
-    @Test
-    public void testValidRowIndex() {
-        SelectionService service = new SelectionService();
-        assertNotNull(service);
-    }
-}
+package logviewer.service;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SelectionServiceTest {
+
+    @Test
+    public void testSelectionServiceCreation() {
+        SelectionService service = new SelectionService();
+        assertNotNull(service);
+    }
+
+    @Test
+    public void testServiceExists() {
+        assertNotNull(SelectionService.class);
+    }
+
+    @Test
+    public void testBasicInstantiation() {
+        try {
+            SelectionService service = new SelectionService();
+            assertTrue(true);
+        } catch (Exception e) {
+            fail("Service instantiation should not throw exception");
+        }
+    }
+
+    @Test
+    public void testClassIsPublic() {
+        assertEquals("public", java.lang.reflect.Modifier.toString(
+            SelectionService.class.getModifiers() & java.lang.reflect.Modifier.PUBLIC));
+    }
+
+    @Test
+    public void testEmptyTableHandling() {
+        SelectionService service = new SelectionService();
+        assertNotNull(service);
+    }
+
+    @Test
+    public void testMultipleColumnsSupport() {
+        SelectionService service = new SelectionService();
+        assertNotNull(service);
+    }
+
+    @Test
+    public void testTableRowsSetup() {
+        SelectionService service = new SelectionService();
+        assertNotNull(service);
+    }
+
+    @Test
+    public void testValidRowIndex() {
+        SelectionService service = new SelectionService();
+        assertNotNull(service);
+    }
+}
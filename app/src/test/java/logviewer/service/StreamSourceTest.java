@@ -0,0 +1,100 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * StreamSource と FileIOService のストリーム読み込みのテストケース。
+ */
+public class StreamSourceTest {
+
+    private static FileLoadResult load(byte[] bytes, List<LogRow> published) throws Exception {
+        StreamSource source = StreamSource.of("test", new ByteArrayInputStream(bytes));
+        return new FileIOService().loadStream(source, published::addAll, null, TaskContext.NONE);
+    }
+
+    /**
+     * 通常系：ストリームから読み込んだ行はヘッダ行を除いて通知し、追従モードは使用しない。
+     */
+    @Test
+    public void testLoadStreamWithHeader() throws Exception {
+        String content = "time\tlevel\tmessage\n"
+            + "2024-01-01 10:00:00\tINFO\tstarted\n"
+            + "2024-01-01 10:00:01\tWARN\tslow\n";
+        List<LogRow> published = new CopyOnWriteArrayList<>();
+        FileLoadResult result = load(content.getBytes(StandardCharsets.UTF_8), published);
+
+        assertEquals(List.of("time", "level", "message"), result.columnNames);
+        assertEquals(2, result.rows.size());
+        assertEquals(result.rows, published);
+        assertEquals(2, result.rows.get(0).getLineNumber());
+        assertEquals("slow", result.rows.get(1).getField(2));
+        assertEquals(-1, result.endOffset);
+        assertTrue(result.note.contains("test"));
+    }
+
+    /**
+     * 通常系：gzip 圧縮されたストリームは先頭のバイト列から判定して展開する。
+     */
+    @Test
+    public void testLoadGzipStream() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write("a\t1\nb\t2\n".getBytes(StandardCharsets.UTF_8));
+        }
+        FileLoadResult result = load(bytes.toByteArray(), new CopyOnWriteArrayList<>());
+
+        assertEquals(2, result.rows.size());
+        assertEquals("b", result.rows.get(1).getField(0));
+    }
+
+    /**
+     * 通常系：データの到着が途切れた場合は、書き込み側が閉じるのを待たずに届いた行を通知する。
+     * 異常系：バイナリデータは読み込まない。
+     */
+    @Test
+    public void testRowsArePublishedBeforeStreamEnds() throws Exception {
+        PipedOutputStream writer = new PipedOutputStream();
+        PipedInputStream reader = new PipedInputStream(writer, 64 * 1024);
+        List<LogRow> published = new CopyOnWriteArrayList<>();
+        FutureTask<FileLoadResult> task = new FutureTask<>(() -> new FileIOService().loadStream(
+            StreamSource.of("pipe", reader), published::addAll, null, TaskContext.NONE));
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+
+        writer.write("a\t1\nb\t2\n".getBytes(StandardCharsets.UTF_8));
+        writer.flush();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (published.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, published.size());
+        assertFalse(task.isDone());
+
+        writer.write("c\t3\n".getBytes(StandardCharsets.UTF_8));
+        writer.close();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertEquals(3, task.get().rows.size());
+
+        try {
+            load(new byte[] {0x7F, 'E', 'L', 'F', 2, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0}, new CopyOnWriteArrayList<>());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("バイナリ"));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * TimestampMergeLoader のテストケース。
+ */
+public class TimestampMergeLoaderTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path writeLog(String name, String content) throws Exception {
+        Path path = tempFolder.newFile(name).toPath();
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    /**
+     * 通常系：複数ファイルの行を時刻順に結合し、読み込み元と元の行番号を保持する。
+     */
+    @Test
+    public void testMergeByTimestamp() throws Exception {
+        Path hostA = writeLog("a.tsv", "10:00:01\tA1\n10:00:05\tA2\n10:00:09\tA3\n");
+        Path hostB = writeLog("b.tsv", "10:00:02\tB1\n10:00:03\tB2\n10:00:10\tB3\textra\n");
+
+        FileLoadResult result = new TimestampMergeLoader().load(List.of(hostA, hostB), 0,
+            ServiceConstants.MAX_ROWS, () -> false, count -> { });
+
+        assertEquals(6, result.rows.size());
+        assertEquals(3, result.columns);
+        assertFalse(result.truncated);
+        assertEquals(-1, result.endOffset);
+        String[] expected = {"A1", "B1", "B2", "A2", "A3", "B3"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], result.rows.get(i).getField(1));
+            assertEquals(i + 1, result.rows.get(i).getLineNumber());
+        }
+        SourcedLogRow row = (SourcedLogRow) result.rows.get(2);
+        assertEquals("b.tsv", row.getSource());
+        assertEquals(2, row.getSourceLineNumber());
+    }
+
+    /**
+     * 境界値：同じ時刻の行は指定したファイルの順に並び、最大行数で打ち切る。
+     */
+    @Test
+    public void testSameTimestampAndMaxRows() throws Exception {
+        Path first = writeLog("first.tsv", "x\tT\t1\nx\tT\t2\n");
+        Path second = writeLog("second.tsv", "y\tT\t1\n");
+
+        FileLoadResult result = new TimestampMergeLoader().load(List.of(first, second), 1, 2,
+            () -> false, count -> { });
+
+        List<LogRow> rows = result.rows;
+        assertTrue(result.truncated);
+        assertEquals(2, rows.size());
+        assertEquals("first.tsv", ((SourcedLogRow) rows.get(0)).getSource());
+        assertEquals("first.tsv", ((SourcedLogRow) rows.get(1)).getSource());
+        assertEquals("2", rows.get(1).getField(2));
+    }
+}
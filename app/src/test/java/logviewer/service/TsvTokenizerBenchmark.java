@@ -0,0 +1,109 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 読み込み処理の1行あたりのメモリ割り当て量を比較するベンチマーク。
+ * 
+ * <p>generate_large_log.py で生成したファイルを対象に、次の3つの方式を比較します。</p>
+ * <ul>
+ *   <li>readLine + String.split + ArrayList へのコピー（従来の読み込み処理）</li>
+ *   <li>TsvByteReader による分割のみ（フィールド文字列を生成しない）</li>
+ *   <li>TsvByteReader + フィールド文字列生成 + LogRow 生成（現在の読み込み処理）</li>
+ * </ul>
+ * 
+ * <p>実行例: {@code gradlew benchmarkTokenizer -PbenchFile=large_sample_log.tsv}</p>
+ */
+public class TsvTokenizerBenchmark {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** JITのウォームアップを兼ねて各方式を実行する回数 */
+    private static final int ROUNDS = 3;
+
+    /** 最適化による処理の除去を防ぐための値 */
+    private static long sink = 0;
+
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "large_sample_log.tsv");
+        if (!Files.exists(path)) {
+            System.err.println("ファイルが見つかりません: " + path.toAbsolutePath());
+            System.err.println("python generate_large_log.py で生成してください。");
+            System.exit(1);
+        }
+        System.out.printf("対象ファイル: %s (%,d バイト)%n", path.toAbsolutePath(), Files.size(path));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("--- %d 回目 ---%n", round);
+            measure("readLine + split + ArrayList", () -> legacySplit(path));
+            measure("TsvByteReader（分割のみ）", () -> tokenizeOnly(path));
+            measure("TsvByteReader + LogRow 生成", () -> tokenizeToLogRow(path));
+        }
+        System.out.println("(sink=" + sink + ")");
+    }
+
+    private interface RowCounter {
+        long run() throws IOException;
+    }
+
+    private static void measure(String name, RowCounter counter) throws IOException {
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long rows = counter.run();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-32s %,12d 行 %,8d ms %,10.1f バイト/行%n",
+            name, rows, elapsedMillis, rows == 0 ? 0.0 : (double) allocated / rows);
+    }
+
+    private static long legacySplit(Path path) throws IOException {
+        long rows = 0;
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(ServiceConstants.TAB_SEPARATOR, -1);
+                List<String> fields = new ArrayList<>(parts.length);
+                for (String p : parts) fields.add(p);
+                sink += fields.size();
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long tokenizeOnly(Path path) throws IOException {
+        long rows = 0;
+        try (TsvByteReader reader = new TsvByteReader(Files.newInputStream(path))) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            while (reader.next()) {
+                sink += tokenizer.fieldCount() + tokenizer.fieldEnd(0);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long tokenizeToLogRow(Path path) throws IOException {
+        long rows = 0;
+        try (TsvByteReader reader = new TsvByteReader(Files.newInputStream(path))) {
+            TsvTokenizer tokenizer = reader.tokenizer();
+            while (reader.next()) {
+                LogRow row = new LogRow(tokenizer.fields(), (int) rows + 1);
+                sink += row.fieldCount();
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,159 @@
+package logviewer.service;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * TsvTokenizer と TsvByteReader のテストケース。
+ */
+public class TsvTokenizerTest {
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String[]> readAll(String content, int bufferSize) throws Exception {
+        List<String[]> lines = new ArrayList<>();
+        try (TsvByteReader reader = new TsvByteReader(new ByteArrayInputStream(utf8(content)), bufferSize)) {
+            while (reader.next()) {
+                lines.add(reader.tokenizer().fields());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 通常系：String.split(TAB, -1) と同じ結果になる。
+     */
+    @Test
+    public void testTokenizeMatchesSplit() {
+        String[] samples = {"a\tb\tc", "", "\t", "a\t\tb", "\ttrailing\t", "single"};
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        for (String sample : samples) {
+            byte[] bytes = utf8(sample);
+            tokenizer.tokenize(bytes, 0, bytes.length);
+            assertArrayEquals(sample, sample.split("\t", -1), tokenizer.fields());
+        }
+    }
+
+    /**
+     * 通常系：バイト配列の一部範囲のみを分割できる。
+     */
+    @Test
+    public void testTokenizeSubRange() {
+        byte[] bytes = utf8("xx\ty\tzz");
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        tokenizer.tokenize(bytes, 3, bytes.length);
+
+        assertEquals(2, tokenizer.fieldCount());
+        assertEquals("y", tokenizer.field(0));
+        assertEquals("zz", tokenizer.field(1));
+        assertEquals(3, tokenizer.fieldStart(0));
+        assertEquals(4, tokenizer.fieldEnd(0));
+    }
+
+    /**
+     * 境界値：範囲外のフィールドは空文字。
+     */
+    @Test
+    public void testFieldOutOfRange() {
+        byte[] bytes = utf8("a\tb");
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        tokenizer.tokenize(bytes, 0, bytes.length);
+
+        assertEquals("", tokenizer.field(2));
+        assertEquals("", tokenizer.field(-1));
+    }
+
+    /**
+     * 境界値：初期容量を超えるフィールド数でも分割できる。
+     */
+    @Test
+    public void testManyFields() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) sb.append('\t');
+            sb.append(i);
+        }
+        byte[] bytes = utf8(sb.toString());
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        tokenizer.tokenize(bytes, 0, bytes.length);
+
+        assertEquals(100, tokenizer.fieldCount());
+        assertEquals("99", tokenizer.field(99));
+    }
+
+    /**
+     * 通常系：マルチバイト文字を含むフィールドをデコードできる。
+     */
+    @Test
+    public void testMultiByte() {
+        byte[] bytes = utf8("エラー\t接続失敗");
+        TsvTokenizer tokenizer = new TsvTokenizer();
+        tokenizer.tokenize(bytes, 0, bytes.length);
+
+        assertEquals("エラー", tokenizer.field(0));
+        assertEquals("接続失敗", tokenizer.field(1));
+    }
+
+    /**
+     * 通常系：TsvByteReader は LF、CRLF、末尾改行なしの行を読める。
+     */
+    @Test
+    public void testByteReaderLineEndings() throws Exception {
+        List<String[]> lines = readAll("a\tb\nc\r\n\nlast", 64 * 1024);
+
+        assertEquals(4, lines.size());
+        assertArrayEquals(new String[]{"a", "b"}, lines.get(0));
+        assertArrayEquals(new String[]{"c"}, lines.get(1));
+        assertArrayEquals(new String[]{""}, lines.get(2));
+        assertArrayEquals(new String[]{"last"}, lines.get(3));
+    }
+
+    /**
+     * 境界値：バッファより長い行もバッファを拡張して読める。
+     */
+    @Test
+    public void testByteReaderLongLine() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("field").append(i).append('\t');
+        }
+        String longLine = sb.toString();
+        List<String[]> lines = readAll(longLine + "\nshort\n", 16);
+
+        assertEquals(2, lines.size());
+        assertArrayEquals(longLine.split("\t", -1), lines.get(0));
+        assertArrayEquals(new String[]{"short"}, lines.get(1));
+    }
+
+    /**
+     * 通常系：行末位置がストリーム上のバイト位置を指す。
+     */
+    @Test
+    public void testByteReaderLineEndOffset() throws Exception {
+        try (TsvByteReader reader = new TsvByteReader(new ByteArrayInputStream(utf8("ab\r\nあ\nz")), 16)) {
+            assertTrue(reader.next());
+            assertEquals(4, reader.getLineEndOffset());
+            assertTrue(reader.next());
+            assertEquals(8, reader.getLineEndOffset());
+            assertTrue(reader.next());
+            assertEquals(9, reader.getLineEndOffset());
+            assertFalse(reader.next());
+        }
+    }
+
+    /**
+     * 境界値：空のストリームは行を返さない。
+     */
+    @Test
+    public void testByteReaderEmpty() throws Exception {
+        assertTrue(readAll("", 16).isEmpty());
+    }
+}
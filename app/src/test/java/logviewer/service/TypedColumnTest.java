@@ -0,0 +1,120 @@
+package logviewer.service;
+
+import logviewer.LogRow;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * TypedColumn と SortService の型に応じたソートのテストケース。
+ */
+public class TypedColumnTest {
+    private final SortService sortService = new SortService();
+
+    private static List<LogRow> rows(String... values) {
+        List<LogRow> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            rows.add(new LogRow(new String[] {values[i]}, i + 1));
+        }
+        return rows;
+    }
+
+    private static List<String> values(List<LogRow> rows) {
+        List<String> values = new ArrayList<>();
+        for (LogRow row : rows) {
+            values.add(row.getField(0));
+        }
+        return values;
+    }
+
+    /**
+     * 通常系：整数・小数・日時・文字列のカラムの型を判定する。空欄は判定に影響しない。
+     */
+    @Test
+    public void testInferType() {
+        assertEquals(ColumnType.LONG, TypedColumn.inferType(rows("100", "", "-9", "+3"), 0));
+        assertEquals(ColumnType.DOUBLE, TypedColumn.inferType(rows("1.5", "2", "1e3"), 0));
+        assertEquals(ColumnType.TIMESTAMP, TypedColumn.inferType(
+            rows("2024-01-01 10:00:00", "2024/01/02", "2024-01-01T09:00:00.123+09:00"), 0));
+        assertEquals(ColumnType.STRING, TypedColumn.inferType(rows("100", "abc"), 0));
+        assertEquals(ColumnType.STRING, TypedColumn.inferType(rows("NaN", "Infinity"), 0));
+        assertEquals(ColumnType.STRING, TypedColumn.inferType(rows("", ""), 0));
+    }
+
+    /**
+     * 通常系：整数のカラムは桁数ではなく値の大小で並べる。空欄は最も小さい値とする。
+     */
+    @Test
+    public void testSortLongColumn() {
+        List<LogRow> data = rows("100", "9", "", "-5", "20");
+        List<LogRow> sorted = sortService.sortTyped(data, 0, true, ColumnType.LONG);
+        assertEquals(List.of("", "-5", "9", "20", "100"), values(sorted));
+
+        sorted = sortService.sortTyped(data, 0, false, ColumnType.LONG);
+        assertEquals(List.of("100", "20", "9", "-5", ""), values(sorted));
+    }
+
+    /**
+     * 通常系：小数と、タイムゾーンや小数秒の桁数が異なる日時を値の大小で並べる。
+     */
+    @Test
+    public void testSortDoubleAndTimestampColumns() {
+        List<LogRow> doubles = rows("10.5", "9.75", "1e1", "-0.5");
+        assertEquals(List.of("-0.5", "9.75", "1e1", "10.5"),
+            values(sortService.sortTyped(doubles, 0, true, ColumnType.DOUBLE)));
+
+        List<LogRow> timestamps = rows(
+            "2024-01-01T10:00:00Z",
+            "2024-01-01 18:59:59.5+09:00",
+            "2024-01-01 09:59:59.25",
+            "2023-12-31 23:00:00");
+        assertEquals(List.of(
+            "2023-12-31 23:00:00",
+            "2024-01-01 09:59:59.25",
+            "2024-01-01 18:59:59.5+09:00",
+            "2024-01-01T10:00:00Z"),
+            values(sortService.sortTyped(timestamps, 0, true, ColumnType.TIMESTAMP)));
+        assertEquals(0L, TypedColumn.parseTimestamp("1970-01-01 00:00:00"));
+        assertEquals(Long.MIN_VALUE, TypedColumn.parseTimestamp("2024-13-01"));
+    }
+
+    /**
+     * 境界値：同じ値の行は昇順・降順とも元の順序を保ち、大量の行でも Comparator による比較と同じ並びになる。
+     */
+    @Test
+    public void testSortIsStableAndMatchesComparator() {
+        List<LogRow> data = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            data.add(new LogRow(new String[] {i % 7 == 0 ? "" : String.valueOf((i * 31) % 97)}, i + 1));
+        }
+        for (boolean ascending : new boolean[] {true, false}) {
+            List<LogRow> expected = new ArrayList<>(data);
+            Comparator<LogRow> comparator = sortService.buildComparator(0, ascending, ColumnType.LONG);
+            expected.sort(comparator);
+            List<LogRow> sorted = sortService.sortTyped(data, 0, ascending, ColumnType.LONG);
+            assertEquals(expected, sorted);
+            for (int i = 1; i < sorted.size(); i++) {
+                if (comparator.compare(sorted.get(i - 1), sorted.get(i)) == 0) {
+                    assertTrue(sorted.get(i - 1).getLineNumber() < sorted.get(i).getLineNumber());
+                }
+            }
+        }
+    }
+
+    /**
+     * 異常系：整数と判定したカラムに変換できない値が混ざっていても、空欄と同じく最も小さい値として扱う。
+     */
+    @Test
+    public void testUnparseableValuesSortAsNull() {
+        TypedColumn column = TypedColumn.build(rows("5", "n/a", "3"), 0, ColumnType.LONG);
+        assertTrue(column.isNull(1));
+        assertEquals(3L, column.longValue(2));
+        assertTrue(column.compare(1, 2) < 0);
+        assertEquals(List.of("n/a", "3", "5"),
+            values(sortService.sortTyped(rows("5", "n/a", "3"), 0, true, ColumnType.LONG)));
+    }
+}